@@ -1,18 +1,30 @@
 package com.dstx.astra.sdk;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.dstx.astra.sdk.devops.ApiDevopsClient;
+import com.dstx.astra.sdk.devops.res.Database;
+import com.dstx.astra.sdk.devops.res.DatabaseInfo;
+import com.dstx.astra.sdk.devops.res.Datacenter;
 import com.dstx.astra.sdk.utils.AstraRc;
 
 import io.stargate.sdk.StargateClient;
 import io.stargate.sdk.StargateClient.StargateClientBuilder;
+import io.stargate.sdk.cql.CqlExecutor;
+import io.stargate.sdk.cql.CqlExecutorOptions;
 import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.http.EndpointGroup;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.ThrottlingOptions;
 import io.stargate.sdk.rest.ApiRestClient;
 import io.stargate.sdk.utils.Assert;
 import io.stargate.sdk.utils.Utils;
@@ -24,10 +36,14 @@ import io.stargate.sdk.utils.Utils;
  * .keyspace("")           : will lead you to rest API (table oriented) API
  * .devops(id,name,secret) : is the devops API
  * .cql()                  : Give you a CqlSession
+ * .cqlExecutor()          : Prepared statements cache, bulk executions and paging on the CqlSession
+ * 
+ * With .multiRegion() the regions of the database are read from the devops Api and the Stargate
+ * Apis are balanced over them (lowest latency first, failover to the other regions).
  * 
  * @author Cedrick LUNVEN (@clunven)
  */
-public class AstraClient {
+public class AstraClient implements AutoCloseable {
     
     /** Logger for our Client. */
     private static final Logger LOGGER = LoggerFactory.getLogger(AstraClient.class);
@@ -68,7 +84,7 @@ public class AstraClient {
          * -----
          */
         if (Utils.paramsProvided(b.appToken)) {
-            apiDevops = new ApiDevopsClient(b.appToken);  
+            apiDevops = new ApiDevopsClient(b.appToken, b.getDevopsHttpClientOptions());
             LOGGER.info("+ Devops API is enabled.");
         }
         
@@ -119,10 +135,22 @@ public class AstraClient {
              * You must have provided user/passwd/dbId/bbRegion
              * -----
              */
-            if (Utils.paramsProvided(b.astraDatabaseId, b.astraDatabaseRegion, b.appToken)) {
-                String astraStargateEndpint = new StringBuilder(ASTRA_ENDPOINT_PREFIX)
-                        .append(b.astraDatabaseId).append("-").append(b.astraDatabaseRegion)
-                        .append(ASTRA_ENDPOINT_SUFFIX).toString();
+            List<String> regions = new ArrayList<>();
+            if (Utils.hasLength(b.astraDatabaseRegion)) {
+                regions.add(b.astraDatabaseRegion);
+            }
+            if (b.multiRegion) {
+                discoverRegions(b.astraDatabaseId).stream()
+                       .filter(region -> !regions.contains(region))
+                       .forEach(regions::add);
+            }
+            if (!regions.isEmpty() && Utils.paramsProvided(b.astraDatabaseId, b.appToken)) {
+                // Requests are built against the first region, the one provided if any
+                String[] astraStargateEndpoints = regions.stream()
+                        .map(region -> new StringBuilder(ASTRA_ENDPOINT_PREFIX)
+                                .append(b.astraDatabaseId).append("-").append(region)
+                                .append(ASTRA_ENDPOINT_SUFFIX).toString())
+                        .toArray(String[]::new);
                 String username = "token";
                 String password = b.appToken;
                 if (Utils.paramsProvided(b.clientId, b.clientSecret)) {
@@ -138,13 +166,30 @@ public class AstraClient {
                  * user interface and use 'token' as username all the time
                  */
                 StargateClientBuilder sBuilder = StargateClient.builder()
-                              .documentApiUrl(astraStargateEndpint)
-                              .restApiUrl(astraStargateEndpint)
+                              .documentApiUrls(astraStargateEndpoints)
+                              .restApiUrls(astraStargateEndpoints)
+                              // Nearest healthy region, the others used as failover
+                              .loadBalancing(EndpointGroup.Strategy.LOWEST_LATENCY)
                               // Used for CqlSession
                               .username(username)
                               .password(password)
                               // Use for HTTP Calls, required for Astra.
-                              .appToken(b.appToken);
+                              .appToken(b.appToken)
+                              .httpClientOptions(b.httpClientOptions);
+                if (regions.size() > 1) {
+                    LOGGER.info("+ Stargate Apis balanced over regions {}", regions);
+                    if (Utils.hasLength(b.preferredWriteRegion)) {
+                        Assert.isTrue(regions.contains(b.preferredWriteRegion), 
+                                "Region '" + b.preferredWriteRegion + "' is not a region of the database " + regions);
+                        sBuilder = sBuilder.preferredWriteUrl(astraStargateEndpoints[regions.indexOf(b.preferredWriteRegion)]);
+                    }
+                }
+                if (null != b.throttling) {
+                    sBuilder = sBuilder.throttling(b.throttling);
+                }
+                if (null != b.cqlExecutorOptions) {
+                    sBuilder = sBuilder.cqlExecutorOptions(b.cqlExecutorOptions);
+                }
                 if (Utils.paramsProvided(b.keyspace)) {
                     sBuilder = sBuilder.keypace(b.keyspace);
                 }
@@ -158,6 +203,43 @@ public class AstraClient {
         LOGGER.info("[AstraClient] has been initialized.");
     }
     
+    /**
+     * Release the http threads of the Apis and close the CqlSession (if any).
+     */
+    @Override
+    public void close() {
+        if (null != apiDevops) {
+            apiDevops.close();
+        }
+        if (null != stargateClient) {
+            stargateClient.close();
+        }
+    }
+    
+    /**
+     * Regions of the database (one per datacenter) read from the devops Api, empty if not available.
+     */
+    private List<String> discoverRegions(String databaseId) {
+        if (null == apiDevops) {
+            LOGGER.warn("+ Cannot discover regions of the database, the devops Api is not available");
+            return new ArrayList<>();
+        }
+        try {
+            return apiDevops.findDatabaseById(databaseId)
+                    .map(Database::getInfo)
+                    .map(DatabaseInfo::getDatacenters)
+                    .orElse(Collections.emptySet()).stream()
+                    .map(Datacenter::getRegion)
+                    .filter(Utils::hasLength)
+                    .sorted()
+                    .distinct()
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            LOGGER.warn("+ Cannot discover regions of the database: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
     /** Document Api. */
     public ApiDocumentClient apiDocument() {
         if (stargateClient == null) {
@@ -200,6 +282,17 @@ public class AstraClient {
         return stargateClient.cqlSession().get();
     }
     
+    /**
+     *  CQL execution helpers (statements cache, bulk and paging)
+     */
+    public CqlExecutor cqlExecutor() {
+        if (stargateClient == null || stargateClient.cqlExecutor().isEmpty()) {
+            throw new IllegalStateException("CQL not available "
+                    + "you need to provide dbId/dbRegion/username/password at initialization.");
+        }
+        return stargateClient.cqlExecutor().get();
+    }
+    
     /**
      * Builder Pattern
      */
@@ -218,6 +311,12 @@ public class AstraClient {
         public String  keyspace;
         public String  clientId;
         public String  clientSecret;
+        public HttpClientOptions httpClientOptions = HttpClientOptions.defaults();
+        public HttpClientOptions devopsHttpClientOptions;
+        public ThrottlingOptions throttling;
+        public boolean multiRegion = false;
+        public String  preferredWriteRegion;
+        public CqlExecutorOptions cqlExecutorOptions;
           
         /**
          * Load defaults from Emvironment variables
@@ -333,6 +432,49 @@ public class AstraClient {
             this.clientSecret = clientSecret;
             return this;
         }
+        /**
+         * Http settings of all Apis, each Api builds its own http client from them.
+         */
+        public AstraClientBuilder httpClientOptions(HttpClientOptions options) {
+            Assert.notNull(options, "httpClientOptions");
+            this.httpClientOptions = options;
+            return this;
+        }
+        /**
+         * Http settings of the devops Api, overriding 'httpClientOptions'.
+         */
+        public AstraClientBuilder devopsHttpClientOptions(HttpClientOptions options) {
+            Assert.notNull(options, "devopsHttpClientOptions");
+            this.devopsHttpClientOptions = options;
+            return this;
+        }
+        public AstraClientBuilder throttling(ThrottlingOptions throttling) {
+            Assert.notNull(throttling, "throttling");
+            this.throttling = throttling;
+            return this;
+        }
+        public AstraClientBuilder cqlExecutorOptions(CqlExecutorOptions options) {
+            Assert.notNull(options, "cqlExecutorOptions");
+            this.cqlExecutorOptions = options;
+            return this;
+        }
+        public AstraClientBuilder multiRegion() {
+            this.multiRegion = true;
+            return this;
+        }
+        public AstraClientBuilder preferredWriteRegion(String region) {
+            Assert.hasLength(region, "preferredWriteRegion");
+            this.multiRegion          = true;
+            this.preferredWriteRegion = region;
+            return this;
+        }
+        
+        /**
+         * Http settings for the devops Api, default to 'httpClientOptions'.
+         */
+        public HttpClientOptions getDevopsHttpClientOptions() {
+            return (null != devopsHttpClientOptions) ? devopsHttpClientOptions : httpClientOptions;
+        }
         
         /**
          * Create the client
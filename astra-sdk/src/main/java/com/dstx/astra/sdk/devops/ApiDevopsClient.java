@@ -24,6 +24,9 @@ import com.dstx.astra.sdk.devops.res.Database;
 import com.dstx.astra.sdk.devops.res.DatabaseAvailableRegion;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import io.stargate.sdk.auth.StaticTokenProvider;
+import io.stargate.sdk.auth.TokenProvider;
+import io.stargate.sdk.http.HttpClientOptions;
 import io.stargate.sdk.utils.ApiSupport;
 import io.stargate.sdk.utils.Assert;
 import io.stargate.sdk.utils.Utils;
@@ -53,6 +56,14 @@ public class ApiDevopsClient extends ApiSupport {
      * As immutable object use builder to initiate the object.
      */
     public ApiDevopsClient(String authToken) {
+       this(authToken, HttpClientOptions.defaults());
+    }
+    
+    /**
+     * Constructor with dedicated http client settings.
+     */
+    public ApiDevopsClient(String authToken, HttpClientOptions options) {
+       super(options);
        this.bearerAuthToken = authToken;
        Assert.hasLength(bearerAuthToken, "authToken");
     }
@@ -69,7 +80,7 @@ public class ApiDevopsClient extends ApiSupport {
         HttpResponse<String> res;
         try {
            // Invocation with no marshalling
-           res = httpClient.send(
+           res = send("devops.findAllAvailableRegions",
                     startRequest("availableRegions").GET().build(), 
                     BodyHandlers.ofString());
             
@@ -140,8 +151,7 @@ public class ApiDevopsClient extends ApiSupport {
         HttpResponse<String> res;
         try {
             // Invocation (no marshalling yet)
-            res = httpClient
-                    .send(startRequest(filter.urlParams())
+            res = send("devops.findDatabases", startRequest(filter.urlParams())
                     .GET().build(), BodyHandlers.ofString());
             if (HttpURLConnection.HTTP_OK == res.statusCode()) {
                 return objectMapper
@@ -171,8 +181,7 @@ public class ApiDevopsClient extends ApiSupport {
         // Api Call
         HttpResponse<String> response;
         try {
-           response = httpClient
-                   .send(startRequest("databases/" + dbId).GET()
+           response = send("devops.findDatabaseById", startRequest("databases/" + dbId).GET()
                    .build(), BodyHandlers.ofString());
            
            // Mashallinging 
@@ -242,8 +251,7 @@ public class ApiDevopsClient extends ApiSupport {
         // HTTP CALL
         HttpResponse<String> response;
         try {
-            response = httpClient
-                    .send(startRequest("databases/" + dbId + "/keyspaces/" + keyspace)
+            response = send("devops.createKeyspace", startRequest("databases/" + dbId + "/keyspaces/" + keyspace)
                     .POST(BodyPublishers.noBody())
                     .build(), BodyHandlers.ofString());
         } catch (Exception e) {
@@ -269,8 +277,7 @@ public class ApiDevopsClient extends ApiSupport {
         // HTTP CALL
         HttpResponse<String> response;
         try {
-            response = httpClient
-                    .send(startRequest("databases/" + dbId  + "/secureBundleURL")
+            response = send("devops.downloadSecureConnectBundle", startRequest("databases/" + dbId  + "/secureBundleURL")
                     .POST(BodyPublishers.noBody())
                     .build(), BodyHandlers.ofString()); 
         } catch (Exception e) {
@@ -307,8 +314,7 @@ public class ApiDevopsClient extends ApiSupport {
         Assert.notNull(dbCreationRequest, "Database creation request");
         HttpResponse<String> response ;
         try {
-           response = httpClient
-                    .send(startRequest("databases")
+           response = send("devops.createDatabase", startRequest("databases")
                     .POST(BodyPublishers.ofString(objectMapper.writeValueAsString(dbCreationRequest)))
                     .build(), BodyHandlers.ofString());
         } catch (Exception e) {
@@ -332,8 +338,7 @@ public class ApiDevopsClient extends ApiSupport {
         Assert.hasLength(dbId, "Database id");
         HttpResponse<String> response;
         try {
-            response = httpClient
-                    .send(startRequest("databases/" + dbId + "/park")
+            response = send("devops.parkDatabase", startRequest("databases/" + dbId + "/park")
                     .POST(BodyPublishers.noBody())
                     .build(), BodyHandlers.ofString());
         } catch (Exception e) {
@@ -358,8 +363,7 @@ public class ApiDevopsClient extends ApiSupport {
         Assert.hasLength(dbId, "Database id");
         HttpResponse<String> response;
         try {
-            response = httpClient
-                    .send(startRequest("databases/" + dbId + "/unpark")
+            response = send("devops.unparkDatabase", startRequest("databases/" + dbId + "/unpark")
                     .POST(BodyPublishers.noBody())
                     .build(), BodyHandlers.ofString());
         } catch (Exception e) {
@@ -385,8 +389,7 @@ public class ApiDevopsClient extends ApiSupport {
         HttpResponse<String> response;
         try {
             // Invocation
-            response = httpClient
-                    .send(startRequest("databases/" + dbId + "/terminate")
+            response = send("devops.terminateDatabase", startRequest("databases/" + dbId + "/terminate")
                     .POST(BodyPublishers.noBody())
                     .build(), BodyHandlers.ofString());
         } catch (Exception e) {
@@ -412,8 +415,7 @@ public class ApiDevopsClient extends ApiSupport {
         Assert.isTrue(capacityUnits>0, "Capacity Unit");
         HttpResponse<String> response;
         try {
-            response = httpClient
-                    .send(startRequest("databases/" + databaseID + "/resize")
+            response = send("devops.resizeDatabase", startRequest("databases/" + databaseID + "/resize")
                     .POST(BodyPublishers.ofString("{ \"capacityUnits\":" + capacityUnits + "}"))
                     .build(), BodyHandlers.ofString());
         } catch (Exception e) {
@@ -442,8 +444,7 @@ public class ApiDevopsClient extends ApiSupport {
         Assert.hasLength(dbId, "Database id");
         HttpResponse<String> response;
         try {
-            response = httpClient
-                    .send(startRequest("databases/" + dbId + "/resetPassword")
+            response = send("devops.resetPassword", startRequest("databases/" + dbId + "/resetPassword")
                     .POST(BodyPublishers.ofString("{ "
                             + "\"username\": \"" + username + "\", "
                             + "\"password\": \"" + password + "\"  }"))
@@ -469,7 +470,7 @@ public class ApiDevopsClient extends ApiSupport {
     private HttpRequest.Builder startRequest(String suffix) {
         return HttpRequest.newBuilder()
                 .uri(URI.create(ASTRA_ENDPOINT_DEVOPS + suffix))
-                .timeout(REQUEST_TIMOUT)
+                .timeout(httpClientOptions.getRequestTimeout())
                 .header(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON)
                 .header(HEADER_ACCEPT, CONTENT_TYPE_JSON)
                 .header(HEADER_AUTHORIZATION, "Bearer " + bearerAuthToken);
@@ -532,4 +533,10 @@ public class ApiDevopsClient extends ApiSupport {
         return bearerAuthToken;
     }
     
+    /** {@inheritDoc} */
+    @Override
+    protected TokenProvider createTokenProvider() {
+        return new StaticTokenProvider(bearerAuthToken);
+    }
+    
 }
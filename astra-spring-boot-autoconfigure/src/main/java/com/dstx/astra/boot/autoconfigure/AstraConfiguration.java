@@ -1,6 +1,9 @@
 package com.dstx.astra.boot.autoconfigure;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -11,6 +14,12 @@ import com.datastax.oss.driver.api.core.CqlSession;
 import com.dstx.astra.sdk.AstraClient;
 import com.dstx.astra.sdk.AstraClient.AstraClientBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.HttpClientOptions.HttpClientOptionsBuilder;
+import io.stargate.sdk.http.RequestInstrumentation;
+import io.stargate.sdk.micrometer.MicrometerRequestInstrumentation;
+
 /**
  * Initializing AstraClient (if class present in classpath)
  * - #1 Configuration with application.properties
@@ -19,11 +28,17 @@ import com.dstx.astra.sdk.AstraClient.AstraClientBuilder;
  * 
  * You can also define your {@link AstraClient} explicitely.
  * 
+ * Every {@link RequestInstrumentation} bean is registered on the client, when a MeterRegistry 
+ * is available (actuator) requests are published as Micrometer meters.
+ * 
  * @author Cedrick LUNVEN (@clunven)
  */
 @Configuration
 @ConditionalOnClass(AstraClient.class)
 @EnableConfigurationProperties(AstraClientProperties.class)
+@AutoConfigureAfter(name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
 public class AstraConfiguration {
 
     @Autowired
@@ -31,7 +46,7 @@ public class AstraConfiguration {
     
     @Bean
     @ConditionalOnMissingBean
-    public AstraClient astraClient() {
+    public AstraClient astraClient(ObjectProvider<RequestInstrumentation> instrumentations) {
         /* 
          * Load properties and initialize the client
          */
@@ -51,6 +66,10 @@ public class AstraConfiguration {
             builder = builder.keyspace(astraClientProperties.getKeyspace());  
         }
         
+        HttpClientOptionsBuilder httpOptions = HttpClientOptions.builder();
+        instrumentations.orderedStream().forEach(httpOptions::instrumentation);
+        builder = builder.httpClientOptions(httpOptions.build());
+        
         return builder.build();
     }
     
@@ -67,5 +86,19 @@ public class AstraConfiguration {
         return astraClient.cqlSession();
     }
     
+    /**
+     * Publish SDK requests metrics when Micrometer is available.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class AstraMetricsConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerRequestInstrumentation astraRequestInstrumentation(MeterRegistry meterRegistry) {
+            return new MicrometerRequestInstrumentation(meterRegistry);
+        }
+    }
 
 }
@@ -0,0 +1,68 @@
+package com.dstx.astra.boot.autoconfigure;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.sdk.http.RequestInstrumentation;
+import io.stargate.sdk.micrometer.MicrometerRequestInstrumentation;
+
+/**
+ * The Micrometer binding of {@link AstraConfiguration} is registered only when a MeterRegistry bean exists.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class AstraMetricsConfigurationTest {
+    
+    @Test
+    public void should_register_instrumentation_with_a_meter_registry() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                MeterRegistryConfiguration.class, AstraConfiguration.AstraMetricsConfiguration.class)) {
+            MicrometerRequestInstrumentation metrics = context.getBean(MicrometerRequestInstrumentation.class);
+            // Picked up by the client as any other instrumentation
+            Assertions.assertSame(metrics, context.getBean(RequestInstrumentation.class));
+        }
+    }
+    
+    @Test
+    public void should_not_register_instrumentation_without_meter_registry() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                AstraConfiguration.AstraMetricsConfiguration.class)) {
+            Assertions.assertTrue(context.getBeansOfType(RequestInstrumentation.class).isEmpty());
+        }
+    }
+    
+    @Test
+    public void should_keep_instrumentation_defined_by_the_application() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                MeterRegistryConfiguration.class, CustomInstrumentationConfiguration.class,
+                AstraConfiguration.AstraMetricsConfiguration.class)) {
+            Assertions.assertEquals(1, context.getBeansOfType(MicrometerRequestInstrumentation.class).size());
+            Assertions.assertSame(context.getBean("customInstrumentation"),
+                    context.getBean(MicrometerRequestInstrumentation.class));
+        }
+    }
+    
+    @Configuration(proxyBeanMethods = false)
+    static class MeterRegistryConfiguration {
+        
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+    
+    @Configuration(proxyBeanMethods = false)
+    static class CustomInstrumentationConfiguration {
+        
+        @Bean
+        public MicrometerRequestInstrumentation customInstrumentation(MeterRegistry meterRegistry) {
+            return new MicrometerRequestInstrumentation(meterRegistry);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.stargate.sdk.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks writing results as json (default 'jmh-result.json') to compare versions.
+ *
+ * java -jar target/benchmarks.jar [jmh options, e.g. JsonUtils -rff sdk-2021.1.json]
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BenchmarkRunner {
+    
+    /** Default result file. */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+    
+    /**
+     * Entry point, any JMH command line option is accepted and overrides the defaults.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cli.getResult().orElse(DEFAULT_RESULT_FILE))
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.stargate.sdk.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.stargate.sdk.utils.JsonUtils;
+
+/**
+ * Json helpers used to build where clauses and request bodies.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilsBenchmark {
+    
+    private String plain = "firstname";
+    
+    private String escaped = "line1\nline2\t\"quoted\" \\ back/slash";
+    
+    private List<Object> values = Arrays.asList("Paris", "Melun", 75000, 77000, true, "Lyon");
+    
+    @Benchmark
+    public String escapeJsonPlain() {
+        return JsonUtils.escapeJson(plain);
+    }
+    
+    @Benchmark
+    public String escapeJsonSpecialChars() {
+        return JsonUtils.escapeJson(escaped);
+    }
+    
+    @Benchmark
+    public String valueAsJsonString() {
+        return JsonUtils.valueAsJson(escaped);
+    }
+    
+    @Benchmark
+    public String valueAsJsonNumber() {
+        return JsonUtils.valueAsJson(42);
+    }
+    
+    @Benchmark
+    public String collectionAsJson() {
+        return JsonUtils.collectionAsJson(values);
+    }
+
+}
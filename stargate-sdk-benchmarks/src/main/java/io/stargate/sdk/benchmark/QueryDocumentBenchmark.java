@@ -0,0 +1,76 @@
+package io.stargate.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.stargate.sdk.doc.Predicate;
+import io.stargate.sdk.doc.PreparedQuery;
+import io.stargate.sdk.doc.QueryDocument;
+
+/**
+ * Building queries and their where clause.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryDocumentBenchmark {
+    
+    private PreparedQuery ageRange;
+    
+    private int age = 21;
+    
+    @Setup
+    public void setup() {
+        ageRange = QueryDocument.builder()
+                .withPageSize(20)
+                .where(Predicate.between("age", Predicate.param("min"), Predicate.param("max")))
+                .where("address.city").isEqualsTo("Paris")
+                .prepare();
+    }
+    
+    @Benchmark
+    public QueryDocument whereNumeric() {
+        return QueryDocument.builder()
+                .withPageSize(20)
+                .where("age").isGreaterOrEqualsThan(21)
+                .build();
+    }
+    
+    @Benchmark
+    public QueryDocument whereEqualsString() {
+        return QueryDocument.builder()
+                .where("address.city").isEqualsTo("Paris")
+                .withReturnedFields("firstname", "lastname")
+                .build();
+    }
+    
+    @Benchmark
+    public QueryDocument whereRange() {
+        return QueryDocument.builder()
+                .withPageSize(20)
+                .where(Predicate.between("age", age, age + 10))
+                .where("address.city").isEqualsTo("Paris")
+                .build();
+    }
+    
+    @Benchmark
+    public QueryDocument whereRangePrepared() {
+        return ageRange.bind(age, age + 10);
+    }
+
+}
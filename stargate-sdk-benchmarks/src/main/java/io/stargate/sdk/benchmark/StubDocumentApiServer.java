@@ -0,0 +1,113 @@
+package io.stargate.sdk.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process http server answering like the Document API with canned payloads, the
+ * end-to-end benchmarks measure the SDK and the local http stack, not the database.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class StubDocumentApiServer implements AutoCloseable {
+    
+    /** Namespace served. */
+    public static final String NAMESPACE = "bench_ns";
+    
+    /** Collection served. */
+    public static final String COLLECTION = "person";
+    
+    /** Search page returned for any query. */
+    public static final byte[] SEARCH_PAGE = searchPage(20).getBytes(StandardCharsets.UTF_8);
+    
+    /** Document returned for any id. */
+    public static final byte[] DOCUMENT = person(0).getBytes(StandardCharsets.UTF_8);
+    
+    /** Body of write responses. */
+    private static final byte[] DOCUMENT_ID = "{\"documentId\":\"doc\"}".getBytes(StandardCharsets.UTF_8);
+    
+    /** Http server. */
+    private final HttpServer server;
+    
+    /** Server threads. */
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    
+    /**
+     * Start the server on a random local port.
+     */
+    public StubDocumentApiServer() throws IOException {
+        // Headers and body are written separately, without it Nagle + delayed ack add ~40ms per call
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/namespaces/" + NAMESPACE + "/collections/" + COLLECTION, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+    
+    /**
+     * Endpoint to use as document api url.
+     */
+    public String getEndpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.readAllBytes();
+        }
+        String path = exchange.getRequestURI().getPath();
+        boolean isCollection = path.endsWith("/" + COLLECTION);
+        byte[] body;
+        int status = 200;
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                body = isCollection ? SEARCH_PAGE : DOCUMENT;
+            break;
+            case "POST":
+                body   = DOCUMENT_ID;
+                status = 201;
+            break;
+            default:
+                body = DOCUMENT_ID;
+            break;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Json of a search page with n documents.
+     */
+    public static String searchPage(int n) {
+        StringBuilder sb = new StringBuilder("{\"pageState\":\"c2VhcmNoLXBhZ2Utc3RhdGU=\",\"data\":{");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append("\"doc-").append(i).append("\":").append(person(i));
+        }
+        return sb.append("}}").toString();
+    }
+    
+    private static String person(int i) {
+        return "{\"firstname\":\"first" + i + "\",\"lastname\":\"last" + i 
+                + "\",\"age\":" + (20 + i) + ",\"city\":\"Paris\"}";
+    }
+
+}
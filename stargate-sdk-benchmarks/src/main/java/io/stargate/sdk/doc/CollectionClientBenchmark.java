@@ -0,0 +1,126 @@
+package io.stargate.sdk.doc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.stargate.sdk.benchmark.Person;
+import io.stargate.sdk.benchmark.StubDocumentApiServer;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.utils.ApiResponse;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Url construction, search response decoding and document operations against a stub server.
+ * 
+ * Located in the sdk package to reach package visible helpers.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionClientBenchmark {
+    
+    private StubDocumentApiServer server;
+    
+    private ApiDocumentClient apiDoc;
+    
+    private CollectionClient collection;
+    
+    private QueryDocument query;
+    
+    private byte[] searchPage;
+    
+    private ResultListPageDecoder<Person> decoder;
+    
+    private Person person;
+    
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new StubDocumentApiServer();
+        apiDoc = new ApiDocumentClient("bench", "bench", null, "bench-token", server.getEndpoint(),
+                HttpClientOptions.builder().version(java.net.http.HttpClient.Version.HTTP_1_1).build());
+        collection = apiDoc.namespace(StubDocumentApiServer.NAMESPACE).collection(StubDocumentApiServer.COLLECTION);
+        query      = QueryDocument.builder()
+                .withPageSize(20)
+                .where("age").isGreaterOrEqualsThan(21)
+                .withReturnedFields("firstname", "lastname")
+                .build();
+        searchPage = StubDocumentApiServer.SEARCH_PAGE;
+        decoder    = new ResultListPageDecoder<>(Person.class);
+        person     = new Person("John", "Doe", 42, "Paris");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+    
+    @Benchmark
+    public String buildQueryUrl() {
+        return collection.buildQueryUrl(query);
+    }
+    
+    @Benchmark
+    public ResultListPage<Person> decodeSearchPage() {
+        return decoder.decode(searchPage, 20);
+    }
+    
+    /**
+     * Former decoding: String body, Map graph then convertValue per document (reference).
+     */
+    @Benchmark
+    public ResultListPage<Person> decodeSearchPageWithConvertValue() throws Exception {
+        ApiResponse<Map<String, LinkedHashMap<?,?>>> result = ApiSupport.getObjectMapper()
+                .readValue(new String(searchPage, StandardCharsets.UTF_8), 
+                        new TypeReference<ApiResponse<Map<String, LinkedHashMap<?,?>>>>(){});
+        return new ResultListPage<Person>(20, result.getPageState(), result.getData()
+                .entrySet().stream()
+                .map(doc -> new ApiDocument<Person>(doc.getKey(), 
+                        ApiSupport.getObjectMapper().convertValue(doc.getValue(), Person.class)))
+                .collect(Collectors.toList()));
+    }
+    
+    @Benchmark
+    public ResultListPage<Person> search() {
+        return collection.search(query, Person.class);
+    }
+    
+    @Benchmark
+    public Optional<Person> find() {
+        return collection.document("doc-1").find(Person.class);
+    }
+    
+    @Benchmark
+    public String upsert() {
+        return collection.document("doc-1").upsert(person);
+    }
+    
+    @Benchmark
+    public String createNewDocument() {
+        return collection.createNewDocument(person);
+    }
+
+}
@@ -0,0 +1,111 @@
+package io.stargate.sdk.doc;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Building the http request of a document operation with the urls prepared once per client,
+ * against the former per call concatenation (reference).
+ *
+ * Allocations per request are reported with the gc profiler:
+ *
+ * java -jar target/benchmarks.jar RequestBuilding -prof gc
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildingBenchmark {
+    
+    private static final String ENDPOINT = "http://localhost:8082";
+    
+    private ApiDocumentClient apiDoc;
+    
+    private CollectionClient collection;
+    
+    private QueryDocument query;
+    
+    private String namespace = "bench_ns";
+    
+    private String collectionName = "persons";
+    
+    private String docId = "doc-1";
+    
+    private String token = "bench-token";
+    
+    private URI collectionUri;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        apiDoc     = new ApiDocumentClient("bench", "bench", null, "bench-token", ENDPOINT);
+        collection = apiDoc.namespace(namespace).collection(collectionName);
+        query      = QueryDocument.builder()
+                .withPageSize(20)
+                .where("age").isGreaterOrEqualsThan(21)
+                .build();
+        collectionUri = URI.create(collection.getEndPointCollection());
+    }
+    
+    @Benchmark
+    public HttpRequest findRequest() {
+        return apiDoc.newRequest(collection.getEndPointCollection() + "/" + docId, token).GET().build();
+    }
+    
+    @Benchmark
+    public HttpRequest searchRequest() {
+        return apiDoc.newRequest(collection.buildQueryUrl(query), token).GET().build();
+    }
+    
+    @Benchmark
+    public HttpRequest createRequest() {
+        return apiDoc.newRequest(collectionUri, token).GET().build();
+    }
+    
+    /**
+     * Former construction: url concatenated and parsed at each call.
+     */
+    @Benchmark
+    public HttpRequest createRequestRebuilt() {
+        String url = apiDoc.getEndPointApiDocument()
+                + NamespaceClient.PATH_NAMESPACES  + "/" + namespace
+                + NamespaceClient.PATH_COLLECTIONS + "/" + collectionName;
+        return apiDoc.newRequest(url, token).GET().build();
+    }
+    
+    /**
+     * Former construction: url concatenated at each call, new builder with all headers.
+     */
+    @Benchmark
+    public HttpRequest findRequestRebuilt() {
+        String url = apiDoc.getEndPointApiDocument()
+                + NamespaceClient.PATH_NAMESPACES  + "/" + namespace
+                + NamespaceClient.PATH_COLLECTIONS + "/" + collectionName
+                + "/" + docId;
+        return HttpRequest.newBuilder()
+                .timeout(apiDoc.getHttpClientOptions().getRequestTimeout())
+                .header(ApiSupport.HEADER_CONTENT_TYPE, ApiSupport.CONTENT_TYPE_JSON)
+                .header(ApiSupport.HEADER_CASSANDRA, token)
+                .uri(URI.create(url))
+                .GET().build();
+    }
+
+}
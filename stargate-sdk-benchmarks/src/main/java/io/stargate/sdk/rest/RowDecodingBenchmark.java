@@ -0,0 +1,58 @@
+package io.stargate.sdk.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding of a page of 100 rows of 8 columns as maps or as compact rows.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowDecodingBenchmark {
+    
+    private byte[] page;
+    
+    private RowResultPageDecoder<Row> rowDecoder = new RowResultPageDecoder<>(Row.class);
+    
+    private RowResultPageDecoder<CompactRow> compactDecoder = new RowResultPageDecoder<>(CompactRow.class);
+    
+    @Setup
+    public void createPage() {
+        StringBuilder sb = new StringBuilder("{\"count\":100,\"pageState\":\"AAAAQ\",\"data\":[");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i == 0 ? "" : ",")
+              .append("{\"videoid\":\"").append(i).append("\",\"added\":\"2021-02-01T10:00:00Z\"")
+              .append(",\"title\":\"Video ").append(i).append("\",\"views\":").append(i * 31)
+              .append(",\"rating\":4.5,\"public\":true,\"author\":\"cedrick\",\"tags\":[\"cql\",\"rest\"]}");
+        }
+        page = sb.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public RowResultPage<Row> decodeRows() {
+        return rowDecoder.decode(page, 100);
+    }
+    
+    @Benchmark
+    public RowResultPage<CompactRow> decodeCompactRows() {
+        return compactDecoder.decode(page, 100);
+    }
+
+}
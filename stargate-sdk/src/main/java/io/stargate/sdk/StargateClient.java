@@ -14,7 +14,14 @@ import org.slf4j.LoggerFactory;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.CqlSessionBuilder;
 
+import io.stargate.sdk.auth.TokenProvider;
+import io.stargate.sdk.cql.CqlExecutor;
+import io.stargate.sdk.cql.CqlExecutorOptions;
 import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.http.EndpointGroup;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.RequestThrottler;
+import io.stargate.sdk.http.ThrottlingOptions;
 import io.stargate.sdk.rest.ApiRestClient;
 import io.stargate.sdk.utils.Assert;
 import io.stargate.sdk.utils.Utils;
@@ -26,10 +33,11 @@ import io.stargate.sdk.utils.Utils;
  * .keyspace("")           : will lead you to rest API (table oriented) API
  * .devops(id,name,secret) : is the devops API
  * .cql()                  : Give you a CqlSession
+ * .cqlExecutor()          : Prepared statements cache, bulk executions and paging on the CqlSession
  * 
  * @author Cedrick LUNVEN (@clunven)
  */
-public class StargateClient {
+public class StargateClient implements AutoCloseable {
 
     /** Logger for our Client. */
     private static final Logger LOGGER = LoggerFactory.getLogger(StargateClient.class);
@@ -59,6 +67,9 @@ public class StargateClient {
     /** Hold a reference for the Api Devops. */
     private CqlSession cqlSession;
     
+    /** Prepared statements and execution helpers on the session. */
+    private CqlExecutor cqlExecutor;
+    
     /**
      *  Accessing Document API
      */
@@ -80,6 +91,13 @@ public class StargateClient {
         return Optional.ofNullable(cqlSession);
     }
     
+    /**
+     * Execution helpers on the CqlSession (statements cache, bulk and paging), empty when CQL is disabled.
+     */
+    public Optional<CqlExecutor> cqlExecutor() {
+        return Optional.ofNullable(cqlExecutor);
+    }
+    
     /**
      * You can create on of {@link ApiDocumentClient}, {@link ApiRestClient}, {@link ApiDevopsClient}, {@link ApiCqlClient} with
      * a constructor. The full flegde constructor would took 12 pararms.
@@ -92,7 +110,8 @@ public class StargateClient {
                     builder.password, 
                     builder.endPointAuthentication, 
                     builder.appToken,
-                    builder.endPointApiDocument);
+                    builder.endPointApiDocument,
+                    builder.getDocumentApiHttpClientOptions());
         }
         
         if (Utils.paramsProvided(builder.username, 
@@ -102,7 +121,36 @@ public class StargateClient {
                 builder.password, 
                 builder.endPointAuthentication,
                 builder.appToken,
-                builder.endPointApiRest);
+                builder.endPointApiRest,
+                builder.getRestApiHttpClientOptions());
+        }
+        
+        // Several Stargate coordinators
+        if (null != apiDoc && builder.documentApiUrls.size() > 1) {
+            apiDoc.setEndpointGroup(builder.endpointGroup(builder.documentApiUrls));
+        }
+        if (null != apiRest && builder.restApiUrls.size() > 1) {
+            apiRest.setEndpointGroup(builder.endpointGroup(builder.restApiUrls));
+        }
+        
+        // Document and rest Apis share the quota of the database
+        if (null != builder.throttling && builder.throttling.isEnabled()) {
+            RequestThrottler throttler = new RequestThrottler(builder.throttling);
+            if (null != apiDoc) {
+                apiDoc.setRequestThrottler(throttler);
+            }
+            if (null != apiRest) {
+                apiRest.setRequestThrottler(throttler);
+            }
+        }
+        
+        if (null != builder.tokenProvider) {
+            if (null != apiDoc) {
+                apiDoc.setTokenProvider(builder.tokenProvider);
+            }
+            if (null != apiRest) {
+                apiRest.setTokenProvider(builder.tokenProvider);
+            }
         }
         
         // For security reason you want to disable CQL
@@ -131,8 +179,15 @@ public class StargateClient {
                 
                 // Sanity Check query
                 cqlSession.execute("SELECT data_center from system.local");
+                cqlExecutor = new CqlExecutor(cqlSession, builder.cqlExecutorOptions);
                 LOGGER.info("+ Cql API: Enabled");
                 
+                // Rows of the Rest Api tables as prepared statements on the session
+                if (builder.tableRowsOverCql && null != apiRest) {
+                    apiRest.setCqlExecutor(cqlExecutor);
+                    LOGGER.info("+ Table rows over CQL: Enabled");
+                }
+                
                 // As we opened a cqlSession we may want to close it properly at application shutdown.
                 Runtime.getRuntime().addShutdownHook(new Thread() { 
                     public void run() { 
@@ -147,6 +202,22 @@ public class StargateClient {
         LOGGER.info("[StargateClient] has been initialized");
     }
     
+    /**
+     * Release the http threads of the Apis and close the CqlSession (if any).
+     */
+    @Override
+    public void close() {
+        if (null != apiDoc) {
+            apiDoc.close();
+        }
+        if (null != apiRest) {
+            apiRest.close();
+        }
+        if (null != cqlSession) {
+            cqlSession.close();
+        }
+    }
+    
     private InetSocketAddress mapContactPoint(String contactPoint) {
         String[] chunks = contactPoint.split(":");
         if (chunks.length != 2) {
@@ -190,8 +261,20 @@ public class StargateClient {
         private String endPointApiRest = "http://localhost:8082";
         /** This the endPoint to invoke to work with different API(s). */
         private String endPointApiDocument = "http://localhost:8082";
+        /** Nodes serving the rest Api when more than one, first one is 'endPointApiRest'. */
+        private List<String> restApiUrls = new ArrayList<>();
+        /** Nodes serving the document Api when more than one, first one is 'endPointApiDocument'. */
+        private List<String> documentApiUrls = new ArrayList<>();
+        /** Selection of the node when several urls are provided for an Api. */
+        private EndpointGroup.Strategy loadBalancing = EndpointGroup.Strategy.ROUND_ROBIN;
+        /** Node receiving the writes while healthy when several urls are provided, optional. */
+        private String preferredWriteUrl;
         /** If this flag is disabled no CQL session will be created. */
         private boolean enableCql = true;
+        /** Rows of tables read and written over the CQL session (when enabled) instead of the Rest Api. */
+        private boolean tableRowsOverCql = false;
+        /** Statements cache, bulk concurrency and instrumentation of the CQL executor. */
+        private CqlExecutorOptions cqlExecutorOptions = CqlExecutorOptions.defaults();
         /** working with local Cassandra. */
         private List<String> endPointCql = new ArrayList<>(Arrays.asList("localhost:9042"));
         /** Local data center. */
@@ -200,6 +283,16 @@ public class StargateClient {
         private String keyspaceName; 
         /** SecureCloudBundle (ASTRA ONLY) overriding. */
         private String astraCloudSecureBundle = null;
+        /** Http settings applied to each Api client (each one still gets its own http client). */
+        private HttpClientOptions httpClientOptions = HttpClientOptions.defaults();
+        /** Http settings dedicated to the Document Api, override 'httpClientOptions'. */
+        private HttpClientOptions documentApiHttpClientOptions;
+        /** Http settings dedicated to the Rest Api, override 'httpClientOptions'. */
+        private HttpClientOptions restApiHttpClientOptions;
+        /** Custom token provider shared by the Api clients, override appToken and credentials. */
+        private TokenProvider tokenProvider;
+        /** Client-side limits shared by document and rest Apis, override the ones of 'httpClientOptions'. */
+        private ThrottlingOptions throttling;
           
         /**
          * Load defaults from Emvironment variables
@@ -215,10 +308,10 @@ public class StargateClient {
                 this.endPointAuthentication = System.getenv(STARGATE_ENDPOINT_AUTH);
             }
             if (null != System.getenv(STARGATE_ENDPOINT_DOC)) {
-                this.endPointApiDocument = System.getenv(STARGATE_ENDPOINT_DOC);
+                documentApiUrls(System.getenv(STARGATE_ENDPOINT_DOC).split(","));
             }
             if (null != System.getenv(STARGATE_ENDPOINT_REST)) {
-                this.endPointApiRest = System.getenv(STARGATE_ENDPOINT_REST);
+                restApiUrls(System.getenv(STARGATE_ENDPOINT_REST).split(","));
             }
             if (null != System.getenv(STARGATE_ENDPOINT_CQL)) {
                 this.endPointCql = Arrays.asList(System.getenv(STARGATE_ENDPOINT_CQL).split(","));
@@ -260,11 +353,35 @@ public class StargateClient {
         public StargateClientBuilder documentApiUrl(String documentApiUrl) {
             Assert.hasLength(documentApiUrl, "documentApiUrl");
             this.endPointApiDocument = documentApiUrl;
+            this.documentApiUrls     = new ArrayList<>();
+            return this;
+        }
+        public StargateClientBuilder documentApiUrls(String... documentApiUrls) {
+            Assert.isTrue(null != documentApiUrls && documentApiUrls.length > 0, "documentApiUrls should not be empty");
+            documentApiUrl(documentApiUrls[0].trim());
+            this.documentApiUrls = Arrays.stream(documentApiUrls).map(String::trim).collect(Collectors.toList());
             return this;
         }
         public StargateClientBuilder restApiUrl(String restApiUrl) {
             Assert.hasLength(restApiUrl, "restApiUrl");
             this.endPointApiRest = restApiUrl;
+            this.restApiUrls     = new ArrayList<>();
+            return this;
+        }
+        public StargateClientBuilder restApiUrls(String... restApiUrls) {
+            Assert.isTrue(null != restApiUrls && restApiUrls.length > 0, "restApiUrls should not be empty");
+            restApiUrl(restApiUrls[0].trim());
+            this.restApiUrls = Arrays.stream(restApiUrls).map(String::trim).collect(Collectors.toList());
+            return this;
+        }
+        public StargateClientBuilder loadBalancing(EndpointGroup.Strategy strategy) {
+            Assert.notNull(strategy, "strategy");
+            this.loadBalancing = strategy;
+            return this;
+        }
+        public StargateClientBuilder preferredWriteUrl(String preferredWriteUrl) {
+            Assert.hasLength(preferredWriteUrl, "preferredWriteUrl");
+            this.preferredWriteUrl = preferredWriteUrl;
             return this;
         }
         public StargateClientBuilder localDc(String localDc) {
@@ -281,6 +398,15 @@ public class StargateClient {
             this.enableCql = false;
             return this;
         }
+        public StargateClientBuilder tableRowsOverCql() {
+            this.tableRowsOverCql = true;
+            return this;
+        }
+        public StargateClientBuilder cqlExecutorOptions(CqlExecutorOptions options) {
+            Assert.notNull(options, "cqlExecutorOptions");
+            this.cqlExecutorOptions = options;
+            return this;
+        }
         public StargateClientBuilder addCqlContactPoint(String ip, int port) {
             Assert.hasLength(ip, "ip");
             this.endPointCql.add(ip + ":" + port);
@@ -297,6 +423,67 @@ public class StargateClient {
             this.astraCloudSecureBundle = bundle;
             return this;
         }
+        /**
+         * Http settings of all Apis, each Api builds its own http client from them.
+         */
+        public StargateClientBuilder httpClientOptions(HttpClientOptions options) {
+            Assert.notNull(options, "httpClientOptions");
+            this.httpClientOptions = options;
+            return this;
+        }
+        /**
+         * Http settings of the document Api, overriding 'httpClientOptions'.
+         */
+        public StargateClientBuilder documentApiHttpClientOptions(HttpClientOptions options) {
+            Assert.notNull(options, "documentApiHttpClientOptions");
+            this.documentApiHttpClientOptions = options;
+            return this;
+        }
+        /**
+         * Http settings of the rest Api, overriding 'httpClientOptions'.
+         */
+        public StargateClientBuilder restApiHttpClientOptions(HttpClientOptions options) {
+            Assert.notNull(options, "restApiHttpClientOptions");
+            this.restApiHttpClientOptions = options;
+            return this;
+        }
+        public StargateClientBuilder tokenProvider(TokenProvider tokenProvider) {
+            Assert.notNull(tokenProvider, "tokenProvider");
+            this.tokenProvider = tokenProvider;
+            return this;
+        }
+        public StargateClientBuilder throttling(ThrottlingOptions throttling) {
+            Assert.notNull(throttling, "throttling");
+            this.throttling = throttling;
+            return this;
+        }
+        
+        /**
+         * Http settings for the document Api.
+         */
+        public HttpClientOptions getDocumentApiHttpClientOptions() {
+            return (null != documentApiHttpClientOptions) ? documentApiHttpClientOptions : httpClientOptions;
+        }
+        
+        /**
+         * Http settings for the rest Api.
+         */
+        public HttpClientOptions getRestApiHttpClientOptions() {
+            return (null != restApiHttpClientOptions) ? restApiHttpClientOptions : httpClientOptions;
+        }
+        
+        /**
+         * Balancing over several nodes of an Api, the preferred write url is used only if it is one of them.
+         */
+        private EndpointGroup endpointGroup(List<String> urls) {
+            EndpointGroup.EndpointGroupBuilder group = EndpointGroup.builder()
+                    .endpoints(urls)
+                    .strategy(loadBalancing);
+            if (null != preferredWriteUrl && urls.contains(preferredWriteUrl)) {
+                group.preferredWrite(preferredWriteUrl);
+            }
+            return group.build();
+        }
         
         /**
          * Create the client
@@ -0,0 +1,260 @@
+package io.stargate.sdk.auth;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.JsonUtils;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Token generated by the Stargate authentication service (/v1/auth) from username and password.
+ *
+ * - A single renewal is in flight at a time, other threads wait for its result. Asynchronous
+ * callers get the future of the renewal, no thread is blocked.
+ * - When the token has been used since last renewal, a new one is requested in the background
+ * before it expires so requests do not pay the authentication round trip.
+ * - Token and expiry are published together in an immutable holder.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class StargateAuthTokenProvider implements TokenProvider {
+    
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StargateAuthTokenProvider.class);
+    
+    /** Background renewal happens after this fraction of the ttl. */
+    public static final double REFRESH_RATIO = 0.8;
+    
+    /** Shared daemon thread for background renewals. */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "stargate-token-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+    
+    /** Authentication endpoint (without /v1/auth). */
+    private final String endPointAuthentication;
+    
+    /** Username. */
+    private final String username;
+    
+    /** Password. */
+    private final String password;
+    
+    /** Time to live of a token. */
+    private final Duration tokenTtl;
+    
+    /** Http client used to authenticate. */
+    private final HttpClient httpClient;
+    
+    /** Timeout of authentication request. */
+    private final Duration requestTimeout;
+    
+    /** Current token. */
+    private volatile Token current;
+    
+    /** Token has been read since last renewal. */
+    private volatile boolean used = false;
+    
+    /** Renewal in progress (guarded by this). */
+    private CompletableFuture<Token> renewal;
+    
+    /** Next background renewal (guarded by this). */
+    private ScheduledFuture<?> scheduledRenewal;
+    
+    /** Background renewals stopped (guarded by this). */
+    private boolean closed = false;
+    
+    /**
+     * Full constructor.
+     */
+    public StargateAuthTokenProvider(String endPointAuthentication, String username, String password, 
+            Duration tokenTtl, HttpClient httpClient, Duration requestTimeout) {
+        Assert.hasLength(endPointAuthentication, "endPointAuthentication");
+        Assert.hasLength(username, "username");
+        Assert.hasLength(password, "password");
+        Assert.notNull(tokenTtl, "tokenTtl");
+        Assert.notNull(httpClient, "httpClient");
+        Assert.notNull(requestTimeout, "requestTimeout");
+        this.endPointAuthentication = endPointAuthentication;
+        this.username               = username;
+        this.password               = password;
+        this.tokenTtl               = tokenTtl;
+        this.httpClient             = httpClient;
+        this.requestTimeout         = requestTimeout;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String getToken() {
+        return Utils.await(getTokenAsync(), "Cannot generate authentication token");
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String renewToken(String rejectedToken) {
+        return Utils.await(renewTokenAsync(rejectedToken), "Cannot generate authentication token");
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<String> getTokenAsync() {
+        used = true;
+        Token t = current;
+        if (null != t && !t.isExpired()) {
+            return CompletableFuture.completedFuture(t.value);
+        }
+        return renew(t).thenApply(token -> token.value);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<String> renewTokenAsync(String rejectedToken) {
+        used = true;
+        Token t = current;
+        if (null != t && null != rejectedToken && !t.value.equals(rejectedToken) && !t.isExpired()) {
+            // Already renewed by another thread
+            return CompletableFuture.completedFuture(t.value);
+        }
+        return renew(t).thenApply(token -> token.value);
+    }
+    
+    /**
+     * Stop background renewals, including the one an authentication in flight would schedule.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (null != scheduledRenewal) {
+            scheduledRenewal.cancel(false);
+            scheduledRenewal = null;
+        }
+    }
+    
+    /**
+     * Renew the token unless it changed since 'seen', joining a renewal in progress if any.
+     */
+    private CompletableFuture<Token> renew(Token seen) {
+        CompletableFuture<Token> future;
+        synchronized (this) {
+            Token t = current;
+            if (t != seen && null != t && !t.isExpired()) {
+                return CompletableFuture.completedFuture(t);
+            }
+            if (null != renewal) {
+                return renewal;
+            }
+            future  = new CompletableFuture<>();
+            renewal = future;
+        }
+        authenticate().whenComplete((t, error) -> {
+            if (null == error) {
+                current = t;
+                used    = false;
+                scheduleRenewal();
+            }
+            synchronized (this) {
+                renewal = null;
+            }
+            if (null == error) {
+                future.complete(t);
+            } else {
+                future.completeExceptionally(Utils.unwrap(error));
+            }
+        });
+        return future;
+    }
+    
+    private synchronized void scheduleRenewal() {
+        if (closed) {
+            return;
+        }
+        if (null != scheduledRenewal) {
+            scheduledRenewal.cancel(false);
+        }
+        long delay = (long) (tokenTtl.toMillis() * REFRESH_RATIO);
+        scheduledRenewal = SCHEDULER.schedule(this::backgroundRenewal, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    private void backgroundRenewal() {
+        if (!used) {
+            // Nobody uses this client, next call will authenticate again
+            LOGGER.debug("Token not used since last renewal, skipping background renewal");
+            return;
+        }
+        renew(current).whenComplete((t, error) -> {
+            if (null != error) {
+                LOGGER.warn("Background token renewal failed, will retry on next request: {}", Utils.unwrap(error).getMessage());
+            }
+        });
+    }
+    
+    private CompletableFuture<Token> authenticate() {
+        // Auth request (https://docs.astra.datastax.com/reference#auth-2)
+        String authRequestBody = new StringBuilder("{")
+            .append("\"username\":").append(JsonUtils.valueAsJson(username))
+            .append(", \"password\":").append(JsonUtils.valueAsJson(password))
+            .append("}").toString();
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = httpClient.sendAsync(HttpRequest.newBuilder()
+                    .uri(URI.create(endPointAuthentication + "/v1/auth/"))
+                    .timeout(requestTimeout)
+                    .header(ApiSupport.HEADER_CONTENT_TYPE, ApiSupport.CONTENT_TYPE_JSON)
+                    .POST(BodyPublishers.ofString(authRequestBody)).build(), BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Cannot generate authentication token", e));
+        }
+        return response.handle((res, error) -> {
+            if (null != error) {
+                throw new IllegalArgumentException("Cannot generate authentication token", Utils.unwrap(error));
+            }
+            if (201 != res.statusCode() && 200 != res.statusCode()) {
+                throw new IllegalArgumentException("Cannot generate authentication token", 
+                        new IllegalStateException("Cannot generate authentication token " + res.body()));
+            }
+            try {
+                String value = (String) ApiSupport.getObjectMapper().readValue(res.body(), Map.class).get("authToken");
+                LOGGER.info("Successfully authenticated, token ttl {} s.", tokenTtl.getSeconds());
+                return new Token(value, System.nanoTime() + tokenTtl.toNanos());
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Cannot generate authentication token", e);
+            }
+        });
+    }
+    
+    /**
+     * Token and its expiry, immutable.
+     */
+    private static final class Token {
+        
+        private final String value;
+        
+        private final long expiresAtNanos;
+        
+        private Token(String value, long expiresAtNanos) {
+            this.value          = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package io.stargate.sdk.auth;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Application token (Astra) provided by the user, never expires.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class StaticTokenProvider implements TokenProvider {
+    
+    /** Application token. */
+    private final String token;
+    
+    /**
+     * Constructor with the token.
+     */
+    public StaticTokenProvider(String token) {
+        Assert.hasLength(token, "token");
+        this.token = token;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String getToken() {
+        return token;
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.stargate.sdk.auth;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Provides the token sent in header 'X-Cassandra-Token' by the Api clients.
+ *
+ * Implementations are invoked for every request and must be thread safe. Asynchronous requests
+ * use the 'Async' methods, override them when a token can be obtained without blocking a thread.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public interface TokenProvider {
+    
+    /**
+     * Current valid token.
+     *
+     * @return
+     *      token to use for the next request
+     */
+    String getToken();
+    
+    /**
+     * The server rejected a token (http 401), provide a new one.
+     * 
+     * Default implementation has no way to get a new token and returns the current one,
+     * in which case the request is not retried.
+     *
+     * @param rejectedToken
+     *      token rejected by the server, null to force a renewal
+     * @return
+     *      token to use for the next request
+     */
+    default String renewToken(String rejectedToken) {
+        return getToken();
+    }
+    
+    /**
+     * Asynchronous version of {@link #getToken()}, default implementation calls it on the caller thread.
+     *
+     * @return
+     *      token to use for the next request, failed if no token can be provided
+     */
+    default CompletableFuture<String> getTokenAsync() {
+        try {
+            return CompletableFuture.completedFuture(getToken());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Asynchronous version of {@link #renewToken(String)}, default implementation calls it on the caller thread.
+     *
+     * @param rejectedToken
+     *      token rejected by the server, null to force a renewal
+     * @return
+     *      token to use for the next request, failed if no token can be provided
+     */
+    default CompletableFuture<String> renewTokenAsync(String rejectedToken) {
+        try {
+            return CompletableFuture.completedFuture(renewToken(rejectedToken));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package io.stargate.sdk.cql;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Outcome of a statement executed by a {@link CqlExecutor}, provided to {@link CqlInstrumentation}.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlEvent {
+    
+    /** Logical operation, e.g. 'cql.execute', 'cql.page' or 'cql.batch'. */
+    private final String operationName;
+    
+    /** Query executed, first statement of a batch. */
+    private final String query;
+    
+    /** Number of statements, more than one for a batch. */
+    private final int statementCount;
+    
+    /** Error raised when the execution failed. */
+    private final Throwable error;
+    
+    /** Time from the execution to the response, retries included. */
+    private final Duration latency;
+    
+    /** Number of nodes tried before the one which answered (retries and failover by the driver). */
+    private final int retryCount;
+    
+    /** Number of speculative executions started by the driver. */
+    private final int speculativeExecutionCount;
+    
+    /**
+     * Full constructor.
+     */
+    public CqlEvent(String operationName, String query, int statementCount, Throwable error,
+            Duration latency, int retryCount, int speculativeExecutionCount) {
+        this.operationName             = operationName;
+        this.query                     = query;
+        this.statementCount            = statementCount;
+        this.error                     = error;
+        this.latency                   = latency;
+        this.retryCount                = retryCount;
+        this.speculativeExecutionCount = speculativeExecutionCount;
+    }
+    
+    /**
+     * Execution completed without error.
+     */
+    public boolean isSuccess() {
+        return null == error;
+    }
+    
+    /**
+     * Getter accessor for attribute 'operationName'.
+     *
+     * @return
+     *       current value of 'operationName'
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+    
+    /**
+     * Getter accessor for attribute 'query'.
+     *
+     * @return
+     *       current value of 'query'
+     */
+    public String getQuery() {
+        return query;
+    }
+    
+    /**
+     * Getter accessor for attribute 'statementCount'.
+     *
+     * @return
+     *       current value of 'statementCount'
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'error'.
+     *
+     * @return
+     *       current value of 'error'
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+    
+    /**
+     * Getter accessor for attribute 'latency'.
+     *
+     * @return
+     *       current value of 'latency'
+     */
+    public Duration getLatency() {
+        return latency;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryCount'.
+     *
+     * @return
+     *       current value of 'retryCount'
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'speculativeExecutionCount'.
+     *
+     * @return
+     *       current value of 'speculativeExecutionCount'
+     */
+    public int getSpeculativeExecutionCount() {
+        return speculativeExecutionCount;
+    }
+
+}
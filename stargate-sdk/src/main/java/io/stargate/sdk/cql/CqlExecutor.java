@@ -0,0 +1,457 @@
+package io.stargate.sdk.cql;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.BulkPipeline;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriteResult;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Execute statements on a {@link CqlSession} with prepared statements reused across calls.
+ *
+ * Statements are prepared once per query string and kept in a bounded cache (least recently used
+ * evicted), hot paths no longer pay a preparation round trip. Bulk executions keep a bounded number
+ * of statements in flight, writes can be grouped in unlogged batches of a single partition (one
+ * replica set per batch). Result sets are exposed as lazy streams following the paging state.
+ *
+ * CqlExecutor cql = stargateClient.cqlExecutor().get();
+ * cql.executeAll("INSERT INTO ks.videos (videoid, title) VALUES (?,?)", values);
+ * cql.stream("SELECT * FROM ks.videos WHERE videoid=?", id).forEach(...);
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlExecutor {
+    
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CqlExecutor.class);
+    
+    /** Statement executed alone. */
+    public static final String OP_EXECUTE = "cql.execute";
+    
+    /** Page following a result set. */
+    public static final String OP_PAGE    = "cql.page";
+    
+    /** Batch of statements of a partition. */
+    public static final String OP_BATCH   = "cql.batch";
+    
+    /** Session of the client. */
+    private final CqlSession session;
+    
+    /** Settings. */
+    private final CqlExecutorOptions options;
+    
+    /** Prepared statements by query, in access order for the eviction (guarded by itself). */
+    private final Map<String, CompletableFuture<PreparedStatement>> statements;
+    
+    /** Invoked for each statement. */
+    private final List<CqlInstrumentation> instrumentations = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Executor with default settings.
+     */
+    public CqlExecutor(CqlSession session) {
+        this(session, CqlExecutorOptions.defaults());
+    }
+    
+    /**
+     * Full constructor.
+     */
+    public CqlExecutor(CqlSession session, CqlExecutorOptions options) {
+        Assert.notNull(session, "session");
+        Assert.notNull(options, "options");
+        this.session    = session;
+        this.options    = options;
+        this.statements = new LinkedHashMap<String, CompletableFuture<PreparedStatement>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<PreparedStatement>> eldest) {
+                return size() > options.getMaxPreparedStatements();
+            }
+        };
+        this.instrumentations.addAll(options.getInstrumentations());
+    }
+    
+    /**
+     * Statement of a query, prepared on the cluster on first use only. A failed preparation is not kept.
+     */
+    public CompletableFuture<PreparedStatement> prepareAsync(String query) {
+        Assert.hasLength(query, "query");
+        CompletableFuture<PreparedStatement> prepared;
+        boolean cached;
+        synchronized (statements) {
+            prepared = statements.get(query);
+            cached   = (null != prepared);
+            if (!cached) {
+                prepared = session.prepareAsync(query).toCompletableFuture();
+                statements.put(query, prepared);
+            }
+        }
+        notifyPrepare(query, cached);
+        if (!cached) {
+            CompletableFuture<PreparedStatement> failed = prepared;
+            prepared.whenComplete((ps, ex) -> {
+                if (null != ex) {
+                    synchronized (statements) {
+                        statements.remove(query, failed);
+                    }
+                }
+            });
+        }
+        return prepared;
+    }
+    
+    /**
+     * Blocking version of {@link #prepareAsync(String)}.
+     */
+    public PreparedStatement prepare(String query) {
+        return Utils.await(prepareAsync(query), "Cannot prepare statement");
+    }
+    
+    /**
+     * Execute a query with its values bound by position.
+     */
+    public CompletableFuture<AsyncResultSet> executeAsync(String query, Object... values) {
+        return prepareAsync(query).thenCompose(ps -> executeAsync(ps.bind(values)));
+    }
+    
+    /**
+     * Execute a statement, reported to the {@link CqlInstrumentation}s.
+     */
+    public CompletableFuture<AsyncResultSet> executeAsync(Statement<?> statement) {
+        Assert.notNull(statement, "statement");
+        return instrument(OP_EXECUTE, statement, 1, () -> session.executeAsync(statement).toCompletableFuture());
+    }
+    
+    /**
+     * Blocking version of {@link #executeAsync(String, Object...)}, first page of the result.
+     */
+    public AsyncResultSet execute(String query, Object... values) {
+        return Utils.await(executeAsync(query, values), "Cql execution failed");
+    }
+    
+    /**
+     * Execute a query from a paging state, e.g. the one of a page returned to a client.
+     *
+     * @param pagingState
+     *      value of {@link #pagingState(AsyncResultSet)} for the previous page, null for the first one
+     */
+    public CompletableFuture<AsyncResultSet> executePageAsync(String query, int pageSize, String pagingState, Object... values) {
+        Assert.isTrue(pageSize > 0, "Page size should be greater than 0");
+        return prepareAsync(query).thenCompose(ps -> {
+            BoundStatement statement = ps.bind(values).setPageSize(pageSize);
+            if (null != pagingState) {
+                statement = statement.setPagingState(ByteBuffer.wrap(Base64.getDecoder().decode(pagingState)));
+            }
+            return executeAsync(statement);
+        });
+    }
+    
+    /**
+     * Paging state of the next page as a string (base64), empty on the last page.
+     */
+    public static Optional<String> pagingState(AsyncResultSet rs) {
+        ByteBuffer pagingState = rs.getExecutionInfo().getPagingState();
+        if (!rs.hasMorePages() || null == pagingState) {
+            return Optional.empty();
+        }
+        byte[] bytes = new byte[pagingState.remaining()];
+        pagingState.duplicate().get(bytes);
+        return Optional.of(Base64.getEncoder().encodeToString(bytes));
+    }
+    
+    /**
+     * Lazy stream of all rows of a query, the next page is requested while the current one is consumed.
+     */
+    public Stream<Row> stream(String query, Object... values) {
+        return stream(prepare(query).bind(values), true);
+    }
+    
+    /**
+     * Lazy stream of all rows of a statement, following the paging state.
+     * Close the stream (or consume it fully) to release a prefetched page.
+     *
+     * @param prefetch
+     *      request the next page asynchronously while the current one is consumed
+     */
+    public Stream<Row> stream(Statement<?> statement, boolean prefetch) {
+        CqlPageIterator it = iterator(statement, prefetch);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(it::close);
+    }
+    
+    /**
+     * Iterate over all rows of a statement, pages are fetched when needed.
+     */
+    public CqlPageIterator iterator(Statement<?> statement, boolean prefetch) {
+        return new CqlPageIterator(executeAsync(statement),
+                rs -> instrument(OP_PAGE, statement, 1, () -> rs.fetchNextPage().toCompletableFuture()), prefetch);
+    }
+    
+    /**
+     * Execute a query for each set of values with a bounded number of statements in flight,
+     * blocking until the last one is processed. The query is prepared once.
+     */
+    public BulkWriteReport executeAll(String query, Stream<Object[]> values) {
+        Assert.notNull(values, "values");
+        PreparedStatement ps = prepare(query);
+        try (Stream<Object[]> s = values) {
+            return executeAll(s.map(ps::bind).iterator());
+        }
+    }
+    
+    /**
+     * Execute all statements with a bounded number in flight, blocking until the last one is processed.
+     */
+    public BulkWriteReport executeAll(Iterator<? extends Statement<?>> statements) {
+        Assert.notNull(statements, "statements");
+        BulkPipeline pipeline = new BulkPipeline(options.getConcurrency());
+        long index = 0;
+        try {
+            while (statements.hasNext()) {
+                // Blocks the producer when all slots are used
+                long current = index++;
+                pipeline.submit(() -> submit(statements.next())
+                        .handle((rs, ex) -> new BulkWriteResult(current, null, Utils.unwrap(ex), 1)));
+            }
+            return pipeline.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk execution has been interrupted", e);
+        }
+    }
+    
+    /**
+     * Execute a write for each set of values, statements of the same partition are sent as unlogged
+     * batches (up to 'maxBatchSize' statements). Statements are grouped within a window of
+     * 'concurrency x maxBatchSize' values: sort the input by partition to get full batches.
+     * A failed batch marks all its statements as failed.
+     */
+    public BulkWriteReport executeBatched(String query, Stream<Object[]> values) {
+        Assert.notNull(values, "values");
+        PreparedStatement ps = prepare(query);
+        int window = options.getConcurrency() * options.getMaxBatchSize();
+        BulkPipeline pipeline = new BulkPipeline(options.getConcurrency());
+        Map<ByteBuffer, PartitionBatch> batches = new LinkedHashMap<>();
+        int buffered = 0;
+        long index   = 0;
+        try (Stream<Object[]> s = values) {
+            Iterator<Object[]> it = s.iterator();
+            while (it.hasNext()) {
+                BoundStatement statement = ps.bind(it.next());
+                ByteBuffer routingKey = statement.getRoutingKey();
+                if (null == routingKey) {
+                    // Partition unknown, statement sent alone
+                    sendBatch(new PartitionBatch(index++, statement), pipeline);
+                    continue;
+                }
+                PartitionBatch batch = batches.computeIfAbsent(routingKey, k -> new PartitionBatch());
+                batch.add(index++, statement);
+                buffered++;
+                if (batch.size() >= options.getMaxBatchSize()) {
+                    batches.remove(routingKey);
+                    buffered -= batch.size();
+                    sendBatch(batch, pipeline);
+                } else if (buffered >= window) {
+                    for (PartitionBatch pending : batches.values()) {
+                        sendBatch(pending, pipeline);
+                    }
+                    batches.clear();
+                    buffered = 0;
+                }
+            }
+            for (PartitionBatch pending : batches.values()) {
+                sendBatch(pending, pipeline);
+            }
+            return pipeline.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk execution has been interrupted", e);
+        }
+    }
+    
+    private void sendBatch(PartitionBatch batch, BulkPipeline pipeline) throws InterruptedException {
+        pipeline.submitAll(() -> {
+            CompletableFuture<AsyncResultSet> request;
+            if (batch.size() == 1) {
+                request = submit(batch.statements.get(0));
+            } else {
+                BatchStatement statement = BatchStatement.newInstance(DefaultBatchType.UNLOGGED)
+                        .addAll(batch.statements);
+                request = instrumentSafe(OP_BATCH, batch.statements.get(0), batch.size(), statement);
+            }
+            return request.handle((rs, ex) -> {
+                Throwable error = Utils.unwrap(ex);
+                List<BulkWriteResult> results = new ArrayList<>(batch.size());
+                for (Long i : batch.indexes) {
+                    results.add(new BulkWriteResult(i, null, error, 1));
+                }
+                return results;
+            });
+        });
+    }
+    
+    private CompletableFuture<AsyncResultSet> submit(Statement<?> statement) {
+        return instrumentSafe(OP_EXECUTE, statement, 1, statement);
+    }
+    
+    /**
+     * Execution never throwing on the calling thread, a synchronous failure is a failed future.
+     */
+    private CompletableFuture<AsyncResultSet> instrumentSafe(String operationName, Statement<?> reported, int count, Statement<?> statement) {
+        try {
+            return instrument(operationName, reported, count, () -> session.executeAsync(statement).toCompletableFuture());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Time the execution and report it with the retries of the driver, nothing is computed without instrumentation.
+     */
+    private CompletableFuture<AsyncResultSet> instrument(String operationName, Statement<?> statement, int count,
+            Supplier<CompletableFuture<AsyncResultSet>> execution) {
+        if (instrumentations.isEmpty()) {
+            return execution.get();
+        }
+        long start = System.nanoTime();
+        return execution.get().whenComplete((rs, ex) -> {
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            int retries      = 0;
+            int speculative  = 0;
+            if (null != rs) {
+                ExecutionInfo info = rs.getExecutionInfo();
+                retries     = info.getErrors().size();
+                speculative = info.getSpeculativeExecutionCount();
+            }
+            notifyComplete(new CqlEvent(operationName, queryOf(statement), count, Utils.unwrap(ex), latency, retries, speculative));
+        });
+    }
+    
+    private void notifyPrepare(String query, boolean cached) {
+        for (CqlInstrumentation instrumentation : instrumentations) {
+            try {
+                instrumentation.onPrepare(query, cached);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Instrumentation failed on prepare: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void notifyComplete(CqlEvent event) {
+        for (CqlInstrumentation instrumentation : instrumentations) {
+            try {
+                instrumentation.onStatementComplete(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Instrumentation failed on statement complete: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Query of a statement for the instrumentation.
+     */
+    private static String queryOf(Statement<?> statement) {
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).getPreparedStatement().getQuery();
+        }
+        if (statement instanceof SimpleStatement) {
+            return ((SimpleStatement) statement).getQuery();
+        }
+        return statement.getClass().getSimpleName();
+    }
+    
+    /**
+     * Register an instrumentation in addition to the ones of {@link CqlExecutorOptions}.
+     */
+    public void addInstrumentation(CqlInstrumentation instrumentation) {
+        Assert.notNull(instrumentation, "instrumentation");
+        instrumentations.add(instrumentation);
+    }
+    
+    /**
+     * Number of prepared statements kept.
+     */
+    public int getPreparedStatementCount() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'session'.
+     *
+     * @return
+     *       current value of 'session'
+     */
+    public CqlSession getSession() {
+        return session;
+    }
+    
+    /**
+     * Getter accessor for attribute 'options'.
+     *
+     * @return
+     *       current value of 'options'
+     */
+    public CqlExecutorOptions getOptions() {
+        return options;
+    }
+    
+    /**
+     * Statements of a partition waiting to be sent, with their position in the input.
+     */
+    private static final class PartitionBatch {
+        
+        private final List<Long> indexes = new ArrayList<>();
+        
+        private final List<BoundStatement> statements = new ArrayList<>();
+        
+        private PartitionBatch() {}
+        
+        private PartitionBatch(long index, BoundStatement statement) {
+            add(index, statement);
+        }
+        
+        private void add(long index, BoundStatement statement) {
+            indexes.add(index);
+            statements.add(statement);
+        }
+        
+        private int size() {
+            return statements.size();
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package io.stargate.sdk.cql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of a {@link CqlExecutor}.
+ *
+ * CqlExecutorOptions.builder()
+ *                   .maxPreparedStatements(1000)
+ *                   .concurrency(64)
+ *                   .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlExecutorOptions {
+    
+    /** Default number of prepared statements kept. */
+    public static final int DEFAULT_MAX_PREPARED_STATEMENTS = 500;
+    
+    /** Default number of statements in flight for bulk executions. */
+    public static final int DEFAULT_CONCURRENCY = 32;
+    
+    /** Default number of statements in a batch (same partition). */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 20;
+    
+    /** Maximum number of prepared statements kept, least recently used are evicted. */
+    private final int maxPreparedStatements;
+    
+    /** Maximum number of statements (or batches) in flight for bulk executions. */
+    private final int concurrency;
+    
+    /** Maximum number of statements grouped in a batch. */
+    private final int maxBatchSize;
+    
+    /** Invoked for each statement. */
+    private final List<CqlInstrumentation> instrumentations;
+    
+    private CqlExecutorOptions(CqlExecutorOptionsBuilder builder) {
+        this.maxPreparedStatements = builder.maxPreparedStatements;
+        this.concurrency           = builder.concurrency;
+        this.maxBatchSize          = builder.maxBatchSize;
+        this.instrumentations      = Collections.unmodifiableList(new ArrayList<>(builder.instrumentations));
+    }
+    
+    /**
+     * Default settings.
+     */
+    public static CqlExecutorOptions defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static CqlExecutorOptionsBuilder builder() {
+        return new CqlExecutorOptionsBuilder();
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class CqlExecutorOptionsBuilder {
+        
+        private int maxPreparedStatements = DEFAULT_MAX_PREPARED_STATEMENTS;
+        private int concurrency           = DEFAULT_CONCURRENCY;
+        private int maxBatchSize          = DEFAULT_MAX_BATCH_SIZE;
+        private List<CqlInstrumentation> instrumentations = new ArrayList<>();
+        
+        public CqlExecutorOptionsBuilder maxPreparedStatements(int maxPreparedStatements) {
+            Assert.isTrue(maxPreparedStatements > 0, "Max prepared statements should be greater than 0");
+            this.maxPreparedStatements = maxPreparedStatements;
+            return this;
+        }
+        public CqlExecutorOptionsBuilder concurrency(int concurrency) {
+            Assert.isTrue(concurrency > 0, "Concurrency should be greater than 0");
+            this.concurrency = concurrency;
+            return this;
+        }
+        public CqlExecutorOptionsBuilder maxBatchSize(int maxBatchSize) {
+            Assert.isTrue(maxBatchSize > 0, "Max batch size should be greater than 0");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+        public CqlExecutorOptionsBuilder instrumentation(CqlInstrumentation instrumentation) {
+            Assert.notNull(instrumentation, "instrumentation");
+            this.instrumentations.add(instrumentation);
+            return this;
+        }
+        public CqlExecutorOptions build() {
+            return new CqlExecutorOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxPreparedStatements'.
+     *
+     * @return
+     *       current value of 'maxPreparedStatements'
+     */
+    public int getMaxPreparedStatements() {
+        return maxPreparedStatements;
+    }
+    
+    /**
+     * Getter accessor for attribute 'concurrency'.
+     *
+     * @return
+     *       current value of 'concurrency'
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxBatchSize'.
+     *
+     * @return
+     *       current value of 'maxBatchSize'
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'instrumentations'.
+     *
+     * @return
+     *       current value of 'instrumentations'
+     */
+    public List<CqlInstrumentation> getInstrumentations() {
+        return instrumentations;
+    }
+
+}
@@ -0,0 +1,32 @@
+package io.stargate.sdk.cql;
+
+/**
+ * Invoked around the statements executed by a {@link CqlExecutor}.
+ *
+ * Register implementations with {@link CqlExecutorOptions.CqlExecutorOptionsBuilder#instrumentation(CqlInstrumentation)}
+ * or at runtime with {@link CqlExecutor#addInstrumentation(CqlInstrumentation)}. Callbacks run on the
+ * driver threads for asynchronous executions, they should be fast and must not throw.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public interface CqlInstrumentation {
+    
+    /**
+     * A statement has been requested for a query.
+     *
+     * @param query
+     *      cql query
+     * @param cached
+     *      the statement was in the cache, false when it has been prepared on the cluster
+     */
+    default void onPrepare(String query, boolean cached) {}
+    
+    /**
+     * The statement completed, successfully or not, after the retries of the driver.
+     *
+     * @param event
+     *      operation, query, latency and retries
+     */
+    void onStatementComplete(CqlEvent event);
+
+}
@@ -0,0 +1,98 @@
+package io.stargate.sdk.cql;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Iterate over all rows of a statement, following the paging state of the result set.
+ *
+ * Pages are fetched when the previous one has been consumed. With prefetch enabled the next page
+ * is requested as soon as the current one is received, the round trip overlaps with the processing.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlPageIterator implements Iterator<Row> {
+    
+    /** Request the page following a result set. */
+    private final Function<AsyncResultSet, CompletableFuture<AsyncResultSet>> nextPageLoader;
+    
+    /** Request next page while current one is consumed. */
+    private final boolean prefetch;
+    
+    /** Rows of the current page. */
+    private Iterator<Row> current = Collections.emptyIterator();
+    
+    /** Page to read once the current one is consumed, null after the last page. */
+    private CompletableFuture<AsyncResultSet> pending;
+    
+    /** Result set of the current page. */
+    private AsyncResultSet currentPage;
+    
+    /**
+     * Full constructor.
+     */
+    public CqlPageIterator(CompletableFuture<AsyncResultSet> firstPage,
+            Function<AsyncResultSet, CompletableFuture<AsyncResultSet>> nextPageLoader, boolean prefetch) {
+        Assert.notNull(firstPage, "firstPage");
+        Assert.notNull(nextPageLoader, "nextPageLoader");
+        this.pending        = firstPage;
+        this.nextPageLoader = nextPageLoader;
+        this.prefetch       = prefetch;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        // Pages can be empty and still have a paging state
+        while (!current.hasNext()) {
+            if (null == pending) {
+                if (null == currentPage || !currentPage.hasMorePages()) {
+                    return false;
+                }
+                pending = nextPageLoader.apply(currentPage);
+            }
+            fetchNextPage();
+        }
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Stop prefetching, pending request is cancelled.
+     */
+    public void close() {
+        current     = Collections.emptyIterator();
+        currentPage = null;
+        if (null != pending) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+    
+    private void fetchNextPage() {
+        currentPage = Utils.await(pending, "Cannot read page of rows");
+        pending     = null;
+        current     = currentPage.currentPage().iterator();
+        if (prefetch && currentPage.hasMorePages()) {
+            pending = nextPageLoader.apply(currentPage);
+        }
+    }
+
+}
@@ -6,6 +6,9 @@ import java.net.HttpURLConnection;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -13,9 +16,11 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import io.stargate.sdk.http.HttpClientOptions;
 import io.stargate.sdk.rest.Keyspace;
 import io.stargate.sdk.utils.ApiResponse;
 import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.SchemaCache;
 
 /**
  * Client for the Astra/Stargate document (collections) API.
@@ -39,10 +44,21 @@ public class ApiDocumentClient extends ApiSupport {
     /** This the endPoint to invoke to work with different API(s). */
     protected String endPointApiDocument;
     
+    /** Document caches enabled on collections, key is 'namespace/collection'. */
+    private final Map<String, DocumentCache> documentCaches = new ConcurrentHashMap<>();
+    
     /**
      * Constructor for ASTRA.
      */
     public ApiDocumentClient(String username, String password, String endPointAuthentication, String appToken, String endPointApiDocument) {
+        this(username, password, endPointAuthentication, appToken, endPointApiDocument, HttpClientOptions.defaults());
+    }
+    
+    /**
+     * Constructor with dedicated http client settings.
+     */
+    public ApiDocumentClient(String username, String password, String endPointAuthentication, String appToken, String endPointApiDocument, HttpClientOptions options) {
+        super(options);
         hasLength(endPointApiDocument, "endPointApiDocument");
         hasLength(username, "username");
         hasLength(password, "password");
@@ -55,16 +71,20 @@ public class ApiDocumentClient extends ApiSupport {
     }
     
     /**
-     * Return list of {@link Namespace}(keyspaces) available.
+     * Return list of {@link Namespace}(keyspaces) available, from the schema cache when enabled.
      */
     public Stream<Namespace> namespaces() {
+        return cachedSchema(SchemaCache.KEY_NAMESPACES, this::loadNamespaces).stream();
+    }
+    
+    private List<Namespace> loadNamespaces() {
         String endpoint = endPointApiDocument + PATH_SCHEMA + PATH_SCHEMA_NAMESPACES;
         
         // Build and execute HTTP CALL
         HttpResponse<String> response;
         try {
-           response = httpClient.send(
-                   startRequest(endpoint, getToken()).GET().build(),
+           response = send("namespace.list",
+                   newRequest(endpoint, getToken()).GET().build(),
                    BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot list namespaces", e);
@@ -79,7 +99,7 @@ public class ApiDocumentClient extends ApiSupport {
         // Response is 200, marshalling
         try {
             return objectMapper.readValue(response.body(), 
-                        new TypeReference<ApiResponse<List<Namespace>>>(){}).getData().stream();
+                        new TypeReference<ApiResponse<List<Namespace>>>(){}).getData();
         } catch (Exception e) {
             throw new RuntimeException("Cannot Marshall output in 'namespaces()' body=" + response.body(), e);
         } 
@@ -101,6 +121,29 @@ public class ApiDocumentClient extends ApiSupport {
         return new NamespaceClient(this, namespace);
     }
     
+    /**
+     * Cache of a collection if enabled.
+     */
+    Optional<DocumentCache> getDocumentCache(String namespace, String collection) {
+        return Optional.ofNullable(documentCaches.get(namespace + "/" + collection));
+    }
+    
+    /**
+     * Enable (or replace) the cache of a collection.
+     */
+    DocumentCache enableDocumentCache(String namespace, String collection, DocumentCacheOptions options) {
+        DocumentCache cache = new DocumentCache(options);
+        documentCaches.put(namespace + "/" + collection, cache);
+        return cache;
+    }
+    
+    /**
+     * Disable the cache of a collection.
+     */
+    void disableDocumentCache(String namespace, String collection) {
+        documentCaches.remove(namespace + "/" + collection);
+    }
+    
     /**
      * Getter accessor for attribute 'endPointApiDocument'.
      *
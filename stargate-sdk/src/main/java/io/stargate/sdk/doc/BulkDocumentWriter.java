@@ -0,0 +1,193 @@
+package io.stargate.sdk.doc;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import io.stargate.sdk.http.RetryPolicy;
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.BulkPipeline;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriteResult;
+import io.stargate.sdk.utils.BulkWriterOptions;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Write a large number of new documents in a collection with a bounded number of requests in flight.
+ *
+ * The producer (iterator, stream or publisher) is only pulled when a slot is available which
+ * applies backpressure. Each document is upserted under a random identifier generated by the
+ * client: the request is idempotent and transient failures are retried following the
+ * {@link RetryPolicy} of the client, within its retry budget, without duplicating documents.
+ *
+ * BulkWriteReport report = collection.bulkWriter(options).write(persons.stream());
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkDocumentWriter {
+    
+    /** Target collection. */
+    private final CollectionClient collectionClient;
+    
+    /** Settings. */
+    private final BulkWriterOptions options;
+    
+    /**
+     * Full constructor.
+     */
+    public BulkDocumentWriter(CollectionClient collectionClient, BulkWriterOptions options) {
+        Assert.notNull(collectionClient, "collectionClient");
+        Assert.notNull(options, "options");
+        this.collectionClient = collectionClient;
+        this.options          = options;
+    }
+    
+    /**
+     * Write all documents of the stream, blocking until the last one is processed.
+     */
+    public <DOC extends Serializable> BulkWriteReport write(Stream<DOC> documents) {
+        Assert.notNull(documents, "documents");
+        try (Stream<DOC> s = documents) {
+            return write(s.iterator());
+        }
+    }
+    
+    /**
+     * Write all documents of the iterator, blocking until the last one is processed.
+     */
+    public <DOC extends Serializable> BulkWriteReport write(Iterator<DOC> documents) {
+        Assert.notNull(documents, "documents");
+        BulkPipeline pipeline = new BulkPipeline(options.getConcurrency());
+        long index = 0;
+        try {
+            while (documents.hasNext()) {
+                // Blocks the producer when all slots are used, next document pulled once a slot is free
+                long current = index++;
+                pipeline.submit(() -> writeDocument(current, documents.next()));
+            }
+            return pipeline.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk write has been interrupted", e);
+        }
+    }
+    
+    /**
+     * Write all documents emitted by the publisher, blocking until it completes.
+     */
+    public <DOC extends Serializable> BulkWriteReport write(Flow.Publisher<DOC> documents) {
+        return writeAsync(documents).join();
+    }
+    
+    /**
+     * Subscribe to the publisher, requesting a new document only when a slot is available.
+     *
+     * @return
+     *      the report when the publisher completed and all documents have been processed
+     */
+    public <DOC extends Serializable> CompletableFuture<BulkWriteReport> writeAsync(Flow.Publisher<DOC> documents) {
+        Assert.notNull(documents, "documents");
+        BulkSubscriber<DOC> subscriber = new BulkSubscriber<>();
+        documents.subscribe(subscriber);
+        return subscriber.report;
+    }
+    
+    /**
+     * Upsert the document under an identifier generated by the client.
+     */
+    private <DOC extends Serializable> CompletableFuture<BulkWriteResult> writeDocument(long index, DOC doc) {
+        // A PUT on a known identifier is idempotent, safe to retry by the RetryPolicy of the client
+        String docId = UUID.randomUUID().toString();
+        CompletableFuture<String> request;
+        try {
+            request = collectionClient.document(docId).upsertAsync(doc);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        return request.handle((id, ex) -> {
+            if (null == ex) {
+                return new BulkWriteResult(index, id, null, 1);
+            }
+            Throwable error = Utils.unwrap(ex);
+            return new BulkWriteResult(index, null, error, 1);
+        });
+    }
+    
+    /**
+     * Reactive subscriber, requests one document for each completed write.
+     */
+    private class BulkSubscriber<DOC extends Serializable> implements Flow.Subscriber<DOC> {
+        
+        /** Completed when publisher is done and writes are processed. */
+        private final CompletableFuture<BulkWriteReport> report = new CompletableFuture<>();
+        
+        /** Results. */
+        private final Queue<BulkWriteResult> results = new ConcurrentLinkedQueue<>();
+        
+        /** Requests not yet completed. */
+        private final AtomicInteger inFlight = new AtomicInteger();
+        
+        /** Start time. */
+        private final long start = System.nanoTime();
+        
+        /** Subscription to the publisher. */
+        private Flow.Subscription subscription;
+        
+        /** Position of next document (onNext is never invoked concurrently). */
+        private long index = 0;
+        
+        /** Publisher has completed. */
+        private volatile boolean completed = false;
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(options.getConcurrency());
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onNext(DOC doc) {
+            inFlight.incrementAndGet();
+            writeDocument(index++, doc).whenComplete((res, ex) -> {
+                if (null != res) {
+                    results.add(res);
+                }
+                // Next document requested whatever the outcome
+                if (inFlight.decrementAndGet() == 0 && completed) {
+                    complete();
+                } else if (!completed) {
+                    subscription.request(1);
+                }
+            });
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onError(Throwable throwable) {
+            report.completeExceptionally(throwable);
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onComplete() {
+            completed = true;
+            if (inFlight.get() == 0) {
+                complete();
+            }
+        }
+        
+        private void complete() {
+            report.complete(new BulkWriteReport(results, Duration.ofNanos(System.nanoTime() - start)));
+        }
+    }
+
+}
@@ -1,36 +1,48 @@
 package io.stargate.sdk.doc;
 
 import static io.stargate.sdk.doc.NamespaceClient.PATH_COLLECTIONS;
-import static io.stargate.sdk.doc.NamespaceClient.PATH_NAMESPACES;
-import static io.stargate.sdk.utils.ApiSupport.getHttpClient;
 import static io.stargate.sdk.utils.ApiSupport.getObjectMapper;
 import static io.stargate.sdk.utils.ApiSupport.handleError;
-import static io.stargate.sdk.utils.ApiSupport.startRequest;
 
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
-
-import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.stargate.sdk.doc.QueryDocument.QueryDocumentBuilder;
 import io.stargate.sdk.exception.CollectionNotFoundException;
-import io.stargate.sdk.utils.ApiResponse;
 import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.BulkWriterOptions;
 import io.stargate.sdk.utils.JsonUtils;
+import io.stargate.sdk.utils.SchemaCache;
+import io.stargate.sdk.utils.Utils;
 
 /**
  * Work on a dedicated collection without using the Pojo className.
  * 
+ * Document operations have an asynchronous flavour (suffix 'Async') returning a {@link CompletableFuture}.
+ * 
  * @author Cedrick LUNVEN (@clunven)
  */
 public class CollectionClient {
@@ -38,6 +50,9 @@ public class CollectionClient {
     /** Read document id. */
     public static final String DOCUMENT_ID = "documentId";
     
+    /** Default number of lookups in flight for {@link #findAll(Collection, Class)}. */
+    public static final int DEFAULT_FIND_CONCURRENCY = 16;
+    
     /** Astra Client. */
     private final ApiDocumentClient docClient;
     
@@ -47,6 +62,12 @@ public class CollectionClient {
     /** Collection name. */
     private final String collectionName;
     
+    /** Url of the collection, built once, documents urls are appended to it. */
+    private final String endPointCollection;
+    
+    /** Uri of the collection, built once. */
+    private final URI uriCollection;
+    
     /**
      * Full constructor.
      */
@@ -54,6 +75,8 @@ public class CollectionClient {
         this.docClient     = docClient;
         this.namespaceClient = namespaceClient;
         this.collectionName  = collectionName;
+        this.endPointCollection = namespaceClient.getEndPointNamespace() + PATH_COLLECTIONS + "/" + collectionName;
+        this.uriCollection      = URI.create(endPointCollection);
     }
     
     /**
@@ -64,7 +87,30 @@ public class CollectionClient {
     }
     
     /**
-     * Check if the collection exist.
+     * Enable a read-through cache for documents of this collection, shared by all clients
+     * of the collection created from the same {@link ApiDocumentClient}.
+     */
+    public DocumentCache enableCache(DocumentCacheOptions options) {
+        Assert.notNull(options, "options");
+        return docClient.enableDocumentCache(namespaceClient.getNamespace(), collectionName, options);
+    }
+    
+    /**
+     * Disable the document cache of this collection.
+     */
+    public void disableCache() {
+        docClient.disableDocumentCache(namespaceClient.getNamespace(), collectionName);
+    }
+    
+    /**
+     * Document cache of this collection if enabled.
+     */
+    public Optional<DocumentCache> getCache() {
+        return docClient.getDocumentCache(namespaceClient.getNamespace(), collectionName);
+    }
+    
+    /**
+     * Check if the collection exist, from the collections listing (cached when the schema cache is enabled).
      */
     public boolean exist() {
         Assert.hasLength(collectionName, "collectionName");
@@ -73,35 +119,33 @@ public class CollectionClient {
     
     public void create() {
         Assert.hasLength(collectionName, "collectionName");
-        String createColEndpoint = docClient.getEndPointApiDocument() 
-                + PATH_NAMESPACES  + "/" + namespaceClient.getNamespace() 
-                + PATH_COLLECTIONS;
+        String createColEndpoint = namespaceClient.getEndPointNamespace() + PATH_COLLECTIONS;
         HttpResponse<String> response;
         try {
-            response = getHttpClient()
-                    .send(startRequest(createColEndpoint, docClient.getToken())
+            response = docClient.send("collection.create", docClient.newRequest(createColEndpoint, docClient.getToken())
                             .POST(BodyPublishers.ofString("{\"name\":\"" + collectionName + "\"}"))
                             .build(), BodyHandlers.ofString()); 
         } catch (Exception e) {
             throw new RuntimeException("Cannot create new collection " + collectionName, e);
+        } finally {
+            invalidateSchema();
         }
         handleError(response);
     }
     
     public void delete() {
         Assert.hasLength(collectionName, "collectionName");
-        String delColEndpoint = docClient.getEndPointApiDocument() 
-                + PATH_NAMESPACES  + "/" + namespaceClient.getNamespace() 
-                + PATH_COLLECTIONS + "/" + collectionName;
-        
         HttpResponse<String> response;
         try {
-            response = getHttpClient().send(
-                    startRequest(delColEndpoint, docClient.getToken()).DELETE().build(), 
+            response = docClient.send("collection.delete",
+                    docClient.newRequest(uriCollection, docClient.getToken()).DELETE().build(), 
                     BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot delete collection " + collectionName, e);
+        } finally {
+            invalidateSchema();
         }
+        getCache().ifPresent(DocumentCache::invalidateAll);
         if (HttpURLConnection.HTTP_NOT_FOUND == response.statusCode()) {
             throw new CollectionNotFoundException(collectionName);
         }
@@ -110,19 +154,17 @@ public class CollectionClient {
     
     public void upgrade() {
         Assert.hasLength(collectionName, "collectionName");
-        String updateColEndpoint = docClient.getEndPointApiDocument() 
-                + PATH_NAMESPACES  + "/" + namespaceClient.getNamespace() 
-                + PATH_COLLECTIONS + "/" + collectionName 
-                + "/upgrade";
         HttpResponse<String> response;
         try {
-            response = getHttpClient().send(
-                    startRequest(updateColEndpoint, docClient.getToken())
+            response = docClient.send("collection.upgrade",
+                    docClient.newRequest(endPointCollection + "/upgrade", docClient.getToken())
                      .POST(BodyPublishers.noBody()).build(), 
                     BodyHandlers.ofString());
             
         } catch (Exception e) {
             throw new RuntimeException("Cannot update collection " + collectionName, e);
+        } finally {
+            invalidateSchema();
         }
         if (HttpURLConnection.HTTP_NOT_FOUND == response.statusCode()) {
             throw new CollectionNotFoundException(collectionName);
@@ -130,27 +172,46 @@ public class CollectionClient {
         handleError(response);
     }
     
+    private void invalidateSchema() {
+        docClient.invalidateSchema(SchemaCache.keyCollections(namespaceClient.getNamespace()));
+    }
+    
     /**
      * Create a new document from any serializable object
      */
     public <DOC extends Serializable> String createNewDocument(DOC doc) {
-        Objects.requireNonNull(doc);
-        String saveDocEndPoint = docClient.getEndPointApiDocument() 
-                + PATH_NAMESPACES  + "/" + namespaceClient.getNamespace() 
-                + PATH_COLLECTIONS + "/" + collectionName;
+        HttpRequest request = createNewDocumentRequest(doc, docClient.getToken());
         HttpResponse<String> response;
         try {
-            String reqBody =  getObjectMapper().writeValueAsString(doc);
-            response = getHttpClient().send(
-                    startRequest(saveDocEndPoint, docClient.getToken())
-                     .POST(BodyPublishers.ofString(reqBody)).build(), 
-                    BodyHandlers.ofString());
+            response = docClient.send("collection.createNewDocument", request, BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot save document ", e);
         }
-        
+        return marshallDocumentId(response);
+    }
+    
+    /**
+     * Asynchronous version of {@link #createNewDocument(Serializable)}.
+     */
+    public <DOC extends Serializable> CompletableFuture<String> createNewDocumentAsync(DOC doc) {
+        return docClient.sendAsync("collection.createNewDocument", token -> createNewDocumentRequest(doc, token), BodyHandlers.ofString())
+                .thenApply(this::marshallDocumentId);
+    }
+    
+    private <DOC extends Serializable> HttpRequest createNewDocumentRequest(DOC doc, String token) {
+        Objects.requireNonNull(doc);
+        String reqBody;
+        try {
+            reqBody = getObjectMapper().writeValueAsString(doc);
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot save document ", e);
+        }
+        return docClient.newRequest(uriCollection, token)
+                        .POST(BodyPublishers.ofString(reqBody)).build();
+    }
+    
+    private String marshallDocumentId(HttpResponse<String> response) {
         handleError(response);
-        
         try {
             return (String) getObjectMapper()
                         .readValue(response.body(), Map.class)
@@ -160,6 +221,89 @@ public class CollectionClient {
         }
     }
     
+    /**
+     * Writer to create a large number of documents with bounded concurrency.
+     */
+    public BulkDocumentWriter bulkWriter(BulkWriterOptions options) {
+        return new BulkDocumentWriter(this, options);
+    }
+    
+    /**
+     * Writer with default {@link BulkWriterOptions}.
+     */
+    public BulkDocumentWriter bulkWriter() {
+        return bulkWriter(BulkWriterOptions.builder().build());
+    }
+    
+    /**
+     * Find documents by id, lookups are sent in parallel (at most {@link #DEFAULT_FIND_CONCURRENCY}
+     * requests in flight) and served from the document cache when enabled.
+     *
+     * @return
+     *      documents found keyed by id, in the order of the ids, absent documents are omitted
+     */
+    public <DOC extends Serializable> Map<String, DOC> findAll(Collection<String> ids, Class<DOC> clazz) {
+        return findAll(ids, clazz, DEFAULT_FIND_CONCURRENCY);
+    }
+    public <DOC extends Serializable> Map<String, DOC> findAll(Collection<String> ids, Class<DOC> clazz, int concurrency) {
+        return Utils.await(findAllAsync(ids, clazz, concurrency), "Cannot find documents");
+    }
+    
+    /**
+     * Asynchronous version of {@link #findAll(Collection, Class, int)}, fails with the first error.
+     */
+    public <DOC extends Serializable> CompletableFuture<Map<String, DOC>> findAllAsync(Collection<String> ids, Class<DOC> clazz, int concurrency) {
+        try {
+            Assert.notNull(ids, "ids");
+            Assert.notNull(clazz, "clazz");
+            Assert.isTrue(concurrency > 0, "Concurrency should be greater than 0");
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // Deduplicate, keeping the order of the ids
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Iterator<String> remaining = uniqueIds.iterator();
+        Map<String, DOC> found = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(concurrency, uniqueIds.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = findNext(remaining, clazz, found);
+        }
+        return CompletableFuture.allOf(workers).thenApply(v -> {
+            Map<String, DOC> result = new LinkedHashMap<>();
+            uniqueIds.stream().filter(found::containsKey).forEach(id -> result.put(id, found.get(id)));
+            return result;
+        });
+    }
+    
+    /**
+     * Lookup ids one after the other until none is left, one such chain per slot.
+     */
+    private <DOC extends Serializable> CompletableFuture<Void> findNext(Iterator<String> remaining, Class<DOC> clazz, Map<String, DOC> found) {
+        while (true) {
+            String id;
+            synchronized (remaining) {
+                if (!remaining.hasNext()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                id = remaining.next();
+            }
+            CompletableFuture<Optional<DOC>> lookup;
+            try {
+                lookup = document(id).findAsync(clazz);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            if (!lookup.isDone() || lookup.isCompletedExceptionally()) {
+                return lookup.thenCompose(doc -> {
+                    doc.ifPresent(d -> found.put(id, d));
+                    return findNext(remaining, clazz, found);
+                });
+            }
+            // Cache hit, loop instead of nesting the next lookup
+            lookup.join().ifPresent(d -> found.put(id, d));
+        }
+    }
+    
     /**
      * List all items of a collection without filters.
      * 
@@ -183,57 +327,166 @@ public class CollectionClient {
         return search(builder.build(), clazz);
     }
     
+    /**
+     * Asynchronous version of {@link #findAll(Class, int, String)}, pageState is optional.
+     */
+    public <DOC> CompletableFuture<ResultListPage<DOC>> findAllAsync(Class<DOC> clazz, int pageSize, String pageState) {
+        QueryDocument query;
+        try {
+            QueryDocumentBuilder builder = QueryDocument.builder().withPageSize(pageSize);
+            if (null != pageState) {
+                builder.withPageState(pageState);
+            }
+            query = builder.build();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return searchAsync(query, clazz);
+    }
+    
     //https://docs.astra.datastax.com/reference#get_api-rest-v2-namespaces-namespace-id-collections-collection-id-1
     public <DOC> ResultListPage<DOC> search(QueryDocument query, Class<DOC> clazz) {
         Objects.requireNonNull(clazz);
-        HttpResponse<String> response;
+        HttpRequest request = searchRequest(query, docClient.getToken());
+        HttpResponse<byte[]> response;
         try {
-             // Invoke as JSON
-            response = getHttpClient().send(startRequest(
-                            buildQueryUrl(query), docClient.getToken()).GET().build(), 
-                            BodyHandlers.ofString());
+             // Invoke as JSON, body is kept as bytes and decoded in a single pass
+            response = docClient.send("collection.search", request, BodyHandlers.ofByteArray());
         } catch (Exception e) {
             throw new RuntimeException("Cannot search for documents ", e);
         }   
-        
-        handleError(response);
-         
-        try {
-             // Marshalling (using LinkedHashMap DOC was a bit to much Generics for Jackson here)
-             ApiResponse<Map<String, LinkedHashMap<?,?>>> result = getObjectMapper()
-                     .readValue(response.body(), 
-                             new TypeReference<ApiResponse<Map<String, LinkedHashMap<?,?>>>>(){});
-             
-            return new ResultListPage<DOC>(query.getPageSize(), result.getPageState(), result.getData()
-                    .entrySet().stream()
-                    .map(doc -> new ApiDocument<DOC>(doc.getKey(), getObjectMapper().convertValue(doc.getValue(), clazz)))
-                    .collect(Collectors.toList()));
-        } catch (Exception e) {
-            throw new RuntimeException("Cannot marshall document results", e);
+        return marshallResultListPage(response, query, clazz);
+    }
+    
+    /**
+     * Asynchronous version of {@link #search(QueryDocument, Class)}.
+     */
+    public <DOC> CompletableFuture<ResultListPage<DOC>> searchAsync(QueryDocument query, Class<DOC> clazz) {
+        return docClient.sendAsync("collection.search", token -> {
+                    Objects.requireNonNull(clazz);
+                    return searchRequest(query, token);
+                }, BodyHandlers.ofByteArray())
+                .thenApply(res -> marshallResultListPage(res, query, clazz));
+    }
+    
+    /**
+     * Iterate over all documents matching the query, pages are fetched when needed.
+     */
+    public <DOC> DocumentPageIterator<DOC> iterator(QueryDocument query, Class<DOC> clazz) {
+        return iterator(query, clazz, false);
+    }
+    
+    /**
+     * Iterate over all documents matching the query, pages are fetched when needed.
+     * 
+     * @param prefetch
+     *      request the next page asynchronously while the current one is consumed
+     */
+    public <DOC> DocumentPageIterator<DOC> iterator(QueryDocument query, Class<DOC> clazz, boolean prefetch) {
+        return new DocumentPageIterator<>(this, query, clazz, prefetch);
+    }
+    
+    /**
+     * Lazy stream of all documents matching the query, following page state.
+     */
+    public <DOC> Stream<ApiDocument<DOC>> stream(QueryDocument query, Class<DOC> clazz) {
+        return stream(query, clazz, false);
+    }
+    
+    /**
+     * Lazy stream of all documents matching the query, following page state.
+     * Close the stream (or consume it fully) to release a prefetched page.
+     * 
+     * @param prefetch
+     *      request the next page asynchronously while the current one is consumed
+     */
+    public <DOC> Stream<ApiDocument<DOC>> stream(QueryDocument query, Class<DOC> clazz, boolean prefetch) {
+        DocumentPageIterator<DOC> it = iterator(query, clazz, prefetch);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(it::close);
+    }
+    
+    /**
+     * Lazy stream of all documents of the collection.
+     */
+    public <DOC> Stream<ApiDocument<DOC>> streamAll(Class<DOC> clazz) {
+        return stream(QueryDocument.builder().withPageSize(QueryDocument.PAGING_SIZE_MAX).build(), clazz, true);
+    }
+    
+    /**
+     * Exporter of the documents to NDJSON.
+     */
+    public DocumentExporter exporter(ExportOptions options) {
+        return new DocumentExporter(this, options);
+    }
+    
+    /**
+     * Exporter of all documents with default {@link ExportOptions}.
+     */
+    public DocumentExporter exporter() {
+        return exporter(ExportOptions.builder().build());
+    }
+    
+    /**
+     * Import the documents of a NDJSON or json array file, see {@link DocumentImporter}.
+     */
+    public ImportReport importFrom(Path file, ImportOptions options) {
+        return new DocumentImporter(this, options).importFrom(file);
+    }
+    
+    /**
+     * Import with default {@link ImportOptions}.
+     */
+    public ImportReport importFrom(Path file) {
+        return importFrom(file, ImportOptions.builder().build());
+    }
+    
+    /**
+     * Raw body of a search page, documents are not decoded (used by exports).
+     */
+    CompletableFuture<byte[]> searchRawAsync(QueryDocument query) {
+        return docClient.sendAsync("collection.search", token -> searchRequest(query, token), BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 300) {
+                        handleError(response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+                    }
+                    return response.body();
+                });
+    }
+    
+    private HttpRequest searchRequest(QueryDocument query, String token) {
+        Objects.requireNonNull(query);
+        return docClient.newRequest(buildQueryUrl(query), token).GET().build();
+    }
+    
+    private <DOC> ResultListPage<DOC> marshallResultListPage(HttpResponse<byte[]> response, QueryDocument query, Class<DOC> clazz) {
+        if (response.statusCode() >= 300) {
+            handleError(response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
         }
+        return new ResultListPageDecoder<DOC>(clazz).decode(response.body(), query.getPageSize());
     }
     
-    private String buildQueryUrl(QueryDocument query) {
+    /**
+     * Url of the search request (package visible for benchmarks).
+     */
+    String buildQueryUrl(QueryDocument query) {
         try {
-            StringBuilder sbUrl = new StringBuilder(docClient.getEndPointApiDocument());
-            // Navigate to Namespace
-            sbUrl.append(NamespaceClient.PATH_NAMESPACES  + "/" + namespaceClient.getNamespace()); 
-            // Navigate to collection
-            sbUrl.append(NamespaceClient.PATH_COLLECTIONS + "/" + collectionName);
+            StringBuilder sbUrl = new StringBuilder(endPointCollection.length() + 128).append(endPointCollection);
             // Add query Params
-            sbUrl.append("?page-size=" + query.getPageSize());
+            sbUrl.append("?page-size=").append(query.getPageSize());
             // Depending on query you forge your URL
             if (query.getPageState().isPresent()) {
-                sbUrl.append("&page-state=" + 
-                        URLEncoder.encode(query.getPageState().get(), StandardCharsets.UTF_8.toString()));
+                sbUrl.append("&page-state=")
+                     .append(URLEncoder.encode(query.getPageState().get(), StandardCharsets.UTF_8.toString()));
             }
             if (query.getWhere().isPresent()) {
-                sbUrl.append("&where=" + 
-                        URLEncoder.encode(query.getWhere().get(), StandardCharsets.UTF_8.toString()));
+                sbUrl.append("&where=")
+                     .append(URLEncoder.encode(query.getWhere().get(), StandardCharsets.UTF_8.toString()));
             }
             if (query.getFieldsToRetrieve().isPresent() && !query.getFieldsToRetrieve().get().isEmpty()) {
-                sbUrl.append("&fields=" + 
-                        URLEncoder.encode(JsonUtils.collectionAsJson(query.getFieldsToRetrieve().get()), StandardCharsets.UTF_8.toString()));
+                sbUrl.append("&fields=")
+                     .append(URLEncoder.encode(JsonUtils.collectionAsJson(query.getFieldsToRetrieve().get()), StandardCharsets.UTF_8.toString()));
             }
             return sbUrl.toString();
         } catch (UnsupportedEncodingException e) {
@@ -251,5 +504,15 @@ public class CollectionClient {
         return collectionName;
     }
     
+    /**
+     * Getter accessor for attribute 'endPointCollection'.
+     *
+     * @return
+     *       current value of 'endPointCollection'
+     */
+    public String getEndPointCollection() {
+        return endPointCollection;
+    }
+    
     
 }
@@ -0,0 +1,207 @@
+package io.stargate.sdk.doc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Read-through cache of documents for a collection, enabled with 
+ * {@link CollectionClient#enableCache(DocumentCacheOptions)}.
+ *
+ * Entries expire after the ttl and the least recently used ones are evicted when the number of
+ * entries or the size of the json payloads exceeds the budget. Writes made through the
+ * {@link DocumentClient} invalidate the entry. Cached documents are shared between callers and
+ * should not be modified.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentCache {
+    
+    /** Settings. */
+    private final DocumentCacheOptions options;
+    
+    /** Entries in access order, eldest first (guarded by this). */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    /** Size of the cached payloads (guarded by this). */
+    private long bytes = 0;
+    
+    /** Incremented on each invalidation, a load started before is not stored (guarded by this). */
+    private long version = 0;
+    
+    /** Number of lookups served from cache. */
+    private final AtomicLong hitCount = new AtomicLong();
+    
+    /** Number of lookups sent to the server. */
+    private final AtomicLong missCount = new AtomicLong();
+    
+    /** Number of entries removed to respect the budget. */
+    private final AtomicLong evictionCount = new AtomicLong();
+    
+    /**
+     * Constructor with settings.
+     */
+    public DocumentCache(DocumentCacheOptions options) {
+        Assert.notNull(options, "options");
+        this.options = options;
+    }
+    
+    /**
+     * Lookup a document.
+     *
+     * @return
+     *      the cached document if present, not expired and of the expected class
+     */
+    public <DOC> Optional<DOC> get(String documentId, Class<DOC> clazz) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(documentId);
+            if (null != entry && entry.isExpired()) {
+                remove(documentId);
+                entry = null;
+            }
+        }
+        if (null == entry || !clazz.isInstance(entry.document)) {
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+        hitCount.incrementAndGet();
+        return Optional.of(clazz.cast(entry.document));
+    }
+    
+    /**
+     * Version to provide to {@link #put(String, Object, int, long)} when the load completes.
+     */
+    public synchronized long version() {
+        return version;
+    }
+    
+    /**
+     * Store a document loaded from the server, ignored if an invalidation happened during the load.
+     *
+     * @param size
+     *      size of the json payload
+     * @param loadVersion
+     *      value of {@link #version()} before the load started
+     */
+    public synchronized void put(String documentId, Object document, int size, long loadVersion) {
+        if (loadVersion != version || size > options.getMaxBytes()) {
+            return;
+        }
+        remove(documentId);
+        entries.put(documentId, new Entry(document, size, System.nanoTime() + options.getTtl().toNanos()));
+        bytes += size;
+        // Evict least recently used
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > options.getMaxEntries() || bytes > options.getMaxBytes()) && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().size;
+            eldest.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Remove a document (it has been written).
+     */
+    public synchronized void invalidate(String documentId) {
+        version++;
+        remove(documentId);
+    }
+    
+    /**
+     * Remove all documents.
+     */
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+        bytes = 0;
+    }
+    
+    private void remove(String documentId) {
+        Entry previous = entries.remove(documentId);
+        if (null != previous) {
+            bytes -= previous.size;
+        }
+    }
+    
+    /**
+     * Number of cached documents.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Size of the cached json payloads.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+    
+    /**
+     * Getter accessor for attribute 'hitCount'.
+     *
+     * @return
+     *       current value of 'hitCount'
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * Getter accessor for attribute 'missCount'.
+     *
+     * @return
+     *       current value of 'missCount'
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * Getter accessor for attribute 'evictionCount'.
+     *
+     * @return
+     *       current value of 'evictionCount'
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+    
+    /**
+     * Getter accessor for attribute 'options'.
+     *
+     * @return
+     *       current value of 'options'
+     */
+    public DocumentCacheOptions getOptions() {
+        return options;
+    }
+    
+    /**
+     * Cached document.
+     */
+    private static final class Entry {
+        
+        private final Object document;
+        
+        private final int size;
+        
+        private final long expiresAtNanos;
+        
+        private Entry(Object document, int size, long expiresAtNanos) {
+            this.document       = document;
+            this.size           = size;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package io.stargate.sdk.doc;
+
+import java.time.Duration;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of a {@link DocumentCache}.
+ *
+ * DocumentCacheOptions.builder()
+ *                     .maxEntries(10000)
+ *                     .maxBytes(32 * 1024 * 1024)
+ *                     .ttl(Duration.ofSeconds(30))
+ *                     .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentCacheOptions {
+    
+    /** Default number of documents kept. */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    
+    /** Default size budget (sum of json payloads). */
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    
+    /** Default time to live of an entry. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+    
+    /** Maximum number of documents. */
+    private final int maxEntries;
+    
+    /** Maximum size of cached json payloads. */
+    private final long maxBytes;
+    
+    /** Time to live of an entry. */
+    private final Duration ttl;
+    
+    private DocumentCacheOptions(DocumentCacheOptionsBuilder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.maxBytes   = builder.maxBytes;
+        this.ttl        = builder.ttl;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static DocumentCacheOptionsBuilder builder() {
+        return new DocumentCacheOptionsBuilder();
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class DocumentCacheOptionsBuilder {
+        
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private long maxBytes  = DEFAULT_MAX_BYTES;
+        private Duration ttl   = DEFAULT_TTL;
+        
+        public DocumentCacheOptionsBuilder maxEntries(int maxEntries) {
+            Assert.isTrue(maxEntries > 0, "Max entries should be greater than 0");
+            this.maxEntries = maxEntries;
+            return this;
+        }
+        public DocumentCacheOptionsBuilder maxBytes(long maxBytes) {
+            Assert.isTrue(maxBytes > 0, "Max bytes should be greater than 0");
+            this.maxBytes = maxBytes;
+            return this;
+        }
+        public DocumentCacheOptionsBuilder ttl(Duration ttl) {
+            Assert.notNull(ttl, "ttl");
+            Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl should be positive");
+            this.ttl = ttl;
+            return this;
+        }
+        public DocumentCacheOptions build() {
+            return new DocumentCacheOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxEntries'.
+     *
+     * @return
+     *       current value of 'maxEntries'
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxBytes'.
+     *
+     * @return
+     *       current value of 'maxBytes'
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+    
+    /**
+     * Getter accessor for attribute 'ttl'.
+     *
+     * @return
+     *       current value of 'ttl'
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+}
@@ -1,25 +1,31 @@
 package io.stargate.sdk.doc;
 
-import static io.stargate.sdk.doc.NamespaceClient.PATH_COLLECTIONS;
-import static io.stargate.sdk.doc.NamespaceClient.PATH_NAMESPACES;
-import static io.stargate.sdk.utils.ApiSupport.getHttpClient;
 import static io.stargate.sdk.utils.ApiSupport.getObjectMapper;
 import static io.stargate.sdk.utils.ApiSupport.handleError;
-import static io.stargate.sdk.utils.ApiSupport.startRequest;
 
 import java.io.Serializable;
 import java.net.HttpURLConnection;
+import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import io.stargate.sdk.utils.ApiSupport;
 import io.stargate.sdk.utils.Assert;
 
 /**
  * Part of the Document API in stargate wrapper for methods at the document level.
  *
+ * Each operation exists in a blocking flavour and an asynchronous one (suffix 'Async')
+ * returning a {@link CompletableFuture}, built on {@link java.net.http.HttpClient#sendAsync}.
+ *
+ * When the collection has a {@link DocumentCache}, find() is served from it and writes invalidate it.
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
 public class DocumentClient {
@@ -36,6 +42,9 @@ public class DocumentClient {
     /** Unique document identifer. */
     private final String docId;
     
+    /** Url of the document, appended to the collection url. */
+    private final String endPointDocument;
+    
     /**
      * Full constructor.
      */
@@ -46,16 +55,7 @@ public class DocumentClient {
         this.namespaceClient   = namespaceClient;
         this.collectionClient  = collectionClient;
         this.docId             = docId;
-    }
-    
-    /**
-     * Build endpoint of the resource
-     */
-    private String getEndpoint() {
-        return docClient.getEndPointApiDocument()
-                + PATH_NAMESPACES  + "/" + namespaceClient.getNamespace() 
-                + PATH_COLLECTIONS + "/" + collectionClient.getCollectionName()
-                + "/" + docId;
+        this.endPointDocument  = collectionClient.getEndPointCollection() + "/" + docId;
     }
     
     /**
@@ -64,16 +64,34 @@ public class DocumentClient {
      * @see https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/getDocById
      */
     public boolean exist() {
-        Assert.hasLength(docId, "documentId");
+        Function<String, HttpRequest> request = existRequest();
         try {
-            return HttpURLConnection.HTTP_OK == getHttpClient().send(
-                    startRequest(getEndpoint(), docClient.getToken())
-                      .GET().build(), BodyHandlers.discarding()).statusCode();
+            return HttpURLConnection.HTTP_OK == docClient.send("document.exist",
+                    request.apply(docClient.getToken()), BodyHandlers.discarding()).statusCode();
         } catch (Exception e) {
             throw new RuntimeException("Cannot test document existence", e);
         }
     }
     
+    /**
+     * Asynchronous version of {@link #exist()}.
+     */
+    public CompletableFuture<Boolean> existAsync() {
+        Function<String, HttpRequest> request;
+        try {
+            request = existRequest();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return docClient.sendAsync("document.exist", request, BodyHandlers.discarding())
+                .thenApply(res -> HttpURLConnection.HTTP_OK == res.statusCode());
+    }
+    
+    private Function<String, HttpRequest> existRequest() {
+        Assert.hasLength(docId, "documentId");
+        return token -> docClient.newRequest(endPointDocument, token).GET().build();
+    }
+    
     /**
      * Replace a document
      * 
@@ -85,21 +103,23 @@ public class DocumentClient {
      * @see https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/replaceDoc
      */
     public <DOC extends Serializable> String upsert(DOC doc) {
+        return marshallDocumentId(sendWrite("document.upsert", upsertRequest(doc), "Cannot save document:"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #upsert(Serializable)}.
+     */
+    public <DOC extends Serializable> CompletableFuture<String> upsertAsync(DOC doc) {
+        return sendWriteAsync("document.upsert", () -> upsertRequest(doc)).thenApply(this::marshallDocumentId);
+    }
+    
+    private <DOC extends Serializable> Function<String, HttpRequest> upsertRequest(DOC doc) {
         Assert.notNull(doc, "document");
         Assert.hasLength(docId, "Document identifier");
-        HttpResponse<String> response;
-        try {
-            String reqBody = getObjectMapper().writeValueAsString(doc);
-           response = getHttpClient().send(
-                   startRequest(getEndpoint(), docClient.getToken())
-                   .PUT(BodyPublishers.ofString(reqBody)).build(),
-                   BodyHandlers.ofString());
-        } catch (Exception e) {
-            throw new RuntimeException("Cannot save document:", e);
-        }    
-        
-        handleError(response);
-        return marshallDocumentId(response.body());
+        String body = marshallBody(doc, "Cannot save document:");
+        return token -> docClient.newRequest(endPointDocument, token)
+                .PUT(BodyPublishers.ofString(body))
+                .build();
     }
   
     /**
@@ -113,22 +133,24 @@ public class DocumentClient {
      * @see https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/updatePartOfDoc
      */
     public <DOC extends Serializable> String update(DOC doc) {
-        Assert.notNull(doc, "document");
-        Assert.hasLength(docId, "Document identifier");
-        HttpResponse<String> response;
-        try {
-           String reqBody = getObjectMapper().writeValueAsString(doc);
-           response = getHttpClient().send(
-                   startRequest(getEndpoint(), docClient.getToken()).method("PATCH", BodyPublishers.ofString(reqBody)).build(),
-                   BodyHandlers.ofString());
-        } catch (Exception e) {
-            throw new RuntimeException("Cannot save document:", e);
-        }
-        handleError(response);
-        return marshallDocumentId(response.body());
+        return marshallDocumentId(sendWrite("document.update", updateRequest(doc), "Cannot save document:"));
     }
     
+    /**
+     * Asynchronous version of {@link #update(Serializable)}.
+     */
+    public <DOC extends Serializable> CompletableFuture<String> updateAsync(DOC doc) {
+        return sendWriteAsync("document.update", () -> updateRequest(doc)).thenApply(this::marshallDocumentId);
+    }
     
+    private <DOC extends Serializable> Function<String, HttpRequest> updateRequest(DOC doc) {
+        Assert.notNull(doc, "document");
+        Assert.hasLength(docId, "Document identifier");
+        String body = marshallBody(doc, "Cannot save document:");
+        return token -> docClient.newRequest(endPointDocument, token)
+                .method("PATCH", BodyPublishers.ofString(body))
+                .build();
+    }
     
     /**
      * Get a document by {document-id}.
@@ -143,21 +165,39 @@ public class DocumentClient {
      * @see https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/getDocById
      */
     public <DOC extends Serializable> Optional<DOC> find(Class<DOC> clazz) {
-        Assert.hasLength(docId, "documentId");
-        Assert.notNull(clazz, "className");
-        HttpResponse<String> response;
+        Optional<DocumentCache> cache = collectionClient.getCache();
+        Optional<DOC> cached = cache.flatMap(c -> c.get(docId, clazz));
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long version = cache.map(DocumentCache::version).orElse(0L);
+        return cacheDocument(cache, version, send("document.find", findRequest(clazz),
+                "Cannot invoke API to find document:"), clazz);
+    }
+    
+    /**
+     * Asynchronous version of {@link #find(Class)}.
+     */
+    public <DOC extends Serializable> CompletableFuture<Optional<DOC>> findAsync(Class<DOC> clazz) {
+        Optional<DocumentCache> cache = collectionClient.getCache();
+        Optional<DOC> cached;
         try {
-            response = getHttpClient().send(
-                    startRequest(getEndpoint() + "?raw=true", docClient.getToken())
-                        .GET().build(), BodyHandlers.ofString());
-        } catch (Exception e) {
-            throw new RuntimeException("Cannot invoke API to find document:", e);
+            cached = cache.flatMap(c -> c.get(docId, clazz));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        handleError(response);
-        if (HttpURLConnection.HTTP_OK == response.statusCode()) {
-           return Optional.of(marshallDocument(response.body(), clazz));
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
         }
-        return Optional.empty();
+        long version = cache.map(DocumentCache::version).orElse(0L);
+        return sendAsync("document.find", () -> findRequest(clazz))
+                .thenApply(res -> cacheDocument(cache, version, res, clazz));
+    }
+    
+    private Function<String, HttpRequest> findRequest(Class<?> clazz) {
+        Assert.hasLength(docId, "documentId");
+        Assert.notNull(clazz, "className");
+        return token -> docClient.newRequest(endPointDocument + "?raw=true", token).GET().build();
     }
 
     /**
@@ -170,18 +210,30 @@ public class DocumentClient {
         if (!exist()) {
             throw new RuntimeException("Document '"+ docId + "' has not been found");
         }
-        HttpResponse<String> response;
-        try {
-            response = getHttpClient().send(
-                    startRequest(getEndpoint(), docClient.getToken())
-                     .DELETE().build(), BodyHandlers.ofString());
-            if (HttpURLConnection.HTTP_NO_CONTENT == response.statusCode()) {
-                return;
+        handleDeleteResponse(sendWrite("document.delete", deleteRequest(), "Cannot invoke API to delete a document:"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #delete()}.
+     */
+    public CompletableFuture<Void> deleteAsync() {
+        // Document identifier is validated by the existence check
+        return existAsync().thenCompose(exist -> {
+            if (!exist) {
+                throw new RuntimeException("Document '"+ docId + "' has not been found");
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Cannot invoke API to delete a document:", e);
+            return sendWriteAsync("document.delete", this::deleteRequest).thenAccept(this::handleDeleteResponse);
+        });
+    }
+    
+    private Function<String, HttpRequest> deleteRequest() {
+        return token -> docClient.newRequest(endPointDocument, token).DELETE().build();
+    }
+    
+    private void handleDeleteResponse(HttpResponse<String> response) {
+        if (HttpURLConnection.HTTP_NO_CONTENT != response.statusCode()) {
+            handleError(response);
         }
-        handleError(response);
     }
     
     /**
@@ -198,27 +250,26 @@ public class DocumentClient {
      * @return
      */
     public <SUBDOC> Optional<SUBDOC> findSubDocument(String path, Class<SUBDOC> className) {
+        return marshallOptionalDocument(send("document.findSubDocument", findSubDocumentRequest(path, className),
+                "Cannot invoke API to find sub document:"), className);
+    }
+    
+    /**
+     * Asynchronous version of {@link #findSubDocument(String, Class)}.
+     */
+    public <SUBDOC> CompletableFuture<Optional<SUBDOC>> findSubDocumentAsync(String path, Class<SUBDOC> className) {
+        return sendAsync("document.findSubDocument", () -> findSubDocumentRequest(path, className))
+                .thenApply(res -> marshallOptionalDocument(res, className));
+    }
+    
+    private Function<String, HttpRequest> findSubDocumentRequest(String path, Class<?> className) {
         Assert.hasLength(docId, "documentId");
         Assert.hasLength(path, "hasLength");
         Assert.notNull(className, "expectedClass");
-        if (!path.startsWith("/")) {
-            path = "/" + path;
-        }
-        HttpResponse<String> response;
-        try {
-           response = getHttpClient().send(startRequest(getEndpoint() + path + "?raw=true", docClient.getToken())
-                    .GET().build(), BodyHandlers.ofString());
-        } catch (Exception e) {
-            throw new RuntimeException("Cannot invoke API to find sub document:", e);
-        }
-        handleError(response);
-        if (HttpURLConnection.HTTP_OK == response.statusCode()) {
-            return Optional.of(marshallDocument(response.body(), className));
-        }
-        return Optional.empty();
+        return token -> docClient.newRequest(endPointDocument + formatPath(path) + "?raw=true", token)
+                .GET().build();
     }
     
-    
     /**
      * Replace a subpart of the document.
      * 
@@ -230,21 +281,24 @@ public class DocumentClient {
      * @see https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/replaceSubDoc
      */
     public <SUBDOC> void replaceSubDocument(String path, SUBDOC newValue) {
+        handleError(sendWrite("document.replaceSubDocument", replaceSubDocumentRequest(path, newValue),
+                "An error occured when updating sub documents"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #replaceSubDocument(String, Object)}.
+     */
+    public <SUBDOC> CompletableFuture<Void> replaceSubDocumentAsync(String path, SUBDOC newValue) {
+        return sendWriteAsync("document.replaceSubDocument", () -> replaceSubDocumentRequest(path, newValue)).thenAccept(ApiSupport::handleError);
+    }
+    
+    private <SUBDOC> Function<String, HttpRequest> replaceSubDocumentRequest(String path, SUBDOC newValue) {
         Assert.hasLength(path, "path");
         Assert.notNull(newValue, "newValue");
-        if (!path.startsWith("/")) {
-            path = "/" + path;
-        }
-        HttpResponse<String> response;
-        try {
-            response = getHttpClient().send(
-                    startRequest(getEndpoint() + path, docClient.getToken())
-                     .PUT(BodyPublishers.ofString(getObjectMapper().writeValueAsString(newValue))).build(), 
-                    BodyHandlers.ofString());
-        } catch (Exception e) {
-            throw new RuntimeException("An error occured when updating sub documents", e);
-        }
-        handleError(response);
+        String body = marshallBody(newValue, "An error occured when updating sub documents");
+        return token -> docClient.newRequest(endPointDocument + formatPath(path), token)
+                .PUT(BodyPublishers.ofString(body))
+                .build();
     }
     
     /**
@@ -258,24 +312,26 @@ public class DocumentClient {
      * @see https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/updatePartOfSubDoc
      */
     public <SUBDOC> void updateSubDocument(String path, SUBDOC newValue) {
+        handleError(sendWrite("document.updateSubDocument", updateSubDocumentRequest(path, newValue),
+                "An error occured when updating sub documents"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #updateSubDocument(String, Object)}.
+     */
+    public <SUBDOC> CompletableFuture<Void> updateSubDocumentAsync(String path, SUBDOC newValue) {
+        return sendWriteAsync("document.updateSubDocument", () -> updateSubDocumentRequest(path, newValue)).thenAccept(ApiSupport::handleError);
+    }
+    
+    private <SUBDOC> Function<String, HttpRequest> updateSubDocumentRequest(String path, SUBDOC newValue) {
         Assert.hasLength(path, "path");
         Assert.notNull(newValue, "newValue");
-        if (!path.startsWith("/")) {
-            path = "/" + path;
-        }
-        HttpResponse<String> response;
-        try {
-            response = getHttpClient().send(
-                    startRequest(getEndpoint() + path + "?raw=true", docClient.getToken())
-                     .method("PATCH", BodyPublishers.ofString(getObjectMapper().writeValueAsString(newValue))).build(), 
-                    BodyHandlers.ofString());
-        } catch (Exception e) {
-            throw new RuntimeException("An error occured when updating sub documents", e);
-        }
-        handleError(response);
+        String body = marshallBody(newValue, "An error occured when updating sub documents");
+        return token -> docClient.newRequest(endPointDocument + formatPath(path) + "?raw=true", token)
+                .method("PATCH", BodyPublishers.ofString(body))
+                .build();
     }
     
-    
     /**
      * Delete a sub document.
      * 
@@ -285,32 +341,107 @@ public class DocumentClient {
      * @path https://docs.datastax.com/en/astra/docs/_attachments/docv2.html#operation/deleteSubDoc
      */
     public void deleteSubDocument(String path) {
+        handleError(sendWrite("document.deleteSubDocument", deleteSubDocumentRequest(path),
+                "An error occured when deleting sub documents"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #deleteSubDocument(String)}.
+     */
+    public CompletableFuture<Void> deleteSubDocumentAsync(String path) {
+        return sendWriteAsync("document.deleteSubDocument", () -> deleteSubDocumentRequest(path)).thenAccept(ApiSupport::handleError);
+    }
+    
+    private Function<String, HttpRequest> deleteSubDocumentRequest(String path) {
         Assert.hasLength(path, "path");
-        if (!path.startsWith("/")) {
-            path = "/" + path;
+        return token -> docClient.newRequest(endPointDocument + formatPath(path) + "?raw=true", token)
+                .DELETE().build();
+    }
+    
+    /**
+     * Send a request built once its arguments are validated, the token is only fetched then.
+     */
+    private HttpResponse<String> send(String operationName, Function<String, HttpRequest> request, String errorMessage) {
+        HttpRequest httpRequest = request.apply(docClient.getToken());
+        try {
+            return docClient.send(operationName, httpRequest, BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+    
+    /**
+     * Asynchronous send, invalid arguments fail the future before the token is fetched.
+     */
+    private CompletableFuture<HttpResponse<String>> sendAsync(String operationName, Supplier<Function<String, HttpRequest>> request) {
+        Function<String, HttpRequest> builder;
+        try {
+            builder = request.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return docClient.sendAsync(operationName, builder, BodyHandlers.ofString());
+    }
+    
+    /**
+     * Send a write, the cached document (if any) is invalidated once the write completes.
+     */
+    private HttpResponse<String> sendWrite(String operationName, Function<String, HttpRequest> request, String errorMessage) {
+        try {
+            return send(operationName, request, errorMessage);
+        } finally {
+            invalidateCache();
+        }
+    }
+    
+    private CompletableFuture<HttpResponse<String>> sendWriteAsync(String operationName, Supplier<Function<String, HttpRequest>> request) {
+        return sendAsync(operationName, request).whenComplete((res, ex) -> invalidateCache());
+    }
+    
+    private void invalidateCache() {
+        collectionClient.getCache().ifPresent(cache -> cache.invalidate(docId));
+    }
+    
+    private <DOC> Optional<DOC> cacheDocument(Optional<DocumentCache> cache, long version, 
+            HttpResponse<String> response, Class<DOC> clazz) {
+        Optional<DOC> doc = marshallOptionalDocument(response, clazz);
+        if (cache.isPresent() && doc.isPresent()) {
+            cache.get().put(docId, doc.get(), response.body().length(), version);
         }
-        HttpResponse<String> response;
+        return doc;
+    }
+    
+    private String formatPath(String path) {
+        return path.startsWith("/") ? path : "/" + path;
+    }
+    
+    private String marshallBody(Object body, String errorMessage) {
         try {
-            response = getHttpClient().send(
-                        startRequest(getEndpoint() + path + "?raw=true", docClient.getToken())
-                            .DELETE().build(), BodyHandlers.ofString());
-            
+            return getObjectMapper().writeValueAsString(body);
         } catch (Exception e) {
-            throw new RuntimeException("An error occured when deleting sub documents", e);
+            throw new RuntimeException(errorMessage, e);
         }
-        handleError(response);
     }
     
-    private String marshallDocumentId(String body) {
+    private String marshallDocumentId(HttpResponse<String> response) {
+        handleError(response);
         try {
             return (String) getObjectMapper()
-                    .readValue(body, Map.class)
+                    .readValue(response.body(), Map.class)
                     .get(CollectionClient.DOCUMENT_ID);
         } catch (Exception e) {
             throw new RuntimeException("Cannot marshall document after 'upsert'", e);
         }
     }
     
+    private <DOC> Optional<DOC> marshallOptionalDocument(HttpResponse<String> response, Class<DOC> clazz) {
+        handleError(response);
+        if (HttpURLConnection.HTTP_OK == response.statusCode()) {
+            return Optional.of(marshallDocument(response.body(), clazz));
+        }
+        return Optional.empty();
+    }
+    
     private  <DOC> DOC marshallDocument(String body,  Class<DOC> clazz) {
         try {
             return getObjectMapper().readValue(body, clazz);
@@ -319,5 +450,4 @@ public class DocumentClient {
         }
     }
     
-    
 }
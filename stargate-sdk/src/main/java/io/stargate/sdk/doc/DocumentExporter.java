@@ -0,0 +1,270 @@
+package io.stargate.sdk.doc;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Export the documents of a collection as NDJSON, one <code>{"documentId":"...","data":{...}}</code>
+ * per line.
+ *
+ * Pages are read following the page state, the next page is requested as soon as the current one
+ * is received so that the round trip overlaps with the writing. Documents are copied from the
+ * response tokens to the output, they are never bound to objects.
+ *
+ * With a checkpoint file the position (page state, counters, file size) is saved every
+ * 'checkpointInterval' pages: an interrupted export to a file resumes from the last checkpoint,
+ * the lines written after it are discarded.
+ *
+ * ExportReport report = collection.exporter(options).exportTo(Paths.get("persons.ndjson"));
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentExporter {
+    
+    /** Json field holding the document identifier in a line. */
+    public static final String FIELD_DOCUMENT_ID = "documentId";
+    
+    /** Json field holding the document in a line. */
+    public static final String FIELD_DATA = "data";
+    
+    /** Json field holding the cursor in a search response. */
+    private static final String FIELD_PAGE_STATE = "pageState";
+    
+    /** Keys of the checkpoint file. */
+    private static final String CHECKPOINT_PAGE_STATE = "pageState";
+    private static final String CHECKPOINT_DOCUMENTS  = "documents";
+    private static final String CHECKPOINT_PAGES      = "pages";
+    private static final String CHECKPOINT_BYTES      = "bytes";
+    
+    /** Exported collection. */
+    private final CollectionClient collectionClient;
+    
+    /** Settings. */
+    private final ExportOptions options;
+    
+    /**
+     * Full constructor.
+     */
+    public DocumentExporter(CollectionClient collectionClient, ExportOptions options) {
+        Assert.notNull(collectionClient, "collectionClient");
+        Assert.notNull(options, "options");
+        this.collectionClient = collectionClient;
+        this.options          = options;
+    }
+    
+    /**
+     * Export to a file, resuming from the checkpoint if any.
+     */
+    public ExportReport exportTo(Path file) {
+        Assert.notNull(file, "file");
+        Properties checkpoint = readCheckpoint();
+        if (null != checkpoint && !checkpoint.containsKey(CHECKPOINT_PAGE_STATE)) {
+            // Completed by a previous run
+            return report(checkpoint, 0, 0, 0, 0, null);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drop lines written after the checkpoint
+            channel.truncate((null == checkpoint) ? 0 : Long.parseLong(checkpoint.getProperty(CHECKPOINT_BYTES)));
+            channel.position(channel.size());
+            return export(Channels.newOutputStream(channel), channel, checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot export collection to " + file, e);
+        }
+    }
+    
+    /**
+     * Export to a stream, the checkpoint (if any) is written but never read back. The stream is not closed.
+     */
+    public ExportReport exportTo(OutputStream out) {
+        Assert.notNull(out, "out");
+        try {
+            return export(out, null, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot export collection", e);
+        }
+    }
+    
+    private ExportReport export(OutputStream out, FileChannel channel, Properties from) throws IOException {
+        long start = System.nanoTime();
+        QueryDocument query = options.getQuery();
+        if (null != from) {
+            query = query.withPageState(from.getProperty(CHECKPOINT_PAGE_STATE));
+        }
+        JsonFactory factory = ApiSupport.getObjectMapper().getFactory();
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        CountingOutputStream counting = new CountingOutputStream(buffered);
+        long documents = 0;
+        long pages     = 0;
+        CompletableFuture<byte[]> next = collectionClient.searchRawAsync(query);
+        try (JsonGenerator generator = factory.createGenerator(counting)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
+            while (true) {
+                byte[] page = Utils.await(next, "Cannot read page of documents");
+                String pageState = readPageState(factory, page);
+                // Next page requested before writing the current one
+                next = (null == pageState) ? null : collectionClient.searchRawAsync(query.withPageState(pageState));
+                documents += writeDocuments(factory, page, generator);
+                pages++;
+                generator.flush();
+                if (null == pageState || pages % options.getCheckpointInterval() == 0) {
+                    buffered.flush();
+                    if (null != channel) {
+                        channel.force(false);
+                    }
+                    writeCheckpoint(from, documents, pages, counting.count, pageState);
+                }
+                ExportReport report = report(from, documents, pages, counting.count, System.nanoTime() - start, pageState);
+                options.getProgressListener().ifPresent(listener -> listener.accept(report));
+                if (null == pageState) {
+                    return report;
+                }
+            }
+        } finally {
+            buffered.flush();
+        }
+    }
+    
+    /**
+     * Cursor of the next page, the documents are skipped.
+     */
+    private String readPageState(JsonFactory factory, byte[] page) throws IOException {
+        try (JsonParser parser = factory.createParser(page)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid search response, expecting a json object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (FIELD_PAGE_STATE.equals(field)) {
+                    return (value == JsonToken.VALUE_NULL) ? null : parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Copy each document of the page as a line.
+     */
+    private long writeDocuments(JsonFactory factory, byte[] page, JsonGenerator generator) throws IOException {
+        long count = 0;
+        try (JsonParser parser = factory.createParser(page)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT || !FIELD_DATA.equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    generator.writeStartObject();
+                    generator.writeStringField(FIELD_DOCUMENT_ID, parser.getCurrentName());
+                    generator.writeFieldName(FIELD_DATA);
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    private ExportReport report(Properties from, long documents, long pages, long bytes, long nanos, String pageState) {
+        return new ExportReport(
+                documents + counter(from, CHECKPOINT_DOCUMENTS),
+                pages     + counter(from, CHECKPOINT_PAGES),
+                bytes     + counter(from, CHECKPOINT_BYTES),
+                Duration.ofNanos(nanos), pageState);
+    }
+    
+    private long counter(Properties from, String key) {
+        return (null == from) ? 0 : Long.parseLong(from.getProperty(key, "0"));
+    }
+    
+    private Properties readCheckpoint() {
+        if (!options.getCheckpoint().isPresent() || !Files.exists(options.getCheckpoint().get())) {
+            return null;
+        }
+        Properties checkpoint = new Properties();
+        try (InputStream in = Files.newInputStream(options.getCheckpoint().get())) {
+            checkpoint.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + options.getCheckpoint().get(), e);
+        }
+        return checkpoint;
+    }
+    
+    /**
+     * Written to a temporary file then moved, a crash never leaves a partial checkpoint.
+     */
+    private void writeCheckpoint(Properties from, long documents, long pages, long bytes, String pageState) throws IOException {
+        if (!options.getCheckpoint().isPresent()) {
+            return;
+        }
+        Path target = options.getCheckpoint().get().toAbsolutePath();
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty(CHECKPOINT_DOCUMENTS, String.valueOf(documents + counter(from, CHECKPOINT_DOCUMENTS)));
+        checkpoint.setProperty(CHECKPOINT_PAGES,     String.valueOf(pages + counter(from, CHECKPOINT_PAGES)));
+        checkpoint.setProperty(CHECKPOINT_BYTES,     String.valueOf(bytes + counter(from, CHECKPOINT_BYTES)));
+        if (null != pageState) {
+            checkpoint.setProperty(CHECKPOINT_PAGE_STATE, pageState);
+        }
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            checkpoint.store(out, "Export of collection " + collectionClient.getCollectionName());
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Count the bytes written.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        
+        private long count;
+        
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+}
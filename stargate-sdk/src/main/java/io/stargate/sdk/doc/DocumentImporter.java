@@ -0,0 +1,579 @@
+package io.stargate.sdk.doc;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Import documents into a collection from a NDJSON file (one json object per line) or a file
+ * holding a json array of objects.
+ *
+ * The file is read incrementally through a buffered channel, a single record is held in memory
+ * for each request in flight (at most 'concurrency'). A record with the identifier field is
+ * upserted, the others are created with a new identifier. Lines produced by a
+ * {@link DocumentExporter} (<code>{"documentId":"...","data":{...}}</code>) are imported as-is.
+ *
+ * Rejected records (invalid json, error from the Api) are appended to the error file as
+ * <code>{"offset":..,"error":"..","record":..}</code>, the import goes on.
+ *
+ * With a checkpoint file the offset below which every record has been processed is saved every
+ * 'checkpointInterval' records: an interrupted import resumes from this offset. Records completed
+ * after the last checkpoint are sent again, an upsert is idempotent but a creation is not. Counts
+ * and error lines of the records above the offset are held until the offset passes them, they are
+ * never saved twice.
+ *
+ * ImportReport report = collection.importFrom(Paths.get("persons.ndjson"), options);
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentImporter {
+    
+    /** Json fields of a line in the error file. */
+    public static final String FIELD_OFFSET = "offset";
+    public static final String FIELD_ERROR  = "error";
+    public static final String FIELD_RECORD = "record";
+    
+    /** Keys of the checkpoint file. */
+    private static final String CHECKPOINT_OFFSET      = "offset";
+    private static final String CHECKPOINT_IMPORTED    = "imported";
+    private static final String CHECKPOINT_REJECTED    = "rejected";
+    private static final String CHECKPOINT_ERROR_BYTES = "errorBytes";
+    
+    /** Size of the read buffer. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    /** Target collection. */
+    private final CollectionClient collectionClient;
+    
+    /** Settings. */
+    private final ImportOptions options;
+    
+    /**
+     * Full constructor.
+     */
+    public DocumentImporter(CollectionClient collectionClient, ImportOptions options) {
+        Assert.notNull(collectionClient, "collectionClient");
+        Assert.notNull(options, "options");
+        this.collectionClient = collectionClient;
+        this.options          = options;
+    }
+    
+    /**
+     * Import the file, resuming from the checkpoint if any, blocking until the last record is processed.
+     */
+    public ImportReport importFrom(Path file) {
+        Assert.notNull(file, "file");
+        Properties from = readCheckpoint();
+        long offset = counter(from, CHECKPOINT_OFFSET);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (null != from && offset >= size) {
+                // Completed by a previous run
+                return new ImportReport(counter(from, CHECKPOINT_IMPORTED), counter(from, CHECKPOINT_REJECTED),
+                        offset, size, Duration.ZERO);
+            }
+            boolean array = isJsonArray(channel);
+            channel.position(offset);
+            try (ErrorFile errors = openErrorFile(from)) {
+                ImportRun run = new ImportRun(from, size, errors);
+                try {
+                    if (array) {
+                        run.readArray(Channels.newInputStream(channel), offset);
+                    } else {
+                        run.readLines(Channels.newInputStream(channel), offset);
+                    }
+                } finally {
+                    run.drain();
+                }
+                return run.checkpoint();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot import documents from " + file, e);
+        }
+    }
+    
+    /**
+     * First significant character of the file is an opening bracket.
+     */
+    private boolean isJsonArray(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        long position = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (!Character.isWhitespace(buffer.get(i))) {
+                    return buffer.get(i) == '[';
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        return false;
+    }
+    
+    /**
+     * Upsert when the record (a json object) holds an identifier, create otherwise.
+     */
+    private CompletableFuture<String> write(JsonNode record) {
+        JsonNode exportedId = record.get(DocumentExporter.FIELD_DOCUMENT_ID);
+        JsonNode exportedData = record.get(DocumentExporter.FIELD_DATA);
+        if (record.size() == 2 && null != exportedId && exportedId.isTextual()
+                && null != exportedData && exportedData.isObject()) {
+            return collectionClient.document(exportedId.asText()).upsertAsync((ObjectNode) exportedData);
+        }
+        JsonNode id = record.get(options.getIdField());
+        if (null != id && id.isValueNode() && !id.isNull()) {
+            return collectionClient.document(id.asText()).upsertAsync((ObjectNode) record);
+        }
+        return collectionClient.createNewDocumentAsync((ObjectNode) record);
+    }
+    
+    private long counter(Properties from, String key) {
+        return (null == from) ? 0 : Long.parseLong(from.getProperty(key, "0"));
+    }
+    
+    private Properties readCheckpoint() {
+        if (!options.getCheckpoint().isPresent() || !Files.exists(options.getCheckpoint().get())) {
+            return null;
+        }
+        Properties checkpoint = new Properties();
+        try (InputStream in = Files.newInputStream(options.getCheckpoint().get())) {
+            checkpoint.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + options.getCheckpoint().get(), e);
+        }
+        return checkpoint;
+    }
+    
+    /**
+     * Written to a temporary file then moved, a crash never leaves a partial checkpoint.
+     */
+    private void writeCheckpoint(long offset, long imported, long rejected, long errorBytes) throws IOException {
+        if (!options.getCheckpoint().isPresent()) {
+            return;
+        }
+        Path target = options.getCheckpoint().get().toAbsolutePath();
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty(CHECKPOINT_OFFSET,      String.valueOf(offset));
+        checkpoint.setProperty(CHECKPOINT_IMPORTED,    String.valueOf(imported));
+        checkpoint.setProperty(CHECKPOINT_REJECTED,    String.valueOf(rejected));
+        checkpoint.setProperty(CHECKPOINT_ERROR_BYTES, String.valueOf(errorBytes));
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            checkpoint.store(out, "Import into collection " + collectionClient.getCollectionName());
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Error lines written after the checkpoint are dropped, their records are processed again.
+     */
+    private ErrorFile openErrorFile(Properties from) throws IOException {
+        if (!options.getErrorFile().isPresent()) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(options.getErrorFile().get(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(counter(from, CHECKPOINT_ERROR_BYTES));
+        channel.position(channel.size());
+        return new ErrorFile(channel);
+    }
+    
+    /**
+     * State of one import.
+     */
+    private class ImportRun {
+        
+        /** Checkpoint resumed, may be null. */
+        private final Properties from;
+        
+        /** Size of the file. */
+        private final long fileSize;
+        
+        /** Rejected records, may be null. */
+        private final ErrorFile errors;
+        
+        /** Slots for requests in flight. */
+        private final Semaphore inFlight = new Semaphore(options.getConcurrency());
+        
+        /** Start offsets of the records in flight. */
+        private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+        
+        /** Outcome of the records processed and not yet counted, by start offset. */
+        private final ConcurrentSkipListMap<Long, Outcome> settled = new ConcurrentSkipListMap<>();
+        
+        /** Records written, below the checkpoint offset (only accessed by the reader). */
+        private long imported;
+        
+        /** Records rejected, below the checkpoint offset (only accessed by the reader). */
+        private long rejected;
+        
+        /** First failure to write the error file. */
+        private final AtomicReference<IOException> failure = new AtomicReference<>();
+        
+        /** Start time. */
+        private final long start = System.nanoTime();
+        
+        /** Records read (only accessed by the reader). */
+        private long records;
+        
+        /** End of the last record read (only accessed by the reader). */
+        private long readOffset;
+        
+        private ImportRun(Properties from, long fileSize, ErrorFile errors) {
+            this.from     = from;
+            this.fileSize = fileSize;
+            this.errors   = errors;
+        }
+        
+        /**
+         * One json object per line, blank lines are skipped.
+         */
+        private void readLines(InputStream in, long offset) throws IOException {
+            ObjectMapper mapper = ApiSupport.getObjectMapper();
+            LineReader reader = new LineReader(in, offset);
+            readOffset = offset;
+            byte[] line;
+            while (null != (line = reader.next())) {
+                if (isBlank(line)) {
+                    readOffset = reader.position;
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = mapper.readTree(line);
+                } catch (IOException e) {
+                    reject(reader.lineStart, mapper.getNodeFactory().textNode(
+                            new String(line, StandardCharsets.UTF_8).trim()), e.getMessage());
+                    next(reader.position);
+                    continue;
+                }
+                submit(reader.lineStart, record);
+                next(reader.position);
+            }
+        }
+        
+        /**
+         * Elements of a json array, when resuming the array is reopened at the offset.
+         */
+        private void readArray(InputStream in, long offset) throws IOException {
+            long base = offset;
+            if (offset > 0) {
+                PushbackInputStream remaining = new PushbackInputStream(in, 1);
+                int b;
+                while ((b = remaining.read()) != -1 && (Character.isWhitespace(b) || b == ',')) {
+                    base++;
+                }
+                if (b != -1) {
+                    remaining.unread(b);
+                }
+                in = new SequenceInputStream(new ByteArrayInputStream(new byte[] {'['}), remaining);
+                base--;
+            }
+            readOffset = offset;
+            ObjectMapper mapper = ApiSupport.getObjectMapper();
+            try (JsonParser parser = mapper.getFactory().createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("Invalid file, expecting a json array");
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (null == token) {
+                        throw new IOException("Invalid file, unexpected end of the json array");
+                    }
+                    long recordStart = base + parser.getTokenLocation().getByteOffset();
+                    submit(recordStart, mapper.readTree(parser));
+                    next(base + parser.getCurrentLocation().getByteOffset());
+                }
+            }
+            readOffset = fileSize;
+        }
+        
+        /**
+         * Send the record, blocking the reader when all slots are used.
+         */
+        private void submit(long offset, JsonNode record) {
+            if (!record.isObject()) {
+                reject(offset, record, "Record is not a json object");
+                return;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import has been interrupted", e);
+            }
+            pending.add(offset);
+            CompletableFuture<String> request;
+            try {
+                request = write(record);
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            request.whenComplete((docId, ex) -> {
+                try {
+                    if (null == ex) {
+                        settled.put(offset, Outcome.IMPORTED);
+                    } else {
+                        Throwable error = (ex instanceof CompletionException && null != ex.getCause()) ? ex.getCause() : ex;
+                        reject(offset, record, error.getMessage());
+                    }
+                } finally {
+                    // Settled before leaving the pending set, the offset cannot pass an uncounted record
+                    pending.remove(offset);
+                    inFlight.release();
+                }
+            });
+        }
+        
+        /**
+         * Move after the record just read, checkpoint every 'checkpointInterval' records.
+         */
+        private void next(long endOffset) throws IOException {
+            readOffset = endOffset;
+            if (++records % options.getCheckpointInterval() == 0) {
+                checkpoint();
+            }
+        }
+        
+        private void reject(long offset, JsonNode record, String error) {
+            byte[] line = null;
+            if (null != errors) {
+                try {
+                    line = ErrorFile.line(offset, record, error);
+                } catch (IOException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            settled.put(offset, new Outcome(line));
+        }
+        
+        /**
+         * Count the records below the offset and write their error lines, in file order.
+         */
+        private void commit(long offset) throws IOException {
+            ConcurrentNavigableMap<Long, Outcome> below = settled.headMap(offset);
+            for (Outcome outcome : below.values()) {
+                if (outcome.imported) {
+                    imported++;
+                } else {
+                    rejected++;
+                    if (null != errors && null != outcome.errorLine) {
+                        errors.write(outcome.errorLine);
+                    }
+                }
+            }
+            below.clear();
+        }
+        
+        /**
+         * Wait for the requests in flight.
+         */
+        private void drain() {
+            try {
+                inFlight.acquire(options.getConcurrency());
+                inFlight.release(options.getConcurrency());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import has been interrupted", e);
+            }
+        }
+        
+        /**
+         * Save the offset below which every record is processed and notify the listener.
+         */
+        private ImportReport checkpoint() throws IOException {
+            if (null != failure.get()) {
+                throw failure.get();
+            }
+            Long firstPending = pending.ceiling(Long.MIN_VALUE);
+            long offset = (null == firstPending) ? readOffset : firstPending;
+            commit(offset);
+            long errorBytes = (null == errors) ? 0 : errors.flush();
+            long totalImported = imported + counter(from, CHECKPOINT_IMPORTED);
+            long totalRejected = rejected + counter(from, CHECKPOINT_REJECTED);
+            writeCheckpoint(offset, totalImported, totalRejected, errorBytes);
+            ImportReport report = new ImportReport(totalImported, totalRejected, offset, fileSize,
+                    Duration.ofNanos(System.nanoTime() - start));
+            options.getProgressListener().ifPresent(listener -> listener.accept(report));
+            return report;
+        }
+        
+        private boolean isBlank(byte[] line) {
+            for (byte b : line) {
+                if (!Character.isWhitespace(b)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Split the stream on '\n', keeping track of the position in the file.
+     */
+    private static final class LineReader {
+        
+        private final InputStream in;
+        
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        
+        private int pos;
+        
+        private int limit;
+        
+        /** Offset of the last line returned. */
+        private long lineStart;
+        
+        /** Offset after the last line returned. */
+        private long position;
+        
+        private LineReader(InputStream in, long position) {
+            this.in       = in;
+            this.position = position;
+        }
+        
+        /**
+         * Next line without its separator, null at the end of the stream.
+         */
+        private byte[] next() throws IOException {
+            lineStart = position;
+            ByteArrayOutputStream line = null;
+            while (true) {
+                if (pos == limit && !fill()) {
+                    return (null == line) ? null : line.toByteArray();
+                }
+                int from = pos;
+                while (pos < limit && buffer[pos] != '\n') {
+                    pos++;
+                }
+                int length = pos - from;
+                boolean endOfLine = pos < limit;
+                if (endOfLine) {
+                    pos++;
+                }
+                position += pos - from;
+                if (endOfLine && null == line) {
+                    return Arrays.copyOfRange(buffer, from, from + length);
+                }
+                if (null == line) {
+                    line = new ByteArrayOutputStream(Math.max(2 * length, 128));
+                }
+                line.write(buffer, from, length);
+                if (endOfLine) {
+                    return line.toByteArray();
+                }
+            }
+        }
+        
+        private boolean fill() throws IOException {
+            int read = in.read(buffer);
+            pos   = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+    }
+    
+    /**
+     * Outcome of a record, the error line is kept until the record is below the checkpoint offset.
+     */
+    private static final class Outcome {
+        
+        private static final Outcome IMPORTED = new Outcome(true, null);
+        
+        private final boolean imported;
+        
+        private final byte[] errorLine;
+        
+        private Outcome(byte[] errorLine) {
+            this(false, errorLine);
+        }
+        
+        private Outcome(boolean imported, byte[] errorLine) {
+            this.imported  = imported;
+            this.errorLine = errorLine;
+        }
+    }
+    
+    /**
+     * Rejected records, written by the reader at each checkpoint in file order.
+     */
+    private static final class ErrorFile implements Closeable {
+        
+        private final FileChannel channel;
+        
+        private final OutputStream out;
+        
+        private ErrorFile(FileChannel channel) {
+            this.channel = channel;
+            this.out     = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        }
+        
+        /**
+         * Line of a rejected record, separator included.
+         */
+        private static byte[] line(long offset, JsonNode record, String error) throws IOException {
+            ObjectMapper mapper = ApiSupport.getObjectMapper();
+            ObjectNode line = mapper.createObjectNode();
+            line.put(FIELD_OFFSET, offset);
+            line.put(FIELD_ERROR, error);
+            line.set(FIELD_RECORD, record);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            mapper.writeValue(bytes, line);
+            bytes.write('\n');
+            return bytes.toByteArray();
+        }
+        
+        private synchronized void write(byte[] line) throws IOException {
+            out.write(line);
+        }
+        
+        /**
+         * Flush the buffer and return the size of the file.
+         */
+        private synchronized long flush() throws IOException {
+            out.flush();
+            return channel.position();
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.stargate.sdk.doc;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Iterate over all documents matching a query, following the page state transparently.
+ *
+ * Pages are fetched lazily when the previous one has been consumed. With prefetch enabled
+ * the next page is requested asynchronously as soon as the current one is received so the
+ * network round trip overlaps with the processing of the current page.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ *
+ * @param <DOC>
+ *      document type
+ */
+public class DocumentPageIterator<DOC> implements Iterator<ApiDocument<DOC>> {
+    
+    /** Collection to query. */
+    private final CollectionClient collectionClient;
+    
+    /** Query (size, filter and fields) used for each page. */
+    private final QueryDocument query;
+    
+    /** Target class. */
+    private final Class<DOC> clazz;
+    
+    /** Request next page while current one is consumed. */
+    private final boolean prefetch;
+    
+    /** Documents of the current page. */
+    private Iterator<ApiDocument<DOC>> current = Collections.emptyIterator();
+    
+    /** Cursor of the next page. */
+    private String nextPageState;
+    
+    /** There is no page left to fetch. */
+    private boolean lastPage = false;
+    
+    /** Next page requested in advance. */
+    private CompletableFuture<ResultListPage<DOC>> pending;
+    
+    /**
+     * Full constructor.
+     */
+    public DocumentPageIterator(CollectionClient collectionClient, QueryDocument query, Class<DOC> clazz, boolean prefetch) {
+        Assert.notNull(collectionClient, "collectionClient");
+        Assert.notNull(query, "query");
+        Assert.notNull(clazz, "clazz");
+        this.collectionClient = collectionClient;
+        this.query            = query;
+        this.clazz            = clazz;
+        this.prefetch         = prefetch;
+        this.nextPageState    = query.getPageState().orElse(null);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        // Pages can be empty and still provide a page state
+        while (!current.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            fetchNextPage();
+        }
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ApiDocument<DOC> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Stop prefetching, pending request is cancelled.
+     */
+    public void close() {
+        lastPage = true;
+        current  = Collections.emptyIterator();
+        if (null != pending) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+    
+    private void fetchNextPage() {
+        ResultListPage<DOC> page;
+        if (null != pending) {
+            page = Utils.await(pending, "Cannot search for documents");
+            pending = null;
+        } else {
+            page = collectionClient.search(query.withPageState(nextPageState), clazz);
+        }
+        nextPageState = page.getPageState().orElse(null);
+        lastPage      = (null == nextPageState);
+        current       = (null == page.getResults()) ? Collections.emptyIterator() : page.getResults().iterator();
+        if (prefetch && !lastPage) {
+            pending = collectionClient.searchAsync(query.withPageState(nextPageState), clazz);
+        }
+    }
+    
+}
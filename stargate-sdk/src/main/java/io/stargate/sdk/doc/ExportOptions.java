@@ -0,0 +1,125 @@
+package io.stargate.sdk.doc;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of a {@link DocumentExporter}.
+ *
+ * ExportOptions.builder()
+ *              .checkpoint(Paths.get("/tmp/persons.checkpoint"))
+ *              .progressListener(r -> LOGGER.info("{} documents exported", r.getDocumentCount()))
+ *              .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ExportOptions {
+    
+    /** Default number of pages between two checkpoints. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
+    
+    /** Query paged through (filter, fields, page size), all documents by default. */
+    private final QueryDocument query;
+    
+    /** File holding the position of the export, optional. */
+    private final Path checkpoint;
+    
+    /** Number of pages between two checkpoints. */
+    private final int checkpointInterval;
+    
+    /** Invoked after each page, optional. */
+    private final Consumer<ExportReport> progressListener;
+    
+    private ExportOptions(ExportOptionsBuilder builder) {
+        this.query              = builder.query;
+        this.checkpoint         = builder.checkpoint;
+        this.checkpointInterval = builder.checkpointInterval;
+        this.progressListener   = builder.progressListener;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static ExportOptionsBuilder builder() {
+        return new ExportOptionsBuilder();
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class ExportOptionsBuilder {
+        
+        private QueryDocument query = QueryDocument.builder().withPageSize(QueryDocument.PAGING_SIZE_MAX).build();
+        private Path checkpoint;
+        private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+        private Consumer<ExportReport> progressListener;
+        
+        public ExportOptionsBuilder query(QueryDocument query) {
+            Assert.notNull(query, "query");
+            this.query = query;
+            return this;
+        }
+        public ExportOptionsBuilder checkpoint(Path checkpoint) {
+            Assert.notNull(checkpoint, "checkpoint");
+            this.checkpoint = checkpoint;
+            return this;
+        }
+        public ExportOptionsBuilder checkpointInterval(int pages) {
+            Assert.isTrue(pages > 0, "Checkpoint interval should be greater than 0");
+            this.checkpointInterval = pages;
+            return this;
+        }
+        public ExportOptionsBuilder progressListener(Consumer<ExportReport> progressListener) {
+            Assert.notNull(progressListener, "progressListener");
+            this.progressListener = progressListener;
+            return this;
+        }
+        public ExportOptions build() {
+            return new ExportOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'query'.
+     *
+     * @return
+     *       current value of 'query'
+     */
+    public QueryDocument getQuery() {
+        return query;
+    }
+    
+    /**
+     * Getter accessor for attribute 'checkpoint'.
+     *
+     * @return
+     *       current value of 'checkpoint'
+     */
+    public Optional<Path> getCheckpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+    
+    /**
+     * Getter accessor for attribute 'checkpointInterval'.
+     *
+     * @return
+     *       current value of 'checkpointInterval'
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+    
+    /**
+     * Getter accessor for attribute 'progressListener'.
+     *
+     * @return
+     *       current value of 'progressListener'
+     */
+    public Optional<Consumer<ExportReport>> getProgressListener() {
+        return Optional.ofNullable(progressListener);
+    }
+
+}
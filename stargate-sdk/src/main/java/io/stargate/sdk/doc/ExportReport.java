@@ -0,0 +1,96 @@
+package io.stargate.sdk.doc;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Progress of an export, provided after each page and at the end of the export.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ExportReport {
+    
+    /** Documents written, previous runs included when resumed. */
+    private final long documentCount;
+    
+    /** Pages read, previous runs included when resumed. */
+    private final long pageCount;
+    
+    /** Bytes written to the output, previous runs included when resumed. */
+    private final long byteCount;
+    
+    /** Time spent by this run. */
+    private final Duration duration;
+    
+    /** Cursor of the next page, null when the export is complete. */
+    private final String pageState;
+    
+    /**
+     * Full constructor.
+     */
+    public ExportReport(long documentCount, long pageCount, long byteCount, Duration duration, String pageState) {
+        this.documentCount = documentCount;
+        this.pageCount     = pageCount;
+        this.byteCount     = byteCount;
+        this.duration      = duration;
+        this.pageState     = pageState;
+    }
+    
+    /**
+     * All pages have been exported.
+     */
+    public boolean isComplete() {
+        return null == pageState;
+    }
+    
+    /**
+     * Getter accessor for attribute 'documentCount'.
+     *
+     * @return
+     *       current value of 'documentCount'
+     */
+    public long getDocumentCount() {
+        return documentCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'pageCount'.
+     *
+     * @return
+     *       current value of 'pageCount'
+     */
+    public long getPageCount() {
+        return pageCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'byteCount'.
+     *
+     * @return
+     *       current value of 'byteCount'
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'duration'.
+     *
+     * @return
+     *       current value of 'duration'
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+    
+    /**
+     * Getter accessor for attribute 'pageState'.
+     *
+     * @return
+     *       current value of 'pageState'
+     */
+    public Optional<String> getPageState() {
+        return Optional.ofNullable(pageState);
+    }
+
+}
@@ -0,0 +1,169 @@
+package io.stargate.sdk.doc;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of a {@link DocumentImporter}.
+ *
+ * ImportOptions.builder()
+ *              .idField("email")
+ *              .checkpoint(Paths.get("/tmp/persons.import.checkpoint"))
+ *              .errorFile(Paths.get("/tmp/persons.rejected.ndjson"))
+ *              .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ImportOptions {
+    
+    /** Default number of requests in flight. */
+    public static final int DEFAULT_CONCURRENCY = 16;
+    
+    /** Default number of records between two checkpoints. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+    
+    /** Maximum number of requests in flight. */
+    private final int concurrency;
+    
+    /** Field of a record holding the document identifier, records without it are created with a new id. */
+    private final String idField;
+    
+    /** File holding the position of the import, optional. */
+    private final Path checkpoint;
+    
+    /** Number of records between two checkpoints. */
+    private final int checkpointInterval;
+    
+    /** File receiving the rejected records, optional. */
+    private final Path errorFile;
+    
+    /** Invoked after each checkpoint, optional. */
+    private final Consumer<ImportReport> progressListener;
+    
+    private ImportOptions(ImportOptionsBuilder builder) {
+        this.concurrency        = builder.concurrency;
+        this.idField            = builder.idField;
+        this.checkpoint         = builder.checkpoint;
+        this.checkpointInterval = builder.checkpointInterval;
+        this.errorFile          = builder.errorFile;
+        this.progressListener   = builder.progressListener;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static ImportOptionsBuilder builder() {
+        return new ImportOptionsBuilder();
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class ImportOptionsBuilder {
+        
+        private int concurrency        = DEFAULT_CONCURRENCY;
+        private String idField         = DocumentExporter.FIELD_DOCUMENT_ID;
+        private Path checkpoint;
+        private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+        private Path errorFile;
+        private Consumer<ImportReport> progressListener;
+        
+        public ImportOptionsBuilder concurrency(int concurrency) {
+            Assert.isTrue(concurrency > 0, "Concurrency should be greater than 0");
+            this.concurrency = concurrency;
+            return this;
+        }
+        public ImportOptionsBuilder idField(String idField) {
+            Assert.hasLength(idField, "idField");
+            this.idField = idField;
+            return this;
+        }
+        public ImportOptionsBuilder checkpoint(Path checkpoint) {
+            Assert.notNull(checkpoint, "checkpoint");
+            this.checkpoint = checkpoint;
+            return this;
+        }
+        public ImportOptionsBuilder checkpointInterval(int records) {
+            Assert.isTrue(records > 0, "Checkpoint interval should be greater than 0");
+            this.checkpointInterval = records;
+            return this;
+        }
+        public ImportOptionsBuilder errorFile(Path errorFile) {
+            Assert.notNull(errorFile, "errorFile");
+            this.errorFile = errorFile;
+            return this;
+        }
+        public ImportOptionsBuilder progressListener(Consumer<ImportReport> progressListener) {
+            Assert.notNull(progressListener, "progressListener");
+            this.progressListener = progressListener;
+            return this;
+        }
+        public ImportOptions build() {
+            return new ImportOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'concurrency'.
+     *
+     * @return
+     *       current value of 'concurrency'
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+    
+    /**
+     * Getter accessor for attribute 'idField'.
+     *
+     * @return
+     *       current value of 'idField'
+     */
+    public String getIdField() {
+        return idField;
+    }
+    
+    /**
+     * Getter accessor for attribute 'checkpoint'.
+     *
+     * @return
+     *       current value of 'checkpoint'
+     */
+    public Optional<Path> getCheckpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+    
+    /**
+     * Getter accessor for attribute 'checkpointInterval'.
+     *
+     * @return
+     *       current value of 'checkpointInterval'
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+    
+    /**
+     * Getter accessor for attribute 'errorFile'.
+     *
+     * @return
+     *       current value of 'errorFile'
+     */
+    public Optional<Path> getErrorFile() {
+        return Optional.ofNullable(errorFile);
+    }
+    
+    /**
+     * Getter accessor for attribute 'progressListener'.
+     *
+     * @return
+     *       current value of 'progressListener'
+     */
+    public Optional<Consumer<ImportReport>> getProgressListener() {
+        return Optional.ofNullable(progressListener);
+    }
+
+}
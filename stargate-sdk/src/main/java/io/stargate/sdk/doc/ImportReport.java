@@ -0,0 +1,95 @@
+package io.stargate.sdk.doc;
+
+import java.time.Duration;
+
+/**
+ * Progress of an import, provided after each checkpoint and at the end of the import.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ImportReport {
+    
+    /** Records written to the collection, previous runs included when resumed. */
+    private final long importedCount;
+    
+    /** Records rejected (invalid json or refused by the Api), previous runs included when resumed. */
+    private final long rejectedCount;
+    
+    /** Position in the file below which every record has been processed. */
+    private final long byteOffset;
+    
+    /** Size of the imported file. */
+    private final long fileSize;
+    
+    /** Time spent by this run. */
+    private final Duration duration;
+    
+    /**
+     * Full constructor.
+     */
+    public ImportReport(long importedCount, long rejectedCount, long byteOffset, long fileSize, Duration duration) {
+        this.importedCount = importedCount;
+        this.rejectedCount = rejectedCount;
+        this.byteOffset    = byteOffset;
+        this.fileSize      = fileSize;
+        this.duration      = duration;
+    }
+    
+    /**
+     * All records of the file have been processed.
+     */
+    public boolean isComplete() {
+        return byteOffset >= fileSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'importedCount'.
+     *
+     * @return
+     *       current value of 'importedCount'
+     */
+    public long getImportedCount() {
+        return importedCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'rejectedCount'.
+     *
+     * @return
+     *       current value of 'rejectedCount'
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'byteOffset'.
+     *
+     * @return
+     *       current value of 'byteOffset'
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+    
+    /**
+     * Getter accessor for attribute 'fileSize'.
+     *
+     * @return
+     *       current value of 'fileSize'
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'duration'.
+     *
+     * @return
+     *       current value of 'duration'
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.stargate.sdk.doc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import io.stargate.sdk.utils.JsonUtils;
+
+/**
+ * Json text split around parameters: literals are escaped once when the template is written,
+ * only the parameter values are serialized when bound.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+final class JsonTemplate {
+    
+    /** Text between parameters, one more than the parameters. */
+    private final List<String> literals = new ArrayList<>();
+    
+    /** Parameters in order of appearance, a name may appear more than once. */
+    private final List<String> parameters = new ArrayList<>();
+    
+    /** Literal being written. */
+    private StringBuilder current = new StringBuilder();
+    
+    JsonTemplate append(String json) {
+        current.append(json);
+        return this;
+    }
+    
+    JsonTemplate append(char json) {
+        current.append(json);
+        return this;
+    }
+    
+    JsonTemplate appendString(String value) {
+        current.append('"').append(JsonUtils.escapeJson(value)).append('"');
+        return this;
+    }
+    
+    /**
+     * A parameter leaves a slot, a collection becomes a json array and any other value a scalar.
+     */
+    JsonTemplate appendValue(Object value) {
+        if (value instanceof Predicate.Parameter) {
+            literals.add(current.toString());
+            parameters.add(((Predicate.Parameter) value).getName());
+            current = new StringBuilder();
+        } else {
+            current.append(toJson(value));
+        }
+        return this;
+    }
+    
+    /**
+     * Json of a bound value.
+     */
+    static String toJson(Object value) {
+        if (value instanceof Collection) {
+            return JsonUtils.collectionAsJson((Collection<?>) value);
+        }
+        return JsonUtils.valueAsJson(value);
+    }
+    
+    String[] getLiterals() {
+        List<String> all = new ArrayList<>(literals);
+        all.add(current.toString());
+        return all.toArray(new String[0]);
+    }
+    
+    String[] getParameters() {
+        return parameters.toArray(new String[0]);
+    }
+
+}
@@ -2,19 +2,17 @@ package io.stargate.sdk.doc;
 
 import static io.stargate.sdk.doc.ApiDocumentClient.PATH_SCHEMA_NAMESPACES;
 import static io.stargate.sdk.utils.ApiSupport.PATH_SCHEMA;
-import static io.stargate.sdk.utils.ApiSupport.getHttpClient;
 import static io.stargate.sdk.utils.ApiSupport.getObjectMapper;
 import static io.stargate.sdk.utils.ApiSupport.handleError;
-import static io.stargate.sdk.utils.ApiSupport.startRequest;
 
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -22,6 +20,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import io.stargate.sdk.rest.DataCenter;
 import io.stargate.sdk.utils.ApiResponse;
 import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.SchemaCache;
 /**
  * Client for API resource /v2/namespaces.
  *
@@ -39,30 +38,42 @@ public class NamespaceClient {
     /** Namespace. */
     private final String namespace;
     
+    /** Url of the namespace resources '/v2/namespaces/{namespace}', built once. */
+    private final String endPointNamespace;
+    
+    /** Uri of the namespace schema, built once. */
+    private final URI uriSchemaNamespace;
+    
+    /** Uri listing the collections, built once. */
+    private final URI uriCollections;
+    
     /**
      * Full constructor.
      */
     public NamespaceClient(ApiDocumentClient docClient, String namespace) {
-        this.docClient    = docClient;
-        this.namespace    = namespace;
-    }
-    
-    private String getEndPointSchemaNamespace() {
-        return docClient.getEndPointApiDocument() 
+        this.docClient          = docClient;
+        this.namespace          = namespace;
+        this.endPointNamespace  = docClient.getEndPointApiDocument() + PATH_NAMESPACES + "/" + namespace;
+        this.uriSchemaNamespace = URI.create(docClient.getEndPointApiDocument() 
                 + PATH_SCHEMA 
                 + PATH_SCHEMA_NAMESPACES 
-                + "/" + namespace;
+                + "/" + namespace);
+        this.uriCollections     = URI.create(endPointNamespace + PATH_COLLECTIONS);
     }
+    
     /**
-     * Find a namespace and its metadata based on its id
+     * Find a namespace and its metadata based on its id, from the namespaces listing when the schema cache is enabled.
      */
     public Optional<Namespace> find() {
         Assert.hasLength(namespace, "namespaceId");
+        if (docClient.getSchemaCache().isPresent()) {
+            return docClient.namespaces().filter(ns -> namespace.equals(ns.getName())).findFirst();
+        }
         // Invoke Http Endpoint
         HttpResponse<String> response;
         try {
-             response = getHttpClient().send(
-                     startRequest(getEndPointSchemaNamespace(), docClient.getToken()).GET().build(), 
+             response = docClient.send("namespace.find",
+                     docClient.newRequest(uriSchemaNamespace, docClient.getToken()).GET().build(), 
                      BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot find namespace " + namespace, e);
@@ -107,12 +118,14 @@ public class NamespaceClient {
             String reqBody = getObjectMapper().writeValueAsString(
                     new Namespace(namespace, Arrays.asList(datacenters)));
             
-            response = getHttpClient().send(
-                  startRequest(endpoint, docClient.getToken())
+            response = docClient.send("namespace.create",
+                  docClient.newRequest(endpoint, docClient.getToken())
                   .POST(BodyPublishers.ofString(reqBody)).build(), BodyHandlers.ofString());
             
         } catch (Exception e) {
             throw new RuntimeException("Cannot find namespace " + namespace, e);
+        } finally {
+            invalidateSchema();
         }
         handleError(response);
     }
@@ -131,12 +144,14 @@ public class NamespaceClient {
                     new Namespace(namespace, replicas));
             System.out.println(reqBody);
             
-            response = getHttpClient().send(
-                  startRequest(endpoint, docClient.getToken())
+            response = docClient.send("namespace.create",
+                  docClient.newRequest(endpoint, docClient.getToken())
                   .POST(BodyPublishers.ofString(reqBody)).build(), BodyHandlers.ofString());
             
         } catch (Exception e) {
             throw new RuntimeException("Cannot find namespace " + namespace, e);
+        } finally {
+            invalidateSchema();
         }
         handleError(response);
     }
@@ -146,35 +161,45 @@ public class NamespaceClient {
      * Delete a namespace.
      */
     public void delete() {
-        String delEndPoint = docClient.getEndPointApiDocument() 
-                + PATH_SCHEMA 
-                + PATH_SCHEMA_NAMESPACES + "/" + namespace;
         HttpResponse<String> response;
         try {
-            response = getHttpClient().send(
-                    startRequest(delEndPoint, docClient.getToken())
+            response = docClient.send("namespace.delete",
+                    docClient.newRequest(uriSchemaNamespace, docClient.getToken())
                     .DELETE().build(), BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot delete namespace", e);
+        } finally {
+            invalidateSchema();
         }
         handleError(response);
     }
+    
+    private void invalidateSchema() {
+        docClient.invalidateSchema(SchemaCache.KEY_NAMESPACES, SchemaCache.keyCollections(namespace));
+    }
 
     /**
-     * List collections in namespace.
+     * List collections in namespace, from the schema cache when enabled.
      * 
      * GET /v2/namespaces/{namespace-id}/collections
      */
+    public Stream<CollectionDefinition> collections() {
+        return docClient.cachedSchema(SchemaCache.keyCollections(namespace), this::loadCollections).stream();
+    }
+    
+    /**
+     * List collection names in namespace.
+     */
     public Stream<String> collectionNames() {
-        String listcolEndpoint = docClient.getEndPointApiDocument() 
-                + PATH_NAMESPACES 
-                + "/" + namespace 
-                + PATH_COLLECTIONS;
+        return collections().map(CollectionDefinition::getName);
+    }
+    
+    private List<CollectionDefinition> loadCollections() {
         HttpResponse<String> response;
         try {
             // Invoke
-            response = getHttpClient().send(
-                    startRequest(listcolEndpoint, docClient.getToken())
+            response = docClient.send("namespace.collectionNames",
+                    docClient.newRequest(uriCollections, docClient.getToken())
                     .GET().build(), BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot retrieve collection list", e);
@@ -182,12 +207,9 @@ public class NamespaceClient {
         handleError(response);
         
         try {
-            // Mapping to set
             return getObjectMapper().readValue(
                     response.body(), new TypeReference<ApiResponse<List<CollectionDefinition>>>(){})
-                                    .getData().stream()
-                                    .map(CollectionDefinition::getName)
-                                    .collect(Collectors.toSet()).stream();
+                                    .getData();
         } catch (Exception e) {
             throw new RuntimeException("Cannot marshall collection list", e);
         }
@@ -210,4 +232,14 @@ public class NamespaceClient {
         return namespace;
     }
     
+    /**
+     * Getter accessor for attribute 'endPointNamespace'.
+     *
+     * @return
+     *       current value of 'endPointNamespace'
+     */
+    public String getEndPointNamespace() {
+        return endPointNamespace;
+    }
+    
 }
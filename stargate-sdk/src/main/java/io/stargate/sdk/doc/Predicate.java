@@ -0,0 +1,292 @@
+package io.stargate.sdk.doc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Condition of a where clause, immutable tree combining conditions on fields with 'and' / 'or'.
+ *
+ * Values are either constants, serialized once when the query is prepared, or parameters
+ * bound each time the query runs (see {@link PreparedQuery}).
+ *
+ * Predicate.and(
+ *      Predicate.between("age", 21, 65),
+ *      Predicate.or(Predicate.eq("address.city", "Paris"), Predicate.exists("vip")),
+ *      Predicate.in("lastname", Predicate.param("names")));
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public abstract class Predicate {
+    
+    /** Operators of the Document Api. */
+    public static final String OP_EQ     = "$eq";
+    public static final String OP_NE     = "$ne";
+    public static final String OP_GT     = "$gt";
+    public static final String OP_GTE    = "$gte";
+    public static final String OP_LT     = "$lt";
+    public static final String OP_LTE    = "$lte";
+    public static final String OP_IN     = "$in";
+    public static final String OP_NIN    = "$nin";
+    public static final String OP_EXISTS = "$exists";
+    public static final String OP_AND    = "$and";
+    public static final String OP_OR     = "$or";
+    
+    /**
+     * Hidden constructor, use the factories.
+     */
+    private Predicate() {
+    }
+    
+    /**
+     * Placeholder for a value provided when the query runs.
+     */
+    public static Parameter param(String name) {
+        return new Parameter(name);
+    }
+    
+    public static Predicate eq(String field, Object value) {
+        return new Condition(field, OP_EQ, value);
+    }
+    public static Predicate ne(String field, Object value) {
+        return new Condition(field, OP_NE, value);
+    }
+    public static Predicate gt(String field, Object value) {
+        return new Condition(field, OP_GT, value);
+    }
+    public static Predicate gte(String field, Object value) {
+        return new Condition(field, OP_GTE, value);
+    }
+    public static Predicate lt(String field, Object value) {
+        return new Condition(field, OP_LT, value);
+    }
+    public static Predicate lte(String field, Object value) {
+        return new Condition(field, OP_LTE, value);
+    }
+    
+    /**
+     * Inclusive range.
+     */
+    public static Predicate between(String field, Object lowerBound, Object upperBound) {
+        return and(gte(field, lowerBound), lte(field, upperBound));
+    }
+    
+    public static Predicate in(String field, Collection<?> values) {
+        Assert.notNull(values, "values");
+        return new Condition(field, OP_IN, values);
+    }
+    public static Predicate in(String field, Parameter values) {
+        return new Condition(field, OP_IN, values);
+    }
+    public static Predicate nin(String field, Collection<?> values) {
+        Assert.notNull(values, "values");
+        return new Condition(field, OP_NIN, values);
+    }
+    public static Predicate nin(String field, Parameter values) {
+        return new Condition(field, OP_NIN, values);
+    }
+    
+    /**
+     * Field is present in the document.
+     */
+    public static Predicate exists(String field) {
+        return new Condition(field, OP_EXISTS, Boolean.TRUE);
+    }
+    
+    public static Predicate and(Predicate... predicates) {
+        return and(Arrays.asList(predicates));
+    }
+    public static Predicate and(List<Predicate> predicates) {
+        return new Logical(OP_AND, predicates);
+    }
+    public static Predicate or(Predicate... predicates) {
+        return or(Arrays.asList(predicates));
+    }
+    public static Predicate or(List<Predicate> predicates) {
+        return new Logical(OP_OR, predicates);
+    }
+    
+    /**
+     * Where clause of this predicate, only for predicates without parameters.
+     */
+    public String toJson() {
+        JsonTemplate template = new JsonTemplate();
+        write(template);
+        Assert.isTrue(template.getParameters().length == 0, "Predicate has parameters, use a PreparedQuery");
+        return template.getLiterals()[0];
+    }
+    
+    /**
+     * Write as a json object.
+     */
+    abstract void write(JsonTemplate out);
+    
+    /**
+     * Named value bound when the query runs.
+     */
+    public static final class Parameter {
+        
+        private final String name;
+        
+        private Parameter(String name) {
+            Assert.hasLength(name, "name");
+            this.name = name;
+        }
+        
+        /**
+         * Getter accessor for attribute 'name'.
+         *
+         * @return
+         *       current value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+    }
+    
+    /**
+     * Operator applied to a field.
+     */
+    private static final class Condition extends Predicate {
+        
+        private final String field;
+        
+        private final String operator;
+        
+        private final Object value;
+        
+        private Condition(String field, String operator, Object value) {
+            Assert.hasLength(field, "field");
+            this.field    = field;
+            this.operator = operator;
+            this.value    = value;
+        }
+        
+        @Override
+        void write(JsonTemplate out) {
+            out.append('{').appendString(field).append(":{");
+            writeOperator(out);
+            out.append("}}");
+        }
+        
+        private void writeOperator(JsonTemplate out) {
+            out.appendString(operator).append(':').appendValue(value);
+        }
+    }
+    
+    /**
+     * Conjunction or disjunction of predicates.
+     */
+    private static final class Logical extends Predicate {
+        
+        private final String operator;
+        
+        private final List<Predicate> predicates;
+        
+        private Logical(String operator, List<Predicate> predicates) {
+            Assert.notNull(predicates, "predicates");
+            Assert.isTrue(!predicates.isEmpty(), "At least one predicate is expected");
+            this.operator   = operator;
+            this.predicates = Collections.unmodifiableList(new ArrayList<>(predicates));
+        }
+        
+        @Override
+        void write(JsonTemplate out) {
+            if (predicates.size() == 1) {
+                predicates.get(0).write(out);
+            } else if (OP_AND.equals(operator) && writeAsFields(out)) {
+                return;
+            } else {
+                out.append('{');
+                writeMember(out);
+                out.append('}');
+            }
+        }
+        
+        /**
+         * Member "$op":[...].
+         */
+        private void writeMember(JsonTemplate out) {
+            out.appendString(operator).append(":[");
+            for (int i = 0; i < predicates.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                predicates.get(i).write(out);
+            }
+            out.append(']');
+        }
+        
+        /**
+         * Fields of an object are implicitly combined with 'and': {"age":{"$gt":1,"$lt":9},"$or":[...]}.
+         * Not possible when an operator is repeated on a field or with several nested logical predicates.
+         */
+        private boolean writeAsFields(JsonTemplate out) {
+            Map<String, List<Condition>> fields = new LinkedHashMap<>();
+            List<Logical> logicals = new ArrayList<>();
+            if (!collect(this, fields, logicals) || logicals.size() > 1) {
+                return false;
+            }
+            for (List<Condition> conditions : fields.values()) {
+                Set<String> operators = new HashSet<>();
+                for (Condition condition : conditions) {
+                    if (!operators.add(condition.operator)) {
+                        return false;
+                    }
+                }
+            }
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, List<Condition>> field : fields.entrySet()) {
+                out.append(first ? "" : ",").appendString(field.getKey()).append(":{");
+                for (int i = 0; i < field.getValue().size(); i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    field.getValue().get(i).writeOperator(out);
+                }
+                out.append('}');
+                first = false;
+            }
+            if (!logicals.isEmpty()) {
+                out.append(first ? "" : ",");
+                logicals.get(0).writeMember(out);
+            }
+            out.append('}');
+            return true;
+        }
+        
+        /**
+         * Flatten nested 'and', false when a nested predicate is a single-child logical.
+         */
+        private static boolean collect(Logical and, Map<String, List<Condition>> fields, List<Logical> logicals) {
+            for (Predicate predicate : and.predicates) {
+                if (predicate instanceof Condition) {
+                    Condition condition = (Condition) predicate;
+                    fields.computeIfAbsent(condition.field, f -> new ArrayList<>()).add(condition);
+                } else {
+                    Logical logical = (Logical) predicate;
+                    if (OP_AND.equals(logical.operator)) {
+                        if (!collect(logical, fields, logicals)) {
+                            return false;
+                        }
+                    } else if (logical.predicates.size() == 1) {
+                        return false;
+                    } else {
+                        logicals.add(logical);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package io.stargate.sdk.doc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Query whose where clause has been serialized once, run many times with different values.
+ *
+ * Constant parts of the clause are kept as escaped json, binding only serializes the parameter
+ * values. Without parameters the query is built once and returned by each {@link #bind(Object...)}.
+ *
+ * PreparedQuery byAge = QueryDocument.builder()
+ *              .where(Predicate.between("age", Predicate.param("min"), Predicate.param("max")))
+ *              .prepare();
+ * collection.search(byAge.bind(21, 65), Person.class);
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class PreparedQuery {
+    
+    /** Page size of the queries. */
+    private final int pageSize;
+    
+    /** Fields returned, may be null. */
+    private final Set<String> fieldsToRetrieve;
+    
+    /** Escaped json around the parameters, null without where clause. */
+    private final String[] literals;
+    
+    /** Parameter of each slot between two literals. */
+    private final String[] slots;
+    
+    /** Distinct parameter names, order of first appearance. */
+    private final List<String> parameterNames;
+    
+    /** Query built once when there is no parameter. */
+    private final QueryDocument query;
+    
+    /**
+     * Created by {@link QueryDocument.QueryDocumentBuilder#prepare()}.
+     */
+    PreparedQuery(int pageSize, Set<String> fieldsToRetrieve, JsonTemplate where) {
+        this.pageSize         = pageSize;
+        this.fieldsToRetrieve = fieldsToRetrieve;
+        this.literals         = (null == where) ? null : where.getLiterals();
+        this.slots            = (null == where) ? new String[0] : where.getParameters();
+        List<String> names = new ArrayList<>();
+        for (String slot : slots) {
+            if (!names.contains(slot)) {
+                names.add(slot);
+            }
+        }
+        this.parameterNames = Collections.unmodifiableList(names);
+        this.query = names.isEmpty() ? new QueryDocument(pageSize, fieldsToRetrieve, 
+                (null == literals) ? null : literals[0]) : null;
+    }
+    
+    /**
+     * Query with the values of the parameters in order of first appearance.
+     */
+    public QueryDocument bind(Object... values) {
+        Assert.notNull(values, "values");
+        if (values.length != parameterNames.size()) {
+            throw new IllegalArgumentException("Expecting " + parameterNames.size() 
+                + " values for parameters " + parameterNames + " but got " + values.length);
+        }
+        if (null != query) {
+            return query;
+        }
+        Object[] slotValues = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            slotValues[i] = values[parameterNames.indexOf(slots[i])];
+        }
+        return build(slotValues);
+    }
+    
+    /**
+     * Query with the values of the parameters by name.
+     */
+    public QueryDocument bind(Map<String, ?> values) {
+        Assert.notNull(values, "values");
+        if (null != query) {
+            return query;
+        }
+        Object[] slotValues = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            if (!values.containsKey(slots[i])) {
+                throw new IllegalArgumentException("No value for parameter '" + slots[i] + "'");
+            }
+            slotValues[i] = values.get(slots[i]);
+        }
+        return build(slotValues);
+    }
+    
+    private QueryDocument build(Object[] slotValues) {
+        String[] json = new String[slotValues.length];
+        int size = 0;
+        for (int i = 0; i < slotValues.length; i++) {
+            json[i] = JsonTemplate.toJson(slotValues[i]);
+            size += json[i].length() + literals[i].length();
+        }
+        StringBuilder where = new StringBuilder(size + literals[literals.length - 1].length());
+        for (int i = 0; i < json.length; i++) {
+            where.append(literals[i]).append(json[i]);
+        }
+        where.append(literals[literals.length - 1]);
+        return new QueryDocument(pageSize, fieldsToRetrieve, where.toString());
+    }
+    
+    /**
+     * Getter accessor for attribute 'parameterNames'.
+     *
+     * @return
+     *       current value of 'parameterNames'
+     */
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+    
+    /**
+     * Where clause with the parameters as '?name', for logs.
+     */
+    @Override
+    public String toString() {
+        if (null == literals) {
+            return "";
+        }
+        StringBuilder where = new StringBuilder(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            where.append('?').append(slots[i]).append(literals[i + 1]);
+        }
+        return where.toString();
+    }
+
+}
@@ -1,12 +1,14 @@
 package io.stargate.sdk.doc;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import io.stargate.sdk.utils.Assert;
-import io.stargate.sdk.utils.JsonUtils;
 
 /**
  * Build a queyr with filter clause
@@ -16,6 +18,11 @@ import io.stargate.sdk.utils.JsonUtils;
  * QueryDocument.builder()
  *              .withPageSize(in)
  *              .where("age").isGreaterThan(10)
+ *              .where("age").isLessThan(50)
+ *              .where("address.city").isEqualsTo("Paris")
+ *
+ * Conditions are combined with 'and', see {@link Predicate} for 'or' and {@link PreparedQuery}
+ * to run the same query with different values.
  */
 public class QueryDocument {
     
@@ -41,13 +48,40 @@ public class QueryDocument {
     //private String sort;
     //
     
-    private QueryDocument(QueryDocumentBuilder builder) {
+    private QueryDocument(QueryDocumentBuilder builder, String where) {
         this.pageSize         = builder.pageSize;
         this.pageState        = builder.pageState;
-        this.where            = builder.whereClause;
+        this.where            = where;
         this.fieldsToRetrieve = builder.fields;
     }
     
+    /**
+     * Query on first page built by a {@link PreparedQuery}.
+     */
+    QueryDocument(int pageSize, Set<String> fieldsToRetrieve, String where) {
+        this.pageSize         = pageSize;
+        this.pageState        = null;
+        this.where            = where;
+        this.fieldsToRetrieve = fieldsToRetrieve;
+    }
+    
+    private QueryDocument(QueryDocument query, String pageState) {
+        this.pageSize         = query.pageSize;
+        this.pageState        = pageState;
+        this.where            = query.where;
+        this.fieldsToRetrieve = query.fieldsToRetrieve;
+    }
+    
+    /**
+     * Same query (size, filter, fields) positioned on another page.
+     *
+     * @param pageState
+     *      cursor returned by previous page, null for first page
+     */
+    public QueryDocument withPageState(String pageState) {
+        return new QueryDocument(this, pageState);
+    }
+    
     public static QueryDocumentBuilder builder() {
         return new QueryDocumentBuilder(); 
     }
@@ -68,8 +102,29 @@ public class QueryDocument {
         /** Build where clause. */
         protected String whereClause;
         
+        /** Conditions combined with 'and', exclusive with a json where clause. */
+        protected List<Predicate> predicates = new ArrayList<>();
+        
         public QueryDocument build() {
-            return new QueryDocument(this);
+            if (predicates.isEmpty()) {
+                return new QueryDocument(this, whereClause);
+            }
+            return new QueryDocument(this, Predicate.and(predicates).toJson());
+        }
+        
+        /**
+         * Serialize the where clause once, the query is then bound to values of the parameters.
+         */
+        public PreparedQuery prepare() {
+            Assert.isTrue(null == pageState, "A prepared query starts on first page");
+            JsonTemplate where = null;
+            if (!predicates.isEmpty()) {
+                where = new JsonTemplate();
+                Predicate.and(predicates).write(where);
+            } else if (null != whereClause) {
+                where = new JsonTemplate().append(whereClause);
+            }
+            return new PreparedQuery(pageSize, fields, where);
         }
         
         public QueryDocumentBuilder withPageSize(int pageSize) {
@@ -99,7 +154,7 @@ public class QueryDocument {
          * Use 'where" to help you create 
          */
         public QueryDocumentBuilder withJsonWhereClause(String where) {
-            if (this.whereClause != null) {
+            if (this.whereClause != null || !predicates.isEmpty()) {
                 throw new IllegalArgumentException("Only a single where clause is allowd in a query");
             }
             Assert.hasLength(where, "where");
@@ -108,21 +163,33 @@ public class QueryDocument {
         }
         
         /**
-         * Only return those fields if provided
+         * Add a condition on a field.
          */
         public Where where(String fieldName) {
             Assert.hasLength(fieldName, "fieldName");
             return new Where(this, fieldName);
         }
         
+        /**
+         * Add a predicate, combined with the others with 'and'.
+         */
+        public QueryDocumentBuilder where(Predicate predicate) {
+            Assert.notNull(predicate, "predicate");
+            if (this.whereClause != null) {
+                throw new IllegalArgumentException("A json where clause cannot be combined with predicates");
+            }
+            this.predicates.add(predicate);
+            return this;
+        }
+        
     }
     
     /**
-     * Helper to build a where clause in natural language (fluent API)
-     *
-     * TODO the WHERE CLAUSE CAN HAVE MULTIPLE CRITERIA FOR A FIELD
-     * where("field").greaterThan(40)
-     *               .lessThan(50);
+     * Helper to build a where clause in natural language (fluent API), each condition is
+     * added to the builder and combined with the others with 'and':
+     * 
+     * where("field").isGreaterThan(40)
+     * .where("field").isLessThan(50);
      */
     public static class Where {
         
@@ -141,32 +208,22 @@ public class QueryDocument {
         }
        
         /**
-         * Build where clause 'lt' and move back to builder.
-         * A builder can only have a single where clause (not AND allowed)
+         * Add condition 'gt' and move back to builder.
          */
         public QueryDocumentBuilder isGreaterThan(double value) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$gt\": " 
-                          + value + "}}");
+            return builder.where(Predicate.gt(fieldName, value));
         }
         public QueryDocumentBuilder isGreaterOrEqualsThan(double value) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$gte\": " 
-                          + value + "}}");
+            return builder.where(Predicate.gte(fieldName, value));
         }
         public QueryDocumentBuilder isLessThan(double value) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$lt\": " 
-                          + value + "}}");
+            return builder.where(Predicate.lt(fieldName, value));
         }
         public QueryDocumentBuilder isLessOrEqualsThan(double value) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$lte\": " 
-                          + value + "}}");
+            return builder.where(Predicate.lte(fieldName, value));
+        }
+        public QueryDocumentBuilder isBetween(double lowerBound, double upperBound) {
+            return builder.where(Predicate.between(fieldName, lowerBound, upperBound));
         }
         
         /**
@@ -174,38 +231,53 @@ public class QueryDocument {
          * No contains keyword.
          */
         public QueryDocumentBuilder isEqualsTo(Object value) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$eq\": " 
-                          + JsonUtils.valueAsJson(value) + "}}");
+            return builder.where(Predicate.eq(fieldName, value));
         }
         public QueryDocumentBuilder isNotEqualsTo(Object value) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$neq\": " 
-                          + JsonUtils.valueAsJson(value) + "}}");
+            return builder.where(Predicate.ne(fieldName, value));
         }
         
         /**
          * No list allow should be a scalar.
          * No contains keyword.
          */
+        public QueryDocumentBuilder isIn(Collection<?> values) {
+            return builder.where(Predicate.in(fieldName, values));
+        }
+        
+        /**
+         * Kept for callers compiled against the former signature.
+         *
+         * @deprecated use {@link #isIn(Collection)}
+         */
+        @Deprecated
         public QueryDocumentBuilder isIn(Set<Object> values) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$in\": " 
-                          + JsonUtils.collectionAsJson(values) + "}}");
+            return isIn((Collection<?>) values);
         }
         
         /**
          * No list allow should be a scalar.
          * No contains keyword.
          */
+        public QueryDocumentBuilder isNotIn(Collection<?> values) {
+            return builder.where(Predicate.nin(fieldName, values));
+        }
+        
+        /**
+         * Kept for callers compiled against the former signature.
+         *
+         * @deprecated use {@link #isNotIn(Collection)}
+         */
+        @Deprecated
         public QueryDocumentBuilder isNotIn(Set<Object> values) {
-            return builder.withJsonWhereClause(
-                    "{\"" + JsonUtils.escapeJson(fieldName) 
-                          + "\": {\"$nin\": " 
-                          + JsonUtils.collectionAsJson(values) + "}}");
+            return isNotIn((Collection<?>) values);
+        }
+        
+        /**
+         * Field is present in the document.
+         */
+        public QueryDocumentBuilder exists() {
+            return builder.where(Predicate.exists(fieldName));
         }
         
     }
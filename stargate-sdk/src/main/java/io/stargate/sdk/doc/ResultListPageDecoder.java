@@ -0,0 +1,80 @@
+package io.stargate.sdk.doc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Decode a page of search results in a single pass over the response bytes.
+ *
+ * Expected payload is <code>{"pageState": "...", "data": { "docId": {...}, ... }}</code>. Each
+ * document is bound straight to the target class from the parser tokens, no intermediate
+ * String or Map is created.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ *
+ * @param <DOC>
+ *      document type
+ */
+public class ResultListPageDecoder<DOC> {
+    
+    /** Json field holding the documents. */
+    private static final String FIELD_DATA = "data";
+    
+    /** Json field holding the cursor. */
+    private static final String FIELD_PAGE_STATE = "pageState";
+    
+    /** Reader bound to the document class (thread safe, reusable). */
+    private final ObjectReader reader;
+    
+    /**
+     * Decoder for a document class.
+     */
+    public ResultListPageDecoder(Class<DOC> clazz) {
+        Assert.notNull(clazz, "clazz");
+        this.reader = ApiSupport.getObjectMapper().readerFor(clazz);
+    }
+    
+    /**
+     * Decode a page from the raw body.
+     */
+    public ResultListPage<DOC> decode(byte[] body, int pageSize) {
+        try (JsonParser parser = reader.getFactory().createParser(body)) {
+            return decode(parser, pageSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot marshall document results", e);
+        }
+    }
+    
+    private ResultListPage<DOC> decode(JsonParser parser, int pageSize) throws IOException {
+        String pageState = null;
+        List<ApiDocument<DOC>> results = new ArrayList<>(pageSize);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid search response, expecting a json object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (FIELD_PAGE_STATE.equals(field)) {
+                pageState = (value == JsonToken.VALUE_NULL) ? null : parser.getText();
+            } else if (FIELD_DATA.equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String documentId = parser.getCurrentName();
+                    parser.nextToken();
+                    results.add(new ApiDocument<DOC>(documentId, reader.readValue(parser)));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new ResultListPage<DOC>(pageSize, pageState, results);
+    }
+
+}
@@ -0,0 +1,55 @@
+package io.stargate.sdk.exception;
+
+import java.time.Duration;
+
+/**
+ * Specialized Error, the call has not been sent as the circuit breaker of the endpoint is open.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    
+    /** Serial. */
+    private static final long serialVersionUID = -2368128419463540521L;
+    
+    /** Endpoint protected by the breaker. */
+    private final String endpoint;
+    
+    /** Time before probes are allowed. */
+    private final Duration retryAfter;
+    
+    public CircuitBreakerOpenException(String endpoint, Duration retryAfter) {
+        super("Circuit breaker is open for " + endpoint + ", retry in " + retryAfter.toMillis() + "ms");
+        this.endpoint   = endpoint;
+        this.retryAfter = retryAfter;
+    }
+    
+    /**
+     * No stack trace, calls are rejected at a high rate while the breaker is open.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+    
+    /**
+     * Getter accessor for attribute 'endpoint'.
+     *
+     * @return
+     *       current value of 'endpoint'
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryAfter'.
+     *
+     * @return
+     *       current value of 'retryAfter'
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+}
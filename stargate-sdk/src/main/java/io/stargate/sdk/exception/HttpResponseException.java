@@ -0,0 +1,45 @@
+package io.stargate.sdk.exception;
+
+/**
+ * Specialized Error, the Api answered with an unexpected http code.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class HttpResponseException extends RuntimeException {
+    
+    /** Serial. */
+    private static final long serialVersionUID = 2981471947409262431L;
+    
+    /** Http code returned by the Api. */
+    private final int statusCode;
+    
+    /** Body returned by the Api. */
+    private final String body;
+    
+    public HttpResponseException(int statusCode, String body) {
+        super("Error code=" + statusCode + " response=" + body);
+        this.statusCode = statusCode;
+        this.body       = body;
+    }
+    
+    /**
+     * Getter accessor for attribute 'statusCode'.
+     *
+     * @return
+     *       current value of 'statusCode'
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    /**
+     * Getter accessor for attribute 'body'.
+     *
+     * @return
+     *       current value of 'body'
+     */
+    public String getBody() {
+        return body;
+    }
+
+}
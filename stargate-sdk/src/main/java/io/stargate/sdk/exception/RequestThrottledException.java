@@ -0,0 +1,31 @@
+package io.stargate.sdk.exception;
+
+/**
+ * Specialized Error, the request has not been sent as a client-side limit has been reached.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RequestThrottledException extends RuntimeException {
+    
+    /** Serial. */
+    private static final long serialVersionUID = 6153187207436151820L;
+    
+    /** Endpoint of the request. */
+    private final String endpoint;
+    
+    public RequestThrottledException(String endpoint, String limit) {
+        super("Too many requests to " + endpoint + ", limit of " + limit + " reached");
+        this.endpoint = endpoint;
+    }
+    
+    /**
+     * Getter accessor for attribute 'endpoint'.
+     *
+     * @return
+     *       current value of 'endpoint'
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+}
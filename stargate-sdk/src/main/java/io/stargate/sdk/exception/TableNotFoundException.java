@@ -0,0 +1,21 @@
+package io.stargate.sdk.exception;
+
+/**
+ * Specialized Error.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class TableNotFoundException extends RuntimeException {
+    
+    /** Serial. */
+    private static final long serialVersionUID = 7265481094328471856L;
+    
+    public TableNotFoundException(String tableName) {
+        super("Cannot find Table " + tableName);
+    }
+    
+    public TableNotFoundException(String tableName, Throwable parent) {
+        super("Cannot find Table " + tableName, parent);
+    }
+
+}
@@ -5,6 +5,7 @@ import static io.stargate.sdk.utils.Assert.hasLength;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.stargate.sdk.http.HttpClientOptions;
 import io.stargate.sdk.utils.ApiSupport;
 
 /**
@@ -24,6 +25,14 @@ public class ApiGraphQLClient extends ApiSupport {
      * Constructor for ASTRA.
      */
     public ApiGraphQLClient(String username, String password, String endPointAuthentication,  String appToken, String endPointApiGraphQL) {
+        this(username, password, endPointAuthentication, appToken, endPointApiGraphQL, HttpClientOptions.defaults());
+    }
+    
+    /**
+     * Constructor with dedicated http client settings.
+     */
+    public ApiGraphQLClient(String username, String password, String endPointAuthentication,  String appToken, String endPointApiGraphQL, HttpClientOptions options) {
+        super(options);
         hasLength(endPointApiGraphQL, "endPointApiRest");
         hasLength(username, "username");
         hasLength(password, "password");
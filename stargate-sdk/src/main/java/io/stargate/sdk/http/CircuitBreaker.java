@@ -0,0 +1,211 @@
+package io.stargate.sdk.http;
+
+import java.time.Duration;
+
+import io.stargate.sdk.exception.CircuitBreakerOpenException;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Circuit breaker of one endpoint, fails calls at once while the endpoint is unhealthy.
+ *
+ * CLOSED: calls go through, outcomes are recorded in a rolling window of the last calls.
+ * OPEN: calls are rejected with a {@link CircuitBreakerOpenException} until 'openDuration' elapsed.
+ * HALF_OPEN: a few probes go through, the breaker closes when they all succeed and opens again
+ * on the first failure.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CircuitBreaker {
+    
+    /**
+     * States of the breaker.
+     */
+    public static enum State {
+        /** Calls go through. */
+        CLOSED,
+        /** Calls are rejected. */
+        OPEN,
+        /** Probes go through. */
+        HALF_OPEN;
+    }
+    
+    /**
+     * Notified on state changes, invoked while holding the breaker lock.
+     */
+    @FunctionalInterface
+    public static interface StateListener {
+        void onStateChange(String endpoint, State from, State to);
+    }
+    
+    /** Endpoint protected by the breaker (scheme://host:port). */
+    private final String endpoint;
+    
+    /** Settings. */
+    private final CircuitBreakerOptions options;
+    
+    /** State changes. */
+    private final StateListener listener;
+    
+    /** Current state, read without lock on the fast path. */
+    private volatile State state = State.CLOSED;
+    
+    /** End of the open state (System.nanoTime). */
+    private volatile long openUntil;
+    
+    /** Rolling window of outcomes, true for a failure. */
+    private final boolean[] outcomes;
+    
+    /** Next slot in the window. */
+    private int index;
+    
+    /** Number of outcomes in the window. */
+    private int calls;
+    
+    /** Number of failures in the window. */
+    private int failures;
+    
+    /** Probes let through in half-open state. */
+    private int probes;
+    
+    /** Probes succeeded in half-open state. */
+    private int probesSucceeded;
+    
+    /**
+     * Full constructor.
+     */
+    public CircuitBreaker(String endpoint, CircuitBreakerOptions options, StateListener listener) {
+        Assert.hasLength(endpoint, "endpoint");
+        Assert.notNull(options, "options");
+        this.endpoint = endpoint;
+        this.options  = options;
+        this.listener = (null == listener) ? (e, from, to) -> {} : listener;
+        this.outcomes = new boolean[options.getSlidingWindowSize()];
+    }
+    
+    /**
+     * Ask permission to send a call.
+     *
+     * @throws CircuitBreakerOpenException
+     *      the breaker is open, or half-open with all probes in flight
+     */
+    public void acquirePermission() {
+        State current = state;
+        if (State.CLOSED == current) {
+            return;
+        }
+        if (State.OPEN == current && System.nanoTime() - openUntil < 0) {
+            throw new CircuitBreakerOpenException(endpoint, remainingOpenDuration());
+        }
+        synchronized (this) {
+            if (State.OPEN == state) {
+                if (System.nanoTime() - openUntil < 0) {
+                    throw new CircuitBreakerOpenException(endpoint, remainingOpenDuration());
+                }
+                probes          = 0;
+                probesSucceeded = 0;
+                transition(State.HALF_OPEN);
+            }
+            if (State.HALF_OPEN == state) {
+                if (probes >= options.getHalfOpenProbes()) {
+                    throw new CircuitBreakerOpenException(endpoint, Duration.ZERO);
+                }
+                probes++;
+            }
+        }
+    }
+    
+    /**
+     * A call completed without failure.
+     */
+    public synchronized void onSuccess() {
+        record(false);
+    }
+    
+    /**
+     * A call failed (I/O error, timeout, http 5xx).
+     */
+    public synchronized void onFailure() {
+        record(true);
+    }
+    
+    private void record(boolean failure) {
+        switch (state) {
+            case HALF_OPEN:
+                if (failure) {
+                    open();
+                } else if (++probesSucceeded >= options.getHalfOpenProbes()) {
+                    resetWindow();
+                    transition(State.CLOSED);
+                }
+                break;
+            case CLOSED:
+                if (calls == outcomes.length && outcomes[index]) {
+                    failures--;
+                }
+                outcomes[index] = failure;
+                if (failure) {
+                    failures++;
+                }
+                index = (index + 1) % outcomes.length;
+                calls = Math.min(calls + 1, outcomes.length);
+                if (calls >= options.getMinimumCalls() && getFailureRate() >= options.getFailureRateThreshold()) {
+                    open();
+                }
+                break;
+            case OPEN:
+            default:
+                // Late outcome of a call sent before opening
+                break;
+        }
+    }
+    
+    private void open() {
+        openUntil = System.nanoTime() + options.getOpenDuration().toNanos();
+        resetWindow();
+        transition(State.OPEN);
+    }
+    
+    private void resetWindow() {
+        index    = 0;
+        calls    = 0;
+        failures = 0;
+    }
+    
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        listener.onStateChange(endpoint, from, to);
+    }
+    
+    private Duration remainingOpenDuration() {
+        return Duration.ofNanos(Math.max(0, openUntil - System.nanoTime()));
+    }
+    
+    /**
+     * Failure rate in the rolling window, between 0 and 1.
+     */
+    public synchronized double getFailureRate() {
+        return (calls == 0) ? 0 : (double) failures / calls;
+    }
+    
+    /**
+     * Getter accessor for attribute 'state'.
+     *
+     * @return
+     *       current value of 'state'
+     */
+    public State getState() {
+        return state;
+    }
+    
+    /**
+     * Getter accessor for attribute 'endpoint'.
+     *
+     * @return
+     *       current value of 'endpoint'
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+}
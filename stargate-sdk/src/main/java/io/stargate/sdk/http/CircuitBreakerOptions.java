@@ -0,0 +1,193 @@
+package io.stargate.sdk.http;
+
+import java.time.Duration;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of the {@link CircuitBreaker} of each endpoint.
+ *
+ * The breaker opens when the failure rate (I/O errors, timeouts, http 5xx) over the last
+ * 'slidingWindowSize' calls reaches 'failureRateThreshold'. Calls then fail at once for
+ * 'openDuration' before 'halfOpenProbes' calls are let through to test the endpoint.
+ * Calls are not guarded unless options are set in the {@link HttpClientOptions}.
+ *
+ * CircuitBreakerOptions.builder()
+ *                      .failureRateThreshold(0.5)
+ *                      .openDuration(Duration.ofSeconds(10))
+ *                      .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CircuitBreakerOptions {
+    
+    /** Default failure rate opening the breaker. */
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    
+    /** Default number of calls in the rolling window. */
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    
+    /** Default number of calls before the failure rate is evaluated. */
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    
+    /** Default time spent open before probing. */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    
+    /** Default number of probes in half-open state. */
+    public static final int DEFAULT_HALF_OPEN_PROBES = 3;
+    
+    /** Breaker is used. */
+    private final boolean enabled;
+    
+    /** Failure rate opening the breaker, between 0 and 1. */
+    private final double failureRateThreshold;
+    
+    /** Number of calls in the rolling window. */
+    private final int slidingWindowSize;
+    
+    /** Number of calls before the failure rate is evaluated. */
+    private final int minimumCalls;
+    
+    /** Time spent open before probing. */
+    private final Duration openDuration;
+    
+    /** Number of successful probes closing the breaker. */
+    private final int halfOpenProbes;
+    
+    private CircuitBreakerOptions(CircuitBreakerOptionsBuilder builder) {
+        this.enabled              = builder.enabled;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slidingWindowSize    = builder.slidingWindowSize;
+        this.minimumCalls         = Math.min(builder.minimumCalls, builder.slidingWindowSize);
+        this.openDuration         = builder.openDuration;
+        this.halfOpenProbes       = builder.halfOpenProbes;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static CircuitBreakerOptionsBuilder builder() {
+        return new CircuitBreakerOptionsBuilder();
+    }
+    
+    /**
+     * Recommended options: open at 50% of failures over 20 calls, probe after 30s.
+     */
+    public static CircuitBreakerOptions defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * No circuit breaker, calls always reach the endpoint (default).
+     */
+    public static CircuitBreakerOptions disabled() {
+        return builder().disabled().build();
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class CircuitBreakerOptionsBuilder {
+        
+        private boolean enabled             = true;
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int slidingWindowSize       = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumCalls            = DEFAULT_MINIMUM_CALLS;
+        private Duration openDuration       = DEFAULT_OPEN_DURATION;
+        private int halfOpenProbes          = DEFAULT_HALF_OPEN_PROBES;
+        
+        public CircuitBreakerOptionsBuilder disabled() {
+            this.enabled = false;
+            return this;
+        }
+        public CircuitBreakerOptionsBuilder failureRateThreshold(double failureRateThreshold) {
+            Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1, "Failure rate should be between 0 and 1");
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+        public CircuitBreakerOptionsBuilder slidingWindowSize(int slidingWindowSize) {
+            Assert.isTrue(slidingWindowSize > 0, "Window size should be greater than 0");
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+        public CircuitBreakerOptionsBuilder minimumCalls(int minimumCalls) {
+            Assert.isTrue(minimumCalls > 0, "Minimum calls should be greater than 0");
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+        public CircuitBreakerOptionsBuilder openDuration(Duration openDuration) {
+            Assert.notNull(openDuration, "openDuration");
+            this.openDuration = openDuration;
+            return this;
+        }
+        public CircuitBreakerOptionsBuilder halfOpenProbes(int halfOpenProbes) {
+            Assert.isTrue(halfOpenProbes > 0, "Probes should be greater than 0");
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+        public CircuitBreakerOptions build() {
+            return new CircuitBreakerOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'enabled'.
+     *
+     * @return
+     *       current value of 'enabled'
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Getter accessor for attribute 'failureRateThreshold'.
+     *
+     * @return
+     *       current value of 'failureRateThreshold'
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    
+    /**
+     * Getter accessor for attribute 'slidingWindowSize'.
+     *
+     * @return
+     *       current value of 'slidingWindowSize'
+     */
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'minimumCalls'.
+     *
+     * @return
+     *       current value of 'minimumCalls'
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+    
+    /**
+     * Getter accessor for attribute 'openDuration'.
+     *
+     * @return
+     *       current value of 'openDuration'
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+    
+    /**
+     * Getter accessor for attribute 'halfOpenProbes'.
+     *
+     * @return
+     *       current value of 'halfOpenProbes'
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+}
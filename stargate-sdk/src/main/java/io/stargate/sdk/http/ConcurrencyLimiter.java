@@ -0,0 +1,135 @@
+package io.stargate.sdk.http;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Bound the number of requests in flight, waiters are served in order.
+ *
+ * In adaptive mode the limit is divided by {@link #BACKOFF_RATIO} on each http 429 and grows by
+ * one every 'limit' successful requests, converging to the highest concurrency the server accepts.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ConcurrencyLimiter {
+    
+    /** Status returned by Astra when the request rate is exceeded. */
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+    
+    /** Multiplicative decrease of the limit. */
+    public static final double BACKOFF_RATIO = 0.9;
+    
+    /** Upper bound of the limit. */
+    private final int maxLimit;
+    
+    /** Lower bound of the limit. */
+    private final int minLimit;
+    
+    /** Adapt the limit to the responses. */
+    private final boolean adaptive;
+    
+    /** Current limit. */
+    private double limit;
+    
+    /** Requests in flight. */
+    private int inFlight;
+    
+    /** Callers waiting for a permit. */
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    
+    /**
+     * Full constructor.
+     */
+    public ConcurrencyLimiter(int maxLimit, int minLimit, boolean adaptive) {
+        Assert.isTrue(maxLimit > 0, "Limit should be greater than 0");
+        this.maxLimit = maxLimit;
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.adaptive = adaptive;
+        this.limit    = maxLimit;
+    }
+    
+    /**
+     * Ask for a permit.
+     *
+     * @param queue
+     *      wait for a permit when none is available
+     * @return
+     *      completed when the permit is granted, null if no permit is available and 'queue' is false
+     */
+    public synchronized CompletableFuture<Void> acquire(boolean queue) {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!queue) {
+            return null;
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+    }
+    
+    /**
+     * Stop waiting for a permit.
+     *
+     * @return
+     *      true when the waiter has been removed, false if the permit has been granted meanwhile (it must be released)
+     */
+    public synchronized boolean cancel(CompletableFuture<Void> waiter) {
+        return waiters.remove(waiter);
+    }
+    
+    /**
+     * Give back a permit.
+     *
+     * @param statusCode
+     *      status of the response, {@link RequestEvent#NO_STATUS} if none
+     */
+    public void release(int statusCode) {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (adaptive) {
+                if (HTTP_TOO_MANY_REQUESTS == statusCode) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                } else if (statusCode != RequestEvent.NO_STATUS && statusCode < HttpURLConnection.HTTP_BAD_REQUEST) {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.poll());
+            }
+        }
+        // Outside of the lock, dependent actions run on this thread
+        granted.forEach(waiter -> waiter.complete(null));
+    }
+    
+    /**
+     * Current limit.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+    
+    /**
+     * Requests in flight.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+    
+    /**
+     * Callers waiting for a permit.
+     */
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+}
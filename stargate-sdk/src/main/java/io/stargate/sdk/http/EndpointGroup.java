@@ -0,0 +1,376 @@
+package io.stargate.sdk.http;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Several base urls serving the same Api (Stargate coordinators), each request is sent to one
+ * of them following the {@link Strategy}.
+ *
+ * Requests are built against the primary (first) url and rewritten to the selected node. Health
+ * is tracked passively: a node failing 'maxFailures' times in a row (I/O errors, http 5xx) is
+ * ejected for 'ejectionDuration' then re-admitted, a new failure ejects it again. When all nodes
+ * are ejected the one re-admitted first is still used.
+ *
+ * With a 'preferredWrite' node (e.g the write region of a multi-region database) requests which
+ * are not reads are sent to it while it is healthy, other nodes are then used as failover.
+ *
+ * EndpointGroup.builder()
+ *              .endpoints("http://stargate1:8082", "http://stargate2:8082")
+ *              .strategy(Strategy.LEAST_OUTSTANDING)
+ *              .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class EndpointGroup {
+    
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointGroup.class);
+    
+    /** Default number of consecutive failures ejecting a node. */
+    public static final int DEFAULT_MAX_FAILURES = 3;
+    
+    /** Default time a node stays ejected. */
+    public static final Duration DEFAULT_EJECTION_DURATION = Duration.ofSeconds(30);
+    
+    /** Weight of the last sample in the average latency of a node. */
+    public static final double LATENCY_SMOOTHING = 0.3;
+    
+    /**
+     * Selection of the node of a request.
+     */
+    public static enum Strategy {
+        /** Each node in turn. */
+        ROUND_ROBIN,
+        /** Node with the fewest requests in flight. */
+        LEAST_OUTSTANDING,
+        /** Node with the lowest average latency, nodes not measured yet are tried first. */
+        LOWEST_LATENCY;
+    }
+    
+    /** Nodes, primary first. */
+    private final List<Endpoint> endpoints;
+    
+    /** Selection of the node. */
+    private final Strategy strategy;
+    
+    /** Consecutive failures ejecting a node. */
+    private final int maxFailures;
+    
+    /** Time a node stays ejected. */
+    private final Duration ejectionDuration;
+    
+    /** Node receiving the writes while healthy, can be null. */
+    private final Endpoint preferredWrite;
+    
+    /** Round robin position. */
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private EndpointGroup(EndpointGroupBuilder builder) {
+        this.endpoints        = Collections.unmodifiableList(builder.urls.stream()
+                .map(Endpoint::new).collect(Collectors.toList()));
+        this.strategy         = builder.strategy;
+        this.maxFailures      = builder.maxFailures;
+        this.ejectionDuration = builder.ejectionDuration;
+        this.preferredWrite   = endpoints.stream()
+                .filter(e -> e.getUrl().equals(builder.preferredWrite))
+                .findFirst().orElse(null);
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static EndpointGroupBuilder builder() {
+        return new EndpointGroupBuilder();
+    }
+    
+    /**
+     * Group with default settings (round robin).
+     */
+    public static EndpointGroup of(List<String> urls) {
+        return builder().endpoints(urls).build();
+    }
+    
+    /**
+     * Url requests are built against.
+     */
+    public String getPrimaryUrl() {
+        return endpoints.get(0).getUrl();
+    }
+    
+    /**
+     * Select the node of the next read attempt.
+     *
+     * @param avoid
+     *      node of the previous failed attempt, used only if no other node is available (can be null)
+     */
+    public Endpoint select(Endpoint avoid) {
+        return select(avoid, false);
+    }
+    
+    /**
+     * Select the node of the next attempt.
+     *
+     * @param avoid
+     *      node of the previous failed attempt, used only if no other node is available (can be null)
+     * @param write
+     *      the request is not a read, it goes to the 'preferredWrite' node if healthy
+     */
+    public Endpoint select(Endpoint avoid, boolean write) {
+        long now = System.nanoTime();
+        if (write && null != preferredWrite && preferredWrite != avoid && !preferredWrite.isEjected(now)) {
+            return preferredWrite;
+        }
+        int size  = endpoints.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Endpoint selected = null;
+        for (int i = 0; i < size; i++) {
+            Endpoint candidate = endpoints.get((start + i) % size);
+            if (candidate == avoid || candidate.isEjected(now)) {
+                continue;
+            }
+            if (Strategy.ROUND_ROBIN == strategy) {
+                return candidate;
+            }
+            if (null == selected || isBetter(candidate, selected)) {
+                selected = candidate;
+            }
+        }
+        if (null != selected) {
+            return selected;
+        }
+        if (null != avoid && !avoid.isEjected(now)) {
+            return avoid;
+        }
+        // All nodes are ejected, use the one to be re-admitted first
+        return endpoints.stream()
+                .min((e1, e2) -> Long.compare(e1.ejectedUntil - now, e2.ejectedUntil - now))
+                .get();
+    }
+    
+    private boolean isBetter(Endpoint candidate, Endpoint selected) {
+        if (Strategy.LOWEST_LATENCY == strategy) {
+            return candidate.latencyNanos < selected.latencyNanos;
+        }
+        return candidate.outstanding.get() < selected.outstanding.get();
+    }
+    
+    /**
+     * Uri of the request on the node, null when the request does not target the primary url.
+     */
+    public URI rewrite(URI uri, Endpoint target) {
+        String primary = getPrimaryUrl();
+        String source  = uri.toString();
+        if (!source.startsWith(primary)) {
+            return null;
+        }
+        return URI.create(target.getUrl() + source.substring(primary.length()));
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class EndpointGroupBuilder {
+        
+        private List<String> urls         = new ArrayList<>();
+        private Strategy strategy         = Strategy.ROUND_ROBIN;
+        private int maxFailures           = DEFAULT_MAX_FAILURES;
+        private Duration ejectionDuration = DEFAULT_EJECTION_DURATION;
+        private String preferredWrite;
+        
+        public EndpointGroupBuilder endpoints(String... urls) {
+            Assert.notNull(urls, "urls");
+            return endpoints(Arrays.asList(urls));
+        }
+        private static String normalize(String url) {
+            // Trailing slash would break the rewrite of paths
+            return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        }
+        public EndpointGroupBuilder endpoints(List<String> urls) {
+            Assert.notNull(urls, "urls");
+            for (String url : urls) {
+                Assert.hasLength(url, "url");
+                this.urls.add(normalize(url));
+            }
+            return this;
+        }
+        public EndpointGroupBuilder strategy(Strategy strategy) {
+            Assert.notNull(strategy, "strategy");
+            this.strategy = strategy;
+            return this;
+        }
+        public EndpointGroupBuilder maxFailures(int maxFailures) {
+            Assert.isTrue(maxFailures > 0, "Max failures should be greater than 0");
+            this.maxFailures = maxFailures;
+            return this;
+        }
+        public EndpointGroupBuilder ejectionDuration(Duration ejectionDuration) {
+            Assert.notNull(ejectionDuration, "ejectionDuration");
+            this.ejectionDuration = ejectionDuration;
+            return this;
+        }
+        public EndpointGroupBuilder preferredWrite(String url) {
+            Assert.hasLength(url, "url");
+            this.preferredWrite = normalize(url);
+            return this;
+        }
+        public EndpointGroup build() {
+            Assert.isTrue(!urls.isEmpty(), "At least one endpoint is required");
+            Assert.isTrue(null == preferredWrite || urls.contains(preferredWrite), 
+                    "Preferred write endpoint should be one of the endpoints");
+            return new EndpointGroup(this);
+        }
+    }
+    
+    /**
+     * One node of the group.
+     */
+    public final class Endpoint {
+        
+        /** Base url. */
+        private final String url;
+        
+        /** Requests in flight. */
+        private final AtomicInteger outstanding = new AtomicInteger();
+        
+        /** Failures since last success. */
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        
+        /** End of the ejection (System.nanoTime), meaningless when not ejected. */
+        private volatile long ejectedUntil;
+        
+        /** Node has been ejected and not yet succeeded. */
+        private volatile boolean ejected;
+        
+        /** Moving average of the latency of successful requests, 0 until measured. */
+        private volatile long latencyNanos;
+        
+        private Endpoint(String url) {
+            this.url = url;
+        }
+        
+        private boolean isEjected(long now) {
+            return ejected && now - ejectedUntil < 0;
+        }
+        
+        /**
+         * A request is sent to this node.
+         */
+        public void onRequestStart() {
+            outstanding.incrementAndGet();
+        }
+        
+        /**
+         * The request completed.
+         *
+         * @param success
+         *      a response without server error has been received
+         */
+        public void onRequestComplete(boolean success) {
+            onRequestComplete(success, -1);
+        }
+        
+        /**
+         * The request completed.
+         *
+         * @param success
+         *      a response without server error has been received
+         * @param latencyNanos
+         *      duration of the request, ignored if negative
+         */
+        public void onRequestComplete(boolean success, long latencyNanos) {
+            outstanding.decrementAndGet();
+            if (success) {
+                if (latencyNanos >= 0) {
+                    long average = this.latencyNanos;
+                    // Not atomic, a lost sample does not matter
+                    this.latencyNanos = (0 == average) ? Math.max(1, latencyNanos) : 
+                        (long) (LATENCY_SMOOTHING * latencyNanos + (1 - LATENCY_SMOOTHING) * average);
+                }
+                consecutiveFailures.set(0);
+                if (ejected) {
+                    ejected = false;
+                    LOGGER.info("Endpoint {} is healthy again", url);
+                }
+            } else if (consecutiveFailures.incrementAndGet() >= maxFailures) {
+                ejectedUntil = System.nanoTime() + ejectionDuration.toNanos();
+                if (!ejected) {
+                    LOGGER.warn("Endpoint {} ejected for {}s after {} consecutive failures",
+                            url, ejectionDuration.getSeconds(), consecutiveFailures.get());
+                }
+                ejected = true;
+            }
+        }
+        
+        /**
+         * Getter accessor for attribute 'url'.
+         *
+         * @return
+         *       current value of 'url'
+         */
+        public String getUrl() {
+            return url;
+        }
+        
+        /**
+         * Requests in flight.
+         */
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+        
+        /**
+         * Average latency of the node, zero until a request succeeded.
+         */
+        public Duration getLatency() {
+            return Duration.ofNanos(latencyNanos);
+        }
+        
+        /**
+         * Node is currently ejected.
+         */
+        public boolean isEjected() {
+            return isEjected(System.nanoTime());
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'endpoints'.
+     *
+     * @return
+     *       current value of 'endpoints'
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+    
+    /**
+     * Getter accessor for attribute 'strategy'.
+     *
+     * @return
+     *       current value of 'strategy'
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+    
+    /**
+     * Node receiving the writes while healthy.
+     */
+    public Optional<Endpoint> getPreferredWrite() {
+        return Optional.ofNullable(preferredWrite);
+    }
+
+}
@@ -0,0 +1,227 @@
+package io.stargate.sdk.http;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Hedging of slow reads: when the first attempt has not answered after the 'percentile' latency
+ * of the operation, an identical request is sent (to another node of the {@link EndpointGroup} if
+ * any) and the first response wins.
+ *
+ * Only idempotent reads of the listed operations are hedged, and hedges are capped to
+ * 'maxHedgeRatio' of the requests of these operations. Disabled by default.
+ *
+ * HedgingPolicy.builder()
+ *              .percentile(0.9)
+ *              .maxHedgeRatio(0.05)
+ *              .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class HedgingPolicy {
+    
+    /** Default hedged operations, reads of the document Api. */
+    public static final Set<String> DEFAULT_OPERATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "document.find", "document.findSubDocument", "document.exist", "collection.search")));
+    
+    /** Default latency percentile triggering a hedge. */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    
+    /** Default lower bound of the hedging delay. */
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(10);
+    
+    /** Default upper bound of the hedging delay, also used until enough latencies are known. */
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(1);
+    
+    /** Default part of the requests which can be hedged. */
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.1;
+    
+    /** Default number of latencies kept per operation. */
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    
+    /** Http methods which can be hedged. */
+    public static final Set<String> HEDGEABLE_METHODS =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("GET", "HEAD")));
+    
+    /** Hedging is enabled. */
+    private final boolean enabled;
+    
+    /** Operations hedged. */
+    private final Set<String> operations;
+    
+    /** Latency percentile of the operation used as delay. */
+    private final double percentile;
+    
+    /** Lower bound of the delay. */
+    private final Duration minDelay;
+    
+    /** Upper bound of the delay. */
+    private final Duration maxDelay;
+    
+    /** Part of the requests which can be hedged. */
+    private final double maxHedgeRatio;
+    
+    /** Number of latencies kept per operation. */
+    private final int windowSize;
+    
+    private HedgingPolicy(HedgingPolicyBuilder builder) {
+        this.enabled       = builder.enabled;
+        this.operations    = Collections.unmodifiableSet(new HashSet<>(builder.operations));
+        this.percentile    = builder.percentile;
+        this.minDelay      = builder.minDelay;
+        this.maxDelay      = builder.maxDelay;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.windowSize    = builder.windowSize;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static HedgingPolicyBuilder builder() {
+        return new HedgingPolicyBuilder();
+    }
+    
+    /**
+     * No hedging (default).
+     */
+    public static HedgingPolicy disabled() {
+        return builder().enabled(false).build();
+    }
+    
+    /**
+     * The request can be hedged.
+     */
+    public boolean isHedged(String operationName, HttpRequest request) {
+        return enabled && operations.contains(operationName) && HEDGEABLE_METHODS.contains(request.method());
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class HedgingPolicyBuilder {
+        
+        private boolean enabled        = true;
+        private Set<String> operations = new HashSet<>(DEFAULT_OPERATIONS);
+        private double percentile      = DEFAULT_PERCENTILE;
+        private Duration minDelay      = DEFAULT_MIN_DELAY;
+        private Duration maxDelay      = DEFAULT_MAX_DELAY;
+        private double maxHedgeRatio   = DEFAULT_MAX_HEDGE_RATIO;
+        private int windowSize         = DEFAULT_WINDOW_SIZE;
+        
+        public HedgingPolicyBuilder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+        public HedgingPolicyBuilder operations(String... operations) {
+            Assert.notNull(operations, "operations");
+            this.operations = new HashSet<>(Arrays.asList(operations));
+            return this;
+        }
+        public HedgingPolicyBuilder percentile(double percentile) {
+            Assert.isTrue(percentile > 0 && percentile < 1, "Percentile should be between 0 and 1");
+            this.percentile = percentile;
+            return this;
+        }
+        public HedgingPolicyBuilder minDelay(Duration minDelay) {
+            Assert.notNull(minDelay, "minDelay");
+            this.minDelay = minDelay;
+            return this;
+        }
+        public HedgingPolicyBuilder maxDelay(Duration maxDelay) {
+            Assert.notNull(maxDelay, "maxDelay");
+            this.maxDelay = maxDelay;
+            return this;
+        }
+        public HedgingPolicyBuilder maxHedgeRatio(double maxHedgeRatio) {
+            Assert.isTrue(maxHedgeRatio > 0 && maxHedgeRatio <= 1, "Hedge ratio should be between 0 and 1");
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+        public HedgingPolicyBuilder windowSize(int windowSize) {
+            Assert.isTrue(windowSize > 0, "Window size should be greater than 0");
+            this.windowSize = windowSize;
+            return this;
+        }
+        public HedgingPolicy build() {
+            Assert.isTrue(minDelay.compareTo(maxDelay) <= 0, "Min delay should not exceed max delay");
+            return new HedgingPolicy(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'enabled'.
+     *
+     * @return
+     *       current value of 'enabled'
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Getter accessor for attribute 'operations'.
+     *
+     * @return
+     *       current value of 'operations'
+     */
+    public Set<String> getOperations() {
+        return operations;
+    }
+    
+    /**
+     * Getter accessor for attribute 'percentile'.
+     *
+     * @return
+     *       current value of 'percentile'
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+    
+    /**
+     * Getter accessor for attribute 'minDelay'.
+     *
+     * @return
+     *       current value of 'minDelay'
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxDelay'.
+     *
+     * @return
+     *       current value of 'maxDelay'
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxHedgeRatio'.
+     *
+     * @return
+     *       current value of 'maxHedgeRatio'
+     */
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+    
+    /**
+     * Getter accessor for attribute 'windowSize'.
+     *
+     * @return
+     *       current value of 'windowSize'
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+}
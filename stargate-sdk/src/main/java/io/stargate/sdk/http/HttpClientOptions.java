@@ -0,0 +1,440 @@
+package io.stargate.sdk.http;
+
+import java.lang.reflect.Method;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of the transport used by an Api client (document, rest, graphQL, devops).
+ *
+ * Each Api client builds its own {@link HttpClient} from those options, traffic of one
+ * client never waits on the threads of another one. Executors created from the options are
+ * shut down when the Api client is closed, a custom executor is left to its owner.
+ *
+ * HttpClientOptions.builder()
+ *                  .fixedThreadPool(20)
+ *                  .requestTimeout(Duration.ofSeconds(5))
+ *                  .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class HttpClientOptions {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientOptions.class);
+
+    /** Default timeout to open a connection. */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Default timeout for a request. */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Default number of threads for the fixed thread pool. */
+    public static final int DEFAULT_THREAD_POOL_SIZE = 5;
+
+    /** Idle threads of the fixed thread pool are released after this delay. */
+    public static final Duration THREAD_KEEP_ALIVE = Duration.ofSeconds(60);
+
+    /** Counting threads to name them. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Executor used by the {@link HttpClient} to process responses.
+     */
+    public static enum ExecutorType {
+        /** Fixed thread pool of {@link HttpClientOptions#getThreadPoolSize()} threads. */
+        FIXED,
+        /** One virtual thread per task (jdk21+), falling back to a cached thread pool. */
+        VIRTUAL,
+        /** Executor provided by the caller. */
+        CUSTOM;
+    }
+
+    /** Executor type. */
+    private final ExecutorType executorType;
+
+    /** Size of the pool when {@link ExecutorType#FIXED}. */
+    private final int threadPoolSize;
+
+    /** Executor provided by the caller when {@link ExecutorType#CUSTOM}. */
+    private final Executor executor;
+
+    /** Timeout to open a connection. */
+    private final Duration connectTimeout;
+
+    /** Timeout of a request. */
+    private final Duration requestTimeout;
+
+    /** Http protocol version. */
+    private final Version version;
+
+    /** Redirect policy. */
+    private final Redirect followRedirects;
+
+    /** Invoked around each request. */
+    private final List<RequestInstrumentation> instrumentations;
+
+    /** Retries of transient failures. */
+    private final RetryPolicy retryPolicy;
+
+    /** Fast-fail of unhealthy endpoints. */
+    private final CircuitBreakerOptions circuitBreaker;
+
+    /** Client-side limits of requests. */
+    private final ThrottlingOptions throttling;
+
+    /** Hedging of slow reads, disabled by default. */
+    private final HedgingPolicy hedging;
+
+    private HttpClientOptions(HttpClientOptionsBuilder builder) {
+        this.executorType    = builder.executorType;
+        this.threadPoolSize  = builder.threadPoolSize;
+        this.executor        = builder.executor;
+        this.connectTimeout  = builder.connectTimeout;
+        this.requestTimeout  = builder.requestTimeout;
+        this.version         = builder.version;
+        this.followRedirects = builder.followRedirects;
+        this.instrumentations = Collections.unmodifiableList(new ArrayList<>(builder.instrumentations));
+        this.retryPolicy     = builder.retryPolicy;
+        this.circuitBreaker  = builder.circuitBreaker;
+        this.throttling      = builder.throttling;
+        this.hedging         = builder.hedging;
+    }
+
+    /**
+     * Builder Pattern
+     */
+    public static HttpClientOptionsBuilder builder() {
+        return new HttpClientOptionsBuilder();
+    }
+
+    /**
+     * Default options: Http2, fixed pool of 5 threads, 10s timeouts, no retry and no circuit breaker.
+     */
+    public static HttpClientOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new {@link HttpClient} processing responses on the executor.
+     *
+     * @param executor
+     *      executor of the client, see {@link #createExecutor()}
+     * @return
+     *      a new http client
+     */
+    public HttpClient createHttpClient(Executor executor) {
+        Assert.notNull(executor, "executor");
+        return HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(followRedirects)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Create a new executor, the custom one is returned as is.
+     *
+     * Threads of the fixed pool are daemons and time out when idle, an Api client which is
+     * never closed does not keep them.
+     *
+     * @return
+     *      executor to be shut down by its owner unless {@link ExecutorType#CUSTOM}
+     */
+    public Executor createExecutor() {
+        switch(executorType) {
+            case CUSTOM:
+                return executor;
+            case VIRTUAL:
+                try {
+                    Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                    return (ExecutorService) m.invoke(null);
+                } catch (Exception e) {
+                    LOGGER.warn("Virtual threads are not available on this JVM, using a cached thread pool");
+                    return Executors.newCachedThreadPool(daemonThreadFactory());
+                }
+            case FIXED:
+            default:
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(threadPoolSize, threadPoolSize,
+                        THREAD_KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(), daemonThreadFactory());
+                pool.allowCoreThreadTimeOut(true);
+                return pool;
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        return r -> {
+            Thread t = new Thread(r, "stargate-http-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Builder pattern.
+     */
+    public static class HttpClientOptionsBuilder {
+
+        private ExecutorType executorType = ExecutorType.FIXED;
+        private int threadPoolSize        = DEFAULT_THREAD_POOL_SIZE;
+        private Executor executor         = null;
+        private Duration connectTimeout   = DEFAULT_CONNECT_TIMEOUT;
+        private Duration requestTimeout   = DEFAULT_REQUEST_TIMEOUT;
+        private Version version           = Version.HTTP_2;
+        private Redirect followRedirects  = Redirect.NORMAL;
+        private List<RequestInstrumentation> instrumentations = new ArrayList<>();
+        private RetryPolicy retryPolicy   = RetryPolicy.disabled();
+        private CircuitBreakerOptions circuitBreaker = CircuitBreakerOptions.disabled();
+        private ThrottlingOptions throttling = ThrottlingOptions.disabled();
+        private HedgingPolicy hedging     = HedgingPolicy.disabled();
+
+        /**
+         * Process responses on a pool of 'size' threads (default).
+         */
+        public HttpClientOptionsBuilder fixedThreadPool(int size) {
+            Assert.isTrue(size > 0, "Thread pool size should be greater than 0");
+            this.executorType   = ExecutorType.FIXED;
+            this.threadPoolSize = size;
+            this.executor       = null;
+            return this;
+        }
+
+        /**
+         * Process responses on virtual threads (jdk21+), a cached thread pool otherwise.
+         */
+        public HttpClientOptionsBuilder virtualThreads() {
+            this.executorType = ExecutorType.VIRTUAL;
+            this.executor     = null;
+            return this;
+        }
+
+        /**
+         * Process responses on the executor provided, never shut down by the Api client.
+         */
+        public HttpClientOptionsBuilder executor(Executor executor) {
+            Assert.notNull(executor, "executor");
+            this.executorType = ExecutorType.CUSTOM;
+            this.executor     = executor;
+            return this;
+        }
+
+        /**
+         * Timeout to open a connection.
+         */
+        public HttpClientOptionsBuilder connectTimeout(Duration connectTimeout) {
+            Assert.notNull(connectTimeout, "connectTimeout");
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Timeout of each request, until the response headers are received.
+         */
+        public HttpClientOptionsBuilder requestTimeout(Duration requestTimeout) {
+            Assert.notNull(requestTimeout, "requestTimeout");
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Http protocol version, Http2 negotiated by default.
+         */
+        public HttpClientOptionsBuilder version(Version version) {
+            Assert.notNull(version, "version");
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Redirect policy.
+         */
+        public HttpClientOptionsBuilder followRedirects(Redirect followRedirects) {
+            Assert.notNull(followRedirects, "followRedirects");
+            this.followRedirects = followRedirects;
+            return this;
+        }
+
+        /**
+         * Invoked around each request, can be called several times.
+         */
+        public HttpClientOptionsBuilder instrumentation(RequestInstrumentation instrumentation) {
+            Assert.notNull(instrumentation, "instrumentation");
+            this.instrumentations.add(instrumentation);
+            return this;
+        }
+
+        /**
+         * Retries of transient failures, disabled by default (see {@link RetryPolicy#defaults()}).
+         */
+        public HttpClientOptionsBuilder retryPolicy(RetryPolicy retryPolicy) {
+            Assert.notNull(retryPolicy, "retryPolicy");
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Fast-fail of unhealthy endpoints, disabled by default (see {@link CircuitBreakerOptions#defaults()}).
+         */
+        public HttpClientOptionsBuilder circuitBreaker(CircuitBreakerOptions circuitBreaker) {
+            Assert.notNull(circuitBreaker, "circuitBreaker");
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Client-side limits of requests.
+         */
+        public HttpClientOptionsBuilder throttling(ThrottlingOptions throttling) {
+            Assert.notNull(throttling, "throttling");
+            this.throttling = throttling;
+            return this;
+        }
+
+        /**
+         * Hedging of slow reads.
+         */
+        public HttpClientOptionsBuilder hedging(HedgingPolicy hedging) {
+            Assert.notNull(hedging, "hedging");
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * Immutable options.
+         */
+        public HttpClientOptions build() {
+            return new HttpClientOptions(this);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'executorType'.
+     *
+     * @return
+     *       current value of 'executorType'
+     */
+    public ExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    /**
+     * Getter accessor for attribute 'threadPoolSize'.
+     *
+     * @return
+     *       current value of 'threadPoolSize'
+     */
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    /**
+     * Getter accessor for attribute 'connectTimeout'.
+     *
+     * @return
+     *       current value of 'connectTimeout'
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Getter accessor for attribute 'requestTimeout'.
+     *
+     * @return
+     *       current value of 'requestTimeout'
+     */
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Getter accessor for attribute 'version'.
+     *
+     * @return
+     *       current value of 'version'
+     */
+    public Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Getter accessor for attribute 'followRedirects'.
+     *
+     * @return
+     *       current value of 'followRedirects'
+     */
+    public Redirect getFollowRedirects() {
+        return followRedirects;
+    }
+
+    /**
+     * Getter accessor for attribute 'instrumentations'.
+     *
+     * @return
+     *       current value of 'instrumentations'
+     */
+    public List<RequestInstrumentation> getInstrumentations() {
+        return instrumentations;
+    }
+
+    /**
+     * Getter accessor for attribute 'retryPolicy'.
+     *
+     * @return
+     *       current value of 'retryPolicy'
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Getter accessor for attribute 'circuitBreaker'.
+     *
+     * @return
+     *       current value of 'circuitBreaker'
+     */
+    public CircuitBreakerOptions getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Getter accessor for attribute 'throttling'.
+     *
+     * @return
+     *       current value of 'throttling'
+     */
+    public ThrottlingOptions getThrottling() {
+        return throttling;
+    }
+
+    /**
+     * Getter accessor for attribute 'hedging'.
+     *
+     * @return
+     *       current value of 'hedging'
+     */
+    public HedgingPolicy getHedging() {
+        return hedging;
+    }
+
+}
@@ -0,0 +1,70 @@
+package io.stargate.sdk.http;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Token bucket: refilled at 'permitsPerSecond', holding at most 'burst' permits.
+ *
+ * A permit can be reserved in advance, the caller is told how long to wait instead of
+ * being blocked here which lets async callers schedule the request without holding a thread.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RateLimiter {
+    
+    /** Refill rate. */
+    private final double permitsPerNano;
+    
+    /** Capacity. */
+    private final double burst;
+    
+    /** Available permits, negative when permits are reserved in advance. */
+    private double stored;
+    
+    /** Last refill (System.nanoTime). */
+    private long lastRefill;
+    
+    /**
+     * Full constructor.
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        Assert.isTrue(permitsPerSecond > 0, "Rate should be greater than 0");
+        Assert.isTrue(burst > 0, "Burst should be greater than 0");
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.burst          = burst;
+        this.stored         = burst;
+        this.lastRefill     = System.nanoTime();
+    }
+    
+    /**
+     * Reserve a permit.
+     *
+     * @param maxWaitNanos
+     *      maximum time the caller accepts to wait, 0 to only take an available permit
+     * @return
+     *      time to wait before using the permit in nanoseconds, -1 if it exceeds 'maxWaitNanos' (nothing reserved)
+     */
+    public synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        stored     = Math.min(burst, stored + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        if (stored >= 1) {
+            stored -= 1;
+            return 0;
+        }
+        long wait = (long) Math.ceil((1 - stored) / permitsPerNano);
+        if (wait > maxWaitNanos) {
+            return -1;
+        }
+        stored -= 1;
+        return wait;
+    }
+    
+    /**
+     * Take a permit if one is available.
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+}
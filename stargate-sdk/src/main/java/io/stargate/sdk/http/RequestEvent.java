@@ -0,0 +1,143 @@
+package io.stargate.sdk.http;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Outcome of a request, provided to {@link RequestInstrumentation}.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RequestEvent {
+    
+    /** Status code when no response has been received. */
+    public static final int NO_STATUS = -1;
+    
+    /** Logical operation, e.g. 'collection.search'. */
+    private final String operationName;
+    
+    /** Request initially sent. */
+    private final HttpRequest request;
+    
+    /** Status of last response or {@link #NO_STATUS}. */
+    private final int statusCode;
+    
+    /** Error raised when no response has been received. */
+    private final Throwable error;
+    
+    /** Time from first send to last response, retries included. */
+    private final Duration latency;
+    
+    /** Size of the request body, -1 if unknown. */
+    private final long requestBytes;
+    
+    /** Size of the response body, -1 if unknown. */
+    private final long responseBytes;
+    
+    /** Number of requests sent after the first one. */
+    private final int retryCount;
+    
+    /**
+     * Full constructor.
+     */
+    public RequestEvent(String operationName, HttpRequest request, int statusCode, Throwable error, 
+            Duration latency, long requestBytes, long responseBytes, int retryCount) {
+        this.operationName = operationName;
+        this.request       = request;
+        this.statusCode    = statusCode;
+        this.error         = error;
+        this.latency       = latency;
+        this.requestBytes  = requestBytes;
+        this.responseBytes = responseBytes;
+        this.retryCount    = retryCount;
+    }
+    
+    /**
+     * Response received with a status lower than 400.
+     */
+    public boolean isSuccess() {
+        return null == error && statusCode != NO_STATUS && statusCode < 400;
+    }
+    
+    /**
+     * Getter accessor for attribute 'operationName'.
+     *
+     * @return
+     *       current value of 'operationName'
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+    
+    /**
+     * Getter accessor for attribute 'request'.
+     *
+     * @return
+     *       current value of 'request'
+     */
+    public HttpRequest getRequest() {
+        return request;
+    }
+    
+    /**
+     * Getter accessor for attribute 'statusCode'.
+     *
+     * @return
+     *       current value of 'statusCode'
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    /**
+     * Getter accessor for attribute 'error'.
+     *
+     * @return
+     *       current value of 'error'
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+    
+    /**
+     * Getter accessor for attribute 'latency'.
+     *
+     * @return
+     *       current value of 'latency'
+     */
+    public Duration getLatency() {
+        return latency;
+    }
+    
+    /**
+     * Getter accessor for attribute 'requestBytes'.
+     *
+     * @return
+     *       current value of 'requestBytes'
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+    
+    /**
+     * Getter accessor for attribute 'responseBytes'.
+     *
+     * @return
+     *       current value of 'responseBytes'
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryCount'.
+     *
+     * @return
+     *       current value of 'retryCount'
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+}
@@ -0,0 +1,202 @@
+package io.stargate.sdk.http;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Send hedged requests following a {@link HedgingPolicy}, one instance per Api client.
+ *
+ * The delay of an operation is the configured percentile of its last latencies. The cap works
+ * as a token bucket: each request gives 'maxHedgeRatio' token, each hedge takes one.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RequestHedger {
+    
+    /** Tokens are stored in thousandths to keep a lock-free counter. */
+    private static final long UNIT = 1000;
+    
+    /** Capacity of the bucket, allows a few hedges in a row. */
+    private static final long MAX_TOKENS = 10 * UNIT;
+    
+    /** Settings. */
+    private final HedgingPolicy policy;
+    
+    /** Latencies of each operation. */
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    
+    /** Given back by each request, in thousandths. */
+    private final long tokenRatio;
+    
+    /** Available hedges, in thousandths. */
+    private final AtomicLong tokens = new AtomicLong();
+    
+    /**
+     * Full constructor.
+     */
+    public RequestHedger(HedgingPolicy policy) {
+        Assert.notNull(policy, "policy");
+        this.policy     = policy;
+        this.tokenRatio = Math.max(1, (long) (policy.getMaxHedgeRatio() * UNIT));
+    }
+    
+    /**
+     * Send the attempt, then a second one if the first has not completed after the delay of the
+     * operation. The first response wins, an error is returned only if both attempts fail.
+     *
+     * @param operationName
+     *      logical operation, e.g. 'document.find'
+     * @param attempt
+     *      send the request once
+     * @param onHedge
+     *      invoked when a hedge completes with the operation and whether it won
+     */
+    public <T> CompletableFuture<T> send(String operationName, Supplier<CompletableFuture<T>> attempt,
+            BiConsumer<String, Boolean> onHedge) {
+        tokens.accumulateAndGet(tokenRatio, (current, ratio) -> Math.min(MAX_TOKENS, current + ratio));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Attempts not completed yet, the last failure is returned
+        AtomicInteger pending = new AtomicInteger(1);
+        timed(operationName, attempt).whenComplete((res, error) -> complete(result, pending, res, error));
+        CompletableFuture.delayedExecutor(getDelayNanos(operationName), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || !tryHedge() || !pending.compareAndSet(1, 2)) {
+                return;
+            }
+            timed(operationName, attempt).whenComplete((res, error) -> {
+                boolean won = complete(result, pending, res, error);
+                onHedge.accept(operationName, won);
+            });
+        });
+        return result;
+    }
+    
+    private <T> boolean complete(CompletableFuture<T> result, AtomicInteger pending, T res, Throwable error) {
+        if (null == error) {
+            return result.complete(res);
+        }
+        if (0 == pending.decrementAndGet()) {
+            result.completeExceptionally(error);
+        }
+        return false;
+    }
+    
+    private <T> CompletableFuture<T> timed(String operationName, Supplier<CompletableFuture<T>> attempt) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = attempt.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((res, error) -> {
+            if (null == error) {
+                recordLatency(operationName, System.nanoTime() - start);
+            }
+        });
+    }
+    
+    private boolean tryHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - UNIT));
+        return true;
+    }
+    
+    /**
+     * Latency of a successful attempt of the operation.
+     */
+    public void recordLatency(String operationName, long latencyNanos) {
+        latencies.computeIfAbsent(operationName, op -> new LatencyWindow(policy.getWindowSize()))
+                 .record(latencyNanos);
+    }
+    
+    /**
+     * Delay before hedging a request of the operation, 'maxDelay' until the window is full.
+     */
+    public long getDelayNanos(String operationName) {
+        long min = policy.getMinDelay().toNanos();
+        long max = policy.getMaxDelay().toNanos();
+        LatencyWindow window = latencies.get(operationName);
+        if (null == window) {
+            return max;
+        }
+        long percentile = window.getPercentile(policy.getPercentile());
+        return (percentile < 0) ? max : Math.max(min, Math.min(max, percentile));
+    }
+    
+    /**
+     * Number of hedges currently allowed.
+     */
+    public double getAvailableHedges() {
+        return (double) tokens.get() / UNIT;
+    }
+    
+    /**
+     * Last latencies of an operation, the percentile is computed again every tenth sample.
+     */
+    private static final class LatencyWindow {
+        
+        private final long[] samples;
+        
+        private int next;
+        
+        private boolean full;
+        
+        private int sinceComputed;
+        
+        private long percentile = -1;
+        
+        private double computedFor = -1;
+        
+        private LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+        
+        private synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            full = full || 0 == next;
+            if (++sinceComputed == 10) {
+                sinceComputed = 0;
+                computedFor   = -1;
+            }
+        }
+        
+        private synchronized long getPercentile(double p) {
+            if (!full) {
+                return -1;
+            }
+            if (computedFor != p) {
+                long[] sorted = Arrays.copyOf(samples, samples.length);
+                Arrays.sort(sorted);
+                percentile  = sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+                computedFor = p;
+            }
+            return percentile;
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'policy'.
+     *
+     * @return
+     *       current value of 'policy'
+     */
+    public HedgingPolicy getPolicy() {
+        return policy;
+    }
+
+}
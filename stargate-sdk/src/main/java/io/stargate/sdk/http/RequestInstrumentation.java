@@ -0,0 +1,57 @@
+package io.stargate.sdk.http;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Invoked around every http request sent by an Api client (document, rest, graphQL, devops).
+ *
+ * Register implementations with {@link HttpClientOptions.HttpClientOptionsBuilder#instrumentation(RequestInstrumentation)}
+ * or at runtime with {@link io.stargate.sdk.utils.ApiSupport#addInstrumentation(RequestInstrumentation)}.
+ * Callbacks run on the calling thread (sync) or on the http client threads (async), they should
+ * be fast and must not throw.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public interface RequestInstrumentation {
+    
+    /**
+     * A request is about to be sent (first attempt).
+     *
+     * @param operationName
+     *      logical operation, e.g. 'document.upsert'
+     * @param request
+     *      request sent, same instance as {@link RequestEvent#getRequest()}
+     */
+    default void onRequestStart(String operationName, HttpRequest request) {}
+    
+    /**
+     * The request completed, successfully or not, after all retries.
+     *
+     * @param event
+     *      operation, status, latency, sizes and retries
+     */
+    void onRequestComplete(RequestEvent event);
+    
+    /**
+     * The circuit breaker of an endpoint changed its state.
+     *
+     * @param endpoint
+     *      endpoint protected by the breaker (scheme://host:port)
+     * @param from
+     *      previous state
+     * @param to
+     *      new state
+     */
+    default void onCircuitBreakerStateChange(String endpoint, CircuitBreaker.State from, CircuitBreaker.State to) {}
+    
+    /**
+     * A hedged request (see {@link HedgingPolicy}) completed.
+     *
+     * @param operationName
+     *      logical operation, e.g. 'document.find'
+     * @param won
+     *      the hedge answered first, its response has been returned
+     */
+    default void onHedgedRequest(String operationName, boolean won) {}
+
+}
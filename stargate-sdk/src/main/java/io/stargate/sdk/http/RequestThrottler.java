@@ -0,0 +1,188 @@
+package io.stargate.sdk.http;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.stargate.sdk.exception.RequestThrottledException;
+import io.stargate.sdk.http.ThrottlingOptions.Mode;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Client-side limits of requests per endpoint (scheme://host:port), see {@link ThrottlingOptions}.
+ *
+ * One instance can be shared by several Api clients reaching the same database so that they
+ * share its quota (document and rest Apis of a {@code StargateClient}).
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RequestThrottler {
+    
+    /** Settings. */
+    private final ThrottlingOptions options;
+    
+    /** Limiters of each endpoint. */
+    private final Map<String, EndpointLimiters> endpoints = new ConcurrentHashMap<>();
+    
+    /**
+     * Full constructor.
+     */
+    public RequestThrottler(ThrottlingOptions options) {
+        Assert.notNull(options, "options");
+        this.options = options;
+    }
+    
+    /**
+     * Wait for a permit to send a request, following {@link ThrottlingOptions#getMode()}.
+     *
+     * @throws RequestThrottledException
+     *      no permit available in time
+     */
+    public Permit acquire(URI uri) throws InterruptedException {
+        EndpointLimiters limiters = getEndpoint(uri);
+        long start   = System.nanoTime();
+        long maxWait = maxWaitNanos();
+        if (null != limiters.rate) {
+            long wait = limiters.rate.reserve(maxWait);
+            if (wait < 0) {
+                throw new RequestThrottledException(limiters.endpoint, "request rate");
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        if (null == limiters.concurrency) {
+            return new Permit(null);
+        }
+        CompletableFuture<Void> waiter = limiters.concurrency.acquire(Mode.BLOCK == options.getMode());
+        if (null == waiter) {
+            throw new RequestThrottledException(limiters.endpoint, "concurrent requests");
+        }
+        try {
+            waiter.get(Math.max(0, maxWait - (System.nanoTime() - start)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (!limiters.concurrency.cancel(waiter)) {
+                // Granted meanwhile
+                limiters.concurrency.release(RequestEvent.NO_STATUS);
+            }
+            if (e instanceof InterruptedException) {
+                throw (InterruptedException) e;
+            }
+            throw new RequestThrottledException(limiters.endpoint, "concurrent requests");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Permit cannot fail", e);
+        }
+        return new Permit(limiters.concurrency);
+    }
+    
+    /**
+     * Permit to send a request, delayed instead of blocking a thread.
+     */
+    public CompletableFuture<Permit> acquireAsync(URI uri) {
+        EndpointLimiters limiters = getEndpoint(uri);
+        long maxWait = maxWaitNanos();
+        CompletableFuture<Void> ready = CompletableFuture.completedFuture(null);
+        if (null != limiters.rate) {
+            long wait = limiters.rate.reserve(maxWait);
+            if (wait < 0) {
+                return CompletableFuture.failedFuture(new RequestThrottledException(limiters.endpoint, "request rate"));
+            }
+            if (wait > 0) {
+                ready = CompletableFuture.runAsync(() -> {},
+                        CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS));
+            }
+        }
+        if (null == limiters.concurrency) {
+            return ready.thenApply(v -> new Permit(null));
+        }
+        return ready.thenCompose(v -> {
+            CompletableFuture<Void> waiter = limiters.concurrency.acquire(Mode.BLOCK == options.getMode());
+            if (null == waiter) {
+                return CompletableFuture.failedFuture(new RequestThrottledException(limiters.endpoint, "concurrent requests"));
+            }
+            if (!waiter.isDone()) {
+                CompletableFuture.delayedExecutor(maxWait, TimeUnit.NANOSECONDS).execute(() -> {
+                    // Removed from the queue, the permit will not be granted
+                    if (limiters.concurrency.cancel(waiter)) {
+                        waiter.completeExceptionally(new RequestThrottledException(limiters.endpoint, "concurrent requests"));
+                    }
+                });
+            }
+            return waiter.thenApply(granted -> new Permit(limiters.concurrency));
+        });
+    }
+    
+    private long maxWaitNanos() {
+        return (Mode.REJECT == options.getMode()) ? 0 : options.getMaxWait().toNanos();
+    }
+    
+    private EndpointLimiters getEndpoint(URI uri) {
+        return endpoints.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(), EndpointLimiters::new);
+    }
+    
+    /**
+     * Current concurrency limit of an endpoint (adaptive mode), -1 when concurrency is not limited.
+     */
+    public int getConcurrencyLimit(URI uri) {
+        ConcurrencyLimiter concurrency = getEndpoint(uri).concurrency;
+        return (null == concurrency) ? -1 : concurrency.getLimit();
+    }
+    
+    /**
+     * Limiters of one endpoint.
+     */
+    private final class EndpointLimiters {
+        
+        private final String endpoint;
+        
+        private final RateLimiter rate;
+        
+        private final ConcurrencyLimiter concurrency;
+        
+        private EndpointLimiters(String endpoint) {
+            this.endpoint    = endpoint;
+            this.rate        = (options.getMaxRequestsPerSecond() > 0) ?
+                    new RateLimiter(options.getMaxRequestsPerSecond(), options.getBurst()) : null;
+            this.concurrency = (options.getMaxConcurrentRequests() > 0) ?
+                    new ConcurrencyLimiter(options.getMaxConcurrentRequests(),
+                            options.getMinConcurrentRequests(), options.isAdaptive()) : null;
+        }
+    }
+    
+    /**
+     * Granted permit, to release when the response is received.
+     */
+    public static final class Permit {
+        
+        private final ConcurrencyLimiter concurrency;
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(ConcurrencyLimiter concurrency) {
+            this.concurrency = concurrency;
+        }
+        
+        /**
+         * Release the permit (once), the status adapts the concurrency limit.
+         */
+        public void release(int statusCode) {
+            if (null != concurrency && released.compareAndSet(false, true)) {
+                concurrency.release(statusCode);
+            }
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'options'.
+     *
+     * @return
+     *       current value of 'options'
+     */
+    public ThrottlingOptions getOptions() {
+        return options;
+    }
+
+}
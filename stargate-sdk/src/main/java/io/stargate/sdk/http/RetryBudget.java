@@ -0,0 +1,67 @@
+package io.stargate.sdk.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttling of retries: each failure takes one token, each success gives back 'tokenRatio'
+ * token and retries are only allowed while more than half of the tokens are available.
+ *
+ * When most requests are failing the budget drains and failures are returned to the caller
+ * at once instead of multiplying the load on a struggling cluster.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RetryBudget {
+    
+    /** Default number of tokens. */
+    public static final int DEFAULT_MAX_TOKENS = 10;
+    
+    /** Default tokens given back for each success. */
+    public static final double DEFAULT_TOKEN_RATIO = 0.1;
+    
+    /** Tokens are stored in thousandths to keep a lock-free counter. */
+    private static final long UNIT = 1000;
+    
+    /** Capacity, in thousandths. */
+    private final long maxTokens;
+    
+    /** Given back for each success, in thousandths. */
+    private final long tokenRatio;
+    
+    /** Available tokens, in thousandths. */
+    private final AtomicLong tokens;
+    
+    /**
+     * Full constructor.
+     */
+    public RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens  = maxTokens * UNIT;
+        this.tokenRatio = Math.max(1, (long) (tokenRatio * UNIT));
+        this.tokens     = new AtomicLong(this.maxTokens);
+    }
+    
+    /**
+     * A request succeeded (or failed with a non transient error).
+     */
+    public void onSuccess() {
+        tokens.accumulateAndGet(tokenRatio, (current, ratio) -> Math.min(maxTokens, current + ratio));
+    }
+    
+    /**
+     * A request failed with a transient error.
+     *
+     * @return
+     *      if a retry is allowed
+     */
+    public boolean onFailure() {
+        return tokens.accumulateAndGet(UNIT, (current, unit) -> Math.max(0, current - unit)) > maxTokens / 2;
+    }
+    
+    /**
+     * Number of tokens currently available.
+     */
+    public double getAvailableTokens() {
+        return (double) tokens.get() / UNIT;
+    }
+
+}
@@ -0,0 +1,293 @@
+package io.stargate.sdk.http;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Retries of transient failures (I/O errors, timeouts, http 429, 502, 503, 504) with an exponential backoff.
+ *
+ * Only idempotent requests (GET, HEAD, PUT, DELETE) are retried unless the caller opts in for
+ * POST requests, globally or per operation name (see {@link RequestEvent#getOperationName()}).
+ * Each Api client owns a {@link RetryBudget} so that retries cannot amplify an outage.
+ * Requests are not retried unless a policy is set in the {@link HttpClientOptions}.
+ *
+ * RetryPolicy.builder()
+ *            .maxAttempts(5)
+ *            .retryNonIdempotent("collection.createNewDocument")
+ *            .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RetryPolicy {
+    
+    /** Default number of attempts, first one included. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    
+    /** Default delay before first retry, doubled at each attempt. */
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(100);
+    
+    /** Default maximum delay between two attempts. */
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(5);
+    
+    /** Default part of the delay which is randomized. */
+    public static final double DEFAULT_JITTER = 0.5;
+    
+    /** Default status codes worth a retry. */
+    public static final Set<Integer> DEFAULT_RETRYABLE_STATUS =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(429, 502, 503, 504)));
+    
+    /** Http methods safe to send twice. */
+    public static final Set<String> IDEMPOTENT_METHODS =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS")));
+    
+    /** Number of attempts, first one included. */
+    private final int maxAttempts;
+    
+    /** Delay before first retry. */
+    private final Duration initialDelay;
+    
+    /** Upper bound of the delay. */
+    private final Duration maxDelay;
+    
+    /** Part of the delay which is randomized, between 0 and 1. */
+    private final double jitter;
+    
+    /** Status codes worth a retry. */
+    private final Set<Integer> retryableStatus;
+    
+    /** Retry POST requests. */
+    private final boolean retryNonIdempotent;
+    
+    /** Operations (POST) the caller accepts to retry. */
+    private final Set<String> retryableOperations;
+    
+    /** Size of the retry budget. */
+    private final int budgetMaxTokens;
+    
+    /** Tokens given back to the budget by each successful request. */
+    private final double budgetTokenRatio;
+    
+    private RetryPolicy(RetryPolicyBuilder builder) {
+        this.maxAttempts         = builder.maxAttempts;
+        this.initialDelay        = builder.initialDelay;
+        this.maxDelay            = builder.maxDelay;
+        this.jitter              = builder.jitter;
+        this.retryableStatus     = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatus));
+        this.retryNonIdempotent  = builder.retryNonIdempotent;
+        this.retryableOperations = Collections.unmodifiableSet(new HashSet<>(builder.retryableOperations));
+        this.budgetMaxTokens     = builder.budgetMaxTokens;
+        this.budgetTokenRatio    = builder.budgetTokenRatio;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static RetryPolicyBuilder builder() {
+        return new RetryPolicyBuilder();
+    }
+    
+    /**
+     * Recommended policy: 3 attempts of idempotent requests, backoff from 100ms to 5s.
+     */
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * Never retry, failures are returned to the caller (default).
+     */
+    public static RetryPolicy disabled() {
+        return builder().maxAttempts(1).build();
+    }
+    
+    /**
+     * Create the budget of an Api client.
+     */
+    public RetryBudget createBudget() {
+        return new RetryBudget(budgetMaxTokens, budgetTokenRatio);
+    }
+    
+    /**
+     * The request can be sent more than once.
+     */
+    public boolean isRetryable(String operationName, HttpRequest request) {
+        return maxAttempts > 1 && (retryNonIdempotent
+                || IDEMPOTENT_METHODS.contains(request.method())
+                || retryableOperations.contains(operationName));
+    }
+    
+    /**
+     * The status code denotes a transient failure.
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return retryableStatus.contains(statusCode);
+    }
+    
+    /**
+     * The error denotes a transient failure (connection reset, timeout).
+     */
+    public boolean isRetryableError(Throwable error) {
+        return error instanceof IOException || error.getCause() instanceof IOException;
+    }
+    
+    /**
+     * Delay before the retry number 'attempt' (1 based), honouring a 'Retry-After' header in seconds.
+     */
+    public long getDelayMillis(int attempt, HttpResponse<?> response) {
+        long max = maxDelay.toMillis();
+        if (null != response) {
+            try {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(-1);
+                if (retryAfter >= 0) {
+                    return Math.min(retryAfter * 1000, max);
+                }
+            } catch (NumberFormatException nfe) {
+                // Http date format, use the backoff
+            }
+        }
+        long delay = Math.min(initialDelay.toMillis() << Math.min(attempt - 1, 20), max);
+        long random = (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+        return delay - random;
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class RetryPolicyBuilder {
+        
+        private int maxAttempts                 = DEFAULT_MAX_ATTEMPTS;
+        private Duration initialDelay           = DEFAULT_INITIAL_DELAY;
+        private Duration maxDelay               = DEFAULT_MAX_DELAY;
+        private double jitter                   = DEFAULT_JITTER;
+        private Set<Integer> retryableStatus    = new HashSet<>(DEFAULT_RETRYABLE_STATUS);
+        private boolean retryNonIdempotent      = false;
+        private Set<String> retryableOperations = new HashSet<>();
+        private int budgetMaxTokens             = RetryBudget.DEFAULT_MAX_TOKENS;
+        private double budgetTokenRatio         = RetryBudget.DEFAULT_TOKEN_RATIO;
+        
+        public RetryPolicyBuilder maxAttempts(int maxAttempts) {
+            Assert.isTrue(maxAttempts > 0, "Max attempts should be greater than 0");
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        public RetryPolicyBuilder initialDelay(Duration initialDelay) {
+            Assert.notNull(initialDelay, "initialDelay");
+            this.initialDelay = initialDelay;
+            return this;
+        }
+        public RetryPolicyBuilder maxDelay(Duration maxDelay) {
+            Assert.notNull(maxDelay, "maxDelay");
+            this.maxDelay = maxDelay;
+            return this;
+        }
+        public RetryPolicyBuilder jitter(double jitter) {
+            Assert.isTrue(jitter >= 0 && jitter <= 1, "Jitter should be between 0 and 1");
+            this.jitter = jitter;
+            return this;
+        }
+        public RetryPolicyBuilder retryableStatus(Integer... statusCodes) {
+            Assert.notNull(statusCodes, "statusCodes");
+            this.retryableStatus = new HashSet<>(Arrays.asList(statusCodes));
+            return this;
+        }
+        public RetryPolicyBuilder retryNonIdempotent() {
+            this.retryNonIdempotent = true;
+            return this;
+        }
+        public RetryPolicyBuilder retryNonIdempotent(String... operationNames) {
+            Assert.notNull(operationNames, "operationNames");
+            this.retryableOperations.addAll(Arrays.asList(operationNames));
+            return this;
+        }
+        public RetryPolicyBuilder budget(int maxTokens, double tokenRatio) {
+            Assert.isTrue(maxTokens > 0, "Budget should be greater than 0");
+            Assert.isTrue(tokenRatio > 0, "Token ratio should be greater than 0");
+            this.budgetMaxTokens  = maxTokens;
+            this.budgetTokenRatio = tokenRatio;
+            return this;
+        }
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxAttempts'.
+     *
+     * @return
+     *       current value of 'maxAttempts'
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    /**
+     * Getter accessor for attribute 'initialDelay'.
+     *
+     * @return
+     *       current value of 'initialDelay'
+     */
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxDelay'.
+     *
+     * @return
+     *       current value of 'maxDelay'
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+    
+    /**
+     * Getter accessor for attribute 'jitter'.
+     *
+     * @return
+     *       current value of 'jitter'
+     */
+    public double getJitter() {
+        return jitter;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryableStatus'.
+     *
+     * @return
+     *       current value of 'retryableStatus'
+     */
+    public Set<Integer> getRetryableStatus() {
+        return retryableStatus;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryNonIdempotent'.
+     *
+     * @return
+     *       current value of 'retryNonIdempotent'
+     */
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryableOperations'.
+     *
+     * @return
+     *       current value of 'retryableOperations'
+     */
+    public Set<String> getRetryableOperations() {
+        return retryableOperations;
+    }
+
+}
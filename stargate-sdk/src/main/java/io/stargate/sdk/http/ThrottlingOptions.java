@@ -0,0 +1,221 @@
+package io.stargate.sdk.http;
+
+import java.time.Duration;
+
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Settings of the {@link RequestThrottler}: client-side limits applied per endpoint to stay
+ * below the request quotas of the database.
+ *
+ * - a token bucket limits the number of requests per second, 'burst' requests can be sent at once
+ * - a concurrency limiter bounds the number of requests in flight. In adaptive mode the limit
+ *   shrinks on each http 429 and slowly grows back on success (AIMD)
+ *
+ * When no permit is available the caller waits up to 'maxWait' ({@link Mode#BLOCK}) or gets a
+ * {@link io.stargate.sdk.exception.RequestThrottledException} at once ({@link Mode#REJECT}).
+ * Async calls never block a thread, they are delayed.
+ *
+ * ThrottlingOptions.builder()
+ *                  .maxRequestsPerSecond(500)
+ *                  .maxConcurrentRequests(64)
+ *                  .adaptive()
+ *                  .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ThrottlingOptions {
+    
+    /** Default time to wait for a permit. */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(10);
+    
+    /** Default lower bound of the adaptive concurrency limit. */
+    public static final int DEFAULT_MIN_CONCURRENT_REQUESTS = 1;
+    
+    /**
+     * Behaviour when no permit is available.
+     */
+    public static enum Mode {
+        /** Wait up to 'maxWait' for a permit. */
+        BLOCK,
+        /** Fail at once. */
+        REJECT;
+    }
+    
+    /** Requests per second, 0 for unlimited. */
+    private final double maxRequestsPerSecond;
+    
+    /** Requests sent at once after an idle period. */
+    private final int burst;
+    
+    /** Requests in flight, 0 for unlimited. */
+    private final int maxConcurrentRequests;
+    
+    /** Shrink the concurrency limit on http 429. */
+    private final boolean adaptive;
+    
+    /** Lower bound of the adaptive limit. */
+    private final int minConcurrentRequests;
+    
+    /** Behaviour when no permit is available. */
+    private final Mode mode;
+    
+    /** Time to wait for a permit in {@link Mode#BLOCK}. */
+    private final Duration maxWait;
+    
+    private ThrottlingOptions(ThrottlingOptionsBuilder builder) {
+        this.maxRequestsPerSecond  = builder.maxRequestsPerSecond;
+        this.burst                 = (builder.burst > 0) ? builder.burst : Math.max(1, (int) builder.maxRequestsPerSecond);
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.adaptive              = builder.adaptive;
+        this.minConcurrentRequests = Math.min(builder.minConcurrentRequests, Math.max(1, builder.maxConcurrentRequests));
+        this.mode                  = builder.mode;
+        this.maxWait               = builder.maxWait;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static ThrottlingOptionsBuilder builder() {
+        return new ThrottlingOptionsBuilder();
+    }
+    
+    /**
+     * No client-side limits.
+     */
+    public static ThrottlingOptions disabled() {
+        return builder().build();
+    }
+    
+    /**
+     * At least one of the limits is set.
+     */
+    public boolean isEnabled() {
+        return maxRequestsPerSecond > 0 || maxConcurrentRequests > 0;
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class ThrottlingOptionsBuilder {
+        
+        private double maxRequestsPerSecond = 0;
+        private int burst                   = 0;
+        private int maxConcurrentRequests   = 0;
+        private boolean adaptive            = false;
+        private int minConcurrentRequests   = DEFAULT_MIN_CONCURRENT_REQUESTS;
+        private Mode mode                   = Mode.BLOCK;
+        private Duration maxWait            = DEFAULT_MAX_WAIT;
+        
+        public ThrottlingOptionsBuilder maxRequestsPerSecond(double maxRequestsPerSecond) {
+            Assert.isTrue(maxRequestsPerSecond > 0, "Rate should be greater than 0");
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+            return this;
+        }
+        public ThrottlingOptionsBuilder burst(int burst) {
+            Assert.isTrue(burst > 0, "Burst should be greater than 0");
+            this.burst = burst;
+            return this;
+        }
+        public ThrottlingOptionsBuilder maxConcurrentRequests(int maxConcurrentRequests) {
+            Assert.isTrue(maxConcurrentRequests > 0, "Concurrency should be greater than 0");
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+        public ThrottlingOptionsBuilder adaptive() {
+            this.adaptive = true;
+            return this;
+        }
+        public ThrottlingOptionsBuilder adaptive(int minConcurrentRequests) {
+            Assert.isTrue(minConcurrentRequests > 0, "Concurrency should be greater than 0");
+            this.adaptive              = true;
+            this.minConcurrentRequests = minConcurrentRequests;
+            return this;
+        }
+        public ThrottlingOptionsBuilder mode(Mode mode) {
+            Assert.notNull(mode, "mode");
+            this.mode = mode;
+            return this;
+        }
+        public ThrottlingOptionsBuilder maxWait(Duration maxWait) {
+            Assert.notNull(maxWait, "maxWait");
+            this.maxWait = maxWait;
+            return this;
+        }
+        public ThrottlingOptions build() {
+            Assert.isTrue(!adaptive || maxConcurrentRequests > 0, "Adaptive mode requires maxConcurrentRequests");
+            return new ThrottlingOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxRequestsPerSecond'.
+     *
+     * @return
+     *       current value of 'maxRequestsPerSecond'
+     */
+    public double getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+    
+    /**
+     * Getter accessor for attribute 'burst'.
+     *
+     * @return
+     *       current value of 'burst'
+     */
+    public int getBurst() {
+        return burst;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxConcurrentRequests'.
+     *
+     * @return
+     *       current value of 'maxConcurrentRequests'
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+    
+    /**
+     * Getter accessor for attribute 'adaptive'.
+     *
+     * @return
+     *       current value of 'adaptive'
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+    
+    /**
+     * Getter accessor for attribute 'minConcurrentRequests'.
+     *
+     * @return
+     *       current value of 'minConcurrentRequests'
+     */
+    public int getMinConcurrentRequests() {
+        return minConcurrentRequests;
+    }
+    
+    /**
+     * Getter accessor for attribute 'mode'.
+     *
+     * @return
+     *       current value of 'mode'
+     */
+    public Mode getMode() {
+        return mode;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxWait'.
+     *
+     * @return
+     *       current value of 'maxWait'
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+}
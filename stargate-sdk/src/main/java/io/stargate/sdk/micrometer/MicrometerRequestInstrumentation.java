@@ -0,0 +1,167 @@
+package io.stargate.sdk.micrometer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.stargate.sdk.exception.CircuitBreakerOpenException;
+import io.stargate.sdk.exception.RequestThrottledException;
+import io.stargate.sdk.http.CircuitBreaker;
+import io.stargate.sdk.http.RequestEvent;
+import io.stargate.sdk.http.RequestInstrumentation;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Publish SDK requests as Micrometer meters (requires 'io.micrometer:micrometer-core').
+ *
+ * - stargate.sdk.requests (timer): latency with histogram and p50/p95/p99, tags operation, method, status, outcome
+ * - stargate.sdk.request.size / stargate.sdk.response.size (summary, bytes): tag operation
+ * - stargate.sdk.retries (counter): requests sent again, tag operation
+ * - stargate.sdk.circuitbreaker.transitions (counter): state changes of circuit breakers, tags endpoint, state
+ * - stargate.sdk.hedges (counter): hedged requests sent, tags operation, won
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class MicrometerRequestInstrumentation implements RequestInstrumentation {
+    
+    /** Latency timer. */
+    public static final String METER_REQUESTS = "stargate.sdk.requests";
+    
+    /** Request body sizes. */
+    public static final String METER_REQUEST_SIZE = "stargate.sdk.request.size";
+    
+    /** Response body sizes. */
+    public static final String METER_RESPONSE_SIZE = "stargate.sdk.response.size";
+    
+    /** Retry counter. */
+    public static final String METER_RETRIES = "stargate.sdk.retries";
+    
+    /** Circuit breaker state changes. */
+    public static final String METER_CIRCUIT_BREAKER = "stargate.sdk.circuitbreaker.transitions";
+    
+    /** Hedged requests. */
+    public static final String METER_HEDGES = "stargate.sdk.hedges";
+    
+    /** Target registry. */
+    private final MeterRegistry registry;
+    
+    /** Tags added to every meter. */
+    private final Tags commonTags;
+    
+    /** Meters already registered, avoid a registry lookup per request. */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> requestSizes  = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hedges  = new ConcurrentHashMap<>();
+    
+    /**
+     * Constructor with the registry.
+     */
+    public MicrometerRequestInstrumentation(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+    
+    /**
+     * Constructor with registry and tags added to every meter.
+     */
+    public MicrometerRequestInstrumentation(MeterRegistry registry, Tags commonTags) {
+        Assert.notNull(registry, "registry");
+        Assert.notNull(commonTags, "commonTags");
+        this.registry   = registry;
+        this.commonTags = commonTags;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void onRequestComplete(RequestEvent event) {
+        String operation = event.getOperationName();
+        String method    = event.getRequest().method();
+        String status    = (event.getStatusCode() == RequestEvent.NO_STATUS) ? "NONE" : String.valueOf(event.getStatusCode());
+        String outcome   = outcome(event);
+        timers.computeIfAbsent(operation + '|' + method + '|' + status + '|' + outcome, k -> Timer
+                .builder(METER_REQUESTS)
+                .description("Requests sent by the Stargate SDK")
+                .tags(commonTags)
+                .tag("operation", operation)
+                .tag("method", method)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry))
+              .record(event.getLatency().toNanos(), TimeUnit.NANOSECONDS);
+        if (event.getRequestBytes() >= 0) {
+            requestSizes.computeIfAbsent(operation, k -> summary(METER_REQUEST_SIZE, operation))
+                        .record(event.getRequestBytes());
+        }
+        if (event.getResponseBytes() >= 0) {
+            responseSizes.computeIfAbsent(operation, k -> summary(METER_RESPONSE_SIZE, operation))
+                         .record(event.getResponseBytes());
+        }
+        if (event.getRetryCount() > 0) {
+            retries.computeIfAbsent(operation, k -> Counter
+                    .builder(METER_RETRIES)
+                    .description("Requests sent again by the Stargate SDK")
+                    .tags(commonTags)
+                    .tag("operation", operation)
+                    .register(registry))
+                   .increment(event.getRetryCount());
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void onCircuitBreakerStateChange(String endpoint, CircuitBreaker.State from, CircuitBreaker.State to) {
+        Counter.builder(METER_CIRCUIT_BREAKER)
+               .description("State changes of the Stargate SDK circuit breakers")
+               .tags(commonTags)
+               .tag("endpoint", endpoint)
+               .tag("state", to.name())
+               .register(registry)
+               .increment();
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void onHedgedRequest(String operationName, boolean won) {
+        hedges.computeIfAbsent(operationName + '|' + won, k -> Counter
+                .builder(METER_HEDGES)
+                .description("Hedged requests sent by the Stargate SDK")
+                .tags(commonTags)
+                .tag("operation", operationName)
+                .tag("won", String.valueOf(won))
+                .register(registry))
+              .increment();
+    }
+    
+    private DistributionSummary summary(String name, String operation) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(commonTags)
+                .tag("operation", operation)
+                .register(registry);
+    }
+    
+    private String outcome(RequestEvent event) {
+        int status = event.getStatusCode();
+        if (event.getError().filter(CircuitBreakerOpenException.class::isInstance).isPresent()) {
+            return "CIRCUIT_OPEN";
+        } else if (event.getError().filter(RequestThrottledException.class::isInstance).isPresent()) {
+            return "THROTTLED";
+        } else if (status == RequestEvent.NO_STATUS) {
+            return "IO_ERROR";
+        } else if (status >= 500) {
+            return "SERVER_ERROR";
+        } else if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+
+}
@@ -7,16 +7,21 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.oss.driver.api.core.CqlSession;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import io.stargate.sdk.cql.CqlExecutor;
 import io.stargate.sdk.doc.Namespace;
+import io.stargate.sdk.http.HttpClientOptions;
 import io.stargate.sdk.utils.ApiResponse;
 import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.SchemaCache;
 
 /**
  * Working with REST API and part of schemas with tables and keyspaces;
@@ -34,10 +39,21 @@ public class ApiRestClient extends ApiSupport {
     /** This the endPoint to invoke to work with different API(s). */
     private final String endPointApiRest;
     
+    /** Rows of tables read and written as CQL statements, null when they go through the Rest Api. */
+    private volatile CqlRowExecutor cqlRowExecutor;
+    
     /**
      * Constructor for ASTRA.
      */
     public ApiRestClient(String username, String password, String endPointAuthentication,  String appToken, String endPointApiRest) {
+        this(username, password, endPointAuthentication, appToken, endPointApiRest, HttpClientOptions.defaults());
+    }
+    
+    /**
+     * Constructor with dedicated http client settings.
+     */
+    public ApiRestClient(String username, String password, String endPointAuthentication,  String appToken, String endPointApiRest, HttpClientOptions options) {
+        super(options);
         hasLength(endPointApiRest, "endPointApiRest");
         hasLength(username, "username");
         hasLength(password, "password");
@@ -50,17 +66,20 @@ public class ApiRestClient extends ApiSupport {
     }
     
     /**
-     * Return list of {@link Namespace}(keyspaces) available.
+     * Return list of {@link Namespace}(keyspaces) available, from the schema cache when enabled.
      * 
      * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getKeyspaces
      */
     public Stream<Keyspace> keyspaces() {
-        
+        return cachedSchema(SchemaCache.KEY_KEYSPACES, this::loadKeyspaces).stream();
+    }
+    
+    private List<Keyspace> loadKeyspaces() {
         HttpResponse<String> res;
         try {
            String      url = endPointApiRest + PATH_SCHEMA + PATH_SCHEMA_KEYSPACES;
-           HttpRequest req = startRequest(url, getToken()).GET().build();
-           res             = httpClient.send(req, BodyHandlers.ofString());
+           HttpRequest req = newRequest(url, getToken()).GET().build();
+           res             = send("keyspace.list", req, BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot list keyspaces", e);
         }
@@ -74,8 +93,7 @@ public class ApiRestClient extends ApiSupport {
         // Response is 200, marshalling
         try {
             TypeReference<ApiResponse<List<Keyspace>>> expectedType = new TypeReference<>(){};
-            return objectMapper.readValue(res.body(), expectedType)
-                               .getData().stream();
+            return objectMapper.readValue(res.body(), expectedType).getData();
         } catch (Exception e) {
             throw new RuntimeException("Cannot Marshall output in 'keyspaces()' body=" + res.body(), e);
         }
@@ -97,6 +115,27 @@ public class ApiRestClient extends ApiSupport {
         return new KeyspaceClient(this, keyspace);
     }
 
+    /**
+     * Run the row operations of the tables as prepared statements on this session, null to use the Rest Api only.
+     */
+    public void setCqlSession(CqlSession cqlSession) {
+        setCqlExecutor((null == cqlSession) ? null : new CqlExecutor(cqlSession));
+    }
+    
+    /**
+     * Run the row operations of the tables with this executor (statements cache shared), null to use the Rest Api only.
+     */
+    public void setCqlExecutor(CqlExecutor cqlExecutor) {
+        this.cqlRowExecutor = (null == cqlExecutor) ? null : new CqlRowExecutor(cqlExecutor);
+    }
+    
+    /**
+     * Executor of row operations over CQL, empty when rows go through the Rest Api.
+     */
+    public Optional<CqlRowExecutor> getCqlRowExecutor() {
+        return Optional.ofNullable(cqlRowExecutor);
+    }
+    
     /**
      * Getter accessor for attribute 'endPointApiRest'.
      *
@@ -0,0 +1,105 @@
+package io.stargate.sdk.rest;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.BulkPipeline;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriteResult;
+import io.stargate.sdk.utils.BulkWriterOptions;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Insert a large number of rows in a table with a bounded number of requests in flight.
+ *
+ * The Rest API has no batch resource: rows are sent as individual inserts pipelined on the
+ * http client, the producer is only pulled when a slot is available. An insert is an upsert
+ * on the primary key, a retry of a transient failure (I/O errors, http 429, 502, 503 and 504)
+ * never duplicates a row. The identifier of a result is the primary key as json.
+ *
+ * BulkWriteReport report = table.bulkWriter(options).write(rows.stream());
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkRowWriter {
+    
+    /** Target table. */
+    private final TableClient tableClient;
+    
+    /** Settings. */
+    private final BulkWriterOptions options;
+    
+    /**
+     * Full constructor.
+     */
+    public BulkRowWriter(TableClient tableClient, BulkWriterOptions options) {
+        Assert.notNull(tableClient, "tableClient");
+        Assert.notNull(options, "options");
+        this.tableClient = tableClient;
+        this.options     = options;
+    }
+    
+    /**
+     * Insert all rows of the stream, blocking until the last one is processed.
+     */
+    public BulkWriteReport write(Stream<? extends Map<String, ?>> rows) {
+        Assert.notNull(rows, "rows");
+        try (Stream<? extends Map<String, ?>> s = rows) {
+            return write(s.iterator());
+        }
+    }
+    
+    /**
+     * Insert all rows of the iterator, blocking until the last one is processed.
+     */
+    public BulkWriteReport write(Iterator<? extends Map<String, ?>> rows) {
+        Assert.notNull(rows, "rows");
+        BulkPipeline pipeline = new BulkPipeline(options.getConcurrency());
+        long index = 0;
+        try {
+            while (rows.hasNext()) {
+                // Blocks the producer when all slots are used, next row pulled once a slot is free
+                long current = index++;
+                pipeline.submit(() -> writeRow(current, rows.next(), 1));
+            }
+            return pipeline.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk write has been interrupted", e);
+        }
+    }
+    
+    /**
+     * Insert the row retrying transient failures.
+     */
+    private CompletableFuture<BulkWriteResult> writeRow(long index, Map<String, ?> row, int attempt) {
+        CompletableFuture<Map<String, Object>> request;
+        try {
+            request = tableClient.insertAsync(row);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        return request.handle((key, ex) -> {
+            if (null == ex) {
+                return CompletableFuture.completedFuture(new BulkWriteResult(index,
+                        TableClient.marshallBody(key, "Cannot marshall primary key"), null, attempt));
+            }
+            Throwable error = Utils.unwrap(ex);
+            if (attempt > options.getMaxRetries() || !BulkPipeline.isTransient(error)) {
+                return CompletableFuture.completedFuture(new BulkWriteResult(index, null, error, attempt));
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(
+                    options.getRetryDelayMillis(attempt), TimeUnit.MILLISECONDS);
+            return CompletableFuture
+                    .runAsync(() -> {}, delayed)
+                    .thenCompose(v -> writeRow(index, row, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+}
@@ -1,15 +1,103 @@
 package io.stargate.sdk.rest;
 
-public class ColumnDefinition {
+import java.io.Serializable;
+
+/**
+ * Column of a table when working with Rest API.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ColumnDefinition implements Serializable {
+    
+    /** Serial. */
+    private static final long serialVersionUID = 2389471230549386218L;
+    
+    /** Column name. */
+    private String name;
+    
+    /** Cql type, e.g. 'text', 'int', 'map&lt;text,int&gt;'. */
+    private String typeDefinition;
+    
+    /** Static column (shared by all rows of a partition). */
+    private boolean isStatic = false;
+    
+    /**
+     * Default constructor.
+     */
+    public ColumnDefinition() {
+    }
+    
+    /**
+     * Regular column.
+     */
+    public ColumnDefinition(String name, String typeDefinition) {
+        this(name, typeDefinition, false);
+    }
     
-    String name;
+    /**
+     * Full constructor.
+     */
+    public ColumnDefinition(String name, String typeDefinition, boolean isStatic) {
+        this.name           = name;
+        this.typeDefinition = typeDefinition;
+        this.isStatic       = isStatic;
+    }
     
-    TypeDefinition typeDefinition;
+    /**
+     * Getter accessor for attribute 'name'.
+     *
+     * @return
+     *       current value of 'name'
+     */
+    public String getName() {
+        return name;
+    }
     
-    String isStatic;
+    /**
+     * Setter accessor for attribute 'name'.
+     * @param name
+     *      new value for 'name '
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
     
+    /**
+     * Getter accessor for attribute 'typeDefinition'.
+     *
+     * @return
+     *       current value of 'typeDefinition'
+     */
+    public String getTypeDefinition() {
+        return typeDefinition;
+    }
     
-    public enum TypeDefinition {
-        text, date;
+    /**
+     * Setter accessor for attribute 'typeDefinition'.
+     * @param typeDefinition
+     *      new value for 'typeDefinition '
+     */
+    public void setTypeDefinition(String typeDefinition) {
+        this.typeDefinition = typeDefinition;
     }
+    
+    /**
+     * Getter accessor for attribute 'static' (json field name).
+     *
+     * @return
+     *       current value of 'isStatic'
+     */
+    public boolean isStatic() {
+        return isStatic;
+    }
+    
+    /**
+     * Setter accessor for attribute 'static' (json field name).
+     * @param isStatic
+     *      new value for 'isStatic '
+     */
+    public void setStatic(boolean isStatic) {
+        this.isStatic = isStatic;
+    }
+
 }
@@ -1,24 +1,94 @@
 package io.stargate.sdk.rest;
 
+import static io.stargate.sdk.utils.ApiSupport.getObjectMapper;
+import static io.stargate.sdk.utils.ApiSupport.handleError;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpResponse;
 import java.util.Optional;
 
-public class ColumnsClient {
+import com.fasterxml.jackson.core.type.TypeReference;
 
-   //https://docs.astra.datastax.com/reference#get_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-columns-column-id-1
+import io.stargate.sdk.utils.ApiResponse;
+
+/**
+ * Operate on a column of a table.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ColumnsClient {
+    
+    /** Astra Client. */
+    private final ApiRestClient restClient;
+    
+    /** Parent table. */
+    private final TableClient tableClient;
+    
+    /** Column name. */
+    private final String columnName;
+    
+    /** Uri of the column schema, built once. */
+    private final URI uriColumn;
+    
+    /**
+     * Full constructor.
+     */
+    public ColumnsClient(ApiRestClient restClient, TableClient tableClient, String columnName) {
+        this.restClient  = restClient;
+        this.tableClient = tableClient;
+        this.columnName  = columnName;
+        this.uriColumn   = URI.create(tableClient.getEndPointSchemaTable()
+                + TableClient.PATH_COLUMNS + "/" + TableClient.encode(columnName));
+    }
+    
+    /**
+     * Get the column definition.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getColumn
+     */
     public Optional<ColumnDefinition> find() {
-        return Optional.empty();
+        HttpResponse<String> response = tableClient.send("column.find",
+                restClient.newRequest(uriColumn, restClient.getToken()).GET().build(),
+                "Cannot find column " + columnName);
+        if (HttpURLConnection.HTTP_NOT_FOUND == response.statusCode()) {
+            return Optional.empty();
+        }
+        handleError(response);
+        try {
+            TypeReference<ApiResponse<ColumnDefinition>> expectedType = new TypeReference<>(){};
+            return Optional.ofNullable(getObjectMapper().readValue(response.body(), expectedType).getData());
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot marshall column definition body=" + response.body(), e);
+        }
     }
     
+    /**
+     * Check it the column exist.
+     */
     public boolean exist() {
         return find().isPresent();
     }
     
-    //https://docs.astra.datastax.com/reference#put_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-columns-column-id-1
-    void replaceColumnDefinition() {}
-    
-    //https://docs.astra.datastax.com/reference#delete_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-columns-column-id-1
-    void delete() {}
-    
+    /**
+     * Delete the column.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/deleteColumn
+     */
+    public void delete() {
+        handleError(tableClient.sendSchemaChange("column.delete",
+                restClient.newRequest(uriColumn, restClient.getToken()).DELETE().build(),
+                "Cannot delete column " + columnName));
+    }
     
+    /**
+     * Getter accessor for attribute 'columnName'.
+     *
+     * @return
+     *       current value of 'columnName'
+     */
+    public String getColumnName() {
+        return columnName;
+    }
     
 }
@@ -0,0 +1,178 @@
+package io.stargate.sdk.rest;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Row stored as an array of values indexed by column position.
+ *
+ * Rows decoded from the same page share a single {@link Columns} header (names and name to
+ * position index), a row costs one array instead of a map with an entry per column.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CompactRow implements Serializable {
+    
+    /** Serial. */
+    private static final long serialVersionUID = -1853024377212434985L;
+    
+    /** Shared header. */
+    private final Columns columns;
+    
+    /** Values, same positions as the header, null when absent. */
+    private final Object[] values;
+    
+    /**
+     * Full constructor.
+     */
+    CompactRow(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values  = values;
+    }
+    
+    /**
+     * Number of columns.
+     */
+    public int size() {
+        return columns.names.length;
+    }
+    
+    /**
+     * Names of the columns in position order.
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columns.names));
+    }
+    
+    /**
+     * Position of a column, -1 if absent.
+     */
+    public int indexOf(String column) {
+        return columns.indexOf(column);
+    }
+    
+    /**
+     * Value at a position.
+     */
+    public Object get(int index) {
+        return (index < values.length) ? values[index] : null;
+    }
+    
+    /**
+     * Value of a column, null if absent.
+     */
+    public Object get(String column) {
+        int index = columns.indexOf(column);
+        return (index < 0) ? null : get(index);
+    }
+    
+    /**
+     * Value of the column converted to the expected type (json mapping).
+     */
+    public <T> T get(String column, Class<T> clazz) {
+        Object value = get(column);
+        if (null == value || clazz.isInstance(value)) {
+            return clazz.cast(value);
+        }
+        return ApiSupport.getObjectMapper().convertValue(value, clazz);
+    }
+    
+    public String getString(String column) {
+        Object value = get(column);
+        return (null == value) ? null : value.toString();
+    }
+    public Integer getInteger(String column) {
+        return get(column, Integer.class);
+    }
+    public Long getLong(String column) {
+        return get(column, Long.class);
+    }
+    public Double getDouble(String column) {
+        return get(column, Double.class);
+    }
+    public Boolean getBoolean(String column) {
+        return get(column, Boolean.class);
+    }
+    
+    /**
+     * Copy as a map keyed by column name.
+     */
+    public Row toRow() {
+        Row row = new Row();
+        for (int i = 0; i < columns.names.length; i++) {
+            row.put(columns.names[i], get(i));
+        }
+        return row;
+    }
+    
+    /**
+     * Header of the row, reused for the next row of the page.
+     */
+    Columns header() {
+        return columns;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return toRow().toString();
+    }
+    
+    /**
+     * Names of the columns and their positions, shared by the rows of a page.
+     */
+    static final class Columns implements Serializable {
+        
+        /** Serial. */
+        private static final long serialVersionUID = 6135097839541372720L;
+        
+        /** Names by position. */
+        private final String[] names;
+        
+        /** Position by name. */
+        private final Map<String, Integer> positions;
+        
+        Columns(String... names) {
+            this.names     = names;
+            this.positions = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                positions.put(names[i], i);
+            }
+        }
+        
+        /**
+         * Position of a column, the expected position is checked first (same order in every row).
+         */
+        int indexOf(String column, int expected) {
+            if (expected < names.length && column.equals(names[expected])) {
+                return expected;
+            }
+            return indexOf(column);
+        }
+        
+        int indexOf(String column) {
+            Integer position = positions.get(column);
+            return (null == position) ? -1 : position;
+        }
+        
+        /**
+         * New header with an extra column at the end.
+         */
+        Columns with(String column) {
+            String[] extended = Arrays.copyOf(names, names.length + 1);
+            extended[names.length] = column;
+            return new Columns(extended);
+        }
+        
+        int size() {
+            return names.length;
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package io.stargate.sdk.rest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.stargate.sdk.cql.CqlExecutor;
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Execute the row operations of {@link TableClient} as prepared CQL statements on a {@link CqlSession}.
+ *
+ * Rows keep the json shape of the Rest API: writes are 'INSERT ... JSON ? DEFAULT UNSET' statements
+ * (columns not provided are left unchanged, no tombstone is written), reads are
+ * 'SELECT JSON' statements and key values are bound with 'fromJson(?)'. In the CQL json, names of
+ * case sensitive columns are quoted: they are quoted on writes and unquoted on reads. Values are converted by
+ * the server exactly as for a Rest call, the statements do not depend on the column types. Statements
+ * are prepared once per table and column set by the {@link CqlExecutor}, then executed with token-aware
+ * routing by the driver.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlRowExecutor {
+    
+    /** Prepared statements and execution on the session. */
+    private final CqlExecutor cqlExecutor;
+    
+    /**
+     * Executor with a statement cache of its own.
+     */
+    public CqlRowExecutor(CqlSession session) {
+        this(new CqlExecutor(session));
+    }
+    
+    /**
+     * Full constructor, statements cache and instrumentation shared with the executor.
+     */
+    public CqlRowExecutor(CqlExecutor cqlExecutor) {
+        Assert.notNull(cqlExecutor, "cqlExecutor");
+        this.cqlExecutor = cqlExecutor;
+    }
+    
+    /**
+     * Metadata of a table, empty when unknown to the driver (rows then go through the Rest API).
+     */
+    public Optional<TableMetadata> table(String keyspace, String table) {
+        return cqlExecutor.getSession().getMetadata()
+                      .getKeyspace(CqlIdentifier.fromInternal(keyspace))
+                      .flatMap(ks -> ks.getTable(CqlIdentifier.fromInternal(table)));
+    }
+    
+    /**
+     * Insert a row, the columns provided overwrite those of an existing row with the same primary key.
+     *
+     * @return
+     *      primary key of the row
+     */
+    public CompletableFuture<Map<String, Object>> insert(TableMetadata table, Map<String, ?> row) {
+        Assert.notNull(row, "row");
+        return cqlExecutor.executeAsync(insertCql(table), toJson(cqlColumns(row))).thenApply(rs -> primaryKey(table, row));
+    }
+    
+    /**
+     * Write the columns of a row (replace or update), columns not provided are left unchanged.
+     */
+    public CompletableFuture<Void> write(TableMetadata table, Object[] key, Map<String, ?> columns) {
+        Assert.notNull(columns, "columns");
+        List<ColumnMetadata> primaryKey = table.getPrimaryKey();
+        Assert.isTrue(key.length == primaryKey.size(), "All columns of the primary key are required");
+        Map<String, Object> row = new LinkedHashMap<>(columns);
+        for (int i = 0; i < key.length; i++) {
+            row.put(primaryKey.get(i).getName().asInternal(), key[i]);
+        }
+        return cqlExecutor.executeAsync(insertCql(table), toJson(cqlColumns(row))).thenApply(rs -> null);
+    }
+    
+    /**
+     * Delete the rows of a primary key or of a prefix of it.
+     */
+    public CompletableFuture<Void> delete(TableMetadata table, Object[] key) {
+        return cqlExecutor.executeAsync(deleteCql(table, key.length), (Object[]) toJson(key)).thenApply(rs -> null);
+    }
+    
+    /**
+     * Page of rows, of a primary key (or prefix) or of the whole table when the key is empty.
+     */
+    public <R> CompletableFuture<RowResultPage<R>> select(TableMetadata table, Object[] key, QueryTable query, Class<R> clazz) {
+        String cql = selectCql(table, key.length, query);
+        return cqlExecutor.executePageAsync(cql, query.getPageSize(), query.getPageState().orElse(null), (Object[]) toJson(key))
+                .thenApply(rs -> {
+                    List<String> rows = new ArrayList<>(rs.remaining());
+                    for (com.datastax.oss.driver.api.core.cql.Row row : rs.currentPage()) {
+                        rows.add(restColumns(row.getString(0)));
+                    }
+                    return new RowResultPageDecoder<R>(clazz).decode(rows, query.getPageSize(),
+                            CqlExecutor.pagingState(rs).orElse(null));
+                });
+    }
+    
+    /**
+     * Number of prepared statements kept.
+     */
+    public int getStatementCount() {
+        return cqlExecutor.getPreparedStatementCount();
+    }
+    
+    /**
+     * Getter accessor for attribute 'cqlExecutor'.
+     *
+     * @return
+     *       current value of 'cqlExecutor'
+     */
+    public CqlExecutor getCqlExecutor() {
+        return cqlExecutor;
+    }
+    
+    static String insertCql(TableMetadata table) {
+        return "INSERT INTO " + tableName(table) + " JSON ? DEFAULT UNSET";
+    }
+    
+    static String deleteCql(TableMetadata table, int keyColumns) {
+        return "DELETE FROM " + tableName(table) + where(table, keyColumns);
+    }
+    
+    static String selectCql(TableMetadata table, int keyColumns, QueryTable query) {
+        StringBuilder cql = new StringBuilder("SELECT JSON ");
+        if (query.getFieldsToRetrieve().isEmpty()) {
+            cql.append('*');
+        } else {
+            cql.append(query.getFieldsToRetrieve().stream()
+                    .map(CqlRowExecutor::columnName)
+                    .collect(Collectors.joining(", ")));
+        }
+        cql.append(" FROM ").append(tableName(table)).append(where(table, keyColumns));
+        if (!query.getSort().isEmpty()) {
+            cql.append(query.getSort().entrySet().stream()
+                    .map(e -> columnName(e.getKey()) + " " + e.getValue().name().toUpperCase())
+                    .collect(Collectors.joining(", ", " ORDER BY ", "")));
+        }
+        return cql.toString();
+    }
+    
+    private static String where(TableMetadata table, int keyColumns) {
+        if (keyColumns == 0) {
+            return "";
+        }
+        Assert.isTrue(keyColumns <= table.getPrimaryKey().size(), "Too many values for the primary key");
+        return table.getPrimaryKey().subList(0, keyColumns).stream()
+                .map(col -> col.getName().asCql(true) + " = fromJson(?)")
+                .collect(Collectors.joining(" AND ", " WHERE ", ""));
+    }
+    
+    private static String tableName(TableMetadata table) {
+        return table.getKeyspace().asCql(true) + "." + table.getName().asCql(true);
+    }
+    
+    private static String columnName(String column) {
+        return CqlIdentifier.fromInternal(column).asCql(true);
+    }
+    
+    /**
+     * Json keys of the row as expected by 'INSERT JSON', case sensitive columns quoted.
+     */
+    private static Map<String, Object> cqlColumns(Map<String, ?> row) {
+        Map<String, Object> cql = new LinkedHashMap<>();
+        row.forEach((column, value) -> cql.put(columnName(column), value));
+        return cql;
+    }
+    
+    /**
+     * Row returned by 'SELECT JSON' with the column names of the Rest API, quotes of case
+     * sensitive columns removed (other rows are returned as is).
+     */
+    static String restColumns(String json) {
+        if (null == json || !json.contains("\"\\\"")) {
+            return json;
+        }
+        try {
+            ObjectNode cql  = (ObjectNode) ApiSupport.getObjectMapper().readTree(json);
+            ObjectNode rest = ApiSupport.getObjectMapper().createObjectNode();
+            cql.fields().forEachRemaining(col -> rest.set(CqlIdentifier.fromCql(col.getKey()).asInternal(), col.getValue()));
+            return ApiSupport.getObjectMapper().writeValueAsString(rest);
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot marshall row " + json, e);
+        }
+    }
+    
+    private static Map<String, Object> primaryKey(TableMetadata table, Map<String, ?> row) {
+        Map<String, Object> key = new LinkedHashMap<>();
+        for (ColumnMetadata column : table.getPrimaryKey()) {
+            key.put(column.getName().asInternal(), row.get(column.getName().asInternal()));
+        }
+        return key;
+    }
+    
+    private static String toJson(Object value) {
+        try {
+            return ApiSupport.getObjectMapper().writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Cannot marshall value " + value, e);
+        }
+    }
+    
+    private static String[] toJson(Object[] values) {
+        String[] json = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            json[i] = toJson(values[i]);
+        }
+        return json;
+    }
+
+}
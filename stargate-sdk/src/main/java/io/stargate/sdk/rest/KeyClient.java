@@ -0,0 +1,264 @@
+package io.stargate.sdk.rest;
+
+import static io.stargate.sdk.utils.ApiSupport.handleError;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Operate on the rows of a primary key: a single row with the full key, a partition (or a slice of it)
+ * with a prefix of the key. Rows go over CQL when the table client does (see {@link TableClient}).
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class KeyClient {
+    
+    /** Astra Client. */
+    private final ApiRestClient restClient;
+    
+    /** Parent table. */
+    private final TableClient tableClient;
+    
+    /** Values of the key columns. */
+    private final Object[] primaryKey;
+    
+    /** Url of the key, values are path segments. */
+    private final String endPointKey;
+    
+    /** Uri of the key, built once. */
+    private final URI uriKey;
+    
+    /**
+     * Full constructor.
+     */
+    public KeyClient(ApiRestClient restClient, TableClient tableClient, Object... primaryKey) {
+        this.restClient  = restClient;
+        this.tableClient = tableClient;
+        this.primaryKey  = primaryKey.clone();
+        StringBuilder sbUrl = new StringBuilder(tableClient.getEndPointTable());
+        for (Object value : primaryKey) {
+            Assert.notNull(value, "primary key value");
+            sbUrl.append('/').append(TableClient.encode(value.toString()));
+        }
+        this.endPointKey = sbUrl.toString();
+        this.uriKey      = URI.create(endPointKey);
+    }
+    
+    /**
+     * Get the row, the first one when the key is a prefix of the primary key.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getRowWithPrimaryKey
+     */
+    public Optional<Row> find() {
+        return firstRow(findPage(QueryTable.builder().withPageSize(1).build()));
+    }
+    
+    /**
+     * Asynchronous version of {@link #find()}.
+     */
+    public CompletableFuture<Optional<Row>> findAsync() {
+        return findPageAsync(QueryTable.builder().withPageSize(1).build()).thenApply(this::firstRow);
+    }
+    
+    /**
+     * Page of the rows of the key (partition or slice), use {@link TableClient#search(QueryTable)} to filter
+     * on other columns: a query with a where clause is rejected.
+     */
+    public RowResultPage<Row> findPage(QueryTable query) {
+        return findPage(query, Row.class);
+    }
+    
+    /**
+     * Page of the rows of the key, each row is bound to the target class.
+     */
+    public <R> RowResultPage<R> findPage(QueryTable query, Class<R> clazz) {
+        if (tableClient.cqlTable().isPresent()) {
+            return Utils.await(findPageAsync(query, clazz), "Cannot read rows");
+        }
+        return tableClient.readPage("row.find", findUrl(query), query, clazz);
+    }
+    
+    /**
+     * Asynchronous version of {@link #findPage(QueryTable)}.
+     */
+    public CompletableFuture<RowResultPage<Row>> findPageAsync(QueryTable query) {
+        return findPageAsync(query, Row.class);
+    }
+    
+    /**
+     * Asynchronous version of {@link #findPage(QueryTable, Class)}.
+     */
+    public <R> CompletableFuture<RowResultPage<R>> findPageAsync(QueryTable query, Class<R> clazz) {
+        Optional<TableMetadata> table = tableClient.cqlTable();
+        if (table.isPresent()) {
+            checkKeyQuery(query);
+            return tableClient.cqlRowExecutor().select(table.get(), primaryKey, query, clazz);
+        }
+        return tableClient.readPageAsync("row.find", findUrl(query), query, clazz);
+    }
+    
+    private String findUrl(QueryTable query) {
+        checkKeyQuery(query);
+        return tableClient.buildQueryUrl(endPointKey, query);
+    }
+    
+    /**
+     * Rows are selected by the key only, on the Rest Api and on CQL alike.
+     */
+    private void checkKeyQuery(QueryTable query) {
+        Assert.notNull(query, "query");
+        Assert.isTrue(!query.getWhere().isPresent(), "Where clause is not supported on a key, use search()");
+    }
+    
+    /**
+     * Lazy stream of all rows of the key (full partition read), following page state.
+     */
+    public Stream<Row> stream() {
+        return stream(QueryTable.builder().withPageSize(QueryTable.PAGING_SIZE_SCAN).build(), Row.class, true);
+    }
+    
+    /**
+     * Lazy stream of all rows of the key, following page state.
+     * Close the stream (or consume it fully) to release a prefetched page.
+     *
+     * @param prefetch
+     *      request the next page asynchronously while the current one is consumed
+     */
+    public <R> Stream<R> stream(QueryTable query, Class<R> clazz, boolean prefetch) {
+        Assert.notNull(clazz, "clazz");
+        return TableClient.stream(new RowPageIterator<>(q -> findPageAsync(q, clazz), query, prefetch));
+    }
+    
+    private Optional<Row> firstRow(RowResultPage<Row> page) {
+        return page.getResults().stream().findFirst();
+    }
+    
+    /**
+     * Replace the values of the columns provided, as the Rest Api other columns are left unchanged.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/replaceRows
+     */
+    public void replace(Map<String, ?> row) {
+        if (cqlTableForRow().isPresent()) {
+            Utils.await(replaceAsync(row), "Cannot replace row");
+            return;
+        }
+        handleError(tableClient.send("row.replace", replaceRequest(row), "Cannot replace row"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #replace(Map)}.
+     */
+    public CompletableFuture<Void> replaceAsync(Map<String, ?> row) {
+        Optional<TableMetadata> table = cqlTableForRow();
+        if (table.isPresent()) {
+            return tableClient.cqlRowExecutor().write(table.get(), primaryKey, row);
+        }
+        return tableClient.sendAsync("row.replace", replaceRequest(row)).thenAccept(res -> handleError(res));
+    }
+    
+    private HttpRequest replaceRequest(Map<String, ?> row) {
+        Assert.notNull(row, "row");
+        return restClient.newRequest(uriKey, restClient.getToken())
+                .PUT(BodyPublishers.ofString(TableClient.marshallBody(row, "Cannot replace row")))
+                .build();
+    }
+    
+    /**
+     * Update the columns provided, others are left unchanged.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/updateRows
+     */
+    public void update(Map<String, ?> columns) {
+        if (cqlTableForRow().isPresent()) {
+            Utils.await(updateAsync(columns), "Cannot update row");
+            return;
+        }
+        handleError(tableClient.send("row.update", updateRequest(columns), "Cannot update row"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #update(Map)}.
+     */
+    public CompletableFuture<Void> updateAsync(Map<String, ?> columns) {
+        Optional<TableMetadata> table = cqlTableForRow();
+        if (table.isPresent()) {
+            Assert.notNull(columns, "columns");
+            Assert.isTrue(!columns.isEmpty(), "At least one column should be updated");
+            return tableClient.cqlRowExecutor().write(table.get(), primaryKey, columns);
+        }
+        return tableClient.sendAsync("row.update", updateRequest(columns)).thenAccept(res -> handleError(res));
+    }
+    
+    private HttpRequest updateRequest(Map<String, ?> columns) {
+        Assert.notNull(columns, "columns");
+        Assert.isTrue(!columns.isEmpty(), "At least one column should be updated");
+        return restClient.newRequest(uriKey, restClient.getToken())
+                .method("PATCH", BodyPublishers.ofString(TableClient.marshallBody(columns, "Cannot update row")))
+                .build();
+    }
+    
+    /**
+     * Delete the rows of the key.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/deleteRows
+     */
+    public void delete() {
+        if (tableClient.cqlTable().isPresent()) {
+            Utils.await(deleteAsync(), "Cannot delete rows");
+            return;
+        }
+        handleDeleteResponse(tableClient.send("row.delete", deleteRequest(), "Cannot delete row"));
+    }
+    
+    /**
+     * Asynchronous version of {@link #delete()}.
+     */
+    public CompletableFuture<Void> deleteAsync() {
+        Optional<TableMetadata> table = tableClient.cqlTable();
+        if (table.isPresent()) {
+            return tableClient.cqlRowExecutor().delete(table.get(), primaryKey);
+        }
+        return tableClient.sendAsync("row.delete", deleteRequest()).thenAccept(this::handleDeleteResponse);
+    }
+    
+    /**
+     * Writes go over CQL only with the full primary key, the Rest Api reports invalid keys otherwise.
+     */
+    private Optional<TableMetadata> cqlTableForRow() {
+        return tableClient.cqlTable().filter(table -> table.getPrimaryKey().size() == primaryKey.length);
+    }
+    
+    private HttpRequest deleteRequest() {
+        return restClient.newRequest(uriKey, restClient.getToken()).DELETE().build();
+    }
+    
+    private void handleDeleteResponse(HttpResponse<String> response) {
+        if (HttpURLConnection.HTTP_NO_CONTENT != response.statusCode()) {
+            handleError(response);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'primaryKey'.
+     *
+     * @return
+     *       current value of 'primaryKey'
+     */
+    public Object[] getPrimaryKey() {
+        return primaryKey.clone();
+    }
+
+}
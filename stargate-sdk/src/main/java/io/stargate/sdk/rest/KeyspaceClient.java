@@ -3,25 +3,24 @@ package io.stargate.sdk.rest;
 
 import static io.stargate.sdk.rest.ApiRestClient.PATH_SCHEMA_KEYSPACES;
 import static io.stargate.sdk.utils.ApiSupport.PATH_SCHEMA;
-import static io.stargate.sdk.utils.ApiSupport.getHttpClient;
 import static io.stargate.sdk.utils.ApiSupport.getObjectMapper;
 import static io.stargate.sdk.utils.ApiSupport.handleError;
-import static io.stargate.sdk.utils.ApiSupport.startRequest;
 
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.stargate.sdk.utils.ApiResponse;
 import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.SchemaCache;
 
 /**
  * Client for API resource /v2/namespaces.
@@ -30,36 +29,58 @@ import io.stargate.sdk.utils.Assert;
  */
 public class KeyspaceClient {
     
+    /** Data resources (rows) of a keyspace. */
+    public static final String PATH_KEYSPACES = "/v2/keyspaces";
+    
+    /** Tables of a keyspace schema. */
+    public static final String PATH_TABLES    = "/tables";
+    
     /** Astra Client. */
     private final ApiRestClient restclient;
     
     /** Namespace. */
     private final String keyspace;
     
+    /** Url of the keyspace data, prefix of the table rows resources. */
+    private final String endPointKeyspace;
+    
+    /** Url of the keyspace schema, prefix of the tables schema resources. */
+    private final String endPointSchemaKeyspace;
+    
+    /** Uri of the keyspace schema, built once. */
+    private final URI uriSchemaKeyspace;
+    
+    /** Uri listing the tables, built once. */
+    private final URI uriTables;
+    
     /**
      * Full constructor.
      */
     public KeyspaceClient(ApiRestClient restclient, String keyspace) {
         this.restclient    = restclient;
         this.keyspace = keyspace;
-    }
-    
-    private String getEndPointSchemaKeyspace() {
-        return restclient.getEndPointApiRest()
+        this.endPointKeyspace       = restclient.getEndPointApiRest() + PATH_KEYSPACES + "/" + keyspace;
+        this.endPointSchemaKeyspace = restclient.getEndPointApiRest()
                 + PATH_SCHEMA 
                 + PATH_SCHEMA_KEYSPACES
                 + "/" + keyspace;
+        this.uriSchemaKeyspace = URI.create(endPointSchemaKeyspace);
+        this.uriTables         = URI.create(endPointSchemaKeyspace + PATH_TABLES);
     }
+    
     /**
-     * Find a namespace and its metadata based on its id
+     * Find a keyspace and its metadata based on its id, from the keyspaces listing when the schema cache is enabled.
      */
     public Optional<Keyspace> find() {
         Assert.hasLength(keyspace, "keyspace id");
+        if (restclient.getSchemaCache().isPresent()) {
+            return restclient.keyspaces().filter(ks -> keyspace.equals(ks.getName())).findFirst();
+        }
         // Invoke Http Endpoint
         HttpResponse<String> response;
         try {
-             response = getHttpClient().send(
-                     startRequest(getEndPointSchemaKeyspace(), restclient.getToken()).GET().build(), 
+             response = restclient.send("keyspace.find",
+                     restclient.newRequest(uriSchemaKeyspace, restclient.getToken()).GET().build(), 
                      BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot find keyspace " + keyspace, e);
@@ -104,12 +125,14 @@ public class KeyspaceClient {
         try {
             String reqBody = getObjectMapper().writeValueAsString(
                     new Keyspace(keyspace, Arrays.asList(datacenters)));
-            response = getHttpClient().send(
-                  startRequest(endpoint, restclient.getToken())
+            response = restclient.send("keyspace.create",
+                  restclient.newRequest(endpoint, restclient.getToken())
                   .POST(BodyPublishers.ofString(reqBody)).build(), BodyHandlers.ofString());
             
         } catch (Exception e) {
             throw new RuntimeException("Cannot create keyspace " + keyspace, e);
+        } finally {
+            invalidateSchema();
         }
         handleError(response);
     }
@@ -122,27 +145,36 @@ public class KeyspaceClient {
     public void delete() {
         HttpResponse<String> response;
         try {
-            response = getHttpClient().send(
-                    startRequest(getEndPointSchemaKeyspace(), restclient.getToken())
+            response = restclient.send("keyspace.delete",
+                    restclient.newRequest(uriSchemaKeyspace, restclient.getToken())
                     .DELETE().build(), BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot delete keyspace", e);
+        } finally {
+            invalidateSchema();
         }
         handleError(response);
     }
     
+    private void invalidateSchema() {
+        restclient.invalidateSchema(SchemaCache.KEY_KEYSPACES, SchemaCache.keyTables(keyspace));
+    }
+    
     /**
-     * List tablenames in keyspace.
+     * List tables in keyspace, from the schema cache when enabled.
      * 
      * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getTables
      */
     public Stream<TableDefinition> tables() {
-        
+        return restclient.cachedSchema(SchemaCache.keyTables(keyspace), this::loadTables).stream();
+    }
+    
+    private List<TableDefinition> loadTables() {
         HttpResponse<String> response;
         try {
             // Invoke
-            response = getHttpClient().send(
-                    startRequest(getEndPointSchemaKeyspace() + "/tables", restclient.getToken())
+            response = restclient.send("keyspace.tables",
+                    restclient.newRequest(uriTables, restclient.getToken())
                     .GET().build(), BodyHandlers.ofString());
         } catch (Exception e) {
             throw new RuntimeException("Cannot retrieve table list", e);
@@ -152,9 +184,7 @@ public class KeyspaceClient {
         
         try {
             TypeReference<ApiResponse<List<TableDefinition>>> expectedType = new TypeReference<>(){};
-            return getObjectMapper().readValue(response.body(), expectedType)
-                                    .getData().stream()
-                                    .collect(Collectors.toSet()).stream();
+            return getObjectMapper().readValue(response.body(), expectedType).getData();
         } catch (Exception e) {
             throw new RuntimeException("Cannot marshall collection list", e);
         }
@@ -184,5 +214,34 @@ public class KeyspaceClient {
         return keyspace;
     }
     
+    /**
+     * Getter accessor for attribute 'endPointKeyspace'.
+     *
+     * @return
+     *       current value of 'endPointKeyspace'
+     */
+    public String getEndPointKeyspace() {
+        return endPointKeyspace;
+    }
+    
+    /**
+     * Getter accessor for attribute 'endPointSchemaKeyspace'.
+     *
+     * @return
+     *       current value of 'endPointSchemaKeyspace'
+     */
+    public String getEndPointSchemaKeyspace() {
+        return endPointSchemaKeyspace;
+    }
+    
+    /**
+     * Getter accessor for attribute 'uriTables'.
+     *
+     * @return
+     *       current value of 'uriTables'
+     */
+    public URI getUriTables() {
+        return uriTables;
+    }
     
 }
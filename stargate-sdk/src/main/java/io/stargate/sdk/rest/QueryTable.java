@@ -0,0 +1,177 @@
+package io.stargate.sdk.rest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.stargate.sdk.doc.Predicate;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Query on the rows of a table: where clause, page, returned columns and sort.
+ *
+ * QueryTable.builder()
+ *           .where(Predicate.and(Predicate.eq("videoid", id), Predicate.gt("added", since)))
+ *           .withReturnedFields("name", "added")
+ *           .withSort("added", ClusteringOrder.desc)
+ *           .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class QueryTable {
+    
+    /** Default number of rows of a page. */
+    public static final int DEFAULT_PAGING_SIZE = 20;
+    
+    /** Page size of full table or partition scans. */
+    public static final int PAGING_SIZE_SCAN = 1000;
+    
+    /** Page size. */
+    private final int pageSize;
+    
+    /** Cursor for paging. */
+    private final String pageState;
+    
+    /** Json where clause, all rows when null. */
+    private final String where;
+    
+    /** Columns returned, all when empty. */
+    private final List<String> fieldsToRetrieve;
+    
+    /** Sort on clustering columns. */
+    private final Map<String, ClusteringOrder> sort;
+    
+    private QueryTable(QueryTableBuilder builder) {
+        this.pageSize         = builder.pageSize;
+        this.pageState        = builder.pageState;
+        this.where            = builder.where;
+        this.fieldsToRetrieve = builder.fields;
+        this.sort             = Collections.unmodifiableMap(builder.sort);
+    }
+    
+    private QueryTable(QueryTable query, String pageState) {
+        this.pageSize         = query.pageSize;
+        this.pageState        = pageState;
+        this.where            = query.where;
+        this.fieldsToRetrieve = query.fieldsToRetrieve;
+        this.sort             = query.sort;
+    }
+    
+    /**
+     * Same query positioned on another page.
+     *
+     * @param pageState
+     *      cursor returned by previous page, null for first page
+     */
+    public QueryTable withPageState(String pageState) {
+        return new QueryTable(this, pageState);
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static QueryTableBuilder builder() {
+        return new QueryTableBuilder();
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class QueryTableBuilder {
+        
+        private int pageSize = DEFAULT_PAGING_SIZE;
+        private String pageState;
+        private String where;
+        private List<String> fields = Collections.emptyList();
+        private Map<String, ClusteringOrder> sort = new LinkedHashMap<>();
+        
+        public QueryTableBuilder withPageSize(int pageSize) {
+            Assert.isTrue(pageSize > 0, "Page size should be greater than 0");
+            this.pageSize = pageSize;
+            return this;
+        }
+        public QueryTableBuilder withPageState(String pageState) {
+            Assert.hasLength(pageState, "pageState");
+            this.pageState = pageState;
+            return this;
+        }
+        public QueryTableBuilder withJsonWhereClause(String where) {
+            Assert.hasLength(where, "where");
+            this.where = where;
+            return this;
+        }
+        public QueryTableBuilder where(Predicate predicate) {
+            Assert.notNull(predicate, "predicate");
+            this.where = predicate.toJson();
+            return this;
+        }
+        public QueryTableBuilder withReturnedFields(String... fields) {
+            Assert.notNull(fields, "fields");
+            this.fields = Arrays.asList(fields);
+            return this;
+        }
+        public QueryTableBuilder withSort(String column, ClusteringOrder order) {
+            Assert.hasLength(column, "column");
+            Assert.notNull(order, "order");
+            this.sort.put(column, order);
+            return this;
+        }
+        public QueryTable build() {
+            return new QueryTable(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'pageSize'.
+     *
+     * @return
+     *       current value of 'pageSize'
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'pageState'.
+     *
+     * @return
+     *       current value of 'pageState'
+     */
+    public Optional<String> getPageState() {
+        return Optional.ofNullable(pageState);
+    }
+    
+    /**
+     * Getter accessor for attribute 'where'.
+     *
+     * @return
+     *       current value of 'where'
+     */
+    public Optional<String> getWhere() {
+        return Optional.ofNullable(where);
+    }
+    
+    /**
+     * Getter accessor for attribute 'fieldsToRetrieve'.
+     *
+     * @return
+     *       current value of 'fieldsToRetrieve'
+     */
+    public List<String> getFieldsToRetrieve() {
+        return fieldsToRetrieve;
+    }
+    
+    /**
+     * Getter accessor for attribute 'sort'.
+     *
+     * @return
+     *       current value of 'sort'
+     */
+    public Map<String, ClusteringOrder> getSort() {
+        return sort;
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.stargate.sdk.rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Row of a table, column values keyed by column name with typed accessors.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class Row extends LinkedHashMap<String, Object> {
+    
+    /** Serial. */
+    private static final long serialVersionUID = 3279531139420446635L;
+    
+    /**
+     * Default constructor.
+     */
+    public Row() {
+        super();
+    }
+    
+    /**
+     * Copy of the columns.
+     */
+    public Row(Map<String, ?> columns) {
+        super(columns);
+    }
+    
+    /**
+     * Value of the column converted to the expected type (json mapping).
+     */
+    public <T> T get(String column, Class<T> clazz) {
+        Object value = get(column);
+        if (null == value || clazz.isInstance(value)) {
+            return clazz.cast(value);
+        }
+        return ApiSupport.getObjectMapper().convertValue(value, clazz);
+    }
+    
+    public String getString(String column) {
+        Object value = get(column);
+        return (null == value) ? null : value.toString();
+    }
+    public Integer getInteger(String column) {
+        return get(column, Integer.class);
+    }
+    public Long getLong(String column) {
+        return get(column, Long.class);
+    }
+    public Double getDouble(String column) {
+        return get(column, Double.class);
+    }
+    public Boolean getBoolean(String column) {
+        return get(column, Boolean.class);
+    }
+
+}
@@ -0,0 +1,105 @@
+package io.stargate.sdk.rest;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.Utils;
+
+/**
+ * Iterate over all rows of a query (table search or partition read), following the page state transparently.
+ *
+ * Pages are fetched lazily when the previous one has been consumed. With prefetch enabled
+ * the next page is requested asynchronously as soon as the current one is received so the
+ * network round trip overlaps with the processing of the current page.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ *
+ * @param <R>
+ *      row type
+ */
+public class RowPageIterator<R> implements Iterator<R> {
+    
+    /** Request a page for a query. */
+    private final Function<QueryTable, CompletableFuture<RowResultPage<R>>> pageLoader;
+    
+    /** Query (size, filter, fields and sort) used for each page. */
+    private final QueryTable query;
+    
+    /** Request next page while current one is consumed. */
+    private final boolean prefetch;
+    
+    /** Rows of the current page. */
+    private Iterator<R> current = Collections.emptyIterator();
+    
+    /** Cursor of the next page. */
+    private String nextPageState;
+    
+    /** There is no page left to fetch. */
+    private boolean lastPage = false;
+    
+    /** Next page requested in advance. */
+    private CompletableFuture<RowResultPage<R>> pending;
+    
+    /**
+     * Full constructor.
+     */
+    public RowPageIterator(Function<QueryTable, CompletableFuture<RowResultPage<R>>> pageLoader, QueryTable query, boolean prefetch) {
+        Assert.notNull(pageLoader, "pageLoader");
+        Assert.notNull(query, "query");
+        this.pageLoader    = pageLoader;
+        this.query         = query;
+        this.prefetch      = prefetch;
+        this.nextPageState = query.getPageState().orElse(null);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        // Pages can be empty and still provide a page state
+        while (!current.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            fetchNextPage();
+        }
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Stop prefetching, pending request is cancelled.
+     */
+    public void close() {
+        lastPage = true;
+        current  = Collections.emptyIterator();
+        if (null != pending) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+    
+    private void fetchNextPage() {
+        CompletableFuture<RowResultPage<R>> request = (null != pending) ? pending : pageLoader.apply(query.withPageState(nextPageState));
+        pending = null;
+        RowResultPage<R> page = Utils.await(request, "Cannot read page of rows");
+        nextPageState = page.getPageState().orElse(null);
+        lastPage      = (null == nextPageState);
+        current       = page.getResults().iterator();
+        if (prefetch && !lastPage) {
+            pending = pageLoader.apply(query.withPageState(nextPageState));
+        }
+    }
+    
+}
@@ -0,0 +1,64 @@
+package io.stargate.sdk.rest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Page of rows returned by the Rest API.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ *
+ * @param <R>
+ *      row type ({@link Row}, {@link CompactRow} or a bean)
+ */
+public class RowResultPage<R> {
+    
+    /** Size of page asked. */
+    private final int pageSize;
+    
+    /** If present there is a next page. */
+    private final String pageState;
+    
+    /** Rows of the page. */
+    private final List<R> results;
+    
+    /**
+     * Full constructor.
+     */
+    public RowResultPage(int pageSize, String pageState, List<R> results) {
+        this.pageSize  = pageSize;
+        this.pageState = pageState;
+        this.results   = results;
+    }
+    
+    /**
+     * Getter accessor for attribute 'pageSize'.
+     *
+     * @return
+     *       current value of 'pageSize'
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    /**
+     * Getter accessor for attribute 'pageState'.
+     *
+     * @return
+     *       current value of 'pageState'
+     */
+    public Optional<String> getPageState() {
+        return Optional.ofNullable(pageState);
+    }
+    
+    /**
+     * Getter accessor for attribute 'results'.
+     *
+     * @return
+     *       current value of 'results'
+     */
+    public List<R> getResults() {
+        return results;
+    }
+
+}
@@ -0,0 +1,159 @@
+package io.stargate.sdk.rest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.Assert;
+
+/**
+ * Decode a page of rows in a single pass over the response bytes.
+ *
+ * Expected payload is <code>{"count": 2, "pageState": "...", "data": [ {...}, {...} ]}</code>. Each
+ * row is bound straight to the target class from the parser tokens. With {@link CompactRow} as
+ * target, values are stored by column position and the column names are shared by the rows of the page.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ *
+ * @param <R>
+ *      row type
+ */
+public class RowResultPageDecoder<R> {
+    
+    /** Json field holding the rows. */
+    private static final String FIELD_DATA = "data";
+    
+    /** Json field holding the cursor. */
+    private static final String FIELD_PAGE_STATE = "pageState";
+    
+    /** Target class. */
+    private final Class<R> clazz;
+    
+    /** Reader bound to the row class, or to plain values for compact rows (thread safe, reusable). */
+    private final ObjectReader reader;
+    
+    /**
+     * Decoder for a row class.
+     */
+    public RowResultPageDecoder(Class<R> clazz) {
+        Assert.notNull(clazz, "clazz");
+        this.clazz  = clazz;
+        this.reader = ApiSupport.getObjectMapper().readerFor(CompactRow.class == clazz ? Object.class : clazz);
+    }
+    
+    /**
+     * Decode a page from the raw body.
+     */
+    public RowResultPage<R> decode(byte[] body, int pageSize) {
+        try (JsonParser parser = reader.getFactory().createParser(body)) {
+            return decode(parser, pageSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot marshall row results", e);
+        }
+    }
+    
+    /**
+     * Decode rows received as json documents (one per row), e.g. the result of a 'SELECT JSON' statement.
+     */
+    public RowResultPage<R> decode(List<String> rows, int pageSize, String pageState) {
+        List<R> results = new ArrayList<>(rows.size());
+        CompactRow.Columns columns = new CompactRow.Columns();
+        for (String row : rows) {
+            try (JsonParser parser = reader.getFactory().createParser(row)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Invalid row, expecting a json object");
+                }
+                columns = readRow(parser, columns, results);
+            } catch (IOException e) {
+                throw new RuntimeException("Cannot marshall row " + row, e);
+            }
+        }
+        return new RowResultPage<R>(pageSize, pageState, results);
+    }
+    
+    private RowResultPage<R> decode(JsonParser parser, int pageSize) throws IOException {
+        String pageState = null;
+        List<R> results = new ArrayList<>(pageSize);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid rows response, expecting a json object");
+        }
+        CompactRow.Columns columns = new CompactRow.Columns();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (FIELD_PAGE_STATE.equals(field)) {
+                pageState = (value == JsonToken.VALUE_NULL) ? null : parser.getText();
+            } else if (FIELD_DATA.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    columns = readRow(parser, columns, results);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new RowResultPage<R>(pageSize, pageState, results);
+    }
+    
+    /**
+     * Bind the row at the current position, the header (possibly extended) is returned for the next row.
+     */
+    private CompactRow.Columns readRow(JsonParser parser, CompactRow.Columns columns, List<R> results) throws IOException {
+        if (CompactRow.class != clazz) {
+            results.add(reader.readValue(parser));
+            return columns;
+        }
+        CompactRow row = readCompactRow(parser, columns);
+        results.add(clazz.cast(row));
+        return row.header();
+    }
+    
+    /**
+     * Values by position, the header is extended when a column has not been seen before in the page.
+     */
+    private CompactRow readCompactRow(JsonParser parser, CompactRow.Columns columns) throws IOException {
+        Object[] values = new Object[columns.size()];
+        int expected = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String column = parser.getCurrentName();
+            parser.nextToken();
+            int index = columns.indexOf(column, expected);
+            if (index < 0) {
+                columns = columns.with(column);
+                index   = columns.size() - 1;
+                values  = Arrays.copyOf(values, columns.size());
+            }
+            values[index] = readValue(parser);
+            expected = index + 1;
+        }
+        return new CompactRow(columns, values);
+    }
+    
+    /**
+     * Scalars are read from the current token, only collections and udts go through the reader.
+     */
+    private Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return reader.readValue(parser);
+        }
+    }
+
+}
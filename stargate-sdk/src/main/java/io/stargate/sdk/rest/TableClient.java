@@ -1,17 +1,57 @@
 package io.stargate.sdk.rest;
 
+import static io.stargate.sdk.rest.KeyspaceClient.PATH_TABLES;
+import static io.stargate.sdk.utils.ApiSupport.getObjectMapper;
+import static io.stargate.sdk.utils.ApiSupport.handleError;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.fasterxml.jackson.core.type.TypeReference;
 
-import io.stargate.sdk.doc.ApiDocumentClient;
-import io.stargate.sdk.doc.NamespaceClient;
+import io.stargate.sdk.exception.TableNotFoundException;
+import io.stargate.sdk.utils.ApiResponse;
+import io.stargate.sdk.utils.Assert;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriterOptions;
+import io.stargate.sdk.utils.SchemaCache;
+import io.stargate.sdk.utils.Utils;
 
 /**
- * Operate on Tables in Cassandra.
+ * Operate on Tables in Cassandra: schema of the table and its rows.
+ *
+ * Row operations exist in a blocking flavour and an asynchronous one (suffix 'Async')
+ * returning a {@link CompletableFuture}. Operations on a single row go through {@link #key(Object...)}.
+ * When the Rest client has a CQL session, rows are read and written as prepared statements (see
+ * {@link CqlRowExecutor}) and the Rest Api is used for what CQL cannot serve the same way.
  *
  * @author Cedrick LUNVEN (@clunven)
  */
 public class TableClient {
     
+    /** Rows without filter. */
+    public static final String PATH_ROWS    = "/rows";
+    
+    /** Columns of a table schema. */
+    public static final String PATH_COLUMNS = "/columns";
+    
     /** Astra Client. */
     private final ApiRestClient restClient;
     
@@ -21,48 +61,474 @@ public class TableClient {
     /** Collection name. */
     private final String tableName;
     
+    /** Url of the rows, prefix of the primary key resources. */
+    private final String endPointTable;
+    
+    /** Url of the table schema, prefix of the column resources. */
+    private final String endPointSchemaTable;
+    
+    /** Uri of the table schema, built once. */
+    private final URI uriSchemaTable;
+    
+    /** Uri listing the columns, built once. */
+    private final URI uriColumns;
+    
+    /** Uri to insert a row, built once. */
+    private final URI uriTable;
+    
     /**
      * Full constructor.
      */
     public TableClient(ApiRestClient restClient,  KeyspaceClient keyspaceClient,  String tableName) {
-        this.restClient     = restClient;
-        this.keyspaceClient = keyspaceClient;
-        this.tableName      = tableName;
+        this.restClient          = restClient;
+        this.keyspaceClient      = keyspaceClient;
+        this.tableName           = tableName;
+        this.endPointTable       = keyspaceClient.getEndPointKeyspace() + "/" + tableName;
+        this.endPointSchemaTable = keyspaceClient.getEndPointSchemaKeyspace() + PATH_TABLES + "/" + tableName;
+        this.uriSchemaTable      = URI.create(endPointSchemaTable);
+        this.uriColumns          = URI.create(endPointSchemaTable + PATH_COLUMNS);
+        this.uriTable            = URI.create(endPointTable);
+    }
+    
+    /**
+     * Get the table definition, from the tables listing of the keyspace when the schema cache is enabled.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getTable
+     */
+    public Optional<TableDefinition> find() {
+        if (restClient.getSchemaCache().isPresent()) {
+            return keyspaceClient.tables().filter(t -> tableName.equals(t.getName())).findFirst();
+        }
+        HttpResponse<String> response = send("table.find",
+                restClient.newRequest(uriSchemaTable, restClient.getToken()).GET().build(),
+                "Cannot find table " + tableName);
+        if (HttpURLConnection.HTTP_NOT_FOUND == response.statusCode()) {
+            return Optional.empty();
+        }
+        handleError(response);
+        try {
+            TypeReference<ApiResponse<TableDefinition>> expectedType = new TypeReference<>(){};
+            return Optional.ofNullable(getObjectMapper().readValue(response.body(), expectedType).getData());
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot marshall table definition body=" + response.body(), e);
+        }
+    }
+    
+    /**
+     * Check it the table exist.
+     */
+    public boolean exist() {
+        return find().isPresent();
+    }
+    
+    /**
+     * Create the table, the name of the request is set to the name of this table.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/createTable
+     */
+    public void create(TableCreationRequest tcr) {
+        Assert.notNull(tcr, "TableCreationRequest");
+        tcr.setName(tableName);
+        handleError(sendSchemaChange("table.create",
+                restClient.newRequest(keyspaceClient.getUriTables(), restClient.getToken())
+                          .POST(BodyPublishers.ofString(marshallBody(tcr, "Cannot create table " + tableName)))
+                          .build(),
+                "Cannot create table " + tableName));
+    }
+    
+    /**
+     * Replace the options of the table (ttl, clustering).
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/replaceTable
+     */
+    public void updateOptions(TableOptions options) {
+        Assert.notNull(options, "TableOptions");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", tableName);
+        body.put("tableOptions", options);
+        handleError(sendSchemaChange("table.updateOptions",
+                restClient.newRequest(uriSchemaTable, restClient.getToken())
+                          .PUT(BodyPublishers.ofString(marshallBody(body, "Cannot update table " + tableName)))
+                          .build(),
+                "Cannot update table " + tableName));
+    }
+    
+    /**
+     * Delete the table.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/deleteTable
+     */
+    public void delete() {
+        HttpResponse<String> response = sendSchemaChange("table.delete",
+                restClient.newRequest(uriSchemaTable, restClient.getToken()).DELETE().build(),
+                "Cannot delete table " + tableName);
+        if (HttpURLConnection.HTTP_NOT_FOUND == response.statusCode()) {
+            throw new TableNotFoundException(tableName);
+        }
+        handleError(response);
+    }
+    
+    /**
+     * List the columns of the table.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getColumns
+     */
+    public Stream<ColumnDefinition> columns() {
+        HttpResponse<String> response = send("table.columns",
+                restClient.newRequest(uriColumns, restClient.getToken()).GET().build(),
+                "Cannot retrieve columns of table " + tableName);
+        handleError(response);
+        try {
+            TypeReference<ApiResponse<List<ColumnDefinition>>> expectedType = new TypeReference<>(){};
+            return getObjectMapper().readValue(response.body(), expectedType).getData().stream();
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot marshall column list", e);
+        }
+    }
+    
+    /**
+     * Map to list only column names.
+     */
+    public Stream<String> columnNames() {
+        return columns().map(ColumnDefinition::getName);
     }
     
-    // Get a table
-    // https://docs.astra.datastax.com/reference#get_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-1
-    Optional<TableDefinition> find() {
-        return null;
+    /**
+     * Add a column to the table.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/createColumn
+     */
+    public void createColumn(ColumnDefinition column) {
+        Assert.notNull(column, "column");
+        Assert.hasLength(column.getName(), "column name");
+        handleError(sendSchemaChange("table.createColumn",
+                restClient.newRequest(uriColumns, restClient.getToken())
+                          .POST(BodyPublishers.ofString(marshallBody(column, "Cannot create column " + column.getName())))
+                          .build(),
+                "Cannot create column " + column.getName()));
     }
     
-    boolean exist() { 
-        return false;
+    /**
+     * Move to the Column client
+     */
+    public ColumnsClient column(String columnName) {
+        Assert.hasLength(columnName, "columnName");
+        return new ColumnsClient(restClient, this, columnName);
     }
     
-    // create a table
-    //https://docs.astra.datastax.com/reference#post_api-rest-v2-schemas-keyspaces-keyspace-id-tables-1
-    void create(TableCreationRequest tcr) {
-        
+    /**
+     * Insert a row, an existing row with the same primary key is overwritten.
+     *
+     * @return
+     *      primary key of the row
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/createRow
+     */
+    public Map<String, Object> insert(Map<String, ?> row) {
+        if (cqlTable().isPresent()) {
+            return Utils.await(insertAsync(row), "Cannot insert row in " + tableName);
+        }
+        return marshallKey(send("table.insert", insertRequest(row), "Cannot insert row in " + tableName));
     }
     
-    //replace a table definition
-    //https://docs.astra.datastax.com/reference#put_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-1
-    void replaceTableDefinition() {}
+    /**
+     * Asynchronous version of {@link #insert(Map)}.
+     */
+    public CompletableFuture<Map<String, Object>> insertAsync(Map<String, ?> row) {
+        Optional<TableMetadata> table = cqlTable();
+        if (table.isPresent()) {
+            Assert.notNull(row, "row");
+            Assert.isTrue(!row.isEmpty(), "Row should have at least the primary key columns");
+            return cqlRowExecutor().insert(table.get(), row);
+        }
+        return sendAsync("table.insert", insertRequest(row)).thenApply(this::marshallKey);
+    }
     
+    private HttpRequest insertRequest(Map<String, ?> row) {
+        Assert.notNull(row, "row");
+        Assert.isTrue(!row.isEmpty(), "Row should have at least the primary key columns");
+        return restClient.newRequest(uriTable, restClient.getToken())
+                .POST(BodyPublishers.ofString(marshallBody(row, "Cannot insert row in " + tableName)))
+                .build();
+    }
+    
+    private Map<String, Object> marshallKey(HttpResponse<String> response) {
+        handleError(response);
+        try {
+            TypeReference<LinkedHashMap<String, Object>> expectedType = new TypeReference<>(){};
+            return getObjectMapper().readValue(response.body(), expectedType);
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot marshall primary key body=" + response.body(), e);
+        }
+    }
+    
+    /**
+     * Search rows, without where clause all rows of the table are paged through.
+     *
+     * @see https://docs.datastax.com/en/astra/docs/_attachments/restv2.html#operation/getRows
+     */
+    public RowResultPage<Row> search(QueryTable query) {
+        return search(query, Row.class);
+    }
+    
+    /**
+     * Search rows, each row is bound to the target class ({@link CompactRow} for rows indexed by position).
+     */
+    public <R> RowResultPage<R> search(QueryTable query, Class<R> clazz) {
+        if (isCqlScan(query)) {
+            return Utils.await(searchAsync(query, clazz), "Cannot search rows in " + tableName);
+        }
+        return readPage("table.search", searchUrl(query), query, clazz);
+    }
     
-    //Delete a table
-    //https://docs.astra.datastax.com/reference#delete_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-1
-    void delete() {}
+    /**
+     * Asynchronous version of {@link #search(QueryTable)}.
+     */
+    public CompletableFuture<RowResultPage<Row>> searchAsync(QueryTable query) {
+        return searchAsync(query, Row.class);
+    }
     
-    // https://docs.astra.datastax.com/reference#get_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-columns-1
-    void listColumns() {}
+    /**
+     * Asynchronous version of {@link #search(QueryTable, Class)}.
+     */
+    public <R> CompletableFuture<RowResultPage<R>> searchAsync(QueryTable query, Class<R> clazz) {
+        if (isCqlScan(query)) {
+            return cqlRowExecutor().select(cqlTable().get(), new Object[0], query, clazz);
+        }
+        return readPageAsync("table.search", searchUrl(query), query, clazz);
+    }
     
-    //https://docs.astra.datastax.com/reference#post_api-rest-v2-schemas-keyspaces-keyspace-id-tables-table-id-columns-1
-    void createColum() {}
+    /**
+     * A scan of the table (no where clause, no sort) goes over CQL when available.
+     */
+    private boolean isCqlScan(QueryTable query) {
+        Assert.notNull(query, "query");
+        return !query.getWhere().isPresent() && query.getSort().isEmpty() && cqlTable().isPresent();
+    }
     
+    private String searchUrl(QueryTable query) {
+        Assert.notNull(query, "query");
+        return buildQueryUrl(query.getWhere().isPresent() ? endPointTable : endPointTable + PATH_ROWS, query);
+    }
     
+    /**
+     * Iterate over all rows matching the query, pages are fetched when needed.
+     *
+     * @param prefetch
+     *      request the next page asynchronously while the current one is consumed
+     */
+    public <R> RowPageIterator<R> iterator(QueryTable query, Class<R> clazz, boolean prefetch) {
+        Assert.notNull(clazz, "clazz");
+        return new RowPageIterator<>(q -> searchAsync(q, clazz), query, prefetch);
+    }
     
+    /**
+     * Lazy stream of all rows matching the query, following page state.
+     */
+    public Stream<Row> stream(QueryTable query) {
+        return stream(query, Row.class, false);
+    }
     
+    /**
+     * Lazy stream of all rows matching the query, following page state.
+     * Close the stream (or consume it fully) to release a prefetched page.
+     *
+     * @param prefetch
+     *      request the next page asynchronously while the current one is consumed
+     */
+    public <R> Stream<R> stream(QueryTable query, Class<R> clazz, boolean prefetch) {
+        return stream(iterator(query, clazz, prefetch));
+    }
+    
+    /**
+     * Lazy stream of all rows of the table, large pages with prefetch.
+     */
+    public <R> Stream<R> streamAll(Class<R> clazz) {
+        return stream(QueryTable.builder().withPageSize(QueryTable.PAGING_SIZE_SCAN).build(), clazz, true);
+    }
+    
+    static <R> Stream<R> stream(RowPageIterator<R> it) {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(it::close);
+    }
+    
+    /**
+     * Move to the client of a row (or of a partition when only a prefix of the primary key is provided).
+     *
+     * @param primaryKey
+     *      values of the primary key columns, in the order of the table definition
+     */
+    public KeyClient key(Object... primaryKey) {
+        Assert.notNull(primaryKey, "primaryKey");
+        Assert.isTrue(primaryKey.length > 0, "Primary key should not be empty");
+        return new KeyClient(restClient, this, primaryKey);
+    }
+    
+    /**
+     * Writer to insert a large number of rows with bounded concurrency.
+     */
+    public BulkRowWriter bulkWriter(BulkWriterOptions options) {
+        return new BulkRowWriter(this, options);
+    }
+    
+    /**
+     * Writer with default {@link BulkWriterOptions}.
+     */
+    public BulkRowWriter bulkWriter() {
+        return bulkWriter(BulkWriterOptions.builder().build());
+    }
+    
+    /**
+     * Insert all rows of the stream with the default writer, blocking until the last one is processed.
+     */
+    public BulkWriteReport insertAll(Stream<? extends Map<String, ?>> rows) {
+        return bulkWriter().write(rows);
+    }
+    
+    /**
+     * Url of a query on rows: paging, where clause, returned columns and sort.
+     */
+    String buildQueryUrl(String endPoint, QueryTable query) {
+        StringBuilder sbUrl = new StringBuilder(endPoint.length() + 128).append(endPoint);
+        sbUrl.append("?page-size=").append(query.getPageSize());
+        if (query.getPageState().isPresent()) {
+            sbUrl.append("&page-state=").append(encode(query.getPageState().get()));
+        }
+        if (query.getWhere().isPresent()) {
+            sbUrl.append("&where=").append(encode(query.getWhere().get()));
+        }
+        if (!query.getFieldsToRetrieve().isEmpty()) {
+            sbUrl.append("&fields=").append(encode(String.join(",", query.getFieldsToRetrieve())));
+        }
+        if (!query.getSort().isEmpty()) {
+            sbUrl.append("&sort=").append(encode(marshallBody(query.getSort(), "Cannot marshall sort")));
+        }
+        return sbUrl.toString();
+    }
+    
+    /**
+     * Read a page of rows, the body is kept as bytes and decoded in a single pass.
+     */
+    <R> RowResultPage<R> readPage(String operationName, String url, QueryTable query, Class<R> clazz) {
+        HttpResponse<byte[]> response;
+        try {
+            response = restClient.send(operationName, pageRequest(url), BodyHandlers.ofByteArray());
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot read rows of " + tableName, e);
+        }
+        return marshallRowResultPage(response, query, clazz);
+    }
+    
+    <R> CompletableFuture<RowResultPage<R>> readPageAsync(String operationName, String url, QueryTable query, Class<R> clazz) {
+        return restClient.sendAsync(operationName, pageRequest(url), BodyHandlers.ofByteArray())
+                .thenApply(res -> marshallRowResultPage(res, query, clazz));
+    }
+    
+    private HttpRequest pageRequest(String url) {
+        return restClient.newRequest(url, restClient.getToken()).GET().build();
+    }
+    
+    /**
+     * Decode a page of rows, a 404 is an empty page.
+     */
+    private <R> RowResultPage<R> marshallRowResultPage(HttpResponse<byte[]> response, QueryTable query, Class<R> clazz) {
+        if (HttpURLConnection.HTTP_NOT_FOUND == response.statusCode()) {
+            return new RowResultPage<R>(query.getPageSize(), null, Collections.emptyList());
+        }
+        if (response.statusCode() >= 300) {
+            handleError(response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return new RowResultPageDecoder<R>(clazz).decode(response.body(), query.getPageSize());
+    }
+    
+    /**
+     * Metadata of the table when rows go over CQL, empty when they go through the Rest Api
+     * (no session on the client or table unknown to the driver).
+     */
+    Optional<TableMetadata> cqlTable() {
+        return restClient.getCqlRowExecutor().flatMap(cql -> cql.table(keyspaceClient.getKeyspace(), tableName));
+    }
+    
+    CqlRowExecutor cqlRowExecutor() {
+        return restClient.getCqlRowExecutor().orElseThrow(() -> new IllegalStateException("Cql is not enabled"));
+    }
+    
+    HttpResponse<String> send(String operationName, HttpRequest request, String errorMessage) {
+        try {
+            return restClient.send(operationName, request, BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+    
+    /**
+     * Send a change of the table schema, the tables listing is invalidated once the change completes.
+     */
+    HttpResponse<String> sendSchemaChange(String operationName, HttpRequest request, String errorMessage) {
+        try {
+            return send(operationName, request, errorMessage);
+        } finally {
+            restClient.invalidateSchema(SchemaCache.keyTables(keyspaceClient.getKeyspace()));
+        }
+    }
+    
+    CompletableFuture<HttpResponse<String>> sendAsync(String operationName, HttpRequest request) {
+        return restClient.sendAsync(operationName, request, BodyHandlers.ofString());
+    }
+    
+    static String marshallBody(Object body, String errorMessage) {
+        try {
+            return getObjectMapper().writeValueAsString(body);
+        } catch (Exception e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+    
+    /**
+     * Encode a query parameter or a path segment (spaces as %20, valid in both).
+     */
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+    
+    /**
+     * Getter accessor for attribute 'tableName'.
+     *
+     * @return
+     *       current value of 'tableName'
+     */
+    public String getTableName() {
+        return tableName;
+    }
+    
+    /**
+     * Getter accessor for attribute 'keyspaceClient'.
+     *
+     * @return
+     *       current value of 'keyspaceClient'
+     */
+    public KeyspaceClient getKeyspaceClient() {
+        return keyspaceClient;
+    }
+    
+    /**
+     * Getter accessor for attribute 'endPointTable'.
+     *
+     * @return
+     *       current value of 'endPointTable'
+     */
+    public String getEndPointTable() {
+        return endPointTable;
+    }
+    
+    /**
+     * Getter accessor for attribute 'endPointSchemaTable'.
+     *
+     * @return
+     *       current value of 'endPointSchemaTable'
+     */
+    public String getEndPointSchemaTable() {
+        return endPointSchemaTable;
+    }
 
 }
@@ -4,11 +4,15 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
-
 /**
  * Creation request of a table.
  *
+ * TableCreationRequest tcr = new TableCreationRequest("videos")
+ *              .addColumn("videoid", "uuid")
+ *              .addColumn("added", "timestamp")
+ *              .addPartitionKey("videoid")
+ *              .addClusteringKey("added", ClusteringOrder.desc);
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
 public class TableCreationRequest implements Serializable {
@@ -20,11 +24,49 @@ public class TableCreationRequest implements Serializable {
  
     private TablePrimaryKey primaryKey = new TablePrimaryKey();
     
-    private List<ColumnDefinitions> columnDefinitions = new ArrayList<>();
+    private List<ColumnDefinition> columnDefinitions = new ArrayList<>();
+    
+    private boolean ifNotExists = false;
+    
+    private TableOptions tableOptions = new TableOptions();
+    
+    /**
+     * Default constructor.
+     */
+    public TableCreationRequest() {
+    }
     
-    boolean ifNotExists = false;
+    /**
+     * Request for a table.
+     */
+    public TableCreationRequest(String name) {
+        this.name = name;
+    }
     
-    TableOptions tableOptions = new TableOptions();
+    /**
+     * Add a regular column.
+     */
+    public TableCreationRequest addColumn(String name, String typeDefinition) {
+        columnDefinitions.add(new ColumnDefinition(name, typeDefinition));
+        return this;
+    }
+    
+    /**
+     * Add a column to the partition key (column should be defined).
+     */
+    public TableCreationRequest addPartitionKey(String column) {
+        primaryKey.getPartitionKey().add(column);
+        return this;
+    }
+    
+    /**
+     * Add a clustering column with its order (column should be defined).
+     */
+    public TableCreationRequest addClusteringKey(String column, ClusteringOrder order) {
+        primaryKey.getClusteringKey().add(column);
+        tableOptions.getClusteringExpression().add(new ClusteringExpression(column, order));
+        return this;
+    }
 
     /**
      * Getter accessor for attribute 'name'.
@@ -70,7 +112,7 @@ public class TableCreationRequest implements Serializable {
      * @return
      *       current value of 'columnDefinitions'
      */
-    public List<ColumnDefinitions> getColumnDefinitions() {
+    public List<ColumnDefinition> getColumnDefinitions() {
         return columnDefinitions;
     }
 
@@ -79,7 +121,7 @@ public class TableCreationRequest implements Serializable {
      * @param columnDefinitions
      * 		new value for 'columnDefinitions '
      */
-    public void setColumnDefinitions(List<ColumnDefinitions> columnDefinitions) {
+    public void setColumnDefinitions(List<ColumnDefinition> columnDefinitions) {
         this.columnDefinitions = columnDefinitions;
     }
 
@@ -1,9 +1,18 @@
 package io.stargate.sdk.rest;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class TableOptions {
+/**
+ * Options of a table (ttl, clustering order).
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class TableOptions implements Serializable {
+    
+    /** Serial. */
+    private static final long serialVersionUID = -1382569218375302211L;
     
     /*
      * Defines the Time To Live (TTL), which determines the time period (in seconds) 
@@ -1,18 +1,31 @@
 package io.stargate.sdk.utils;
 
+import java.io.IOException;
+import java.net.ConnectException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpClient.Redirect;
-import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodyHandler;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,14 +38,31 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 
+import io.stargate.sdk.auth.StargateAuthTokenProvider;
+import io.stargate.sdk.auth.StaticTokenProvider;
+import io.stargate.sdk.auth.TokenProvider;
 import io.stargate.sdk.exception.AuthenticationException;
+import io.stargate.sdk.exception.CircuitBreakerOpenException;
+import io.stargate.sdk.exception.HttpResponseException;
+import io.stargate.sdk.http.CircuitBreaker;
+import io.stargate.sdk.http.EndpointGroup;
+import io.stargate.sdk.http.HedgingPolicy;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.RequestEvent;
+import io.stargate.sdk.http.RequestHedger;
+import io.stargate.sdk.http.RequestInstrumentation;
+import io.stargate.sdk.http.RequestThrottler;
+import io.stargate.sdk.http.RetryBudget;
+import io.stargate.sdk.http.RetryPolicy;
 
 /**
  * Mutualization of operations for doc,rest.devops API when possible.
  *
+ * Close the Api client to release the threads of its http client.
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
-public abstract class ApiSupport {
+public abstract class ApiSupport implements AutoCloseable {
     
     /** Logger for our Client. */
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiSupport.class);
@@ -44,23 +74,51 @@ public abstract class ApiSupport {
     public static final String CONTENT_TYPE_JSON      = "application/json";
     public static final String PATH_SCHEMA            = "/v2/schemas";
     
-    /** Set a timeout for Http requests. */
-    public static final Duration REQUEST_TIMOUT = Duration.ofSeconds(10);
+    /** Set a timeout for Http requests (default value, see {@link HttpClientOptions}). */
+    public static final Duration REQUEST_TIMOUT = HttpClientOptions.DEFAULT_REQUEST_TIMEOUT;
     
     /** Set a timeout for Http requests. */
     public static final Duration TOKEN_TTL = Duration.ofSeconds(300);
     
+    /** Operation name of requests sent without one. */
+    public static final String DEFAULT_OPERATION = "http.request";
+    
     // ----------------------------------
     //  Http Client   
     // ----------------------------------
     
-    /** Core Java 11 Http Client (limiting dependencies to third-party and ensure portability). **/
-    protected static final HttpClient httpClient = HttpClient.newBuilder()
-                .version(Version.HTTP_2)
-                .followRedirects(Redirect.NORMAL)
-                .connectTimeout(Duration.ofSeconds(10))
-                .executor(Executors.newFixedThreadPool(5))
-                .build();
+    /** Settings of the http client (executor, timeouts, version). */
+    protected final HttpClientOptions httpClientOptions;
+    
+    /** Executor of the http client, created from the options unless a custom one is provided. */
+    protected final Executor executor;
+    
+    /** Core Java 11 Http Client, one per Api client to isolate traffic (limiting dependencies to third-party). **/
+    protected final HttpClient httpClient;
+    
+    /** Invoked around each request. */
+    protected final List<RequestInstrumentation> instrumentations = new CopyOnWriteArrayList<>();
+    
+    /** Retries of transient failures. */
+    protected final RetryPolicy retryPolicy;
+    
+    /** Limits retries of this Api when most requests are failing. */
+    protected final RetryBudget retryBudget;
+    
+    /** Circuit breakers of the endpoints reached by this Api, keyed by scheme://host:port. */
+    protected final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    
+    /** Hedging of slow reads, null when disabled. */
+    protected final RequestHedger requestHedger;
+    
+    /** Client-side limits of requests, null when not throttled. */
+    private volatile RequestThrottler requestThrottler;
+    
+    /** Nodes serving this Api, null when requests go to a single url. */
+    private volatile EndpointGroup endpointGroup;
+    
+    /** Schema listings, null when disabled. */
+    private volatile SchemaCache schemaCache;
     
     /** Object <=> Json marshaller as a Jackson Mapper. */
     protected static final ObjectMapper objectMapper = new ObjectMapper()
@@ -75,11 +133,11 @@ public abstract class ApiSupport {
                 .setSerializationInclusion(Include.NON_NULL)
                 .setAnnotationIntrospector(new JacksonAnnotationIntrospector());
     
-    /** Storing an authentication token to speed up queries. */
-    protected String token;
+    /** Provides authentication tokens, created on first use. */
+    private volatile TokenProvider tokenProvider;
     
-    /** Mark the token update. */
-    protected long tokenCreatedtime = 0;
+    /** The token provider has been created by this Api (not provided). */
+    private volatile boolean defaultTokenProvider;
     
     /** Authentication token, time to live. */
     protected Duration tokenttl = TOKEN_TTL;
@@ -96,81 +154,755 @@ public abstract class ApiSupport {
     /** This the endPoint to invoke to work with different API(s). */
     protected  String endPointAuthentication;
     
+    /**
+     * Default constructor using default {@link HttpClientOptions}.
+     */
+    protected ApiSupport() {
+        this(HttpClientOptions.defaults());
+    }
+    
+    /**
+     * Create the dedicated http client of this Api.
+     */
+    protected ApiSupport(HttpClientOptions options) {
+        this.httpClientOptions = (null == options) ? HttpClientOptions.defaults() : options;
+        this.executor          = this.httpClientOptions.createExecutor();
+        this.httpClient        = this.httpClientOptions.createHttpClient(executor);
+        this.instrumentations.addAll(this.httpClientOptions.getInstrumentations());
+        this.retryPolicy       = this.httpClientOptions.getRetryPolicy();
+        this.retryBudget       = this.retryPolicy.createBudget();
+        this.requestHedger     = this.httpClientOptions.getHedging().isEnabled() ? 
+                new RequestHedger(this.httpClientOptions.getHedging()) : null;
+        if (this.httpClientOptions.getThrottling().isEnabled()) {
+            this.requestThrottler = new RequestThrottler(this.httpClientOptions.getThrottling());
+        }
+    }
+    
+    /**
+     * Shut down the executor created for this Api, a custom executor is left running. Requests
+     * in flight complete, new requests are rejected.
+     */
+    @Override
+    public void close() {
+        if (HttpClientOptions.ExecutorType.CUSTOM != httpClientOptions.getExecutorType() 
+                && executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+        // Default provider renews tokens in background with the http client of this Api
+        TokenProvider provider = tokenProvider;
+        if (provider instanceof StargateAuthTokenProvider && defaultTokenProvider) {
+            ((StargateAuthTokenProvider) provider).close();
+        }
+    }
+    
     /**
      * Generate or renew authentication token
      */
     public String getToken() {
-        if ((System.currentTimeMillis() - tokenCreatedtime) > 1000 * tokenttl.getSeconds()) {
-            token = renewToken();
-            tokenCreatedtime = System.currentTimeMillis();
+        return getTokenProvider().getToken();
+    }
+    
+    /**
+     * Asynchronous version of {@link #getToken()}, a renewal does not block the caller.
+     */
+    public CompletableFuture<String> getTokenAsync() {
+        try {
+            return getTokenProvider().getTokenAsync();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        return token;
     }
-            
+    
+    /**
+     * Force the renewal of the authentication token.
+     */
     public String renewToken() {
+        return getTokenProvider().renewToken(null);
+    }
+    
+    /**
+     * Token provider in use, default one is built from appToken or credentials.
+     */
+    public TokenProvider getTokenProvider() {
+        TokenProvider provider = tokenProvider;
+        if (null == provider) {
+            synchronized (this) {
+                if (null == tokenProvider) {
+                    tokenProvider        = createTokenProvider();
+                    defaultTokenProvider = true;
+                }
+                provider = tokenProvider;
+            }
+        }
+        return provider;
+    }
+    
+    /**
+     * Replace the token provider (custom authentication).
+     */
+    public void setTokenProvider(TokenProvider tokenProvider) {
+        Assert.notNull(tokenProvider, "tokenProvider");
+        this.tokenProvider        = tokenProvider;
+        this.defaultTokenProvider = false;
+    }
+    
+    /**
+     * Default provider, static application token when provided else authentication with username/password.
+     */
+    protected TokenProvider createTokenProvider() {
+        if (null != appToken) {
+            return new StaticTokenProvider(appToken);
+        }
+        if (null == endPointAuthentication) {
+            throw new IllegalStateException("No application token provided, please provide authentication endpoint");
+        }
+        return new StargateAuthTokenProvider(endPointAuthentication, username, password, 
+                tokenttl, httpClient, httpClientOptions.getRequestTimeout());
+    }
+    
+    /**
+     * Send a request with the http client of this Api. When the token is rejected (401)
+     * the request is sent once more with a renewed token, transient failures are retried
+     * following the {@link RetryPolicy}. Each attempt is guarded by the {@link CircuitBreaker} of the
+     * endpoint, a {@link CircuitBreakerOpenException} is raised at once while it is open.
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> handler) 
+    throws IOException, InterruptedException {
+        return send(DEFAULT_OPERATION, request, handler);
+    }
+    
+    /**
+     * Send a request, reported to the {@link RequestInstrumentation}s as 'operationName'.
+     */
+    public <T> HttpResponse<T> send(String operationName, HttpRequest request, BodyHandler<T> handler) 
+    throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        RetryState state = new RetryState(operationName, request);
+        fireRequestStart(operationName, request);
         try {
-            if (appToken == null) {
-                if (null == endPointAuthentication) {
-                    throw new IllegalStateException("No application token provided, please provide authentication endpoint");
+            HttpRequest current = request;
+            while (true) {
+                HttpResponse<T> response;
+                try {
+                    response = sendAttempt(current, handler, state);
+                } catch (IOException e) {
+                    if (!shouldRetry(state, e)) {
+                        throw e;
+                    }
+                    Thread.sleep(state.nextDelay(null));
+                    continue;
+                }
+                if (!state.tokenRenewed && isTokenRejected(current, response)) {
+                    state.tokenRenewed = true;
+                    Optional<HttpRequest> renewed = withRenewedToken(current);
+                    if (renewed.isPresent()) {
+                        state.retries++;
+                        current = renewed.get();
+                        continue;
+                    }
                 }
-                // Auth request (https://docs.astra.datastax.com/reference#auth-2)
-                String authRequestBody = new StringBuilder("{")
-                    .append("\"username\":").append(JsonUtils.valueAsJson(username))
-                    .append(", \"password\":").append(JsonUtils.valueAsJson(password))
-                    .append("}").toString();
-                
-                // Call with a POST
-                HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
-                        .uri(URI.create(endPointAuthentication + "/v1/auth/"))
-                        .timeout(REQUEST_TIMOUT)
-                        .header(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON)
-                        .POST(BodyPublishers.ofString(authRequestBody)).build(), BodyHandlers.ofString());
-                
-                // Parse result, extract token
-                if (201 == response.statusCode() || 200 == response.statusCode()) {
-                    LOGGER.info("Successfully authenticated, token ttl {} s.", tokenttl.getSeconds());
-                    return (String) objectMapper.readValue(response.body(), Map.class).get("authToken");
-                } else {
-                    throw new IllegalStateException("Cannot generate authentication token " + response.body());
+                if (shouldRetry(state, response)) {
+                    Thread.sleep(state.nextDelay(response));
+                    continue;
+                }
+                fireRequestComplete(operationName, request, response, null, start, state.retries);
+                return response;
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            fireRequestComplete(operationName, request, null, e, start, state.retries);
+            throw e;
+        }
+    }
+    
+    /**
+     * Asynchronous version of {@link #send(HttpRequest, BodyHandler)}.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> handler) {
+        return sendAsync(DEFAULT_OPERATION, request, handler);
+    }
+    
+    /**
+     * Asynchronous version of {@link #send(String, HttpRequest, BodyHandler)}, retries are
+     * scheduled without blocking a thread.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(String operationName, HttpRequest request, BodyHandler<T> handler) {
+        long start = System.nanoTime();
+        RetryState state = new RetryState(operationName, request);
+        fireRequestStart(operationName, request);
+        return sendAsync(request, handler, state).whenComplete((response, error) -> 
+            fireRequestComplete(operationName, request, response, error, start, state.retries));
+    }
+    
+    /**
+     * Asynchronous send of a request built with the current token. Errors raised when building
+     * the request (invalid arguments, marshalling) fail the future, the caller thread never
+     * waits for a token renewal.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(String operationName, 
+            Function<String, HttpRequest> request, BodyHandler<T> handler) {
+        return getTokenAsync()
+                .thenApply(request)
+                .thenCompose(r -> sendAsync(operationName, r, handler));
+    }
+    
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> handler, RetryState state) {
+        return sendAttemptAsync(request, handler, state).handle((response, error) -> {
+            if (null != error) {
+                Throwable cause = Utils.unwrap(error);
+                if (!shouldRetry(state, cause)) {
+                    return CompletableFuture.<HttpResponse<T>>failedFuture(cause);
                 }
-            } else {
-                // Use token no new to renew it
-                return appToken;
+                return retryLater(request, handler, state, null);
+            }
+            if (!state.tokenRenewed && isTokenRejected(request, response)) {
+                state.tokenRenewed = true;
+                String rejected = request.headers().firstValue(HEADER_CASSANDRA).get();
+                return getTokenProvider().renewTokenAsync(rejected).thenCompose(renewed -> {
+                    Optional<HttpRequest> retry = withToken(request, rejected, renewed);
+                    if (!retry.isPresent()) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    state.retries++;
+                    return sendAsync(retry.get(), handler, state);
+                });
             }
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Cannot generate authentication token", e);
+            if (shouldRetry(state, response)) {
+                return retryLater(request, handler, state, response);
+            }
+            return CompletableFuture.completedFuture(response);
+        }).thenCompose(Function.identity());
+    }
+    
+    /**
+     * Attempt hedged following the {@link HedgingPolicy} when it applies to the operation.
+     */
+    private <T> HttpResponse<T> sendAttempt(HttpRequest request, BodyHandler<T> handler, RetryState state) 
+    throws IOException, InterruptedException {
+        if (!isHedged(request, state)) {
+            return sendOnce(request, handler, state);
+        }
+        try {
+            return sendAttemptAsync(request, handler, state).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && null != cause.getCause()) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+    
+    /**
+     * Hedged copies of an attempt avoid the same node, the node which failed is recorded once the
+     * attempt completes: copies still running cannot overwrite the outcome of the next attempt.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendAttemptAsync(HttpRequest request, BodyHandler<T> handler, RetryState state) {
+        EndpointGroup.Endpoint avoid = state.lastFailedEndpoint;
+        AtomicReference<EndpointGroup.Endpoint> failed = new AtomicReference<>();
+        CompletableFuture<HttpResponse<T>> attempt;
+        if (!isHedged(request, state)) {
+            attempt = sendOnceAsync(request, handler, avoid, failed);
+        } else {
+            attempt = requestHedger.send(state.operationName, 
+                () -> sendOnceAsync(request, handler, avoid, failed), this::fireHedgedRequest);
         }
+        return attempt.whenComplete((res, error) -> state.lastFailedEndpoint = 
+                (null == error && res.statusCode() < HttpURLConnection.HTTP_INTERNAL_ERROR) ? null : failed.get());
+    }
+    
+    private boolean isHedged(HttpRequest request, RetryState state) {
+        return null != requestHedger && requestHedger.getPolicy().isHedged(state.operationName, request);
+    }
+    
+    /**
+     * Single attempt on one node of the {@link EndpointGroup} (if any), throttled and guarded
+     * by the circuit breaker of the endpoint.
+     */
+    private <T> HttpResponse<T> sendOnce(HttpRequest request, BodyHandler<T> handler, RetryState state) 
+    throws IOException, InterruptedException {
+        EndpointGroup group = this.endpointGroup;
+        if (null == group) {
+            return sendThrottled(request, handler);
+        }
+        EndpointGroup.Endpoint endpoint = group.select(state.lastFailedEndpoint, isWrite(request));
+        boolean success = false;
+        long start = System.nanoTime();
+        endpoint.onRequestStart();
+        try {
+            HttpResponse<T> response = sendThrottled(toEndpoint(group, endpoint, request), handler);
+            success = response.statusCode() < HttpURLConnection.HTTP_INTERNAL_ERROR;
+            return response;
+        } finally {
+            endpoint.onRequestComplete(success, System.nanoTime() - start);
+            state.lastFailedEndpoint = success ? null : endpoint;
+        }
+    }
+    
+    private <T> CompletableFuture<HttpResponse<T>> sendOnceAsync(HttpRequest request, BodyHandler<T> handler, 
+            EndpointGroup.Endpoint avoid, AtomicReference<EndpointGroup.Endpoint> failed) {
+        EndpointGroup group = this.endpointGroup;
+        if (null == group) {
+            return sendThrottledAsync(request, handler);
+        }
+        EndpointGroup.Endpoint endpoint = group.select(avoid, isWrite(request));
+        long start = System.nanoTime();
+        endpoint.onRequestStart();
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = sendThrottledAsync(toEndpoint(group, endpoint, request), handler);
+        } catch (RuntimeException e) {
+            // Outstanding requests of the node stay balanced, as in the blocking path
+            endpoint.onRequestComplete(false);
+            failed.set(endpoint);
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((res, error) -> {
+            boolean success = null == error && res.statusCode() < HttpURLConnection.HTTP_INTERNAL_ERROR;
+            endpoint.onRequestComplete(success, System.nanoTime() - start);
+            if (!success) {
+                failed.set(endpoint);
+            }
+        });
+    }
+    
+    private boolean isWrite(HttpRequest request) {
+        return !"GET".equals(request.method()) && !"HEAD".equals(request.method());
+    }
+    
+    /**
+     * Copy of the request targeting the selected node.
+     */
+    private HttpRequest toEndpoint(EndpointGroup group, EndpointGroup.Endpoint endpoint, HttpRequest request) {
+        URI target = group.rewrite(request.uri(), endpoint);
+        if (null == target || target.equals(request.uri())) {
+            return request;
+        }
+        return copy(request, target, null, null);
+    }
+    
+    private <T> HttpResponse<T> sendThrottled(HttpRequest request, BodyHandler<T> handler) 
+    throws IOException, InterruptedException {
+        RequestThrottler throttler = this.requestThrottler;
+        if (null == throttler) {
+            return sendThroughCircuitBreaker(request, handler);
+        }
+        RequestThrottler.Permit permit = throttler.acquire(request.uri());
+        int status = RequestEvent.NO_STATUS;
+        try {
+            HttpResponse<T> response = sendThroughCircuitBreaker(request, handler);
+            status = response.statusCode();
+            return response;
+        } finally {
+            permit.release(status);
+        }
+    }
+    
+    private <T> CompletableFuture<HttpResponse<T>> sendThrottledAsync(HttpRequest request, BodyHandler<T> handler) {
+        RequestThrottler throttler = this.requestThrottler;
+        if (null == throttler) {
+            return sendThroughCircuitBreakerAsync(request, handler);
+        }
+        return throttler.acquireAsync(request.uri()).thenCompose(permit -> {
+            CompletableFuture<HttpResponse<T>> response;
+            try {
+                response = sendThroughCircuitBreakerAsync(request, handler);
+            } catch (RuntimeException e) {
+                permit.release(RequestEvent.NO_STATUS);
+                return CompletableFuture.failedFuture(e);
+            }
+            return response.whenComplete((res, error) -> 
+                permit.release((null == res) ? RequestEvent.NO_STATUS : res.statusCode()));
+        });
+    }
+    
+    private <T> HttpResponse<T> sendThroughCircuitBreaker(HttpRequest request, BodyHandler<T> handler) 
+    throws IOException, InterruptedException {
+        CircuitBreaker breaker = acquireCircuitBreaker(request);
+        if (null == breaker) {
+            return httpClient.send(request, handler);
+        }
+        try {
+            HttpResponse<T> response = httpClient.send(request, handler);
+            recordOutcome(breaker, response, null);
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            recordOutcome(breaker, null, e);
+            throw e;
+        }
+    }
+    
+    private <T> CompletableFuture<HttpResponse<T>> sendThroughCircuitBreakerAsync(HttpRequest request, BodyHandler<T> handler) {
+        CircuitBreaker breaker;
+        try {
+            breaker = acquireCircuitBreaker(request);
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = httpClient.sendAsync(request, handler);
+        } catch (RuntimeException e) {
+            // Permission granted (maybe the half open probe) is given back as a failure
+            if (null != breaker) {
+                recordOutcome(breaker, null, e);
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        if (null == breaker) {
+            return response;
+        }
+        return response.whenComplete((res, error) -> recordOutcome(breaker, res, error));
+    }
+    
+    /**
+     * Circuit breaker of the request endpoint, null when disabled.
+     *
+     * @throws CircuitBreakerOpenException
+     *      the endpoint is considered unhealthy
+     */
+    private CircuitBreaker acquireCircuitBreaker(HttpRequest request) {
+        if (!httpClientOptions.getCircuitBreaker().isEnabled()) {
+            return null;
+        }
+        CircuitBreaker breaker = getCircuitBreaker(request.uri());
+        breaker.acquirePermission();
+        return breaker;
+    }
+    
+    private void recordOutcome(CircuitBreaker breaker, HttpResponse<?> response, Throwable error) {
+        if (null != error || response.statusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+    
+    /**
+     * Circuit breaker of an endpoint, created on first call.
+     */
+    public CircuitBreaker getCircuitBreaker(URI uri) {
+        String endpoint = uri.getScheme() + "://" + uri.getAuthority();
+        return circuitBreakers.computeIfAbsent(endpoint, ep -> 
+            new CircuitBreaker(ep, httpClientOptions.getCircuitBreaker(), this::fireCircuitBreakerStateChange));
+    }
+    
+    private void fireCircuitBreakerStateChange(String endpoint, CircuitBreaker.State from, CircuitBreaker.State to) {
+        if (CircuitBreaker.State.OPEN == to) {
+            LOGGER.warn("Circuit breaker of {} is now OPEN (was {}), calls fail until it is probed again", endpoint, from);
+        } else {
+            LOGGER.info("Circuit breaker of {} is now {} (was {})", endpoint, to, from);
+        }
+        for (RequestInstrumentation instrumentation : instrumentations) {
+            try {
+                instrumentation.onCircuitBreakerStateChange(endpoint, from, to);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Instrumentation failed on circuit breaker state change: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void fireHedgedRequest(String operationName, boolean won) {
+        LOGGER.debug("Hedged request of {} completed, won={}", operationName, won);
+        for (RequestInstrumentation instrumentation : instrumentations) {
+            try {
+                instrumentation.onHedgedRequest(operationName, won);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Instrumentation failed on hedged request: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private <T> CompletableFuture<HttpResponse<T>> retryLater(HttpRequest request, BodyHandler<T> handler, 
+            RetryState state, HttpResponse<T> response) {
+        Executor delayed = CompletableFuture.delayedExecutor(state.nextDelay(response), TimeUnit.MILLISECONDS);
+        return CompletableFuture
+                .runAsync(() -> {}, delayed)
+                .thenCompose(v -> sendAsync(request, handler, state));
+    }
+    
+    /**
+     * A response has been received, retry if the status is transient.
+     */
+    private boolean shouldRetry(RetryState state, HttpResponse<?> response) {
+        if (!retryPolicy.isRetryableStatus(response.statusCode())) {
+            retryBudget.onSuccess();
+            return false;
+        }
+        return allowRetry(state, "status " + response.statusCode(), false);
+    }
+    
+    /**
+     * No response has been received, retry if the error is transient. A request which could not
+     * connect has not been sent, with several nodes it fails over even if not idempotent.
+     */
+    private boolean shouldRetry(RetryState state, Throwable error) {
+        boolean notSent = null != endpointGroup 
+                && (error instanceof ConnectException || error.getCause() instanceof ConnectException);
+        return retryPolicy.isRetryableError(error) && allowRetry(state, error.getClass().getSimpleName(), notSent);
+    }
+    
+    private boolean allowRetry(RetryState state, String reason, boolean notSent) {
+        // Failure of a request which cannot be retried still drains the budget
+        boolean withinBudget = retryBudget.onFailure();
+        if (!(state.retryable || notSent) || state.attempts >= retryPolicy.getMaxAttempts()) {
+            return false;
+        }
+        if (!withinBudget) {
+            LOGGER.debug("Retry budget exhausted, [{}] is not retried after {}", state.operationName, reason);
+            return false;
+        }
+        LOGGER.debug("Retrying [{}] after {} (attempt {})", state.operationName, reason, state.attempts + 1);
+        return true;
+    }
+    
+    /**
+     * Attempts of one call. Attempts are sequential, hedged copies of an attempt only read the state.
+     */
+    private final class RetryState {
+        
+        private final String operationName;
+        
+        private final boolean retryable;
+        
+        private int attempts = 1;
+        
+        private int retries = 0;
+        
+        private boolean tokenRenewed = false;
+        
+        private volatile EndpointGroup.Endpoint lastFailedEndpoint;
+        
+        private RetryState(String operationName, HttpRequest request) {
+            this.operationName = operationName;
+            this.retryable     = retryPolicy.isRetryable(operationName, request);
+        }
+        
+        private long nextDelay(HttpResponse<?> response) {
+            retries++;
+            return retryPolicy.getDelayMillis(attempts++, response);
+        }
+    }
+    
+    /**
+     * Replace the client-side limits, a throttler can be shared by Api clients reaching the same database.
+     */
+    public void setRequestThrottler(RequestThrottler requestThrottler) {
+        this.requestThrottler = requestThrottler;
+    }
+    
+    /**
+     * Client-side limits of requests, empty when not throttled.
+     */
+    public Optional<RequestThrottler> getRequestThrottler() {
+        return Optional.ofNullable(requestThrottler);
+    }
+    
+    /**
+     * Hedging of slow reads, empty when disabled.
+     */
+    public Optional<RequestHedger> getRequestHedger() {
+        return Optional.ofNullable(requestHedger);
+    }
+    
+    /**
+     * Balance requests over several nodes, requests are built against {@link EndpointGroup#getPrimaryUrl()}.
+     */
+    public void setEndpointGroup(EndpointGroup endpointGroup) {
+        this.endpointGroup = endpointGroup;
+    }
+    
+    /**
+     * Nodes serving this Api, empty when requests go to a single url.
+     */
+    public Optional<EndpointGroup> getEndpointGroup() {
+        return Optional.ofNullable(endpointGroup);
+    }
+    
+    /**
+     * Keep schema listings (namespaces, keyspaces, collections, tables) for the ttl, existence
+     * checks are then served from memory.
+     */
+    public SchemaCache enableSchemaCache(Duration ttl) {
+        this.schemaCache = new SchemaCache(ttl);
+        return schemaCache;
+    }
+    
+    /**
+     * Schema listings kept for {@link SchemaCache#DEFAULT_TTL}.
+     */
+    public SchemaCache enableSchemaCache() {
+        return enableSchemaCache(SchemaCache.DEFAULT_TTL);
+    }
+    
+    /**
+     * Schema listings are read from the Api on each call.
+     */
+    public void disableSchemaCache() {
+        this.schemaCache = null;
+    }
+    
+    /**
+     * Schema listings cache, empty when disabled.
+     */
+    public Optional<SchemaCache> getSchemaCache() {
+        return Optional.ofNullable(schemaCache);
+    }
+    
+    /**
+     * Schema listing from the cache when enabled, loaded otherwise.
+     */
+    public <T> T cachedSchema(String key, Supplier<T> loader) {
+        SchemaCache cache = schemaCache;
+        return (null == cache) ? loader.get() : cache.get(key, loader);
+    }
+    
+    /**
+     * Drop schema listings after a change sent by this client.
+     */
+    public void invalidateSchema(String... keys) {
+        SchemaCache cache = schemaCache;
+        if (null != cache) {
+            cache.invalidate(keys);
+        }
+    }
+    
+    /**
+     * Register an instrumentation in addition to the ones of {@link HttpClientOptions}.
+     */
+    public void addInstrumentation(RequestInstrumentation instrumentation) {
+        Assert.notNull(instrumentation, "instrumentation");
+        instrumentations.add(instrumentation);
+    }
+    
+    private void fireRequestStart(String operationName, HttpRequest request) {
+        for (RequestInstrumentation instrumentation : instrumentations) {
+            try {
+                instrumentation.onRequestStart(operationName, request);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Instrumentation failed on request start: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void fireRequestComplete(String operationName, HttpRequest request, 
+            HttpResponse<?> response, Throwable error, long startNanos, int retries) {
+        if (instrumentations.isEmpty()) {
+            return;
+        }
+        Throwable cause = Utils.unwrap(error);
+        RequestEvent event = new RequestEvent(operationName, request, 
+                (null == response) ? RequestEvent.NO_STATUS : response.statusCode(), cause,
+                Duration.ofNanos(System.nanoTime() - startNanos),
+                request.bodyPublisher().map(BodyPublisher::contentLength).orElse(0L),
+                responseBytes(response), retries);
+        for (RequestInstrumentation instrumentation : instrumentations) {
+            try {
+                instrumentation.onRequestComplete(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Instrumentation failed on request completion: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private long responseBytes(HttpResponse<?> response) {
+        if (null == response) {
+            return -1;
+        }
+        Object body = response.body();
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body instanceof String) {
+            return ((String) body).length();
+        }
+        return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    }
+    
+    private boolean isTokenRejected(HttpRequest request, HttpResponse<?> response) {
+        return HttpURLConnection.HTTP_UNAUTHORIZED == response.statusCode() 
+                && request.headers().firstValue(HEADER_CASSANDRA).isPresent();
+    }
+    
+    /**
+     * Copy of the request with a new token, empty if no new token is available.
+     */
+    private Optional<HttpRequest> withRenewedToken(HttpRequest request) {
+        String rejected = request.headers().firstValue(HEADER_CASSANDRA).get();
+        return withToken(request, rejected, getTokenProvider().renewToken(rejected));
+    }
+    
+    private Optional<HttpRequest> withToken(HttpRequest request, String rejected, String renewed) {
+        if (null == renewed || renewed.equals(rejected)) {
+            return Optional.empty();
+        }
+        return Optional.of(copy(request, request.uri(), HEADER_CASSANDRA, renewed));
+    }
+    
+    /**
+     * Copy of a request with another uri and optionally another value for one header.
+     * (HttpRequest.newBuilder(HttpRequest) is not available in java 11)
+     */
+    private HttpRequest copy(HttpRequest request, URI uri, String headerName, String headerValue) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .expectContinue(request.expectContinue())
+                .method(request.method(), request.bodyPublisher().orElse(BodyPublishers.noBody()));
+        request.timeout().ifPresent(builder::timeout);
+        request.version().ifPresent(builder::version);
+        request.headers().map().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase(headerName)) {
+                values.forEach(v -> builder.header(name, v));
+            }
+        });
+        if (null != headerName) {
+            builder.header(headerName, headerValue);
+        }
+        return builder.build();
     }
     
     /**
      * Utility to process error Requests.
      */
     public static void handleError(HttpResponse<String> res) {
-        if (res.statusCode() >=300) {
+        handleError(res.statusCode(), res.body());
+    }
+    
+    /**
+     * Utility to process error Requests when body has not been read as a String.
+     */
+    public static void handleError(int statusCode, String body) {
+        if (statusCode >=300) {
             try {
-               StargateApiError apiErr = objectMapper.readValue(res.body(), StargateApiError.class);
-               if (res.statusCode() == HttpURLConnection.HTTP_FORBIDDEN || 
-                   res.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+               StargateApiError apiErr = objectMapper.readValue(body, StargateApiError.class);
+               if (statusCode == HttpURLConnection.HTTP_FORBIDDEN || 
+                   statusCode == HttpURLConnection.HTTP_UNAUTHORIZED) {
                    throw new AuthenticationException(apiErr.getCode() + ":" + apiErr.getDescription());
                }
-               if (HttpURLConnection.HTTP_CONFLICT == res.statusCode()) {
+               if (HttpURLConnection.HTTP_CONFLICT == statusCode) {
                    throw new IllegalArgumentException("Object alrerady exist" + apiErr.getCode() + ":" + apiErr.getDescription());
                }
-               if (HttpURLConnection.HTTP_INTERNAL_ERROR == res.statusCode()) {
+               if (HttpURLConnection.HTTP_INTERNAL_ERROR == statusCode) {
                    throw new IllegalStateException("Internal Error" + apiErr.getCode() + ":" + apiErr.getDescription());
                }
              } catch (Exception e) {}
-             throw new RuntimeException("Error code=" + res.statusCode() + " response=" + res.body());
+             throw new HttpResponseException(statusCode, body);
         }
     }
     
     /**
     * Mutualizing request headers/settings.
     *
-    * @param suffix
-    *      end of the url
+    * @param url
+    *      target url
+    * @param token
+    *      authentication token
     * @return
-    *      builder for the query
+    *      builder for the query, with the default timeout
     */
     public static HttpRequest.Builder startRequest(String url, String token) {
        return HttpRequest.newBuilder()
@@ -179,6 +911,38 @@ public abstract class ApiSupport {
                .header(HEADER_CASSANDRA, token)
                .uri(URI.create(url));
    }
+    
+    /**
+     * Same as {@link #startRequest(String, String)} with the request timeout of this Api.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      builder for the query
+     */
+    public HttpRequest.Builder newRequest(String url, String token) {
+        return newRequest(URI.create(url), token);
+    }
+    
+    /**
+     * Same as {@link #newRequest(String, String)} with an uri built once by the caller (fixed resources).
+     *
+     * @param uri
+     *      target uri
+     * @param token
+     *      authentication token
+     * @return
+     *      builder for the query
+     */
+    public HttpRequest.Builder newRequest(URI uri, String token) {
+        return HttpRequest.newBuilder()
+                .timeout(httpClientOptions.getRequestTimeout())
+                .header(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON)
+                .header(HEADER_CASSANDRA, token)
+                .uri(uri);
+    }
 
     /**
      * Getter accessor for attribute 'httpclient'.
@@ -186,10 +950,40 @@ public abstract class ApiSupport {
      * @return
      *       current value of 'httpclient'
      */
-    public static HttpClient getHttpClient() {
+    public HttpClient getHttpClient() {
         return httpClient;
     }
+    
+    /**
+     * Getter accessor for attribute 'executor'.
+     *
+     * @return
+     *       current value of 'executor'
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+    
+    /**
+     * Getter accessor for attribute 'httpClientOptions'.
+     *
+     * @return
+     *       current value of 'httpClientOptions'
+     */
+    public HttpClientOptions getHttpClientOptions() {
+        return httpClientOptions;
+    }
 
+    /**
+     * Getter accessor for attribute 'retryBudget'.
+     *
+     * @return
+     *       current value of 'retryBudget'
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+    
     /**
      * Getter accessor for attribute 'objectmapper'.
      *
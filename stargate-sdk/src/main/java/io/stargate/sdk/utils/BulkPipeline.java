@@ -0,0 +1,127 @@
+package io.stargate.sdk.utils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import io.stargate.sdk.exception.HttpResponseException;
+
+/**
+ * Writes of a bulk operation with a bounded number in flight, shared by the bulk writers.
+ *
+ * The producer thread blocks in {@link #submit(Supplier)} until a slot is available. A slot is
+ * released when the write completes, successfully or not, so a failed write never stalls the
+ * pipeline. Not thread safe: writes are submitted by a single producer thread.
+ *
+ * BulkPipeline pipeline = new BulkPipeline(options.getConcurrency());
+ * while (it.hasNext()) {
+ *   pipeline.submit(() -> write(index++, it.next()));
+ * }
+ * return pipeline.await();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkPipeline {
+    
+    /** Maximum number of writes in flight. */
+    private final int concurrency;
+    
+    /** Slots available. */
+    private final Semaphore inFlight;
+    
+    /** Results of the completed writes. */
+    private final Queue<BulkWriteResult> results = new ConcurrentLinkedQueue<>();
+    
+    /** Start time. */
+    private final long start = System.nanoTime();
+    
+    /**
+     * Full constructor.
+     */
+    public BulkPipeline(int concurrency) {
+        Assert.isTrue(concurrency > 0, "Concurrency should be greater than 0");
+        this.concurrency = concurrency;
+        this.inFlight    = new Semaphore(concurrency);
+    }
+    
+    /**
+     * Start a write once a slot is available, its result is added to the report.
+     *
+     * @throws InterruptedException
+     *      the producer has been interrupted while waiting for a slot
+     */
+    public void submit(Supplier<CompletableFuture<BulkWriteResult>> write) throws InterruptedException {
+        start(write).whenComplete((res, ex) -> {
+            try {
+                if (null != res) {
+                    results.add(res);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+    
+    /**
+     * Start a write of several items (e.g. a batch) once a slot is available.
+     *
+     * @throws InterruptedException
+     *      the producer has been interrupted while waiting for a slot
+     */
+    public void submitAll(Supplier<CompletableFuture<? extends Collection<BulkWriteResult>>> write) throws InterruptedException {
+        start(write).whenComplete((res, ex) -> {
+            try {
+                if (null != res) {
+                    results.addAll(res);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+    
+    private <F extends CompletableFuture<?>> F start(Supplier<F> write) throws InterruptedException {
+        Assert.notNull(write, "write");
+        inFlight.acquire();
+        try {
+            return write.get();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Errors worth a retry: transport errors and throttling/unavailability codes.
+     */
+    public static boolean isTransient(Throwable error) {
+        if (error instanceof IOException || error.getCause() instanceof IOException) {
+            return true;
+        }
+        if (error instanceof HttpResponseException) {
+            int code = ((HttpResponseException) error).getStatusCode();
+            return code == 429 || code == 502 || code == 503 || code == 504;
+        }
+        return false;
+    }
+    
+    /**
+     * Wait for the writes in flight.
+     *
+     * @return
+     *      report of all writes submitted
+     * @throws InterruptedException
+     *      the producer has been interrupted while waiting
+     */
+    public BulkWriteReport await() throws InterruptedException {
+        inFlight.acquire(concurrency);
+        inFlight.release(concurrency);
+        return new BulkWriteReport(results, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.stargate.sdk.utils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Report of a bulk write, one {@link BulkWriteResult} per input document (or row) ordered as the input.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkWriteReport {
+    
+    /** Results ordered by index. */
+    private final List<BulkWriteResult> results;
+    
+    /** Time spent writing. */
+    private final Duration duration;
+    
+    /** Number of documents written. */
+    private final long successCount;
+    
+    /**
+     * Full constructor.
+     */
+    public BulkWriteReport(Collection<BulkWriteResult> results, Duration duration) {
+        this.results      = results.stream()
+                .sorted(Comparator.comparingLong(BulkWriteResult::getIndex))
+                .collect(Collectors.toList());
+        this.duration     = duration;
+        this.successCount = results.stream().filter(BulkWriteResult::isSuccess).count();
+    }
+    
+    /**
+     * Documents rejected (after retries).
+     */
+    public List<BulkWriteResult> getFailures() {
+        return results.stream()
+                .filter(r -> !r.isSuccess())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Identifiers of written documents, ordered as the input.
+     */
+    public List<String> getDocumentIds() {
+        return results.stream()
+                .filter(BulkWriteResult::isSuccess)
+                .map(r -> r.getDocumentId().orElse(null))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Number of documents rejected.
+     */
+    public long getFailureCount() {
+        return results.size() - successCount;
+    }
+    
+    /**
+     * Getter accessor for attribute 'results'.
+     *
+     * @return
+     *       current value of 'results'
+     */
+    public List<BulkWriteResult> getResults() {
+        return results;
+    }
+    
+    /**
+     * Getter accessor for attribute 'duration'.
+     *
+     * @return
+     *       current value of 'duration'
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+    
+    /**
+     * Getter accessor for attribute 'successCount'.
+     *
+     * @return
+     *       current value of 'successCount'
+     */
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.stargate.sdk.utils;
+
+import java.util.Optional;
+
+/**
+ * Outcome of the write of one document (or row, identified by its primary key as json) in a bulk.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkWriteResult {
+    
+    /** Position of the document in the input (0 based). */
+    private final long index;
+    
+    /** Identifier of the document when written. */
+    private final String documentId;
+    
+    /** Last error when the document has been rejected. */
+    private final Throwable error;
+    
+    /** Number of times the writer sent the item, retries of the http client are not counted. */
+    private final int attempts;
+    
+    /**
+     * Full constructor.
+     */
+    public BulkWriteResult(long index, String documentId, Throwable error, int attempts) {
+        this.index      = index;
+        this.documentId = documentId;
+        this.error      = error;
+        this.attempts   = attempts;
+    }
+    
+    /**
+     * Document has been written.
+     */
+    public boolean isSuccess() {
+        return null == error;
+    }
+    
+    /**
+     * Getter accessor for attribute 'index'.
+     *
+     * @return
+     *       current value of 'index'
+     */
+    public long getIndex() {
+        return index;
+    }
+    
+    /**
+     * Getter accessor for attribute 'documentId'.
+     *
+     * @return
+     *       current value of 'documentId'
+     */
+    public Optional<String> getDocumentId() {
+        return Optional.ofNullable(documentId);
+    }
+    
+    /**
+     * Getter accessor for attribute 'error'.
+     *
+     * @return
+     *       current value of 'error'
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+    
+    /**
+     * Getter accessor for attribute 'attempts'.
+     *
+     * @return
+     *       current value of 'attempts'
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+}
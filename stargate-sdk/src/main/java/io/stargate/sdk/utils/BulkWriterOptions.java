@@ -0,0 +1,143 @@
+package io.stargate.sdk.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.stargate.sdk.http.RetryPolicy;
+
+/**
+ * Settings of the bulk writers. Documents are retried by the RetryPolicy of the client, the
+ * retry settings apply to the rows of a BulkRowWriter.
+ *
+ * BulkWriterOptions.builder()
+ *                  .concurrency(64)
+ *                  .maxRetries(5)
+ *                  .build();
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkWriterOptions {
+    
+    /** Default number of requests in flight. */
+    public static final int DEFAULT_CONCURRENCY = 16;
+    
+    /** Default number of retries for a row. */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    
+    /** Default delay before first retry, doubled at each attempt. */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMillis(100);
+    
+    /** Default maximum delay between two retries. */
+    public static final Duration DEFAULT_MAX_RETRY_DELAY = Duration.ofSeconds(5);
+    
+    /** Maximum number of requests in flight. */
+    private final int concurrency;
+    
+    /** Number of retries on transient failures. */
+    private final int maxRetries;
+    
+    /** Delay before first retry. */
+    private final Duration retryDelay;
+    
+    /** Upper bound of the retry delay. */
+    private final Duration maxRetryDelay;
+    
+    private BulkWriterOptions(BulkWriterOptionsBuilder builder) {
+        this.concurrency   = builder.concurrency;
+        this.maxRetries    = builder.maxRetries;
+        this.retryDelay    = builder.retryDelay;
+        this.maxRetryDelay = builder.maxRetryDelay;
+    }
+    
+    /**
+     * Builder Pattern
+     */
+    public static BulkWriterOptionsBuilder builder() {
+        return new BulkWriterOptionsBuilder();
+    }
+    
+    /**
+     * Delay before the retry number 'attempt' (1 based), exponential, bounded and half randomized
+     * so that writes failing together are not retried together.
+     */
+    public long getRetryDelayMillis(int attempt) {
+        long delay = Math.min(retryDelay.toMillis() << Math.min(attempt - 1, 20), maxRetryDelay.toMillis());
+        return delay - (long) (delay * RetryPolicy.DEFAULT_JITTER * ThreadLocalRandom.current().nextDouble());
+    }
+    
+    /**
+     * Builder pattern.
+     */
+    public static class BulkWriterOptionsBuilder {
+        
+        private int concurrency        = DEFAULT_CONCURRENCY;
+        private int maxRetries         = DEFAULT_MAX_RETRIES;
+        private Duration retryDelay    = DEFAULT_RETRY_DELAY;
+        private Duration maxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+        
+        public BulkWriterOptionsBuilder concurrency(int concurrency) {
+            Assert.isTrue(concurrency > 0, "Concurrency should be greater than 0");
+            this.concurrency = concurrency;
+            return this;
+        }
+        public BulkWriterOptionsBuilder maxRetries(int maxRetries) {
+            Assert.isTrue(maxRetries >= 0, "Max retries should be positive");
+            this.maxRetries = maxRetries;
+            return this;
+        }
+        public BulkWriterOptionsBuilder retryDelay(Duration retryDelay) {
+            Assert.notNull(retryDelay, "retryDelay");
+            this.retryDelay = retryDelay;
+            return this;
+        }
+        public BulkWriterOptionsBuilder maxRetryDelay(Duration maxRetryDelay) {
+            Assert.notNull(maxRetryDelay, "maxRetryDelay");
+            this.maxRetryDelay = maxRetryDelay;
+            return this;
+        }
+        public BulkWriterOptions build() {
+            return new BulkWriterOptions(this);
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'concurrency'.
+     *
+     * @return
+     *       current value of 'concurrency'
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxRetries'.
+     *
+     * @return
+     *       current value of 'maxRetries'
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+    
+    /**
+     * Getter accessor for attribute 'retryDelay'.
+     *
+     * @return
+     *       current value of 'retryDelay'
+     */
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxRetryDelay'.
+     *
+     * @return
+     *       current value of 'maxRetryDelay'
+     */
+    public Duration getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+}
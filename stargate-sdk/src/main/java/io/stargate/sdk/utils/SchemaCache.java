@@ -0,0 +1,167 @@
+package io.stargate.sdk.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Schema metadata (namespaces, keyspaces, collections and tables listings) kept by an Api client.
+ *
+ * Entries expire after the ttl and are invalidated by the schema changes sent through the same
+ * client (create, delete, upgrade). A listing loaded while an invalidation happens is not kept:
+ * changes made by other clients are seen at the latest after the ttl.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class SchemaCache {
+    
+    /** Default time to live of a listing. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    
+    /** Key of the namespaces listing (document Api). */
+    public static final String KEY_NAMESPACES = "namespaces";
+    
+    /** Key of the keyspaces listing (rest Api). */
+    public static final String KEY_KEYSPACES  = "keyspaces";
+    
+    /** Listings by key. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    /** Incremented on each invalidation. */
+    private final AtomicLong version = new AtomicLong();
+    
+    /** Time to live of a listing. */
+    private final Duration ttl;
+    
+    /** Lookups served from the cache. */
+    private final AtomicLong hitCount = new AtomicLong();
+    
+    /** Lookups sent to the Api. */
+    private final AtomicLong missCount = new AtomicLong();
+    
+    /**
+     * Cache with the default ttl.
+     */
+    public SchemaCache() {
+        this(DEFAULT_TTL);
+    }
+    
+    /**
+     * Full constructor.
+     */
+    public SchemaCache(Duration ttl) {
+        Assert.notNull(ttl, "ttl");
+        Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl should be positive");
+        this.ttl = ttl;
+    }
+    
+    /**
+     * Key of the collections listing of a namespace.
+     */
+    public static String keyCollections(String namespace) {
+        return KEY_NAMESPACES + "/" + namespace + "/collections";
+    }
+    
+    /**
+     * Key of the tables listing of a keyspace.
+     */
+    public static String keyTables(String keyspace) {
+        return KEY_KEYSPACES + "/" + keyspace + "/tables";
+    }
+    
+    /**
+     * Cached value if not expired, loaded otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Entry entry = entries.get(key);
+        if (null != entry && !entry.isExpired()) {
+            hitCount.incrementAndGet();
+            return (T) entry.value;
+        }
+        missCount.incrementAndGet();
+        long loadVersion = version.get();
+        T value = loader.get();
+        if (null != value && version.get() == loadVersion) {
+            entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+        }
+        return value;
+    }
+    
+    /**
+     * Drop listings after a schema change.
+     */
+    public void invalidate(String... keys) {
+        version.incrementAndGet();
+        for (String key : keys) {
+            entries.remove(key);
+        }
+    }
+    
+    /**
+     * Drop all listings.
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+    
+    /**
+     * Number of listings kept.
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Getter accessor for attribute 'ttl'.
+     *
+     * @return
+     *       current value of 'ttl'
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    /**
+     * Getter accessor for attribute 'hitCount'.
+     *
+     * @return
+     *       current value of 'hitCount'
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * Getter accessor for attribute 'missCount'.
+     *
+     * @return
+     *       current value of 'missCount'
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * Cached listing with its expiry.
+     */
+    private static final class Entry {
+        
+        private final Object value;
+        
+        private final long expiresAtNanos;
+        
+        private Entry(Object value, long expiresAtNanos) {
+            this.value          = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+}
@@ -7,6 +7,8 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Utilities
@@ -59,5 +61,27 @@ public class Utils {
             } catch (IOException e) {}
         }
     }
+    
+    /**
+     * Cause of a failed asynchronous call, without the CompletionException wrapping it.
+     */
+    public static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && null != error.getCause()) ? error.getCause() : error;
+    }
+    
+    /**
+     * Wait for an asynchronous call, runtime failures are rethrown as is and checked ones wrapped.
+     */
+    public static <T> T await(CompletableFuture<T> future, String errorMessage) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(errorMessage, cause);
+        }
+    }
 
 }
@@ -0,0 +1,200 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.body;
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.doc.BulkDocumentWriter;
+import io.stargate.sdk.exception.HttpResponseException;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.RetryPolicy;
+import io.stargate.sdk.test.dto.Person;
+import io.stargate.sdk.utils.ApiSupport;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriteResult;
+import io.stargate.sdk.utils.BulkWriterOptions;
+
+/**
+ * Bulk creation of documents against a stub of the document Api: bounded concurrency,
+ * backpressure of publishers, idempotent retries of transient failures and per-document results.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkDocumentWriterTest {
+    
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+    
+    /** Calls per document, by firstname. */
+    private static final Map<String, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+    
+    /** Identifiers received for a document, by firstname. */
+    private static final Map<String, Set<String>> IDS = new ConcurrentHashMap<>();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer(8);
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/namespaces/ns/collections/persons/", exchange -> {
+            MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                String path  = exchange.getRequestURI().getPath();
+                String docId = path.substring(path.lastIndexOf('/') + 1);
+                JsonNode doc = ApiSupport.getObjectMapper().readTree(body(exchange));
+                String name  = doc.get("firstname").asText();
+                int calls    = CALLS.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+                IDS.computeIfAbsent(name, n -> ConcurrentHashMap.newKeySet()).add(docId);
+                Thread.sleep(10);
+                if (!"PUT".equals(exchange.getRequestMethod())) {
+                    reply(exchange, 405, "{\"description\":\"method not allowed\",\"code\":405}");
+                } else if (name.startsWith("throttled") && calls == 1) {
+                    reply(exchange, 429, "{\"description\":\"slow down\",\"code\":429}");
+                } else if (name.startsWith("throttled") && calls == 2) {
+                    reply(exchange, 503, "{\"description\":\"unavailable\",\"code\":503}");
+                } else if (name.startsWith("bad")) {
+                    reply(exchange, 400, "{\"description\":\"invalid document\",\"code\":400}");
+                } else {
+                    reply(exchange, 200, "{\"documentId\":\"" + docId + "\"}");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+            }
+        });
+    }
+    
+    @BeforeEach
+    public void resetStub() {
+        MAX_IN_FLIGHT.set(0);
+        CALLS.clear();
+        IDS.clear();
+    }
+    
+    @Test
+    public void should_bound_requests_in_flight() {
+        BulkWriteReport report = writer(3).write(IntStream.range(0, 20).mapToObj(i -> new Person("p" + i, "Doe")));
+        Assertions.assertEquals(20, report.getSuccessCount());
+        // Identifiers generated by the client
+        Assertions.assertEquals(IntStream.range(0, 20).mapToObj(i -> IDS.get("p" + i).iterator().next())
+                .collect(Collectors.toList()), report.getDocumentIds());
+        Assertions.assertTrue(MAX_IN_FLIGHT.get() > 1);
+        Assertions.assertTrue(MAX_IN_FLIGHT.get() <= 3, "max in flight " + MAX_IN_FLIGHT.get());
+    }
+    
+    @Test
+    public void should_retry_transient_failures_and_report_each_document() {
+        BulkWriteReport report = writer(2).write(Arrays.asList(
+                new Person("ok1", "Doe"),
+                new Person("throttled1", "Doe"),
+                new Person("bad1", "Doe"),
+                new Person("ok2", "Doe")).iterator());
+        List<BulkWriteResult> results = report.getResults();
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertEquals(3, report.getSuccessCount());
+        // 429 then 503 then upserted, retried by the client under the same identifier
+        Assertions.assertEquals(3, CALLS.get("throttled1").get());
+        Assertions.assertEquals(1, IDS.get("throttled1").size());
+        Assertions.assertEquals(IDS.get("throttled1").iterator().next(), results.get(1).getDocumentId().get());
+        // Client error is not retried
+        BulkWriteResult rejected = report.getFailures().get(0);
+        Assertions.assertEquals(2, rejected.getIndex());
+        Assertions.assertEquals(1, CALLS.get("bad1").get());
+        Assertions.assertFalse(rejected.getDocumentId().isPresent());
+        Assertions.assertEquals(400, ((HttpResponseException) rejected.getError().get()).getStatusCode());
+        Assertions.assertEquals(3, report.getDocumentIds().size());
+    }
+    
+    @Test
+    public void should_not_retry_without_retry_policy() {
+        BulkWriteReport report = new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl())
+                .namespace("ns").collection("persons")
+                .bulkWriter()
+                .write(Arrays.asList(new Person("throttled2", "Doe")).iterator());
+        Assertions.assertEquals(0, report.getSuccessCount());
+        Assertions.assertEquals(1, CALLS.get("throttled2").get());
+    }
+    
+    @Test
+    public void should_request_one_document_per_completed_write() throws Exception {
+        Queue<Long> requests = new ConcurrentLinkedQueue<>();
+        CompletableFuture<BulkWriteReport> report;
+        try (SubmissionPublisher<Person> source = new SubmissionPublisher<>()) {
+            // Record the demand of the writer
+            Flow.Publisher<Person> publisher = subscriber -> source.subscribe(new Flow.Subscriber<Person>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                            requests.add(n);
+                            subscription.request(n);
+                        }
+                        @Override
+                        public void cancel() {
+                            subscription.cancel();
+                        }
+                    });
+                }
+                @Override
+                public void onNext(Person item) {
+                    subscriber.onNext(item);
+                }
+                @Override
+                public void onError(Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+            report = writer(2).writeAsync(publisher);
+            for (int i = 0; i < 10; i++) {
+                source.submit(new Person("s" + i, "Doe"));
+            }
+        }
+        Assertions.assertEquals(10, report.get(10, TimeUnit.SECONDS).getSuccessCount());
+        List<Long> demand = new ArrayList<>(requests);
+        Assertions.assertEquals(2L, demand.get(0));
+        Assertions.assertTrue(demand.subList(1, demand.size()).stream().allMatch(n -> n == 1L), demand.toString());
+        Assertions.assertTrue(MAX_IN_FLIGHT.get() <= 2, "max in flight " + MAX_IN_FLIGHT.get());
+    }
+    
+    private BulkDocumentWriter writer(int concurrency) {
+        HttpClientOptions options = HttpClientOptions.builder()
+                .retryPolicy(RetryPolicy.builder().initialDelay(Duration.ofMillis(1)).build())
+                .build();
+        return new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl(), options)
+                .namespace("ns").collection("persons")
+                .bulkWriter(BulkWriterOptions.builder().concurrency(concurrency).build());
+    }
+
+}
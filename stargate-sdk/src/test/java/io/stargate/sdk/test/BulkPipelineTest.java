@@ -0,0 +1,68 @@
+package io.stargate.sdk.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.utils.BulkPipeline;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriteResult;
+
+/**
+ * Slots of the {@link BulkPipeline}: bounded writes in flight, released whatever the outcome.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class BulkPipelineTest {
+    
+    @Test
+    public void should_bound_writes_in_flight() throws Exception {
+        BulkPipeline pipeline = new BulkPipeline(2);
+        List<CompletableFuture<BulkWriteResult>> writes = new ArrayList<>();
+        AtomicInteger started = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            pipeline.submit(() -> {
+                started.incrementAndGet();
+                CompletableFuture<BulkWriteResult> write = new CompletableFuture<>();
+                writes.add(write);
+                return write;
+            });
+        }
+        // Third write waits for a slot
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            try {
+                pipeline.submit(() -> {
+                    started.incrementAndGet();
+                    return CompletableFuture.completedFuture(new BulkWriteResult(2, "c", null, 1));
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(100);
+        Assertions.assertEquals(2, started.get());
+        writes.get(0).complete(new BulkWriteResult(0, "a", null, 1));
+        producer.get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, started.get());
+        writes.get(1).complete(new BulkWriteResult(1, "b", null, 1));
+        BulkWriteReport report = pipeline.await();
+        Assertions.assertEquals(3, report.getSuccessCount());
+    }
+    
+    @Test
+    public void should_release_slot_of_failed_write() throws Exception {
+        BulkPipeline pipeline = new BulkPipeline(1);
+        pipeline.submit(() -> CompletableFuture.failedFuture(new IllegalStateException("lost")));
+        Assertions.assertThrows(IllegalStateException.class, () -> pipeline.submit(() -> {
+            throw new IllegalStateException("not started");
+        }));
+        pipeline.submit(() -> CompletableFuture.completedFuture(new BulkWriteResult(0, "a", null, 1)));
+        Assertions.assertEquals(1, pipeline.await().getSuccessCount());
+    }
+
+}
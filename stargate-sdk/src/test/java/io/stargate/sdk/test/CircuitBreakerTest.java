@@ -0,0 +1,115 @@
+package io.stargate.sdk.test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.exception.CircuitBreakerOpenException;
+import io.stargate.sdk.http.CircuitBreaker;
+import io.stargate.sdk.http.CircuitBreaker.State;
+import io.stargate.sdk.http.CircuitBreakerOptions;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * State machine of the circuit breaker and its permissions in the Api clients.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CircuitBreakerTest {
+    
+    private final List<State> transitions = new ArrayList<>();
+    
+    private CircuitBreaker newBreaker() {
+        return new CircuitBreaker("http://localhost:8082", CircuitBreakerOptions.builder()
+                .slidingWindowSize(10)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .openDuration(Duration.ofMillis(100))
+                .halfOpenProbes(2)
+                .build(), (endpoint, from, to) -> transitions.add(to));
+    }
+    
+    @Test
+    public void should_be_disabled_unless_configured() {
+        Assertions.assertFalse(HttpClientOptions.defaults().getCircuitBreaker().isEnabled());
+        Assertions.assertTrue(HttpClientOptions.builder()
+                .circuitBreaker(CircuitBreakerOptions.defaults())
+                .build().getCircuitBreaker().isEnabled());
+    }
+    
+    @Test
+    public void should_open_when_failure_rate_is_reached() {
+        CircuitBreaker breaker = newBreaker();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        Assertions.assertEquals(State.CLOSED, breaker.getState());
+        breaker.onFailure();
+        Assertions.assertEquals(State.OPEN, breaker.getState());
+        CircuitBreakerOpenException ex = Assertions.assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+        Assertions.assertEquals("http://localhost:8082", ex.getEndpoint());
+    }
+    
+    @Test
+    public void should_close_after_successful_probes() throws InterruptedException {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        Thread.sleep(150);
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        Assertions.assertEquals(State.HALF_OPEN, breaker.getState());
+        // Only 2 probes in flight
+        Assertions.assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        Assertions.assertEquals(State.CLOSED, breaker.getState());
+        Assertions.assertEquals(List.of(State.OPEN, State.HALF_OPEN, State.CLOSED), transitions);
+    }
+    
+    @Test
+    public void should_open_again_when_probe_fails() throws InterruptedException {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        Thread.sleep(150);
+        breaker.acquirePermission();
+        breaker.onFailure();
+        Assertions.assertEquals(State.OPEN, breaker.getState());
+        Assertions.assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+    }
+    
+    @Test
+    public void should_record_probe_failing_before_sending() throws InterruptedException {
+        ApiSupport client = new ApiSupport(HttpClientOptions.builder()
+                .circuitBreaker(CircuitBreakerOptions.builder()
+                        .minimumCalls(4)
+                        .openDuration(Duration.ofMillis(100))
+                        .halfOpenProbes(1)
+                        .build())
+                .build()) {};
+        URI uri = URI.create("http://127.0.0.1:1/v2/namespaces");
+        CircuitBreaker breaker = client.getCircuitBreaker(uri);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        Thread.sleep(150);
+        // Rejected by the http client (no body handler) once the probe permission is granted
+        CompletableFuture<HttpResponse<Object>> res = client.sendAsync("test.get", HttpRequest.newBuilder(uri).build(), null);
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class, res::get);
+        Assertions.assertTrue(ex.getCause() instanceof NullPointerException);
+        Assertions.assertEquals(State.OPEN, breaker.getState());
+    }
+
+}
@@ -0,0 +1,135 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.DriverStub.stub;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import io.stargate.sdk.cql.CqlEvent;
+import io.stargate.sdk.cql.CqlExecutor;
+import io.stargate.sdk.cql.CqlExecutorOptions;
+import io.stargate.sdk.utils.BulkWriteReport;
+
+/**
+ * Statements cache, bulk executions and paging of the {@link CqlExecutor} (driver interfaces stubbed).
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlExecutorTest {
+    
+    /** Statements prepared on the session. */
+    private final Queue<String> prepared = new ConcurrentLinkedQueue<>();
+    
+    /** Number of statements of each execution (1 for a single statement). */
+    private final Queue<Integer> executed = new ConcurrentLinkedQueue<>();
+    
+    /** Events reported. */
+    private final Queue<CqlEvent> events = new ConcurrentLinkedQueue<>();
+    
+    @Test
+    public void should_prepare_once_and_evict_least_recently_used() {
+        CqlExecutor cql = executor(CqlExecutorOptions.builder().maxPreparedStatements(2));
+        cql.execute("SELECT * FROM ks.a");
+        cql.execute("SELECT * FROM ks.b");
+        cql.execute("SELECT * FROM ks.a");
+        // 'b' is evicted, 'a' was used last
+        cql.execute("SELECT * FROM ks.c");
+        cql.execute("SELECT * FROM ks.a");
+        cql.execute("SELECT * FROM ks.b");
+        Assertions.assertEquals(Arrays.asList("SELECT * FROM ks.a", "SELECT * FROM ks.b",
+                "SELECT * FROM ks.c", "SELECT * FROM ks.b"), new ArrayList<>(prepared));
+        Assertions.assertEquals(2, cql.getPreparedStatementCount());
+        Assertions.assertEquals(6, events.size());
+        Assertions.assertTrue(events.stream().allMatch(e -> CqlExecutor.OP_EXECUTE.equals(e.getOperationName())));
+    }
+    
+    @Test
+    public void should_batch_writes_per_partition() {
+        CqlExecutor cql = executor(CqlExecutorOptions.builder().maxBatchSize(3).concurrency(4));
+        // 10 rows over 2 partitions
+        Stream<Object[]> values = IntStream.range(0, 10).mapToObj(i -> new Object[] { "p" + (i % 2), i });
+        BulkWriteReport report = cql.executeBatched("INSERT INTO ks.t (pk, ck) VALUES (?,?)", values);
+        Assertions.assertEquals(10, report.getSuccessCount());
+        Assertions.assertEquals(1, prepared.size());
+        // Each partition: 3 + 2 statements
+        Assertions.assertEquals(Arrays.asList(2, 2, 3, 3), executed.stream().sorted().collect(Collectors.toList()));
+        Assertions.assertEquals(4, events.stream().filter(e -> CqlExecutor.OP_BATCH.equals(e.getOperationName())).count());
+    }
+    
+    @Test
+    public void should_stream_all_pages() {
+        CqlExecutor cql = executor(CqlExecutorOptions.builder());
+        List<String> rows = cql.stream("SELECT * FROM ks.events").map(r -> r.getString(0)).collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList("1-0", "1-1", "2-0", "2-1", "3-0", "3-1"), rows);
+        Assertions.assertEquals(2, events.stream().filter(e -> CqlExecutor.OP_PAGE.equals(e.getOperationName())).count());
+    }
+    
+    private CqlExecutor executor(CqlExecutorOptions.CqlExecutorOptionsBuilder options) {
+        return new CqlExecutor(session(), options.instrumentation(events::add).build());
+    }
+    
+    private CqlSession session() {
+        return stub(CqlSession.class, Map.of(
+                "prepareAsync", args -> {
+                    prepared.add((String) args[0]);
+                    return CompletableFuture.completedFuture(statement((String) args[0]));
+                },
+                "executeAsync", args -> {
+                    executed.add(args[0] instanceof BatchStatement ? ((BatchStatement) args[0]).size() : 1);
+                    return CompletableFuture.completedFuture(page(1, 3));
+                }));
+    }
+    
+    private PreparedStatement statement(String query) {
+        PreparedStatement[] ps = new PreparedStatement[1];
+        ps[0] = stub(PreparedStatement.class, Map.of(
+                "getQuery", args -> query,
+                "bind", args -> {
+                    Object[] values = (Object[]) args[0];
+                    return stub(BoundStatement.class, Map.of(
+                        "getPreparedStatement", a -> ps[0],
+                        "getRoutingKey", a -> (values.length == 0) ? null
+                                : ByteBuffer.wrap(values[0].toString().getBytes(StandardCharsets.UTF_8))));
+                }));
+        return ps[0];
+    }
+    
+    /**
+     * Page 'number' out of 'count', two rows each.
+     */
+    private AsyncResultSet page(int number, int count) {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            String value = number + "-" + i;
+            rows.add(stub(Row.class, Map.of("getString", args -> value)));
+        }
+        return stub(AsyncResultSet.class, Map.of(
+                "currentPage",      args -> rows,
+                "remaining",        args -> rows.size(),
+                "hasMorePages",     args -> number < count,
+                "fetchNextPage",    args -> CompletableFuture.completedFuture(page(number + 1, count)),
+                "getExecutionInfo", args -> stub(ExecutionInfo.class, Map.of("getErrors", a -> List.of()))));
+    }
+
+}
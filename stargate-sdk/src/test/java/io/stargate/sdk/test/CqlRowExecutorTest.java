@@ -0,0 +1,188 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.DriverStub.stub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.schema.ClusteringOrder;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultColumnMetadata;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultTableMetadata;
+
+import io.stargate.sdk.doc.Predicate;
+import io.stargate.sdk.rest.ApiRestClient;
+import io.stargate.sdk.rest.CompactRow;
+import io.stargate.sdk.rest.QueryTable;
+import io.stargate.sdk.rest.RowResultPage;
+import io.stargate.sdk.rest.TableClient;
+
+/**
+ * Rows of a table going over a CQL session (driver interfaces stubbed, no http server: any
+ * request sent to the Rest Api would fail).
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class CqlRowExecutorTest {
+    
+    private static final CqlIdentifier KS = CqlIdentifier.fromInternal("ks");
+    
+    private static final CqlIdentifier VIDEOS = CqlIdentifier.fromInternal("videos");
+    
+    /** Statements prepared on the session. */
+    private final Queue<String> prepared = new ConcurrentLinkedQueue<>();
+    
+    /** Values bound for each execution. */
+    private final Queue<List<Object>> executed = new ConcurrentLinkedQueue<>();
+    
+    /** Rows returned by the selects. */
+    private List<String> jsonRows = Collections.emptyList();
+    
+    private ApiRestClient apiRest;
+    
+    @BeforeEach
+    public void init() {
+        apiRest = new ApiRestClient("user", "pass", null, "token", "http://127.0.0.1:1");
+        apiRest.setCqlSession(session(videosTable("videoid")));
+    }
+    
+    @Test
+    public void should_insert_with_a_single_prepared_statement() {
+        TableClient videos = apiRest.keyspace("ks").table("videos");
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("videoid", "v1");
+            row.put("added", i);
+            row.put("title", "Cassandra");
+            Map<String, Object> key = videos.insert(row);
+            Assertions.assertEquals("v1", key.get("videoid"));
+            Assertions.assertEquals(i, key.get("added"));
+        }
+        Assertions.assertEquals(Arrays.asList("INSERT INTO ks.videos JSON ? DEFAULT UNSET"), Arrays.asList(prepared.toArray()));
+        Assertions.assertEquals(3, executed.size());
+        Assertions.assertEquals("{\"videoid\":\"v1\",\"added\":0,\"title\":\"Cassandra\"}", executed.peek().get(0));
+        Assertions.assertEquals(1, apiRest.getCqlRowExecutor().get().getStatementCount());
+    }
+    
+    @Test
+    public void should_update_and_delete_by_key() {
+        TableClient videos = apiRest.keyspace("ks").table("videos");
+        videos.key("v1", 2).update(Collections.singletonMap("title", "Stargate"));
+        // Replace shares the statement, columns not provided are not written
+        videos.key("v1", 3).replace(Collections.singletonMap("title", "Astra"));
+        videos.key("v1").delete();
+        Assertions.assertEquals(Arrays.asList(
+                "INSERT INTO ks.videos JSON ? DEFAULT UNSET",
+                "DELETE FROM ks.videos WHERE videoid = fromJson(?)"), Arrays.asList(prepared.toArray()));
+        Assertions.assertEquals("{\"title\":\"Stargate\",\"videoid\":\"v1\",\"added\":2}", executed.poll().get(0));
+        Assertions.assertEquals("{\"title\":\"Astra\",\"videoid\":\"v1\",\"added\":3}", executed.poll().get(0));
+        Assertions.assertEquals(Arrays.asList("\"v1\""), executed.poll());
+    }
+    
+    @Test
+    public void should_read_a_partition_page() {
+        jsonRows = Arrays.asList(
+                "{\"videoid\":\"v1\",\"added\":2,\"title\":\"Cassandra\"}",
+                "{\"videoid\":\"v1\",\"added\":1,\"title\":\"Stargate\"}");
+        RowResultPage<CompactRow> page = apiRest.keyspace("ks").table("videos").key("v1")
+                .findPage(QueryTable.builder().withPageSize(10)
+                        .withReturnedFields("videoid", "added", "title")
+                        .withSort("added", io.stargate.sdk.rest.ClusteringOrder.desc).build(), CompactRow.class);
+        Assertions.assertEquals(Arrays.asList("SELECT JSON videoid, added, title FROM ks.videos "
+                + "WHERE videoid = fromJson(?) ORDER BY added DESC"), Arrays.asList(prepared.toArray()));
+        Assertions.assertEquals(2, page.getResults().size());
+        Assertions.assertEquals("Stargate", page.getResults().get(1).getString("title"));
+        Assertions.assertFalse(page.getPageState().isPresent());
+        // Same as the Rest Api, rows of a key are not filtered
+        Assertions.assertThrows(IllegalArgumentException.class, () -> apiRest.keyspace("ks").table("videos").key("v1")
+                .findPage(QueryTable.builder().where(Predicate.gt("added", 1)).build()));
+    }
+    
+    @Test
+    public void should_quote_case_sensitive_columns() {
+        apiRest.setCqlSession(session(videosTable("videoId")));
+        TableClient videos = apiRest.keyspace("ks").table("videos");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("videoId", "v1");
+        row.put("added", 1);
+        row.put("title", "Cassandra");
+        Assertions.assertEquals("v1", videos.insert(row).get("videoId"));
+        Assertions.assertEquals("{\"\\\"videoId\\\"\":\"v1\",\"added\":1,\"title\":\"Cassandra\"}", executed.poll().get(0));
+        // Quoted by 'SELECT JSON', same shape as the Rest Api
+        jsonRows = Arrays.asList("{\"\\\"videoId\\\"\": \"v1\", \"added\": 1, \"title\": \"Cassandra\"}");
+        RowResultPage<CompactRow> page = videos.key("v1").findPage(QueryTable.builder()
+                .withReturnedFields("videoId", "title").build(), CompactRow.class);
+        Assertions.assertTrue(prepared.contains("SELECT JSON \"videoId\", title FROM ks.videos WHERE \"videoId\" = fromJson(?)"));
+        Assertions.assertEquals("v1", page.getResults().get(0).getString("videoId"));
+        Assertions.assertEquals("Cassandra", page.getResults().get(0).getString("title"));
+    }
+    
+    private static TableMetadata videosTable(String keyColumn) {
+        ColumnMetadata videoid = new DefaultColumnMetadata(KS, VIDEOS, CqlIdentifier.fromInternal(keyColumn), DataTypes.TEXT, false);
+        ColumnMetadata added   = new DefaultColumnMetadata(KS, VIDEOS, CqlIdentifier.fromInternal("added"), DataTypes.INT, false);
+        ColumnMetadata title   = new DefaultColumnMetadata(KS, VIDEOS, CqlIdentifier.fromInternal("title"), DataTypes.TEXT, false);
+        Map<CqlIdentifier, ColumnMetadata> columns = new LinkedHashMap<>();
+        for (ColumnMetadata column : Arrays.asList(videoid, added, title)) {
+            columns.put(column.getName(), column);
+        }
+        return new DefaultTableMetadata(KS, VIDEOS, null, false, false, Arrays.asList(videoid),
+                Collections.singletonMap(added, ClusteringOrder.DESC), columns, Collections.emptyMap(), Collections.emptyMap());
+    }
+    
+    private CqlSession session(TableMetadata table) {
+        KeyspaceMetadata keyspace = stub(KeyspaceMetadata.class, Map.of(
+                "getTable", args -> Optional.of(table).filter(t -> t.getName().equals(args[0]))));
+        Metadata metadata = stub(Metadata.class, Map.of(
+                "getKeyspace", args -> Optional.of(keyspace).filter(k -> KS.equals(args[0]))));
+        return stub(CqlSession.class, Map.of(
+                "getMetadata",  args -> metadata,
+                "prepareAsync", args -> {
+                    prepared.add((String) args[0]);
+                    return CompletableFuture.completedFuture(statement());
+                },
+                "executeAsync", args -> CompletableFuture.completedFuture(resultSet())));
+    }
+    
+    private PreparedStatement statement() {
+        return stub(PreparedStatement.class, Map.of("bind", args -> {
+            executed.add(Arrays.asList((Object[]) args[0]));
+            return stub(BoundStatement.class, Map.of());
+        }));
+    }
+    
+    private AsyncResultSet resultSet() {
+        ExecutionInfo info = stub(ExecutionInfo.class, Map.of());
+        List<com.datastax.oss.driver.api.core.cql.Row> rows = new ArrayList<>();
+        for (String json : jsonRows) {
+            rows.add(stub(com.datastax.oss.driver.api.core.cql.Row.class, Map.of("getString", args -> json)));
+        }
+        return stub(AsyncResultSet.class, Map.of(
+                "remaining",        args -> rows.size(),
+                "currentPage",      args -> rows,
+                "hasMorePages",     args -> false,
+                "getExecutionInfo", args -> info));
+    }
+
+}
@@ -164,6 +164,9 @@ public class DocumentApiTest extends AsbtractStargateTestIt {
         System.out.println(ANSI_GREEN + "[GET] Should find with Where clause" + ANSI_RESET);
         should_search_withQuery();
         System.out.println(ANSI_GREEN + "[OK]" + ANSI_RESET + " - Expected docs retrieved");
+        System.out.println(ANSI_GREEN + "[GET] Should stream all pages" + ANSI_RESET);
+        should_stream_all_pages();
+        System.out.println(ANSI_GREEN + "[OK]" + ANSI_RESET + " - Expected docs retrieved");
 
         // Operations on subdocuments
         System.out.println(ANSI_YELLOW + "\n#07 Working with SubDocuments" + ANSI_RESET);
@@ -477,6 +480,26 @@ public class DocumentApiTest extends AsbtractStargateTestIt {
         }
     }
     
+    public void should_stream_all_pages() {
+        // Given
+        CollectionClient collectionPerson = clientApiDoc
+                .namespace(WORKING_NAMESPACE)
+                .collection(COLLECTION_PERSON);
+        for (int i = 0; i < 5; i++) {
+            collectionPerson.document("stream" + i)
+                            .upsert(new Person("stream" + i, "stream" + i, 50, new Address("Paris", 75000)));
+        }
+        // When (2 docs per page to force paging)
+        QueryDocument query = QueryDocument.builder().withPageSize(2).build();
+        Set<String> ids = collectionPerson.stream(query, Person.class, true)
+                .map(ApiDocument::getDocumentId)
+                .collect(Collectors.toSet());
+        // Then
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(ids.contains("stream" + i));
+        }
+    }
+    
     public void should_find_subdocument() {
         // Given, Collection exist, Document Exist
         CollectionClient cc = clientApiDoc
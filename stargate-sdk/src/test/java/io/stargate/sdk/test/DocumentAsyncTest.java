@@ -0,0 +1,154 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.body;
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.auth.TokenProvider;
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.doc.CollectionClient;
+import io.stargate.sdk.test.dto.Person;
+
+/**
+ * Asynchronous document operations report every error through the future returned.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentAsyncTest {
+    
+    /** Documents stored by the stub, by id. */
+    private static final Map<String, String> DOCUMENTS = new ConcurrentHashMap<>();
+    
+    /** Token sent with the last request of each document. */
+    private static final Map<String, String> TOKENS = new ConcurrentHashMap<>();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer(2);
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/namespaces/ns/collections/persons/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String id   = path.substring(path.lastIndexOf('/') + 1);
+            TOKENS.put(id, exchange.getRequestHeaders().getFirst("X-Cassandra-Token"));
+            if ("PUT".equals(exchange.getRequestMethod())) {
+                DOCUMENTS.put(id, body(exchange));
+                reply(exchange, 200, "{\"documentId\":\"" + id + "\"}");
+            } else if (DOCUMENTS.containsKey(id)) {
+                reply(exchange, 200, DOCUMENTS.get(id));
+            } else {
+                reply(exchange, 204);
+            }
+        });
+    }
+    
+    @Test
+    public void should_upsert_and_find_asynchronously() throws Exception {
+        CollectionClient persons = collection();
+        Assertions.assertEquals("async1", persons.document("async1")
+                .upsertAsync(new Person("Ada", "Lovelace")).get(5, TimeUnit.SECONDS));
+        Optional<Person> found = persons.document("async1").findAsync(Person.class).get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("Lovelace", found.get().getLastname());
+        Assertions.assertFalse(persons.document("async2").findAsync(Person.class).get(5, TimeUnit.SECONDS).isPresent());
+    }
+    
+    @Test
+    public void should_fail_the_future_on_invalid_arguments() {
+        CompletableFuture<String> upsert = collection().document("invalid").upsertAsync(null);
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> upsert.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(error.getCause() instanceof IllegalArgumentException);
+        Assertions.assertFalse(TOKENS.containsKey("invalid"));
+    }
+    
+    @Test
+    public void should_fail_the_future_on_marshalling_error() {
+        CompletableFuture<String> upsert = collection().document("unreadable").upsertAsync(new Unreadable());
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> upsert.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(error.getCause().getMessage().startsWith("Cannot save document:"));
+        Assertions.assertFalse(DOCUMENTS.containsKey("unreadable"));
+    }
+    
+    @Test
+    public void should_not_block_the_caller_while_waiting_for_a_token() throws Exception {
+        CompletableFuture<String> token = new CompletableFuture<>();
+        ApiDocumentClient client = new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl());
+        client.setTokenProvider(new TokenProvider() {
+            @Override
+            public String getToken() {
+                return token.join();
+            }
+            @Override
+            public CompletableFuture<String> getTokenAsync() {
+                return token;
+            }
+        });
+        try {
+            CompletableFuture<String> upsert = client.namespace("ns").collection("persons")
+                    .document("pending").upsertAsync(new Person("Grace", "Hopper"));
+            Assertions.assertFalse(upsert.isDone());
+            Assertions.assertFalse(TOKENS.containsKey("pending"));
+            token.complete("late");
+            Assertions.assertEquals("pending", upsert.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("late", TOKENS.get("pending"));
+        } finally {
+            client.close();
+        }
+    }
+    
+    @Test
+    public void should_validate_arguments_before_fetching_a_token() {
+        ApiDocumentClient client = new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl());
+        client.setTokenProvider(new TokenProvider() {
+            @Override
+            public String getToken() {
+                throw new IllegalStateException("No token expected");
+            }
+            @Override
+            public CompletableFuture<String> getTokenAsync() {
+                return CompletableFuture.failedFuture(new IllegalStateException("No token expected"));
+            }
+        });
+        try {
+            CollectionClient persons = client.namespace("ns").collection("persons");
+            Assertions.assertThrows(IllegalArgumentException.class, () -> persons.document("invalid").upsert(null));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> persons.document("invalid").find(null));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> persons.document("invalid").deleteSubDocument(""));
+            ExecutionException error = Assertions.assertThrows(ExecutionException.class,
+                    () -> persons.document("invalid").findSubDocumentAsync("", Person.class).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(error.getCause() instanceof IllegalArgumentException);
+        } finally {
+            client.close();
+        }
+    }
+    
+    private CollectionClient collection() {
+        return new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl())
+                .namespace("ns").collection("persons");
+    }
+    
+    /**
+     * Document which cannot be serialized.
+     */
+    public static class Unreadable implements Serializable {
+        
+        /** Serial. */
+        private static final long serialVersionUID = 1L;
+        
+        public String getName() {
+            throw new IllegalStateException("Not readable");
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.stargate.sdk.test;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.doc.DocumentCache;
+import io.stargate.sdk.doc.DocumentCacheOptions;
+import io.stargate.sdk.test.dto.Person;
+
+/**
+ * Eviction and invalidation of the document cache, no Stargate instance needed.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentCacheTest {
+    
+    @Test
+    public void should_evict_least_recently_used() {
+        DocumentCache cache = new DocumentCache(DocumentCacheOptions.builder().maxEntries(2).build());
+        cache.put("p1", new Person("a", "a"), 10, cache.version());
+        cache.put("p2", new Person("b", "b"), 10, cache.version());
+        // p1 becomes the most recently used
+        Assertions.assertTrue(cache.get("p1", Person.class).isPresent());
+        cache.put("p3", new Person("c", "c"), 10, cache.version());
+        Assertions.assertFalse(cache.get("p2", Person.class).isPresent());
+        Assertions.assertTrue(cache.get("p1", Person.class).isPresent());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+    }
+    
+    @Test
+    public void should_respect_byte_budget() {
+        DocumentCache cache = new DocumentCache(DocumentCacheOptions.builder().maxBytes(100).build());
+        cache.put("p1", new Person("a", "a"), 60, cache.version());
+        cache.put("p2", new Person("b", "b"), 60, cache.version());
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(60, cache.getBytes());
+    }
+    
+    @Test
+    public void should_expire_entries() throws InterruptedException {
+        DocumentCache cache = new DocumentCache(DocumentCacheOptions.builder().ttl(Duration.ofMillis(20)).build());
+        cache.put("p1", new Person("a", "a"), 10, cache.version());
+        Thread.sleep(50);
+        Assertions.assertFalse(cache.get("p1", Person.class).isPresent());
+        Assertions.assertEquals(0, cache.size());
+    }
+    
+    @Test
+    public void should_ignore_load_started_before_invalidation() {
+        DocumentCache cache = new DocumentCache(DocumentCacheOptions.builder().build());
+        long version = cache.version();
+        cache.invalidate("p1");
+        cache.put("p1", new Person("a", "a"), 10, version);
+        Assertions.assertFalse(cache.get("p1", Person.class).isPresent());
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.doc.CollectionClient;
+import io.stargate.sdk.doc.ExportOptions;
+import io.stargate.sdk.doc.ExportReport;
+
+/**
+ * Export of a collection of 3 pages served by a stub of the document Api.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentExporterTest {
+    
+    /** Last page fails once. */
+    private static final AtomicBoolean FAIL_LAST_PAGE = new AtomicBoolean();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer();
+    
+    private static CollectionClient persons;
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/namespaces/ns/collections/persons", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            String body;
+            if (!query.contains("page-state")) {
+                body = "{\"pageState\":\"p2\",\"data\":{\"d1\":{\"age\":1},\"d2\":{\"age\":2}}}";
+            } else if (query.contains("page-state=p2")) {
+                body = "{\"data\":{\"d3\":{\"age\":3},\"d4\":{\"tags\":[\"a\",\"b\"]}},\"pageState\":\"p3\"}";
+            } else if (FAIL_LAST_PAGE.compareAndSet(true, false)) {
+                reply(exchange, 400);
+                return;
+            } else {
+                body = "{\"pageState\":null,\"data\":{\"d5\":{\"age\":5},\"d6\":{\"age\":6}}}";
+            }
+            reply(exchange, 200, body);
+        });
+        persons = new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl())
+                .namespace("ns").collection("persons");
+    }
+    
+    @Test
+    public void should_export_all_pages_as_ndjson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportReport report = persons.exporter().exportTo(out);
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(6, lines.length);
+        Assertions.assertEquals("{\"documentId\":\"d4\",\"data\":{\"tags\":[\"a\",\"b\"]}}", lines[3]);
+        Assertions.assertTrue(report.isComplete());
+        Assertions.assertEquals(6, report.getDocumentCount());
+        Assertions.assertEquals(3, report.getPageCount());
+        Assertions.assertEquals(out.size(), report.getByteCount());
+    }
+    
+    @Test
+    public void should_resume_from_checkpoint(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("persons.ndjson");
+        ExportOptions options = ExportOptions.builder()
+                .checkpoint(dir.resolve("persons.checkpoint"))
+                .checkpointInterval(1)
+                .build();
+        FAIL_LAST_PAGE.set(true);
+        Assertions.assertThrows(RuntimeException.class, () -> persons.exporter(options).exportTo(file));
+        Assertions.assertEquals(4, Files.readAllLines(file).size());
+        ExportReport report = persons.exporter(options).exportTo(file);
+        Assertions.assertTrue(report.isComplete());
+        Assertions.assertEquals(6, report.getDocumentCount());
+        List<String> ids = Files.readAllLines(file).stream()
+                .map(line -> line.substring(15, 17))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(List.of("d1", "d2", "d3", "d4", "d5", "d6"), ids);
+        // Nothing left to export
+        Assertions.assertEquals(6, persons.exporter(options).exportTo(file).getDocumentCount());
+        Assertions.assertEquals(6, Files.readAllLines(file).size());
+    }
+
+}
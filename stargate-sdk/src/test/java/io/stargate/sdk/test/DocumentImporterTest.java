@@ -0,0 +1,181 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.body;
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.doc.CollectionClient;
+import io.stargate.sdk.doc.ImportOptions;
+import io.stargate.sdk.doc.ImportReport;
+
+/**
+ * Import of NDJSON and json array files into a stub of the document Api.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class DocumentImporterTest {
+    
+    /** Bodies received for each document id (or 'new' for creations). */
+    private static final Map<String, List<String>> RECEIVED = new ConcurrentHashMap<>();
+    
+    /** Released when the documents with an id starting with 'slow' can be written. */
+    private static volatile CountDownLatch slow = new CountDownLatch(0);
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer(4);
+    
+    private static CollectionClient persons;
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/namespaces/ns/collections/persons", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String id   = "POST".equals(exchange.getRequestMethod()) ? "new" : path.substring(path.lastIndexOf('/') + 1);
+            String body = body(exchange);
+            if (id.startsWith("slow")) {
+                try {
+                    slow.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (id.startsWith("bad")) {
+                reply(exchange, 400);
+                return;
+            }
+            RECEIVED.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(body);
+            reply(exchange, 200, "{\"documentId\":\"" + id + "\"}");
+        });
+        persons = new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl())
+                .namespace("ns").collection("persons");
+    }
+    
+    @BeforeEach
+    public void clear() {
+        RECEIVED.clear();
+    }
+    
+    @Test
+    public void should_import_ndjson_and_reject_invalid_lines(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("persons.ndjson");
+        Files.write(file, List.of(
+                "{\"documentId\":\"d1\",\"data\":{\"age\":1}}",
+                "{\"email\":\"e2\",\"age\":2}",
+                "",
+                "{\"age\":3}",
+                "{not json",
+                "{\"email\":\"bad4\",\"age\":4}"));
+        ImportOptions options = ImportOptions.builder()
+                .idField("email")
+                .errorFile(dir.resolve("rejected.ndjson"))
+                .build();
+        ImportReport report = persons.importFrom(file, options);
+        Assertions.assertTrue(report.isComplete());
+        Assertions.assertEquals(3, report.getImportedCount());
+        Assertions.assertEquals(2, report.getRejectedCount());
+        // Exported line upserted with its data only, record with id upserted, other created
+        Assertions.assertEquals(List.of("{\"age\":1}"), RECEIVED.get("d1"));
+        Assertions.assertEquals(List.of("{\"email\":\"e2\",\"age\":2}"), RECEIVED.get("e2"));
+        Assertions.assertEquals(List.of("{\"age\":3}"), RECEIVED.get("new"));
+        List<String> rejected = Files.readAllLines(dir.resolve("rejected.ndjson"));
+        Assertions.assertEquals(2, rejected.size());
+        Assertions.assertTrue(rejected.stream().anyMatch(l -> l.contains("\"record\":\"{not json\"")));
+        Assertions.assertTrue(rejected.stream().anyMatch(l -> l.contains("\"record\":{\"email\":\"bad4\",\"age\":4}")));
+    }
+    
+    @Test
+    public void should_resume_json_array_from_checkpoint(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("persons.json");
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 1; i <= 10; i++) {
+            json.append("  {\"documentId\":\"p").append(i).append("\",\"age\":").append(i).append("}");
+            json.append(i < 10 ? ",\n" : "\n");
+        }
+        Files.write(file, json.append("]\n").toString().getBytes(StandardCharsets.UTF_8));
+        AtomicInteger checkpoints = new AtomicInteger();
+        ImportOptions failing = ImportOptions.builder()
+                .concurrency(1)
+                .checkpoint(dir.resolve("persons.checkpoint"))
+                .checkpointInterval(3)
+                .progressListener(r -> {
+                    if (checkpoints.incrementAndGet() == 2) {
+                        throw new IllegalStateException("Interrupted");
+                    }
+                })
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> persons.importFrom(file, failing));
+        Assertions.assertTrue(RECEIVED.size() < 10);
+        ImportOptions options = ImportOptions.builder()
+                .checkpoint(dir.resolve("persons.checkpoint"))
+                .checkpointInterval(3)
+                .build();
+        ImportReport report = persons.importFrom(file, options);
+        Assertions.assertTrue(report.isComplete());
+        Assertions.assertEquals(10, RECEIVED.size());
+        // Records before the first checkpoint are never sent again
+        Assertions.assertEquals(1, RECEIVED.get("p1").size());
+        Assertions.assertEquals(List.of("{\"documentId\":\"p10\",\"age\":10}"), RECEIVED.get("p10"));
+        // Nothing left to import
+        RECEIVED.clear();
+        Assertions.assertTrue(persons.importFrom(file, options).isComplete());
+        Assertions.assertTrue(RECEIVED.isEmpty());
+    }
+    
+    @Test
+    public void should_not_count_twice_records_completed_after_the_resume_offset(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("persons.ndjson");
+        Files.write(file, List.of(
+                "{\"documentId\":\"slow1\",\"age\":1}",
+                "{\"documentId\":\"p2\",\"age\":2}",
+                "{\"documentId\":\"bad3\",\"age\":3}",
+                "{\"documentId\":\"p4\",\"age\":4}",
+                "{\"documentId\":\"p5\",\"age\":5}"));
+        slow = new CountDownLatch(1);
+        AtomicInteger checkpoints = new AtomicInteger();
+        // With 2 requests in flight, 'p2' and 'bad3' are completed when 'p4' is read while 'slow1' is pending
+        ImportOptions failing = ImportOptions.builder()
+                .concurrency(2)
+                .errorFile(dir.resolve("rejected.ndjson"))
+                .checkpoint(dir.resolve("persons.checkpoint"))
+                .checkpointInterval(1)
+                .progressListener(r -> {
+                    if (checkpoints.incrementAndGet() == 4) {
+                        slow.countDown();
+                        Assertions.assertEquals(0, r.getByteOffset());
+                        throw new IllegalStateException("Interrupted");
+                    }
+                })
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> persons.importFrom(file, failing));
+        ImportOptions options = ImportOptions.builder()
+                .concurrency(2)
+                .errorFile(dir.resolve("rejected.ndjson"))
+                .checkpoint(dir.resolve("persons.checkpoint"))
+                .build();
+        ImportReport report = persons.importFrom(file, options);
+        Assertions.assertTrue(report.isComplete());
+        Assertions.assertEquals(4, report.getImportedCount());
+        Assertions.assertEquals(1, report.getRejectedCount());
+        Assertions.assertEquals(1, Files.readAllLines(dir.resolve("rejected.ndjson")).size());
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.stargate.sdk.test;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stubs of the driver interfaces (session, statements, result sets) standing for a Cassandra cluster in tests.
+ *
+ * CqlSession session = DriverStub.stub(CqlSession.class, Map.of(
+ *     "executeAsync", args -> CompletableFuture.completedFuture(resultSet)));
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public final class DriverStub {
+    
+    private DriverStub() {}
+    
+    /**
+     * Interface implemented by the functions provided (by method name), methods returning the interface
+     * return the stub itself, other methods return false, 0 or null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> clazz, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(DriverStub.class.getClassLoader(), new Class<?>[] { clazz }, (proxy, method, args) -> {
+            Function<Object[], Object> impl = methods.get(method.getName());
+            if (null != impl) {
+                return impl.apply(args);
+            }
+            if (method.getReturnType().isInstance(proxy)) {
+                return proxy;
+            }
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return clazz.getSimpleName() + " stub";
+                default:
+                    if (method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return null;
+            }
+        });
+    }
+
+}
@@ -0,0 +1,158 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.http.EndpointGroup;
+import io.stargate.sdk.http.EndpointGroup.Endpoint;
+import io.stargate.sdk.http.EndpointGroup.Strategy;
+import io.stargate.sdk.http.HedgingPolicy;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.RetryPolicy;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Balancing and failover over a healthy stub and a node which is down.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class EndpointGroupTest {
+    
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer();
+    
+    private static String healthyUrl;
+    
+    private static String downUrl;
+    
+    @BeforeAll
+    public static void setupStub() throws Exception {
+        SERVER.route("/v2/namespaces", exchange -> {
+            CALLS.incrementAndGet();
+            reply(exchange, 200);
+        });
+        healthyUrl = SERVER.getUrl();
+        // Port released, connections are refused
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            downUrl = "http://127.0.0.1:" + closed.getLocalPort();
+        }
+    }
+    
+    @Test
+    public void should_failover_and_eject_failing_node() throws Exception {
+        EndpointGroup group = EndpointGroup.builder()
+                .endpoints(downUrl, healthyUrl)
+                .maxFailures(2)
+                .ejectionDuration(Duration.ofMinutes(1))
+                .build();
+        ApiSupport client = new ApiSupport(HttpClientOptions.builder()
+                .retryPolicy(RetryPolicy.builder().initialDelay(Duration.ofMillis(1)).build())
+                .build()) {};
+        client.setEndpointGroup(group);
+        int before = CALLS.get();
+        for (int i = 0; i < 6; i++) {
+            // Built against the primary url which is down
+            HttpRequest req = HttpRequest.newBuilder(URI.create(downUrl + "/v2/namespaces"))
+                    .timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<Void> res = client.send(req, BodyHandlers.discarding());
+            Assertions.assertEquals(200, res.statusCode());
+        }
+        Assertions.assertEquals(6, CALLS.get() - before);
+        Assertions.assertTrue(group.getEndpoints().get(0).isEjected());
+        Assertions.assertFalse(group.getEndpoints().get(1).isEjected());
+    }
+    
+    @Test
+    public void should_failover_hedged_reads() throws Exception {
+        EndpointGroup group = EndpointGroup.builder()
+                .endpoints(downUrl, healthyUrl)
+                .ejectionDuration(Duration.ofMinutes(1))
+                .build();
+        ApiSupport client = new ApiSupport(HttpClientOptions.builder()
+                .retryPolicy(RetryPolicy.builder().initialDelay(Duration.ofMillis(1)).build())
+                .hedging(HedgingPolicy.builder()
+                        .operations("namespace.find")
+                        .maxHedgeRatio(1)
+                        .minDelay(Duration.ofMillis(1)).maxDelay(Duration.ofMillis(1))
+                        .build())
+                .build()) {};
+        client.setEndpointGroup(group);
+        for (int i = 0; i < 6; i++) {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(downUrl + "/v2/namespaces"))
+                    .timeout(Duration.ofSeconds(5)).GET().build();
+            // Attempt failed on the node down, the next one is sent to the other node
+            CompletableFuture<HttpResponse<Void>> res = client.sendAsync("namespace.find", req, BodyHandlers.discarding());
+            Assertions.assertEquals(200, res.get(5, TimeUnit.SECONDS).statusCode());
+        }
+    }
+    
+    @Test
+    public void should_balance_outstanding_of_request_not_sent() {
+        EndpointGroup group = EndpointGroup.of(List.of(healthyUrl));
+        ApiSupport client = new ApiSupport(HttpClientOptions.defaults()) {};
+        client.setEndpointGroup(group);
+        HttpRequest req = HttpRequest.newBuilder(URI.create(healthyUrl + "/v2/namespaces")).GET().build();
+        // Rejected by the http client (no body handler) before being sent
+        CompletableFuture<HttpResponse<Object>> res = client.sendAsync("namespace.find", req, null);
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class, () -> res.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(ex.getCause() instanceof NullPointerException);
+        Assertions.assertEquals(0, group.getEndpoints().get(0).getOutstanding());
+    }
+    
+    @Test
+    public void should_select_least_outstanding() {
+        EndpointGroup group = EndpointGroup.builder()
+                .endpoints("http://node1:8082", "http://node2:8082", "http://node3:8082")
+                .strategy(Strategy.LEAST_OUTSTANDING)
+                .build();
+        Endpoint node1 = group.getEndpoints().get(0);
+        Endpoint node2 = group.getEndpoints().get(1);
+        node1.onRequestStart();
+        node2.onRequestStart();
+        node2.onRequestStart();
+        Assertions.assertEquals("http://node3:8082", group.select(null).getUrl());
+        Assertions.assertEquals(URI.create("http://node3:8082/v2/namespaces?page-size=3"),
+                group.rewrite(URI.create("http://node1:8082/v2/namespaces?page-size=3"), group.select(null)));
+    }
+    
+    @Test
+    public void should_route_reads_to_nearest_and_writes_to_preferred() {
+        EndpointGroup group = EndpointGroup.builder()
+                .endpoints("http://region1", "http://region2", "http://region3")
+                .strategy(Strategy.LOWEST_LATENCY)
+                .preferredWrite("http://region3/")
+                .build();
+        long[] latencies = { 80, 20, 150 };
+        for (int i = 0; i < 3; i++) {
+            Endpoint region = group.getEndpoints().get(i);
+            region.onRequestStart();
+            region.onRequestComplete(true, Duration.ofMillis(latencies[i]).toNanos());
+        }
+        Endpoint region2 = group.getEndpoints().get(1);
+        Endpoint region3 = group.getEndpoints().get(2);
+        Assertions.assertEquals(region2, group.select(null));
+        Assertions.assertEquals(region3, group.select(null, true));
+        // Preferred write region failed, next nearest
+        Assertions.assertEquals(region2, group.select(region3, true));
+    }
+
+}
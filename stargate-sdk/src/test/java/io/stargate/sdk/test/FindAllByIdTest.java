@@ -0,0 +1,70 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.doc.CollectionClient;
+import io.stargate.sdk.test.dto.Person;
+
+/**
+ * Parallel lookups by id against a stub of the document Api.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class FindAllByIdTest {
+    
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer(8);
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/namespaces/ns/collections/persons/", exchange -> {
+            CALLS.incrementAndGet();
+            MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String path = exchange.getRequestURI().getPath();
+            String id   = path.substring(path.lastIndexOf('/') + 1);
+            IN_FLIGHT.decrementAndGet();
+            if (id.startsWith("missing")) {
+                // Document Api answers 204 for unknown ids
+                reply(exchange, 204);
+            } else {
+                reply(exchange, 200, "{\"firstname\":\"" + id + "\"}");
+            }
+        });
+    }
+    
+    @Test
+    public void should_find_documents_in_parallel() {
+        CollectionClient persons = new ApiDocumentClient("user", "password", null, "token", SERVER.getUrl())
+                .namespace("ns").collection("persons");
+        Map<String, Person> found = persons.findAll(
+                Arrays.asList("p1", "p2", "missing1", "p3", "p1", "p4", "p5", "p6"), Person.class, 4);
+        // Duplicate id sent once, absent document omitted, order of the ids kept
+        Assertions.assertEquals(7, CALLS.get());
+        Assertions.assertEquals(Arrays.asList("p1", "p2", "p3", "p4", "p5", "p6"), Arrays.asList(found.keySet().toArray()));
+        Assertions.assertEquals("p3", found.get("p3").getFirstname());
+        Assertions.assertTrue(MAX_IN_FLIGHT.get() > 1);
+        Assertions.assertTrue(MAX_IN_FLIGHT.get() <= 4);
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.stargate.sdk.test;
+
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Each Api client builds its own http client and executor from the {@link HttpClientOptions}.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class HttpClientOptionsTest {
+    
+    private static final String ENDPOINT = "http://127.0.0.1:8082";
+    
+    @Test
+    public void should_isolate_http_clients_and_apply_settings() {
+        HttpClientOptions options = HttpClientOptions.builder()
+                .fixedThreadPool(2)
+                .connectTimeout(Duration.ofSeconds(3))
+                .requestTimeout(Duration.ofSeconds(7))
+                .version(Version.HTTP_1_1)
+                .build();
+        try (ApiDocumentClient first  = new ApiDocumentClient("user", "password", null, "token", ENDPOINT, options);
+             ApiDocumentClient second = new ApiDocumentClient("user", "password", null, "token", ENDPOINT, options)) {
+            Assertions.assertNotSame(first.getHttpClient(), second.getHttpClient());
+            Assertions.assertNotSame(first.getExecutor(), second.getExecutor());
+            Assertions.assertEquals(Optional.of(first.getExecutor()), first.getHttpClient().executor());
+            Assertions.assertEquals(Optional.of(Duration.ofSeconds(3)), first.getHttpClient().connectTimeout());
+            Assertions.assertEquals(Version.HTTP_1_1, first.getHttpClient().version());
+            HttpRequest request = first.newRequest(ENDPOINT + "/v2/namespaces", "token").GET().build();
+            Assertions.assertEquals(Optional.of(Duration.ofSeconds(7)), request.timeout());
+            // Static builder keeps the default timeout
+            Assertions.assertEquals(Optional.of(ApiSupport.REQUEST_TIMOUT),
+                    ApiSupport.startRequest(ENDPOINT, "token").GET().build().timeout());
+        }
+    }
+    
+    @Test
+    public void should_shutdown_own_executor_only() {
+        ApiDocumentClient own = new ApiDocumentClient("user", "password", null, "token", ENDPOINT);
+        own.close();
+        Assertions.assertTrue(((ExecutorService) own.getExecutor()).isShutdown());
+        ExecutorService custom = Executors.newSingleThreadExecutor();
+        try {
+            ApiDocumentClient shared = new ApiDocumentClient("user", "password", null, "token", ENDPOINT,
+                    HttpClientOptions.builder().executor(custom).build());
+            shared.close();
+            Assertions.assertSame(custom, shared.getExecutor());
+            Assertions.assertFalse(custom.isShutdown());
+        } finally {
+            custom.shutdown();
+        }
+    }
+
+}
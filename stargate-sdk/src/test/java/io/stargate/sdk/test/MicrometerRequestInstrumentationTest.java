@@ -0,0 +1,79 @@
+package io.stargate.sdk.test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.sdk.exception.CircuitBreakerOpenException;
+import io.stargate.sdk.http.CircuitBreaker.State;
+import io.stargate.sdk.http.RequestEvent;
+import io.stargate.sdk.micrometer.MicrometerRequestInstrumentation;
+
+/**
+ * Names and tags of the meters published by {@link MicrometerRequestInstrumentation}.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class MicrometerRequestInstrumentationTest {
+    
+    private static final HttpRequest GET = HttpRequest.newBuilder(URI.create("http://localhost:8082/v2/namespaces")).GET().build();
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    private final MicrometerRequestInstrumentation metrics =
+            new MicrometerRequestInstrumentation(registry, Tags.of("app", "test"));
+    
+    @Test
+    public void should_time_requests_by_operation_and_outcome() {
+        metrics.onRequestComplete(new RequestEvent("document.find", GET, 200, null, Duration.ofMillis(20), -1, 512, 0));
+        metrics.onRequestComplete(new RequestEvent("document.find", GET, 200, null, Duration.ofMillis(40), -1, 256, 2));
+        metrics.onRequestComplete(new RequestEvent("document.find", GET, 503, null, Duration.ofMillis(5), -1, 0, 0));
+        metrics.onRequestComplete(new RequestEvent("document.find", GET, RequestEvent.NO_STATUS,
+                new CircuitBreakerOpenException("http://localhost:8082", Duration.ofSeconds(30)), Duration.ZERO, -1, -1, 0));
+        
+        Timer success = registry.get(MicrometerRequestInstrumentation.METER_REQUESTS)
+                .tags("app", "test", "operation", "document.find", "method", "GET", "status", "200", "outcome", "SUCCESS")
+                .timer();
+        Assertions.assertEquals(2, success.count());
+        Assertions.assertEquals(60, success.totalTime(TimeUnit.MILLISECONDS), 0.1);
+        Assertions.assertEquals(1, registry.get(MicrometerRequestInstrumentation.METER_REQUESTS)
+                .tags("status", "503", "outcome", "SERVER_ERROR").timer().count());
+        Assertions.assertEquals(1, registry.get(MicrometerRequestInstrumentation.METER_REQUESTS)
+                .tags("status", "NONE", "outcome", "CIRCUIT_OPEN").timer().count());
+        
+        DistributionSummary responses = registry.get(MicrometerRequestInstrumentation.METER_RESPONSE_SIZE)
+                .tags("app", "test", "operation", "document.find").summary();
+        Assertions.assertEquals(3, responses.count());
+        Assertions.assertEquals(768, responses.totalAmount(), 0.1);
+        Assertions.assertEquals("bytes", responses.getId().getBaseUnit());
+        // Unknown request sizes are not recorded
+        Assertions.assertNull(registry.find(MicrometerRequestInstrumentation.METER_REQUEST_SIZE).summary());
+        Assertions.assertEquals(2, registry.get(MicrometerRequestInstrumentation.METER_RETRIES)
+                .tags("app", "test", "operation", "document.find").counter().count(), 0.1);
+    }
+    
+    @Test
+    public void should_count_circuit_breaker_transitions_and_hedges() {
+        metrics.onCircuitBreakerStateChange("http://localhost:8082", State.CLOSED, State.OPEN);
+        metrics.onCircuitBreakerStateChange("http://localhost:8082", State.HALF_OPEN, State.OPEN);
+        metrics.onHedgedRequest("document.find", true);
+        metrics.onHedgedRequest("document.find", false);
+        metrics.onHedgedRequest("document.find", true);
+        
+        Assertions.assertEquals(2, registry.get(MicrometerRequestInstrumentation.METER_CIRCUIT_BREAKER)
+                .tags("app", "test", "endpoint", "http://localhost:8082", "state", "OPEN").counter().count(), 0.1);
+        Assertions.assertEquals(2, registry.get(MicrometerRequestInstrumentation.METER_HEDGES)
+                .tags("app", "test", "operation", "document.find", "won", "true").counter().count(), 0.1);
+        Assertions.assertEquals(1, registry.get(MicrometerRequestInstrumentation.METER_HEDGES)
+                .tags("won", "false").counter().count(), 0.1);
+    }
+
+}
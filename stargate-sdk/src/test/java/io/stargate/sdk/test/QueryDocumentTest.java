@@ -0,0 +1,89 @@
+package io.stargate.sdk.test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.doc.Predicate;
+import io.stargate.sdk.doc.PreparedQuery;
+import io.stargate.sdk.doc.QueryDocument;
+
+/**
+ * Where clauses built with the fluent api, predicates and prepared queries.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class QueryDocumentTest {
+    
+    @Test
+    public void should_combine_conditions_on_several_fields() {
+        QueryDocument query = QueryDocument.builder()
+                .where("age").isGreaterThan(21)
+                .where("age").isLessThan(65)
+                .where("address.city").isEqualsTo("Paris")
+                .where("email").exists()
+                .build();
+        Assertions.assertEquals(
+                "{\"age\":{\"$gt\":21.0,\"$lt\":65.0},\"address.city\":{\"$eq\":\"Paris\"},\"email\":{\"$exists\":true}}",
+                query.getWhere().get());
+    }
+    
+    @Test
+    public void should_serialize_logical_predicates() {
+        Predicate vip = Predicate.or(Predicate.eq("city", "Paris"), Predicate.in("tier", List.of("gold", "silver")));
+        Assertions.assertEquals(
+                "{\"age\":{\"$gte\":18,\"$lte\":30},\"$or\":[{\"city\":{\"$eq\":\"Paris\"}},{\"tier\":{\"$in\":[\"gold\",\"silver\"]}}]}",
+                Predicate.and(Predicate.between("age", 18, 30), vip).toJson());
+        // Same operator twice on a field or two 'or' cannot be merged in a single object
+        Assertions.assertEquals(
+                "{\"$and\":[{\"a\":{\"$ne\":1}},{\"a\":{\"$ne\":2}}]}",
+                Predicate.and(Predicate.ne("a", 1), Predicate.ne("a", 2)).toJson());
+        Assertions.assertEquals(
+                "{\"$and\":[" + "{\"$or\":[{\"a\":{\"$eq\":1}},{\"b\":{\"$eq\":2}}]}," 
+                              + "{\"$or\":[{\"c\":{\"$eq\":\"x\\\"y\"}},{\"d\":{\"$exists\":true}}]}]}",
+                Predicate.and(
+                        Predicate.or(Predicate.eq("a", 1), Predicate.eq("b", 2)), 
+                        Predicate.or(Predicate.eq("c", "x\"y"), Predicate.exists("d"))).toJson());
+    }
+    
+    @Test
+    @SuppressWarnings("deprecation")
+    public void should_accept_any_collection_of_values() {
+        Set<Object> cities = Set.of("Paris");
+        Assertions.assertEquals(
+                QueryDocument.builder().where("city").isIn(List.of("Paris")).where("tier").isNotIn(List.of("gold")).build().getWhere(),
+                QueryDocument.builder().where("city").isIn(cities).where("tier").isNotIn(Set.<Object>of("gold")).build().getWhere());
+    }
+    
+    @Test
+    public void should_bind_parameters_of_prepared_query() {
+        PreparedQuery prepared = QueryDocument.builder()
+                .withPageSize(10)
+                .where(Predicate.between("age", Predicate.param("min"), Predicate.param("max")))
+                .where(Predicate.in("name", Predicate.param("names")))
+                .where(Predicate.lt("score", Predicate.param("max")))
+                .prepare();
+        Assertions.assertEquals(List.of("min", "max", "names"), prepared.getParameterNames());
+        QueryDocument query = prepared.bind(18, 30, List.of("ann", "bo\"b"));
+        Assertions.assertEquals(10, query.getPageSize());
+        Assertions.assertEquals(
+                "{\"age\":{\"$gte\":18,\"$lte\":30},\"name\":{\"$in\":[\"ann\",\"bo\\\"b\"]},\"score\":{\"$lt\":30}}",
+                query.getWhere().get());
+        Assertions.assertEquals(query.getWhere(), 
+                prepared.bind(Map.of("min", 18, "max", 30, "names", List.of("ann", "bo\"b"))).getWhere());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> prepared.bind(18));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> prepared.bind(Map.of("min", 18)));
+    }
+    
+    @Test
+    public void should_reuse_query_without_parameters() {
+        PreparedQuery prepared = QueryDocument.builder().where("age").isGreaterThan(21).prepare();
+        Assertions.assertSame(prepared.bind(), prepared.bind());
+        Assertions.assertThrows(IllegalArgumentException.class, 
+                () -> QueryDocument.builder().withJsonWhereClause("{}").where("age").isGreaterThan(1));
+    }
+
+}
@@ -0,0 +1,76 @@
+package io.stargate.sdk.test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.http.HedgingPolicy;
+import io.stargate.sdk.http.RequestHedger;
+
+/**
+ * Hedged requests: delay from the latency percentile, first response wins, cap on hedges.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RequestHedgerTest {
+    
+    @Test
+    public void should_use_latency_percentile_as_delay() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder()
+                .windowSize(10).percentile(0.9)
+                .minDelay(Duration.ofMillis(1)).maxDelay(Duration.ofSeconds(1))
+                .build());
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(1), hedger.getDelayNanos("document.find"));
+        for (int i = 1; i <= 10; i++) {
+            hedger.recordLatency("document.find", TimeUnit.MILLISECONDS.toNanos(i * 10));
+        }
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(90), hedger.getDelayNanos("document.find"));
+    }
+    
+    @Test
+    public void should_return_first_response() throws Exception {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder()
+                .maxHedgeRatio(1)
+                .minDelay(Duration.ofMillis(20)).maxDelay(Duration.ofMillis(20))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean hedgeWon = new AtomicBoolean();
+        CountDownLatch hedged  = new CountDownLatch(1);
+        CompletableFuture<String> result = hedger.send("document.find", () ->
+            (attempts.incrementAndGet() == 1) ? new CompletableFuture<>() : CompletableFuture.completedFuture("hedge"),
+            (op, won) -> {
+                hedgeWon.set(won);
+                hedged.countDown();
+            });
+        Assertions.assertEquals("hedge", result.get(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, attempts.get());
+        Assertions.assertTrue(hedged.await(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(hedgeWon.get());
+    }
+    
+    @Test
+    public void should_cap_hedges() throws Exception {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder()
+                .maxHedgeRatio(0.1)
+                .minDelay(Duration.ofMillis(1)).maxDelay(Duration.ofMillis(1))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        // Less than one token available, no hedge
+        CompletableFuture<String> result = hedger.send("document.find", () -> {
+            attempts.incrementAndGet();
+            return slow;
+        }, (op, won) -> {});
+        Thread.sleep(100);
+        Assertions.assertEquals(1, attempts.get());
+        slow.complete("first");
+        Assertions.assertEquals("first", result.get(1, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,109 @@
+package io.stargate.sdk.test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.exception.RequestThrottledException;
+import io.stargate.sdk.http.ConcurrencyLimiter;
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.RateLimiter;
+import io.stargate.sdk.http.RequestThrottler;
+import io.stargate.sdk.http.RequestThrottler.Permit;
+import io.stargate.sdk.http.ThrottlingOptions;
+import io.stargate.sdk.http.ThrottlingOptions.Mode;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Client-side limits: token bucket, concurrency limiter and throttler modes.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RequestThrottlerTest {
+    
+    private static final URI ENDPOINT = URI.create("http://localhost:8082/v2/namespaces");
+    
+    @Test
+    public void should_limit_request_rate() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+        Assertions.assertTrue(limiter.tryAcquire());
+        Assertions.assertTrue(limiter.tryAcquire());
+        Assertions.assertFalse(limiter.tryAcquire());
+        // Next permit in ~100ms (10 per second)
+        long wait = limiter.reserve(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertTrue(wait <= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+    
+    @Test
+    public void should_shrink_and_grow_adaptive_limit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 2, true);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(limiter.acquire(false).isDone());
+        }
+        Assertions.assertNull(limiter.acquire(false));
+        for (int i = 0; i < 10; i++) {
+            limiter.release(429);
+        }
+        Assertions.assertEquals(3, limiter.getLimit());
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire(false);
+            limiter.release(200);
+        }
+        Assertions.assertTrue(limiter.getLimit() > 3);
+    }
+    
+    @Test
+    public void should_reject_when_no_permit() throws InterruptedException {
+        RequestThrottler throttler = new RequestThrottler(ThrottlingOptions.builder()
+                .maxConcurrentRequests(1)
+                .mode(Mode.REJECT)
+                .build());
+        Permit permit = throttler.acquire(ENDPOINT);
+        Assertions.assertThrows(RequestThrottledException.class, () -> throttler.acquire(ENDPOINT));
+        permit.release(200);
+        throttler.acquire(ENDPOINT).release(200);
+    }
+    
+    @Test
+    public void should_wait_for_permit_async() throws Exception {
+        RequestThrottler throttler = new RequestThrottler(ThrottlingOptions.builder()
+                .maxConcurrentRequests(1)
+                .maxWait(Duration.ofMillis(200))
+                .build());
+        Permit permit = throttler.acquire(ENDPOINT);
+        CompletableFuture<Permit> waiting = throttler.acquireAsync(ENDPOINT);
+        Assertions.assertFalse(waiting.isDone());
+        permit.release(200);
+        waiting.get(1, TimeUnit.SECONDS);
+        // Permit still held, next waiter times out
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class,
+                () -> throttler.acquireAsync(ENDPOINT).get(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(ex.getCause() instanceof RequestThrottledException);
+    }
+
+    
+    @Test
+    public void should_release_permit_of_request_not_sent() throws Exception {
+        ApiSupport client = new ApiSupport(HttpClientOptions.builder()
+                .throttling(ThrottlingOptions.builder()
+                        .maxConcurrentRequests(1)
+                        .mode(Mode.REJECT)
+                        .build())
+                .build()) {};
+        HttpRequest request = HttpRequest.newBuilder(ENDPOINT).build();
+        // Rejected by the http client (no body handler), the permit is given back each time
+        for (int i = 0; i < 3; i++) {
+            ExecutionException ex = Assertions.assertThrows(ExecutionException.class,
+                    () -> client.sendAsync("test.get", request, null).get(1, TimeUnit.SECONDS));
+            Assertions.assertTrue(ex.getCause() instanceof NullPointerException);
+        }
+    }
+
+}
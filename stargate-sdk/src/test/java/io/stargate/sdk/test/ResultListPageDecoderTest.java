@@ -0,0 +1,46 @@
+package io.stargate.sdk.test;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.stargate.sdk.doc.ResultListPage;
+import io.stargate.sdk.doc.ResultListPageDecoder;
+import io.stargate.sdk.test.dto.Person;
+
+/**
+ * Decoding of search responses, no Stargate instance needed.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class ResultListPageDecoderTest {
+    
+    private static final String PAGE = "{"
+            + "\"data\": {"
+            + "  \"p1\": {\"firstname\":\"John\", \"lastname\":\"Doe\", \"age\": 20, \"address\": {\"city\":\"Paris\", \"zipCode\": 75000}},"
+            + "  \"p2\": {\"firstname\":\"Jane\", \"unknown\": [1, {\"a\": 2}]}"
+            + "},"
+            + "\"pageState\": \"abc\""
+            + "}";
+    
+    @Test
+    public void should_decode_documents_and_pageState() {
+        ResultListPage<Person> page = new ResultListPageDecoder<>(Person.class)
+                .decode(PAGE.getBytes(StandardCharsets.UTF_8), 20);
+        Assertions.assertEquals("abc", page.getPageState().get());
+        Assertions.assertEquals(2, page.getResults().size());
+        Assertions.assertEquals("p1", page.getResults().get(0).getDocumentId());
+        Assertions.assertEquals(75000, page.getResults().get(0).getDocument().getAddress().getZipCode());
+        Assertions.assertEquals("Jane", page.getResults().get(1).getDocument().getFirstname());
+    }
+    
+    @Test
+    public void should_decode_last_page() {
+        ResultListPage<Person> page = new ResultListPageDecoder<>(Person.class)
+                .decode("{\"pageState\": null, \"data\": {}}".getBytes(StandardCharsets.UTF_8), 20);
+        Assertions.assertFalse(page.getPageState().isPresent());
+        Assertions.assertTrue(page.getResults().isEmpty());
+    }
+
+}
@@ -0,0 +1,123 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.http.HttpClientOptions;
+import io.stargate.sdk.http.RequestEvent;
+import io.stargate.sdk.http.RetryPolicy;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Retries of transient failures against a local stub answering 503 twice then 200.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class RetryPolicyTest {
+    
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer();
+    
+    private static URI url;
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/flaky", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int status = (CALLS.incrementAndGet() % 3 == 0) ? 200 : 503;
+            reply(exchange, status);
+        });
+        url = URI.create(SERVER.getUrl() + "/flaky");
+    }
+    
+    @BeforeEach
+    public void resetStub() {
+        CALLS.set(0);
+    }
+    
+    private ApiSupport newClient(RetryPolicy policy, AtomicReference<RequestEvent> lastEvent) {
+        return new ApiSupport(HttpClientOptions.builder()
+                .retryPolicy(policy)
+                .instrumentation(lastEvent::set)
+                .build()) {};
+    }
+    
+    private RetryPolicy.RetryPolicyBuilder fastRetries() {
+        return RetryPolicy.builder().initialDelay(Duration.ofMillis(5)).maxDelay(Duration.ofMillis(20));
+    }
+    
+    @Test
+    public void should_not_retry_by_default() throws Exception {
+        ApiSupport client = new ApiSupport(HttpClientOptions.defaults()) {};
+        HttpResponse<Void> res = client.send("test.get",
+                HttpRequest.newBuilder(url).GET().build(), BodyHandlers.discarding());
+        Assertions.assertEquals(503, res.statusCode());
+        Assertions.assertEquals(1, CALLS.get());
+    }
+    
+    @Test
+    public void should_retry_idempotent_request() throws Exception {
+        AtomicReference<RequestEvent> event = new AtomicReference<>();
+        ApiSupport client = newClient(fastRetries().build(), event);
+        HttpResponse<Void> res = client.send("test.get",
+                HttpRequest.newBuilder(url).GET().build(), BodyHandlers.discarding());
+        Assertions.assertEquals(200, res.statusCode());
+        Assertions.assertEquals(3, CALLS.get());
+        Assertions.assertEquals(2, event.get().getRetryCount());
+    }
+    
+    @Test
+    public void should_retry_async_request() throws Exception {
+        AtomicReference<RequestEvent> event = new AtomicReference<>();
+        ApiSupport client = newClient(fastRetries().build(), event);
+        HttpResponse<Void> res = client.sendAsync("test.get",
+                HttpRequest.newBuilder(url).GET().build(), BodyHandlers.discarding()).get();
+        Assertions.assertEquals(200, res.statusCode());
+        Assertions.assertEquals(3, CALLS.get());
+    }
+    
+    @Test
+    public void should_not_retry_post_unless_opted_in() throws Exception {
+        AtomicReference<RequestEvent> event = new AtomicReference<>();
+        HttpRequest post = HttpRequest.newBuilder(url).POST(BodyPublishers.ofString("{}")).build();
+        HttpResponse<Void> res = newClient(fastRetries().build(), event)
+                .send("test.create", post, BodyHandlers.discarding());
+        Assertions.assertEquals(503, res.statusCode());
+        Assertions.assertEquals(1, CALLS.get());
+        
+        CALLS.set(0);
+        res = newClient(fastRetries().retryNonIdempotent("test.create").build(), event)
+                .send("test.create", post, BodyHandlers.discarding());
+        Assertions.assertEquals(200, res.statusCode());
+        Assertions.assertEquals(3, CALLS.get());
+    }
+    
+    @Test
+    public void should_stop_retrying_when_budget_is_exhausted() throws Exception {
+        AtomicReference<RequestEvent> event = new AtomicReference<>();
+        // 4 tokens, retries allowed while more than 2 are available
+        ApiSupport client = newClient(fastRetries().maxAttempts(10).budget(4, 0.1).build(), event);
+        HttpResponse<Void> res = client.send("test.get",
+                HttpRequest.newBuilder(url).GET().build(), BodyHandlers.discarding());
+        Assertions.assertEquals(503, res.statusCode());
+        Assertions.assertEquals(2, CALLS.get());
+        Assertions.assertEquals(1, event.get().getRetryCount());
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.doc.NamespaceClient;
+import io.stargate.sdk.rest.ApiRestClient;
+import io.stargate.sdk.rest.ColumnDefinition;
+import io.stargate.sdk.rest.KeyspaceClient;
+import io.stargate.sdk.utils.SchemaCache;
+
+/**
+ * Existence checks served from the schema listings, stub counts the listings requested.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class SchemaCacheTest {
+    
+    /** Listings of collections and tables served. */
+    private static final AtomicInteger LISTINGS = new AtomicInteger();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer();
+    
+    private static String url;
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/namespaces/ns/collections", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                reply(exchange, 201, "{}");
+                return;
+            }
+            LISTINGS.incrementAndGet();
+            reply(exchange, 200, "{\"data\":[{\"name\":\"persons\"},{\"name\":\"cars\"}]}");
+        });
+        SERVER.route("/v2/schemas/keyspaces", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if ("POST".equals(exchange.getRequestMethod())) {
+                reply(exchange, 201, "{}");
+            } else if (path.equals("/v2/schemas/keyspaces")) {
+                LISTINGS.incrementAndGet();
+                reply(exchange, 200, "{\"data\":[{\"name\":\"ks\"}]}");
+            } else if (path.equals("/v2/schemas/keyspaces/ks/tables")) {
+                LISTINGS.incrementAndGet();
+                reply(exchange, 200, "{\"data\":[{\"name\":\"videos\",\"keyspace\":\"ks\","
+                        + "\"columnDefinitions\":[{\"name\":\"videoid\",\"typeDefinition\":\"uuid\",\"static\":false}]}]}");
+            } else {
+                reply(exchange, 404, "{\"description\":\"not found\",\"code\":404}");
+            }
+        });
+        url = SERVER.getUrl();
+    }
+    
+    @Test
+    public void should_check_collections_from_cached_listing() {
+        ApiDocumentClient docClient = new ApiDocumentClient("user", "password", null, "token", url);
+        NamespaceClient ns = docClient.namespace("ns");
+        LISTINGS.set(0);
+        // Without cache each check lists the collections
+        Assertions.assertTrue(ns.collection("persons").exist());
+        Assertions.assertTrue(ns.collection("cars").exist());
+        Assertions.assertEquals(2, LISTINGS.get());
+        
+        SchemaCache cache = docClient.enableSchemaCache();
+        LISTINGS.set(0);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(ns.collection("persons").exist());
+            Assertions.assertFalse(ns.collection("videos").exist());
+        }
+        Assertions.assertEquals(1, LISTINGS.get());
+        Assertions.assertEquals(19, cache.getHitCount());
+        
+        // Change sent by this client drops the listing
+        ns.collection("videos").create();
+        ns.collection("videos").exist();
+        Assertions.assertEquals(2, LISTINGS.get());
+    }
+    
+    @Test
+    public void should_check_tables_from_cached_listing() {
+        ApiRestClient restClient = new ApiRestClient("user", "password", null, "token", url);
+        restClient.enableSchemaCache();
+        KeyspaceClient ks = restClient.keyspace("ks");
+        LISTINGS.set(0);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(ks.exist());
+            Assertions.assertTrue(ks.table("videos").exist());
+            Assertions.assertFalse(ks.table("users").exist());
+        }
+        Assertions.assertEquals(2, LISTINGS.get());
+        Assertions.assertEquals("uuid", ks.table("videos").find().get().getColumnDefinitions().get(0).getTypeDefinition());
+        
+        ks.table("videos").createColumn(new ColumnDefinition("title", "text"));
+        Assertions.assertTrue(ks.table("videos").exist());
+        Assertions.assertEquals(3, LISTINGS.get());
+    }
+
+}
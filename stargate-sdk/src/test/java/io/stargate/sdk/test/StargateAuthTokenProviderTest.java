@@ -0,0 +1,139 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.auth.StargateAuthTokenProvider;
+import io.stargate.sdk.doc.ApiDocumentClient;
+import io.stargate.sdk.utils.ApiSupport;
+
+/**
+ * Renewal of tokens against a local stub of the authentication service.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class StargateAuthTokenProviderTest {
+    
+    private static final AtomicInteger AUTH_CALLS = new AtomicInteger();
+    
+    /** Token rejected by the data endpoint. */
+    private static volatile String rejectedToken;
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer();
+    
+    private static String authUrl;
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v1/auth/", exchange -> {
+            int call = AUTH_CALLS.incrementAndGet();
+            try {
+                // Slow authentication to let threads pile up
+                Thread.sleep(200);
+            } catch (InterruptedException e) {}
+            reply(exchange, 201, "{\"authToken\":\"token-" + call + "\"}");
+        });
+        SERVER.route("/v2/namespaces", exchange -> {
+            String token = exchange.getRequestHeaders().getFirst(ApiSupport.HEADER_CASSANDRA);
+            int status = token.equals(rejectedToken) ? 401 : 200;
+            reply(exchange, status);
+        });
+        authUrl = SERVER.getUrl();
+    }
+    
+    private StargateAuthTokenProvider newProvider() {
+        return new StargateAuthTokenProvider(authUrl, "cassandra", "cassandra", 
+                Duration.ofMinutes(5), HttpClient.newHttpClient(), Duration.ofSeconds(5));
+    }
+    
+    @Test
+    public void should_authenticate_once_under_concurrency() throws Exception {
+        StargateAuthTokenProvider provider = newProvider();
+        int before = AUTH_CALLS.get();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {}
+                return provider.getToken();
+            }));
+        }
+        start.countDown();
+        String first = tokens.get(0).get();
+        for (CompletableFuture<String> token : tokens) {
+            Assertions.assertEquals(first, token.get());
+        }
+        Assertions.assertEquals(1, AUTH_CALLS.get() - before);
+        provider.close();
+    }
+    
+    @Test
+    public void should_renew_rejected_token_once() {
+        StargateAuthTokenProvider provider = newProvider();
+        String rejected = provider.getToken();
+        String renewed  = provider.renewToken(rejected);
+        Assertions.assertNotEquals(rejected, renewed);
+        // Another thread reporting the same rejected token gets the renewed one
+        Assertions.assertEquals(renewed, provider.renewToken(rejected));
+        provider.close();
+    }
+    
+    @Test
+    public void should_renew_asynchronously_without_blocking_the_caller() {
+        StargateAuthTokenProvider provider = newProvider();
+        int before = AUTH_CALLS.get();
+        // Authentication takes 200ms, the futures are returned at once and share the renewal
+        CompletableFuture<String> first  = provider.getTokenAsync();
+        CompletableFuture<String> second = provider.getTokenAsync();
+        Assertions.assertFalse(first.isDone());
+        Assertions.assertEquals(first.join(), second.join());
+        Assertions.assertEquals(1, AUTH_CALLS.get() - before);
+        Assertions.assertNotEquals(first.join(), provider.renewTokenAsync(first.join()).join());
+        provider.close();
+    }
+    
+    @Test
+    public void should_not_schedule_renewal_once_closed() throws InterruptedException {
+        // Background renewal 200ms after authentication
+        StargateAuthTokenProvider provider = new StargateAuthTokenProvider(authUrl, "cassandra", "cassandra", 
+                Duration.ofMillis(250), HttpClient.newHttpClient(), Duration.ofSeconds(5));
+        int before = AUTH_CALLS.get();
+        CompletableFuture<String> token = provider.getTokenAsync();
+        // Closed while the authentication is in flight
+        provider.close();
+        // Token used since the authentication, worth a background renewal if not closed
+        Assertions.assertEquals(token.join(), provider.getToken());
+        Thread.sleep(600);
+        Assertions.assertEquals(1, AUTH_CALLS.get() - before);
+    }
+    
+    @Test
+    public void should_retry_async_request_with_renewed_token() {
+        try (ApiDocumentClient client = new ApiDocumentClient("cassandra", "cassandra", authUrl, null, authUrl)) {
+            rejectedToken = client.getToken();
+            HttpResponse<String> response = client.sendAsync(
+                    client.newRequest(authUrl + "/v2/namespaces", rejectedToken).GET().build(), 
+                    BodyHandlers.ofString()).join();
+            Assertions.assertEquals(200, response.statusCode());
+            Assertions.assertNotEquals(rejectedToken, response.request().headers().firstValue(ApiSupport.HEADER_CASSANDRA).get());
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.stargate.sdk.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local http server standing for the Stargate Apis in tests, stopped after the test class.
+ *
+ * {@literal @}RegisterExtension
+ * static final StubServer SERVER = new StubServer();
+ *
+ * {@literal @}BeforeAll
+ * public static void routes() {
+ *   SERVER.route("/v2/namespaces", exchange -> StubServer.reply(exchange, 200, "{}"));
+ * }
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class StubServer implements AfterAllCallback {
+    
+    /** Http server on a free local port. */
+    private final HttpServer server;
+    
+    /** Threads handling the requests, null when handled by the dispatcher thread. */
+    private final ExecutorService executor;
+    
+    /**
+     * Requests handled one at a time.
+     */
+    public StubServer() {
+        this(0);
+    }
+    
+    /**
+     * Requests handled concurrently on 'threads' threads (one at a time if 0).
+     */
+    public StubServer(int threads) {
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start stub server", e);
+        }
+        this.executor = (threads > 0) ? Executors.newFixedThreadPool(threads) : null;
+        server.setExecutor(executor);
+        server.start();
+    }
+    
+    /**
+     * Handle the requests of a path (and its sub paths).
+     */
+    public StubServer route(String path, HttpHandler handler) {
+        server.createContext(path, handler);
+        return this;
+    }
+    
+    /**
+     * Base url of the server, 'http://127.0.0.1:port'.
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void afterAll(ExtensionContext context) {
+        server.stop(0);
+        if (null != executor) {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Send a json body and close the exchange.
+     */
+    public static void reply(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(code, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+    
+    /**
+     * Send a status without body and close the exchange.
+     */
+    public static void reply(HttpExchange exchange, int code) throws IOException {
+        exchange.sendResponseHeaders(code, -1);
+        exchange.close();
+    }
+    
+    /**
+     * Body of the request as a string.
+     */
+    public static String body(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+}
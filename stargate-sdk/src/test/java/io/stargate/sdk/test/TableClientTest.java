@@ -0,0 +1,150 @@
+package io.stargate.sdk.test;
+
+import static io.stargate.sdk.test.StubServer.body;
+import static io.stargate.sdk.test.StubServer.reply;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.stargate.sdk.doc.Predicate;
+import io.stargate.sdk.rest.ApiRestClient;
+import io.stargate.sdk.rest.ClusteringOrder;
+import io.stargate.sdk.rest.CompactRow;
+import io.stargate.sdk.rest.QueryTable;
+import io.stargate.sdk.rest.Row;
+import io.stargate.sdk.rest.RowResultPage;
+import io.stargate.sdk.rest.TableClient;
+import io.stargate.sdk.utils.BulkWriteReport;
+import io.stargate.sdk.utils.BulkWriterOptions;
+
+/**
+ * Rows of a table served by a stub of the Rest Api.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class TableClientTest {
+    
+    /** First insert is throttled. */
+    private static final AtomicBoolean THROTTLE_INSERT = new AtomicBoolean();
+    
+    /** Bodies of the inserts received. */
+    private static final Queue<String> INSERTS = new ConcurrentLinkedQueue<>();
+    
+    /** Requested uris (raw). */
+    private static final Queue<String> URIS = new ConcurrentLinkedQueue<>();
+    
+    @RegisterExtension
+    static final StubServer SERVER = new StubServer();
+    
+    private static TableClient videos;
+    
+    @BeforeAll
+    public static void setupStub() {
+        SERVER.route("/v2/keyspaces/ks/videos", exchange -> {
+            URIS.add(exchange.getRequestURI().getRawPath() + "?" + exchange.getRequestURI().getRawQuery());
+            switch (exchange.getRequestMethod()) {
+                case "POST":
+                    if (THROTTLE_INSERT.compareAndSet(true, false)) {
+                        reply(exchange, 429, "{\"description\":\"slow down\",\"code\":429}");
+                        return;
+                    }
+                    String row = body(exchange);
+                    INSERTS.add(row);
+                    reply(exchange, 201, row.substring(0, row.indexOf(',')) + "}");
+                    return;
+                case "DELETE":
+                    reply(exchange, 204);
+                    return;
+                default:
+                    reply(exchange, 200, "{\"count\":1,\"pageState\":\"p2\",\"data\":"
+                            + "[{\"videoid\":\"a b\",\"views\":12,\"title\":\"Cassandra\"}]}");
+            }
+        });
+        SERVER.route("/v2/keyspaces/ks/events/rows", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            String body;
+            if (!query.contains("page-state")) {
+                body = "{\"count\":2,\"pageState\":\"p2\",\"data\":[{\"id\":1,\"kind\":\"a\"},{\"id\":2,\"kind\":null}]}";
+            } else if (query.contains("page-state=p2")) {
+                body = "{\"count\":0,\"pageState\":\"p3\",\"data\":[]}";
+            } else {
+                body = "{\"count\":1,\"data\":[{\"kind\":\"c\",\"id\":3,\"tags\":[\"x\"]}]}";
+            }
+            reply(exchange, 200, body);
+        });
+        videos = new ApiRestClient("user", "password", null, "token", SERVER.getUrl())
+                .keyspace("ks").table("videos");
+    }
+    
+    @Test
+    public void should_find_and_search_rows() {
+        URIS.clear();
+        Row row = videos.key("a b", 1).find().get();
+        Assertions.assertEquals("a b", row.getString("videoid"));
+        Assertions.assertEquals(12L, row.getLong("views"));
+        Assertions.assertEquals("/v2/keyspaces/ks/videos/a%20b/1?page-size=1", URIS.poll());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> videos.key("a b")
+                .findPage(QueryTable.builder().where(Predicate.gt("views", 10)).build()));
+        Assertions.assertTrue(URIS.isEmpty());
+        
+        RowResultPage<Row> page = videos.search(QueryTable.builder()
+                .where(Predicate.gt("views", 10))
+                .withReturnedFields("videoid", "title")
+                .withSort("title", ClusteringOrder.desc)
+                .build());
+        Assertions.assertEquals("p2", page.getPageState().get());
+        Assertions.assertEquals(1, page.getResults().size());
+        String uri = URIS.poll();
+        Assertions.assertTrue(uri.startsWith("/v2/keyspaces/ks/videos?page-size=20&where=%7B%22views%22"), uri);
+        Assertions.assertTrue(uri.endsWith("&fields=videoid%2Ctitle&sort=%7B%22title%22%3A%22desc%22%7D"), uri);
+        
+        videos.search(QueryTable.builder().build());
+        Assertions.assertEquals("/v2/keyspaces/ks/videos/rows?page-size=20", URIS.poll());
+        
+        videos.key("a b").delete();
+    }
+    
+    @Test
+    public void should_stream_all_pages() {
+        TableClient events = videos.getKeyspaceClient().table("events");
+        List<CompactRow> rows = events.streamAll(CompactRow.class).collect(Collectors.toList());
+        Assertions.assertEquals(3, rows.size());
+        Assertions.assertEquals(List.of("id", "kind"), rows.get(0).getColumnNames());
+        Assertions.assertNull(rows.get(1).get("kind"));
+        // Columns in another order or unseen before
+        Assertions.assertEquals(3, rows.get(2).getInteger("id"));
+        Assertions.assertEquals(List.of("x"), rows.get(2).get("tags"));
+        Assertions.assertEquals(List.of(1, 2, 3), events.stream(QueryTable.builder().build())
+                .map(row -> row.getInteger("id"))
+                .collect(Collectors.toList()));
+    }
+    
+    @Test
+    public void should_insert_rows_with_bounded_concurrency() {
+        INSERTS.clear();
+        THROTTLE_INSERT.set(true);
+        List<Map<String, Object>> rows = IntStream.range(0, 50)
+                .mapToObj(i -> Map.<String, Object>of("videoid", "v" + i, "views", i))
+                .collect(Collectors.toList());
+        BulkWriteReport report = videos.bulkWriter(BulkWriterOptions.builder()
+                .concurrency(8)
+                .retryDelay(Duration.ofMillis(10))
+                .build()).write(rows.stream());
+        Assertions.assertEquals(50, report.getSuccessCount());
+        Assertions.assertEquals(50, INSERTS.size());
+        Assertions.assertEquals(51, report.getResults().stream().mapToInt(r -> r.getAttempts()).sum());
+        Assertions.assertTrue(report.getResults().get(0).getDocumentId().get().startsWith("{"));
+    }
+
+}